@@ -0,0 +1,75 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.authentication.AuthenticatedUser;
+import com.hasitha.back_end.authentication.AuthorizationPolicy;
+import com.hasitha.back_end.billCreate.BillResource;
+import com.hasitha.back_end.item.ItemResource;
+import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.user.UserResource;
+import jakarta.ws.rs.container.AsyncResponse;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-request authorization check of
+ * {@link com.hasitha.back_end.authentication.AuthenticationFilter}: a lookup
+ * in the compiled {@link AuthorizationPolicy} for an allowed, a forbidden and
+ * an anonymous call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private AuthorizationPolicy policy;
+    private Method listBills;
+    private Method deleteItem;
+    private Method listUsers;
+    private AuthenticatedUser cashier;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        policy = AuthorizationPolicy.getDefault();
+        listBills = findMethod(BillResource.class, "getAllBills");
+        deleteItem = ItemResource.class.getMethod("delete", int.class, AsyncResponse.class);
+        listUsers = findMethod(UserResource.class, "findAll");
+        cashier = new AuthenticatedUser(new User(2, "John", "Smith", "cashier1", "USER"));
+    }
+
+    private static Method findMethod(Class<?> resource, String name) throws NoSuchMethodException {
+        for (Method method : resource.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(resource.getName() + "." + name);
+    }
+
+    @Benchmark
+    public AuthorizationPolicy.Decision allowed() {
+        return policy.decide(listBills, cashier);
+    }
+
+    @Benchmark
+    public AuthorizationPolicy.Decision forbidden() {
+        return policy.decide(deleteItem, cashier);
+    }
+
+    @Benchmark
+    public AuthorizationPolicy.Decision anonymous() {
+        return policy.decide(listUsers, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.billCreate.CreateBillRequest;
+import com.hasitha.back_end.billCreate.CreateBillRequest.BillItemRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the inputs shared by the benchmarks. Everything is generated from a
+ * fixed seed so runs are comparable between releases.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a bill request with distinct items picked from the catalog.
+     *
+     * @param random the seeded random source
+     * @param lines number of bill lines
+     * @param catalogSize number of items to pick from
+     * @param customerId the customer
+     * @param userId the cashier
+     * @return the request
+     */
+    static CreateBillRequest billRequest(Random random, int lines, int catalogSize, int customerId, int userId) {
+        List<BillItemRequest> items = new ArrayList<>(lines);
+        int start = random.nextInt(catalogSize);
+        for (int i = 0; i < lines; i++) {
+            BillItemRequest line = new BillItemRequest();
+            line.setItemId(1 + (start + i) % catalogSize);
+            line.setQuantity(1 + random.nextInt(3));
+            items.add(line);
+        }
+        CreateBillRequest request = new CreateBillRequest();
+        request.setCustomerId(customerId);
+        request.setUserId(userId);
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.authentication.PasswordHasher;
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillService;
+import com.hasitha.back_end.billCreate.BillCreateService;
+import com.hasitha.back_end.billCreate.CreateBillRequest;
+import com.hasitha.back_end.billCreate.IdempotencyStore;
+import com.hasitha.back_end.billItem.BillItemService;
+import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
+import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.TransactionManager;
+import java.sql.Connection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CPU cost of {@link BillCreateService#createBill} with the DAOs
+ * replaced by in-memory stand-ins: request validation, quantity merging,
+ * totals and DTO assembly, without any database time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillCreateBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int linesPerBill;
+
+    @Param({"100", "10000"})
+    public int catalogSize;
+
+    private BillCreateService billCreateService;
+    private CreateBillRequest request;
+
+    @Setup
+    public void setUp() {
+        Connection connection = InMemoryDaos.noOpConnection();
+        billCreateService = new BillCreateService(
+                new ItemService(new InMemoryDaos.Items(catalogSize)),
+                new CustomerService(new InMemoryDaos.Customers()),
+                new UserService(new InMemoryDaos.Users(), PasswordHasher.getDefault()),
+                new BillService(new InMemoryDaos.Bills()),
+                new BillItemService(new InMemoryDaos.BillItems()),
+                new TransactionManager(() -> connection),
+                IdempotencyStore.getDefault(),
+                new SalesRollupService(new InMemoryDaos.SalesRollups(), null, 1, 1));
+        request = BenchmarkData.billRequest(new Random(BenchmarkData.SEED), linesPerBill, catalogSize, 1, 1);
+    }
+
+    @Benchmark
+    public BillDTO createBill() {
+        return billCreateService.createBill(request);
+    }
+}
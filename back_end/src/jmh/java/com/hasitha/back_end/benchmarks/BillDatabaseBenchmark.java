@@ -0,0 +1,85 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillPage;
+import com.hasitha.back_end.bill.BillPageRequest;
+import com.hasitha.back_end.billCreate.BillCreateService;
+import com.hasitha.back_end.billCreate.CreateBillRequest;
+import com.hasitha.back_end.utils.DBConnection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the billing paths end to end through the real services and DAOs
+ * against an embedded H2 database in MySQL mode.
+ *
+ * Absolute numbers are not comparable to a MySQL server, but changes in the
+ * number or shape of queries show up clearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillDatabaseBenchmark {
+
+    @Param({"5"})
+    public int linesPerBill;
+
+    @Param({"100", "10000"})
+    public int catalogSize;
+
+    @Param({"1000", "50000"})
+    public int historySize;
+
+    private BillCreateService billCreateService;
+    private CreateBillRequest request;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        EmbeddedDatabase.start(catalogSize, historySize, linesPerBill);
+        billCreateService = new BillCreateService();
+        random = new Random(BenchmarkData.SEED);
+        request = BenchmarkData.billRequest(random, linesPerBill, catalogSize, 1, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        DBConnection.getPool().close();
+    }
+
+    @Benchmark
+    public BillDTO createBill() {
+        return billCreateService.createBill(request);
+    }
+
+    @Benchmark
+    public BillPage firstHistoryPage() {
+        return billCreateService.getBillPage(new BillPageRequest(null, 50, null, null, null, null));
+    }
+
+    @Benchmark
+    public BillPage customerHistoryPage() {
+        int customerId = 1 + random.nextInt(EmbeddedDatabase.CUSTOMERS);
+        return billCreateService.getBillPage(new BillPageRequest(null, 50, null, null, customerId, null));
+    }
+
+    @Benchmark
+    public BillDTO getBill() {
+        return billCreateService.getBill(1 + random.nextInt(historySize));
+    }
+}
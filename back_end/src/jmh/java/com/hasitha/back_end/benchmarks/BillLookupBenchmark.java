@@ -0,0 +1,88 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.authentication.PasswordHasher;
+import com.hasitha.back_end.bill.BillDAO;
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillService;
+import com.hasitha.back_end.billCreate.BillCreateService;
+import com.hasitha.back_end.billCreate.IdempotencyStore;
+import com.hasitha.back_end.billItem.BillItemDAO;
+import com.hasitha.back_end.billItem.BillItemService;
+import com.hasitha.back_end.customer.CustomerDAO;
+import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
+import com.hasitha.back_end.user.UserDAO;
+import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.TransactionManager;
+import java.sql.Connection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency distribution of {@link BillCreateService#getBill} with
+ * the lookups run one after another and in parallel.
+ *
+ * The DAOs are in-memory stand-ins that wait {@code roundTripMicros} per call
+ * to model the database round trip, which is what the parallel lookups hide.
+ * Bill IDs are drawn from far more customers than the customer cache holds,
+ * so the customer lookup usually reaches the DAO. Sample mode reports p50,
+ * p99 and p99.9 for each setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillLookupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallelLookups;
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private static final int BILLS = 1_000_000;
+
+    private BillCreateService billCreateService;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("app.bill.parallelLookups", Boolean.toString(parallelLookups));
+        Connection connection = InMemoryDaos.noOpConnection();
+        billCreateService = new BillCreateService(
+                new ItemService(new InMemoryDaos.Items(100)),
+                new CustomerService(InMemoryDaos.withRoundTrip(CustomerDAO.class, new InMemoryDaos.Customers(), roundTripMicros)),
+                new UserService(InMemoryDaos.withRoundTrip(UserDAO.class, new InMemoryDaos.Users(), roundTripMicros), PasswordHasher.getDefault()),
+                new BillService(InMemoryDaos.withRoundTrip(BillDAO.class, new InMemoryDaos.Bills(), roundTripMicros)),
+                new BillItemService(InMemoryDaos.withRoundTrip(BillItemDAO.class, new InMemoryDaos.BillItems(), roundTripMicros)),
+                new TransactionManager(() -> connection),
+                IdempotencyStore.getDefault(),
+                new SalesRollupService(new InMemoryDaos.SalesRollups(), null, 1, 1));
+        random = new Random(BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty("app.bill.parallelLookups");
+    }
+
+    @Benchmark
+    public BillDTO getBill() {
+        return billCreateService.getBill(1 + random.nextInt(BILLS));
+    }
+}
@@ -0,0 +1,117 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.MigrationRunner;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Random;
+
+/**
+ * Points {@link DBConnection} at an in-memory H2 database in MySQL mode,
+ * creates the schema with the real migrations and fills it with generated
+ * data.
+ *
+ * Must be called before anything touches {@link DBConnection}, since the pool
+ * reads its settings once. JMH runs every benchmark and parameter combination
+ * in a fresh JVM fork, so each one gets a fresh database.
+ */
+final class EmbeddedDatabase {
+
+    static final int CUSTOMERS = 500;
+    static final int CASHIERS = 10;
+
+    // Bill dates are spread over this many days before the base time
+    private static final int HISTORY_DAYS = 365;
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Configures the connection pool for H2, migrates and seeds the database.
+     *
+     * @param catalogSize number of items
+     * @param historySize number of existing bills
+     * @param linesPerBill lines per existing bill
+     */
+    static void start(int catalogSize, int historySize, int linesPerBill) {
+        System.setProperty("db.url", "jdbc:h2:mem:billing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.pool.minIdle", "1");
+
+        new MigrationRunner().migrate();
+        try (Connection c = DBConnection.getConnection()) {
+            c.setAutoCommit(false);
+            seed(c, new Random(BenchmarkData.SEED), catalogSize, historySize, linesPerBill);
+            c.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not seed the benchmark database", e);
+        }
+    }
+
+    private static void seed(Connection c, Random random, int catalogSize, int historySize, int linesPerBill)
+            throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO users (first_name, last_name, username, password, role) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= CASHIERS; i++) {
+                ps.setString(1, "Cashier");
+                ps.setString(2, "" + i);
+                ps.setString(3, "cashier" + i);
+                ps.setString(4, "password");
+                ps.setString(5, i == 1 ? "ADMIN" : "USER");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO customers (first_name, last_name, phone, address) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= CUSTOMERS; i++) {
+                ps.setString(1, "Customer");
+                ps.setString(2, "" + i);
+                ps.setString(3, String.format("+947%08d", i));
+                ps.setString(4, i + " Main St");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO items (name, price, stock) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= catalogSize; i++) {
+                ps.setString(1, "Item " + i);
+                ps.setDouble(2, 10 + random.nextInt(9000) / 100.0);
+                ps.setInt(3, InMemoryDaos.STOCK);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement bill = c.prepareStatement(
+                "INSERT INTO bills (id, user_id, customer_id, bill_date, total) VALUES (?, ?, ?, ?, ?)");
+                PreparedStatement line = c.prepareStatement(
+                        "INSERT INTO bill_items (bill_id, item_id, quantity, price) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= historySize; id++) {
+                long offset = (long) random.nextInt(HISTORY_DAYS * 24 * 60) * 60_000L;
+                bill.setInt(1, id);
+                bill.setInt(2, 1 + random.nextInt(CASHIERS));
+                bill.setInt(3, 1 + random.nextInt(CUSTOMERS));
+                bill.setTimestamp(4, new Timestamp(BASE_TIME - offset));
+                bill.setDouble(5, 100.0);
+                bill.addBatch();
+                for (int l = 0; l < linesPerBill; l++) {
+                    line.setInt(1, id);
+                    line.setInt(2, 1 + random.nextInt(catalogSize));
+                    line.setInt(3, 1);
+                    line.setDouble(4, 10.0);
+                    line.addBatch();
+                }
+                if (id % 1000 == 0) {
+                    bill.executeBatch();
+                    line.executeBatch();
+                }
+            }
+            bill.executeBatch();
+            line.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.bill.Bill;
+import com.hasitha.back_end.bill.BillDAO;
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillPageRequest;
+import com.hasitha.back_end.billItem.BillItem;
+import com.hasitha.back_end.billItem.BillItemDAO;
+import com.hasitha.back_end.billItem.BillItemDTO;
+import com.hasitha.back_end.customer.Customer;
+import com.hasitha.back_end.customer.CustomerDAO;
+import com.hasitha.back_end.item.Item;
+import com.hasitha.back_end.item.ItemDAO;
+import com.hasitha.back_end.report.SalesRollupDAO;
+import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.user.UserDAO;
+import com.hasitha.back_end.utils.Money;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-ins for the DAOs, so service code can be measured without a
+ * database. Only the methods the benchmarks call are implemented; the rest
+ * throw {@link UnsupportedOperationException}.
+ */
+final class InMemoryDaos {
+
+    // Stock the stand-in items start with and are topped back up to
+    static final int STOCK = 1_000_000_000;
+
+    private InMemoryDaos() {
+    }
+
+    /**
+     * Returns a connection that accepts every call and does nothing, for
+     * code that runs inside a transaction.
+     */
+    static Connection noOpConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return "getAutoCommit".equals(method.getName());
+                    }
+                    if (type == int.class) {
+                        return 0;
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Wraps a DAO so every call first waits the given time, standing in for
+     * the network round trip to the database. The wait parks the thread, so
+     * virtual threads release their carrier while waiting.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T withRoundTrip(Class<T> type, T dao, long roundTripMicros) {
+        long nanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (nanos > 0) {
+                        long deadline = System.nanoTime() + nanos;
+                        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+                            LockSupport.parkNanos(left);
+                        }
+                    }
+                    try {
+                        return method.invoke(dao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    static final class Items implements ItemDAO {
+
+        private final Map<Integer, Item> items = new ConcurrentHashMap<>();
+
+        Items(int catalogSize) {
+            for (int id = 1; id <= catalogSize; id++) {
+                items.put(id, new Item(id, "Item " + id, Money.ofCents(1_000 + id % 9_000), STOCK));
+            }
+        }
+
+        @Override
+        public Item findById(int id) {
+            Item item = items.get(id);
+            return item == null ? null : new Item(item.getId(), item.getName(), item.getPrice(), item.getStock());
+        }
+
+        @Override
+        public Map<Integer, Item> findByIds(Connection connection, Collection<Integer> ids) {
+            Map<Integer, Item> found = new HashMap<>();
+            for (int id : ids) {
+                Item item = findById(id);
+                if (item != null) {
+                    found.put(id, item);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public List<Integer> decrementStock(Connection connection, Map<Integer, Integer> quantities) {
+            for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+                Item item = items.get(entry.getKey());
+                int left = item.getStock() - entry.getValue();
+                // Top up instead of running out during long runs
+                item.setStock(left < 0 ? STOCK : left);
+            }
+            return List.of();
+        }
+
+        @Override
+        public List<Item> findAll() {
+            return new ArrayList<>(items.values());
+        }
+
+        @Override
+        public void streamAll(Consumer<? super Item> action) {
+            items.values().forEach(action);
+        }
+
+        @Override
+        public Item create(Item item) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Item update(int id, Item item) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(int id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class Bills implements BillDAO {
+
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        @Override
+        public Bill create(Connection connection, Bill bill) {
+            bill.setId(nextId.incrementAndGet());
+            return bill;
+        }
+
+        @Override
+        public Bill create(Bill bill) {
+            return create(null, bill);
+        }
+
+        @Override
+        public void createAll(Connection connection, List<Bill> bills) {
+            for (Bill bill : bills) {
+                create(connection, bill);
+            }
+        }
+
+        @Override
+        public List<Bill> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamWithDetails(BillPageRequest request, Consumer<? super BillDTO> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<BillDTO> findAllWithDetails() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<BillDTO> findPage(BillPageRequest request, int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Bill findById(int id) {
+            return new Bill(id, id, 1, new Date(), Money.ofCents(10_000));
+        }
+    }
+
+    static final class BillItems implements BillItemDAO {
+
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        @Override
+        public void saveItems(Connection connection, int billId, List<BillItem> items) {
+            for (BillItem item : items) {
+                item.setId(nextId.incrementAndGet());
+                item.setBillId(billId);
+            }
+        }
+
+        @Override
+        public void saveItems(int billId, List<BillItem> items) {
+            saveItems(null, billId, items);
+        }
+
+        @Override
+        public void saveItems(Connection connection, List<Bill> bills) {
+            for (Bill bill : bills) {
+                saveItems(connection, bill.getId(), bill.getItems());
+            }
+        }
+
+        @Override
+        public List<BillItem> findByBillId(int billId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<BillItemDTO> findDetailsByBillId(int billId) {
+            List<BillItemDTO> lines = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                lines.add(new BillItemDTO(billId * 5 + i, i, "Item " + i, Money.ofCents(2_000), 1, Money.ofCents(2_000)));
+            }
+            return lines;
+        }
+
+        @Override
+        public Map<Integer, List<BillItemDTO>> findDetailsByBillIds(Collection<Integer> billIds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class Customers implements CustomerDAO {
+
+        @Override
+        public Customer findById(int id) {
+            return new Customer(id, "Customer", "" + id, "1 Main St", "+94700000000");
+        }
+
+        @Override
+        public Map<Integer, Customer> findByIds(Collection<Integer> ids) {
+            Map<Integer, Customer> found = new HashMap<>();
+            ids.forEach(id -> found.put(id, findById(id)));
+            return found;
+        }
+
+        @Override
+        public boolean exists(int customerId) {
+            return true;
+        }
+
+        @Override
+        public List<Customer> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamAll(Consumer<? super Customer> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Customer create(Customer customer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Customer update(int id, Customer customer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(int id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class Users implements UserDAO {
+
+        @Override
+        public User findById(int id) {
+            return new User(id, "Cashier", "" + id, "cashier" + id, "USER");
+        }
+
+        @Override
+        public Map<Integer, User> findByIds(Collection<Integer> ids) {
+            Map<Integer, User> found = new HashMap<>();
+            ids.forEach(id -> found.put(id, findById(id)));
+            return found;
+        }
+
+        @Override
+        public List<User> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamAll(Consumer<? super User> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User create(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User update(int id, User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User findByUsername(String username) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String findPasswordById(int id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class SalesRollups implements SalesRollupDAO {
+
+        @Override
+        public void record(Connection connection, List<Bill> bills) {
+        }
+
+        @Override
+        public void rebuild(Connection connection, LocalDate from, LocalDate to) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LocalDate findFirstBillDate() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isComplete() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void markComplete() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hasitha.back_end.benchmarks;
+
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.billItem.BillItemDTO;
+import com.hasitha.back_end.customer.Customer;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.utils.Money;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the {@link ApiResponse} envelope and serializing a
+ * {@link BillDTO} to JSON with JSON-B, the way the REST layer returns it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int linesPerBill;
+
+    private Jsonb jsonb;
+    private BillDTO bill;
+    private ApiResponse<BillDTO> response;
+
+    @Setup
+    public void setUp() {
+        jsonb = JsonbBuilder.create();
+        List<BillItemDTO> lines = new ArrayList<>();
+        for (int i = 1; i <= linesPerBill; i++) {
+            Money price = Money.ofCents(1_000 + 100 * i);
+            lines.add(new BillItemDTO(i, i, "Item " + i, price, 2, price.times(2)));
+        }
+        bill = new BillDTO(1, new Customer(1, "Jane", "Doe", "1 Main St", "+94700000000"),
+                new User(1, "John", "Smith", "cashier1", "USER"), new Date(1_700_000_000_000L), Money.of("123.45"), lines);
+        response = new ApiResponse<>(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, bill);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public ApiResponse<BillDTO> buildApiResponse() {
+        return new ApiResponse<>(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, bill);
+    }
+
+    @Benchmark
+    public String serializeBill() {
+        return jsonb.toJson(bill);
+    }
+
+    @Benchmark
+    public String serializeApiResponse() {
+        return jsonb.toJson(response);
+    }
+}
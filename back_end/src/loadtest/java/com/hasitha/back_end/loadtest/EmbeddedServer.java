@@ -0,0 +1,145 @@
+package com.hasitha.back_end.loadtest;
+
+import com.hasitha.back_end.JakartaRestConfiguration;
+import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.MigrationRunner;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.servlet.ServletRegistration;
+import org.glassfish.grizzly.servlet.WebappContext;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.servlet.ServletContainer;
+
+/**
+ * Runs the REST application on an embedded Grizzly servlet container backed by
+ * an in-memory H2 database in MySQL mode.
+ *
+ * The application is deployed the same way GlassFish deploys it: the
+ * {@link JakartaRestConfiguration} application class, resources and providers
+ * found by package scanning, and servlet sessions for login.
+ */
+final class EmbeddedServer implements AutoCloseable {
+
+    static final String ADMIN_USERNAME = "loadadmin";
+    static final String ADMIN_PASSWORD = "loadadmin";
+
+    // Grizzly worker threads that run the (blocking) resource methods
+    private static final int WORKER_THREADS = 64;
+
+    private final HttpServer server;
+    private final URI baseUri;
+
+    private EmbeddedServer(HttpServer server, URI baseUri) {
+        this.server = server;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Creates and seeds the database, then starts the server.
+     *
+     * @param port the port to listen on
+     * @param items number of catalog items to create
+     * @param customers number of customers to create
+     * @param poolSize maximum database connections
+     * @return the running server
+     * @throws IOException if the server cannot start
+     */
+    static EmbeddedServer start(int port, int items, int customers, int poolSize) throws IOException {
+        System.setProperty("db.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.pool.maxSize", Integer.toString(poolSize));
+        // H2 rejects the MySQL row-by-row fetch size
+        System.setProperty("app.stream.fetchSize", "100");
+        // Every client logs in as the same user from the same address
+        System.setProperty("app.auth.loginMaxPerUser", "0");
+        System.setProperty("app.auth.loginMaxPerIp", "0");
+
+        new MigrationRunner().migrate();
+        seed(items, customers);
+
+        WebappContext context = new WebappContext("billing", "/back_end");
+        ServletRegistration jersey = context.addServlet("jersey", ServletContainer.class);
+        jersey.setInitParameter("jakarta.ws.rs.Application", JakartaRestConfiguration.class.getName());
+        jersey.setInitParameter(ServerProperties.PROVIDER_PACKAGES, "com.hasitha.back_end");
+        jersey.addMapping("/api/v1/*");
+        jersey.setLoadOnStartup(1);
+        // Resources suspend their responses and resume them from virtual threads
+        jersey.setAsyncSupported(true);
+
+        int actualPort = port == 0 ? freePort() : port;
+        HttpServer server = HttpServer.createSimpleServer(null, "localhost", actualPort);
+        NetworkListener listener = server.getListener("grizzly");
+        // Keep client connections open; closing them mid-run shows up as spurious client errors
+        listener.getKeepAlive().setMaxRequestsCount(-1);
+        // Blocking JDBC calls run on the worker threads, so allow as many as there are connections and more
+        listener.getTransport().setWorkerThreadPoolConfig(ThreadPoolConfig.defaultConfig()
+                .setCorePoolSize(WORKER_THREADS).setMaxPoolSize(WORKER_THREADS));
+        context.deploy(server);
+        server.start();
+        return new EmbeddedServer(server, URI.create("http://localhost:" + actualPort + "/back_end/api/v1/"));
+    }
+
+    URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+        DBConnection.getPool().close();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void seed(int items, int customers) {
+        Random random = new Random(42);
+        try (Connection c = DBConnection.getConnection()) {
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO users (first_name, last_name, username, password, role) VALUES (?, ?, ?, ?, ?)")) {
+                ps.setString(1, "Load");
+                ps.setString(2, "Admin");
+                ps.setString(3, ADMIN_USERNAME);
+                ps.setString(4, ADMIN_PASSWORD);
+                ps.setString(5, "ADMIN");
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO items (name, price, stock) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= items; i++) {
+                    ps.setString(1, "Item " + i);
+                    ps.setDouble(2, 10 + random.nextInt(9000) / 100.0);
+                    ps.setInt(3, 1_000_000_000);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO customers (first_name, last_name, phone, address) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= customers; i++) {
+                    ps.setString(1, "Customer");
+                    ps.setString(2, "Seed" + i);
+                    ps.setString(3, String.format("+947%08d", i));
+                    ps.setString(4, i + " Main St");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            c.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not seed the load test database", e);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.hasitha.back_end.loadtest;
+
+import com.hasitha.back_end.metrics.LatencyHistogram;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the billing API with many concurrent clients and reports throughput,
+ * latency percentiles and error rates per endpoint.
+ *
+ * By default the application is started in-process on an embedded server and
+ * database (see {@link EmbeddedServer}); with {@code --target} the harness
+ * drives an already running deployment instead.
+ *
+ * Every client runs on its own virtual thread, logs in once through
+ * {@code /auth/login}, keeps its session cookie, and then repeatedly picks an
+ * operation according to the configured mix.
+ *
+ * Options (defaults in brackets):
+ * <ul>
+ * <li>--clients [50] concurrent clients</li>
+ * <li>--duration [30] measured seconds</li>
+ * <li>--warmup [5] seconds run before measuring</li>
+ * <li>--mix [createBill=40,listBills=30,listItems=20,customerCrud=10]
+ * relative operation weights</li>
+ * <li>--lines [5] lines per created bill</li>
+ * <li>--items [500] catalog size of the embedded database</li>
+ * <li>--customers [1000] customers in the embedded database</li>
+ * <li>--pool [20] database pool size of the embedded server</li>
+ * <li>--port [0] port of the embedded server; 0 picks a free port</li>
+ * <li>--target [none] base URL of a running API, e.g.
+ * http://localhost:8080/back_end/api/v1/</li>
+ * <li>--username / --password login used with --target</li>
+ * </ul>
+ */
+public final class LoadHarness {
+
+    /**
+     * The operations a client can pick from.
+     */
+    enum Operation {
+        CREATE_BILL("createBill"), LIST_BILLS("listBills"), LIST_ITEMS("listItems"), CUSTOMER_CRUD("customerCrud");
+
+        private final String option;
+
+        Operation(String option) {
+            this.option = option;
+        }
+
+        static Operation fromOption(String option) {
+            for (Operation operation : values()) {
+                if (operation.option.equals(option)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in --mix: " + option);
+        }
+    }
+
+    /**
+     * Latency and error counts for one endpoint.
+     */
+    static final class EndpointStats {
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+
+        // First failure seen, printed with the report to help diagnose errors
+        final AtomicReference<String> firstError = new AtomicReference<>();
+
+        void recordError(String description) {
+            errors.increment();
+            firstError.compareAndSet(null, description);
+        }
+    }
+
+    private final Map<String, String> options;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong uniqueCounter = new AtomicLong();
+
+    private URI baseUri;
+    private int itemCount;
+    private int customerCount;
+
+    // Replaced when warm-up ends so only the measured window is reported
+    private volatile Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    private LoadHarness(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness(parseOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        int clients = intOption("clients", 50);
+        int duration = intOption("duration", 30);
+        int warmup = intOption("warmup", 5);
+        int lines = intOption("lines", 5);
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix",
+                "createBill=40,listBills=30,listItems=20,customerCrud=10"));
+        itemCount = intOption("items", 500);
+        customerCount = intOption("customers", 1000);
+
+        EmbeddedServer server = null;
+        String username = options.getOrDefault("username", EmbeddedServer.ADMIN_USERNAME);
+        String password = options.getOrDefault("password", EmbeddedServer.ADMIN_PASSWORD);
+        if (options.containsKey("target")) {
+            String target = options.get("target");
+            baseUri = URI.create(target.endsWith("/") ? target : target + "/");
+        } else {
+            server = EmbeddedServer.start(intOption("port", 0), itemCount, customerCount, intOption("pool", 20));
+            baseUri = server.getBaseUri();
+        }
+        System.out.printf("Driving %s with %d clients for %ds (+%ds warm-up), mix %s%n",
+                baseUri, clients, duration, warmup, mix);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long seed = 42L + i;
+                executor.submit(() -> runClient(new Random(seed), mix, lines, username, password));
+            }
+            TimeUnit.SECONDS.sleep(warmup);
+            stats = new ConcurrentHashMap<>();
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(duration);
+            Map<String, EndpointStats> measured = stats;
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+            report(measured, elapsedSeconds);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private void runClient(Random random, Map<Operation, Integer> mix, int lines, String username, String password) {
+        String cookie = login(username, password);
+        if (cookie == null) {
+            return;
+        }
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (running) {
+            switch (pick(random, mix, totalWeight)) {
+                case CREATE_BILL ->
+                    call("POST /bills", cookie, "POST", "bills", billBody(random, lines));
+                case LIST_BILLS ->
+                    call("GET /bills", cookie, "GET", "bills?limit=50", null);
+                case LIST_ITEMS ->
+                    call("GET /items", cookie, "GET", "items", null);
+                case CUSTOMER_CRUD ->
+                    customerCrud(cookie);
+            }
+        }
+    }
+
+    private void customerCrud(String cookie) {
+        long n = uniqueCounter.incrementAndGet();
+        String body = customerBody("Load", n);
+        String created = call("POST /customers", cookie, "POST", "customers", body);
+        if (created == null) {
+            return;
+        }
+        int id;
+        try (JsonReader reader = Json.createReader(new StringReader(created))) {
+            id = reader.readObject().getJsonObject("data").getInt("id");
+        } catch (RuntimeException e) {
+            return;
+        }
+        call("GET /customers/{id}", cookie, "GET", "customers/" + id, null);
+        call("PUT /customers/{id}", cookie, "PUT", "customers/" + id, customerBody("Updated", n));
+        call("DELETE /customers/{id}", cookie, "DELETE", "customers/" + id, null);
+    }
+
+    /**
+     * Sends one request and records its latency. Any non-2xx status or
+     * exception counts as an error.
+     *
+     * @return the response body on success, otherwise null
+     */
+    private String call(String endpoint, String cookie, String method, String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+
+        Map<String, EndpointStats> current = stats;
+        EndpointStats endpointStats = current.computeIfAbsent(endpoint, k -> new EndpointStats());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            endpointStats.latency.record(System.nanoTime() - start);
+            if (response.statusCode() / 100 != 2) {
+                endpointStats.recordError(response.statusCode() + " " + abbreviate(response.body()));
+                return null;
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            endpointStats.latency.record(System.nanoTime() - start);
+            endpointStats.recordError(e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Logs in and returns the session cookie to send with later requests.
+     */
+    private String login(String username, String password) {
+        String body = Json.createObjectBuilder().add("username", username).add("password", password).build().toString();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                System.err.println("Login failed with status " + response.statusCode());
+                return null;
+            }
+            return response.headers().allValues("Set-Cookie").stream()
+                    .map(value -> value.split(";", 2)[0])
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElse("");
+        } catch (Exception e) {
+            System.err.println("Login failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String billBody(Random random, int lines) {
+        var items = Json.createArrayBuilder();
+        int start = random.nextInt(itemCount);
+        for (int i = 0; i < lines; i++) {
+            items.add(Json.createObjectBuilder()
+                    .add("itemId", 1 + (start + i) % itemCount)
+                    .add("quantity", 1 + random.nextInt(3)));
+        }
+        JsonObject bill = Json.createObjectBuilder()
+                .add("customerId", 1 + random.nextInt(customerCount))
+                .add("items", items)
+                .build();
+        return bill.toString();
+    }
+
+    private static String customerBody(String firstName, long n) {
+        return Json.createObjectBuilder()
+                .add("firstName", firstName)
+                .add("lastName", "Customer" + n)
+                .add("address", n + " Load St")
+                .add("phoneNumber", String.format("+948%08d", n % 100_000_000))
+                .build().toString();
+    }
+
+    private static Operation pick(Random random, Map<Operation, Integer> mix, int totalWeight) {
+        int r = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private static void report(Map<String, EndpointStats> measured, double seconds) {
+        System.out.printf("%n%-24s %10s %8s %7s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Err%", "Req/s", "p50 ms", "p99 ms", "p999 ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        List<String> endpoints = new ArrayList<>(measured.keySet());
+        endpoints.sort(null);
+        for (String endpoint : endpoints) {
+            EndpointStats s = measured.get(endpoint);
+            long requests = s.latency.getCount();
+            long errors = s.errors.sum();
+            totalRequests += requests;
+            totalErrors += errors;
+            System.out.printf("%-24s %10d %8d %6.2f%% %9.1f %9.2f %9.2f %9.2f%n",
+                    endpoint, requests, errors, percent(errors, requests), requests / seconds,
+                    millis(s.latency.getValueAtQuantile(0.5)),
+                    millis(s.latency.getValueAtQuantile(0.99)),
+                    millis(s.latency.getValueAtQuantile(0.999)));
+        }
+        System.out.printf("%-24s %10d %8d %6.2f%% %9.1f%n",
+                "TOTAL", totalRequests, totalErrors, percent(totalErrors, totalRequests), totalRequests / seconds);
+        for (String endpoint : endpoints) {
+            String error = measured.get(endpoint).firstError.get();
+            if (error != null) {
+                System.out.printf("First error on %s: %s%n", endpoint, error);
+            }
+        }
+    }
+
+    private static String abbreviate(String text) {
+        return text == null || text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got: " + args[i]);
+            }
+            parsed.put(args[i].substring(2), args[++i]);
+        }
+        return parsed;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromOption(kv[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
@@ -4,19 +4,30 @@ import com.hasitha.back_end.user.User;
 
 /**
  * Data Access Object (DAO) interface for authentication-related database
- * operations. Provides method(s) to verify user credentials.
+ * operations. Provides method(s) to load and update user credentials.
  */
 public interface AuthDAO {
 
     /**
-     * Attempts to authenticate a user based on provided username and password.
+     * Loads a user together with the stored password hash, so the password
+     * can be verified.
      *
      * @param username the username of the user attempting to log in
-     * @param password the plain-text password provided by the user
-     * @return a {@link User} object if authentication is successful; otherwise,
-     * returns {@code null}
+     * @return a {@link User} with its stored password hash, or {@code null}
+     * if no user has this username
      * @throws com.hasitha.back_end.exceptions.DatabaseException if a database
      * access error occurs
      */
-    User authenticate(String username, String password);
+    User findCredentials(String username);
+
+    /**
+     * Replaces the stored password hash of a user, e.g. to upgrade a legacy
+     * plain-text password after a successful login.
+     *
+     * @param userId the user ID
+     * @param passwordHash the new hash from {@link PasswordHasher#hash}
+     * @throws com.hasitha.back_end.exceptions.DatabaseException if a database
+     * access error occurs
+     */
+    void updatePasswordHash(int userId, String passwordHash);
 }
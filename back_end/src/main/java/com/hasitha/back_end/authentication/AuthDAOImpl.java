@@ -15,41 +15,39 @@ import java.sql.SQLException;
 public class AuthDAOImpl implements AuthDAO {
 
     /**
-     * Authenticates a user using the provided username and password.
+     * Loads a user and the stored password hash by username.
      *
-     * This method performs a database query to match the given credentials
-     * against the records in the 'users' table.
+     * The password is no longer matched in SQL; it is verified against the
+     * hash by {@link PasswordHasher}.
      *
      * @param username the username provided by the user
-     * @param password the plain-text password provided by the user
-     * @return a {@link User} object if authentication is successful, or
-     * {@code null} if credentials are invalid
+     * @return a {@link User} with its stored password hash, or {@code null}
+     * if the username is unknown
      * @throws DatabaseException if a SQL or connection error occurs
      */
     @Override
-    public User authenticate(String username, String password) {
-        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
+    public User findCredentials(String username) {
+        String sql = "SELECT id, first_name, last_name, username, password, role FROM users WHERE username = ?";
 
         try (
                 // Establish connection and prepare SQL statement
                 Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, username); // Set username parameter
-            ps.setString(2, password); // Set password parameter
 
-            // Execute query and check if a matching user exists
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                // Map result to User object
+                // Map result to User object, including the stored hash
                 return new User(
                         rs.getInt("id"),
                         rs.getString("first_name"),
                         rs.getString("last_name"),
                         rs.getString("username"),
+                        rs.getString("password"),
                         rs.getString("role")
                 );
             }
 
-            // No matching user found
+            // No user with this username
             return null;
 
         } catch (SQLException ex) {
@@ -57,4 +55,24 @@ public class AuthDAOImpl implements AuthDAO {
             throw new DatabaseException("An error occurred during user authentication. Please try again later. " + ex.getMessage());
         }
     }
+
+    /**
+     * Replaces the stored password hash of a user.
+     *
+     * @param userId the user ID
+     * @param passwordHash the new hash
+     * @throws DatabaseException if a SQL or connection error occurs
+     */
+    @Override
+    public void updatePasswordHash(int userId, String passwordHash) {
+        String sql = "UPDATE users SET password = ? WHERE id = ?";
+
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, passwordHash);
+            ps.setInt(2, userId);
+            ps.executeUpdate();
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error updating password for user ID " + userId + ". " + ex.getMessage());
+        }
+    }
 }
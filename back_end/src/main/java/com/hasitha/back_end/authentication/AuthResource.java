@@ -1,9 +1,12 @@
 package com.hasitha.back_end.authentication;
 
 import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.TooManyRequestsException;
 import com.hasitha.back_end.response.ApiResponse;
 import com.hasitha.back_end.response.ErrorResponse;
 import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.user.UserService;
+import jakarta.annotation.security.PermitAll;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.ws.rs.Consumes;
@@ -13,58 +16,97 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.core.Response;
 
 /**
  * REST resource class that handles authentication operations such as login,
  * logout, and fetching the currently logged-in user.
+ *
+ * The login is kept in the {@code HttpSession}, or in a signed token cookie
+ * when {@code app.auth.tokens} is true (see {@link TokenService}).
  */
+@PermitAll // Login and logout need no login; /me checks it itself
 @Path("/auth") // Base path for all endpoints in this resource
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class AuthResource {
 
     private final AuthService authService;
+    private final UserService userService;
+    private final TokenService tokenService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
 
     /**
      * Constructor used for dependency injection.
      *
      * @param authService the authentication service
+     * @param userService loads the full user for token logins
+     * @param tokenService issues the signed tokens
+     * @param loginRateLimiter throttles login attempts
+     * @param clientAddressResolver finds the client IP behind the balancer
      */
-    public AuthResource(AuthService authService) {
+    public AuthResource(AuthService authService, UserService userService, TokenService tokenService,
+            LoginRateLimiter loginRateLimiter, ClientAddressResolver clientAddressResolver) {
         this.authService = authService;
+        this.userService = userService;
+        this.tokenService = tokenService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     /**
      * Default constructor used by the JAX-RS runtime or manually. Initializes
-     * with a default AuthService instance.
+     * with default service instances.
      */
     public AuthResource() {
-        this.authService = new AuthService();
+        this(new AuthService(), new UserService(), TokenService.getDefault(), LoginRateLimiter.getDefault(),
+                ClientAddressResolver.getDefault());
     }
 
     /**
      * Logs in a user by validating the credentials and saving the user in the
-     * session.
+     * session, or in a signed HttpOnly token cookie when tokens are enabled.
+     *
+     * Attempts are throttled per username and per client IP before the
+     * credentials are checked (see {@link LoginRateLimiter}); the IP is
+     * resolved by {@link ClientAddressResolver}.
      *
      * @param request login credentials (username and password)
      * @param httpRequest injected HTTP request to access the session
      * @return HTTP 200 with user data if successful, or validation error
+     * @throws TooManyRequestsException (429 with Retry-After) if the username
+     * or IP made too many attempts
      */
     @POST
     @Path("/login")
     public Response login(LoginRequest request, @Context HttpServletRequest httpRequest) {
+        String username = request == null ? null : request.getUsername();
+        long retryAfter = loginRateLimiter.tryAcquire(username, clientAddressResolver.resolve(httpRequest));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException(MessageConstants.TOO_MANY_LOGIN_ATTEMPTS, retryAfter);
+        }
+
         User user = authService.login(request); // Throws exception if invalid
-        httpRequest.getSession(true).setAttribute("user", user); // Store user in session
+        loginRateLimiter.reset(username);
+        Response.ResponseBuilder response = Response.status(Response.Status.OK);
 
-        return Response
-                .status(Response.Status.OK)
+        if (TokenService.isEnabled()) {
+            response.cookie(tokenCookie(httpRequest, tokenService.issue(user), (int) tokenService.getTtlSeconds()));
+        } else {
+            // Store user in session, with the role parsed once for the filter
+            httpRequest.getSession(true).setAttribute(AuthenticatedUser.SESSION_ATTRIBUTE, new AuthenticatedUser(user));
+        }
+
+        return response
                 .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LOGIN_SUCCESS, user))
                 .build();
     }
 
     /**
-     * Logs out the currently logged-in user by invalidating the session.
+     * Logs out the currently logged-in user by invalidating the session and
+     * removing the token cookie.
      *
      * @param httpRequest injected HTTP request to access the session
      * @return HTTP 200 if logout was successful
@@ -78,28 +120,27 @@ public class AuthResource {
         }
         return Response
                 .status(Response.Status.OK)
+                .cookie(tokenCookie(httpRequest, "", 0)) // Expire the token cookie
                 .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LOGOUT_SUCCESS, null))
                 .build();
     }
 
     /**
-     * Retrieves the currently logged-in user's information from the session.
+     * Retrieves the currently logged-in user's information, as resolved by
+     * {@link AuthenticationFilter}. A token only carries the user ID and
+     * role, so the rest is loaded from the users.
      *
-     * @param httpRequest injected HTTP request to access the session
+     * @param httpRequest injected HTTP request to access the logged-in user
      * @return HTTP 200 with user info if logged in, or 401 unauthorized
      * otherwise
      */
     @GET
     @Path("/me")
     public Response currentUser(@Context HttpServletRequest httpRequest) {
-        HttpSession session = httpRequest.getSession(false);
-        if (session == null) {
-            return Response.status(Response.Status.UNAUTHORIZED)
-                    .entity(new ErrorResponse(MessageConstants.UNAUTHORIZED_CODE, "You are not logged in.", null))
-                    .build();
+        User user = (User) httpRequest.getAttribute(AuthenticationFilter.USER_PROPERTY);
+        if (user != null && TokenService.isEnabled()) {
+            user = userService.findById(user.getId());
         }
-
-        User user = (User) session.getAttribute("user");
         if (user == null) {
             return Response
                     .status(Response.Status.UNAUTHORIZED)
@@ -112,4 +153,25 @@ public class AuthResource {
                 .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, "User is currently logged in.", user))
                 .build();
     }
+
+    /**
+     * Builds the HttpOnly cookie carrying the token, scoped to the
+     * application's context path.
+     *
+     * @param httpRequest the current request
+     * @param token the token, or empty to remove the cookie
+     * @param maxAge cookie lifetime in seconds, 0 to remove it
+     * @return the cookie
+     */
+    private static NewCookie tokenCookie(HttpServletRequest httpRequest, String token, int maxAge) {
+        String path = httpRequest.getContextPath();
+        return new NewCookie.Builder(TokenService.COOKIE_NAME)
+                .value(token)
+                .path(path == null || path.isEmpty() ? "/" : path)
+                .maxAge(maxAge)
+                .httpOnly(true)
+                .secure(httpRequest.isSecure())
+                .sameSite(NewCookie.SameSite.LAX)
+                .build();
+    }
 }
@@ -1,38 +1,53 @@
 package com.hasitha.back_end.authentication;
 
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
 import com.hasitha.back_end.user.User;
 
 /**
  * Service class responsible for handling user authentication logic.
+ *
+ * Passwords are verified against salted hashes by {@link PasswordHasher}.
+ * A user whose stored password is still plain text, or was hashed with a
+ * lower cost than configured, gets a fresh hash on a successful login.
  */
 public class AuthService {
 
+    // Shared timed DAO for default-constructed services
+    private static final AuthDAO DEFAULT_DAO = TimedProxy.wrap(AuthDAO.class, new AuthDAOImpl());
+
     private final AuthDAO authDao;
+    private final PasswordHasher passwordHasher;
 
     /**
      * Constructor with dependency injection.
      *
      * @param authDao an implementation of AuthDAO
+     * @param passwordHasher verifies and hashes passwords
      */
-    public AuthService(AuthDAO authDao) {
+    public AuthService(AuthDAO authDao, PasswordHasher passwordHasher) {
         this.authDao = authDao;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
-     * Default constructor that uses the default AuthDAOImpl.
+     * Default constructor that uses the default AuthDAOImpl and the shared
+     * PasswordHasher.
      */
     public AuthService() {
-        this.authDao = new AuthDAOImpl();
+        this(DEFAULT_DAO, PasswordHasher.getDefault());
     }
 
     /**
      * Attempts to authenticate a user with the provided login credentials.
      *
      * @param request the login request containing username and password
-     * @return the authenticated {@link User} if successful
+     * @return the authenticated {@link User}, without its password, if
+     * successful
      * @throws ValidationException if validation fails or authentication is
      * unsuccessful
+     * @throws com.hasitha.back_end.exceptions.ServiceUnavailableException if
+     * too many passwords are being verified at once
      */
     public User login(LoginRequest request) {
         // Step 1: Validate login input
@@ -42,16 +57,25 @@ public class AuthService {
         String username = request.getUsername().trim();
         String password = request.getPassword().trim();
 
-        // Step 3: Attempt to authenticate the user via DAO
-        User user = authDao.authenticate(username, password);
+        // Step 3: Load the user and verify the password against the stored hash
+        User user = authDao.findCredentials(username);
 
-        // Step 4: Handle invalid credentials
+        // Step 4: Handle invalid credentials; an unknown username costs a hash too, so timing does not reveal it
         if (user == null) {
+            passwordHasher.matchesNone(password);
+            throw new ValidationException("Incorrect username or password. Please try again.");
+        }
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new ValidationException("Incorrect username or password. Please try again.");
         }
 
-        // Step 5: Return authenticated user
-        return user;
+        // Step 5: Upgrade plain-text or outdated hashes while the password is known
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            authDao.updatePasswordHash(user.getId(), passwordHasher.hash(password));
+        }
+
+        // Step 6: Return authenticated user without the hash
+        return new User(user.getId(), user.getFirstName(), user.getLastName(), user.getUserName(), user.getRole());
     }
 
     /**
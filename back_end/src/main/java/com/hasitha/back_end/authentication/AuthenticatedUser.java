@@ -0,0 +1,49 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.user.User;
+
+/**
+ * A logged-in user together with its parsed {@link Role}.
+ *
+ * The role name is parsed once, at login or token verification, so the
+ * per-request check in {@link AuthorizationPolicy} is only a bit test.
+ */
+public final class AuthenticatedUser {
+
+    /**
+     * Session attribute holding the {@code AuthenticatedUser} of a session
+     * login.
+     */
+    public static final String SESSION_ATTRIBUTE = "principal";
+
+    private final User user;
+    private final Role role;
+
+    /**
+     * Wraps a user and parses its role.
+     *
+     * @param user the logged-in user
+     */
+    public AuthenticatedUser(User user) {
+        this.user = user;
+        this.role = Role.parse(user.getRole());
+    }
+
+    /**
+     * Returns the logged-in user.
+     *
+     * @return the user
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the user's role.
+     *
+     * @return the role, or null if the stored role name is unknown
+     */
+    public Role getRole() {
+        return role;
+    }
+}
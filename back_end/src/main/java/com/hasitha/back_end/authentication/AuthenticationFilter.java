@@ -3,70 +3,105 @@ package com.hasitha.back_end.authentication;
 import com.hasitha.back_end.exceptions.MessageConstants;
 import com.hasitha.back_end.response.ErrorResponse;
 import com.hasitha.back_end.user.User;
+import jakarta.annotation.Priority;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
-import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.container.ResourceInfo;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 import java.io.IOException;
 
+/**
+ * Resolves the logged-in user of each request and enforces the role rules.
+ *
+ * The user comes from a signed token (see {@link TokenService}) when
+ * {@code app.auth.tokens} is true, otherwise from an existing
+ * {@code HttpSession}; no session is created for anonymous traffic. Either
+ * way it arrives as an {@link AuthenticatedUser} whose role was parsed at
+ * login or token verification. The user is stored in the
+ * {@link #USER_PROPERTY} request property for the resources.
+ *
+ * The filter runs after the request is matched to a resource method, so the
+ * role rules are looked up by that method in the {@link AuthorizationPolicy}
+ * compiled from the resources' {@code @RolesAllowed} and {@code @PermitAll}
+ * annotations.
+ */
 @Provider
-@PreMatching
+@Priority(Priorities.AUTHENTICATION)
 public class AuthenticationFilter implements ContainerRequestFilter {
 
+    /**
+     * Request property holding the logged-in {@link User}; with tokens only
+     * its ID and role are set.
+     */
+    public static final String USER_PROPERTY = "user";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Context
     private HttpServletRequest request;
 
+    @Context
+    private ResourceInfo resourceInfo;
+
+    private final TokenService tokenService = TokenService.getDefault();
+    private final AuthorizationPolicy authorizationPolicy = AuthorizationPolicy.getDefault();
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
-        String path = requestContext.getUriInfo().getPath();
-        User user = (User) request.getSession().getAttribute("user");
-        String method = requestContext.getMethod();
-
-        // Step 1: Skip auth checks for /auth (login, register, etc.)
-        if (path.startsWith("auth")) {
-            return;
+        AuthenticatedUser user = resolveUser(requestContext);
+        if (user != null) {
+            requestContext.setProperty(USER_PROPERTY, user.getUser());
         }
 
-        // Step 2: Block all unauthenticated access
-        if (user == null) {
-            requestContext.abortWith(
-                    Response
-                            .status(Response.Status.UNAUTHORIZED)
-                            .entity(new ErrorResponse(MessageConstants.UNAUTHORIZED_CODE, MessageConstants.UNAUTHORIZED_ACCESS, null))
-                            .type(MediaType.APPLICATION_JSON)
-                            .build()
-            );
-            return;
+        // One table lookup decides; no further checks run after an abort
+        AuthorizationPolicy.Decision decision = authorizationPolicy.decide(resourceInfo.getResourceMethod(), user);
+        if (decision == AuthorizationPolicy.Decision.UNAUTHORIZED) {
+            requestContext.abortWith(error(Response.Status.UNAUTHORIZED, MessageConstants.UNAUTHORIZED_CODE, MessageConstants.UNAUTHORIZED_ACCESS));
+        } else if (decision == AuthorizationPolicy.Decision.FORBIDDEN) {
+            requestContext.abortWith(error(Response.Status.FORBIDDEN, MessageConstants.FORBIDDEN_CODE, MessageConstants.FORBIDDEN_ROLE));
         }
+    }
 
-        // Step 3: Restrict /users and /items to ADMIN only
-        if ((path.startsWith("users")) && !"ADMIN".equalsIgnoreCase(user.getRole())) {
-            requestContext.abortWith(
-                    Response
-                            .status(Response.Status.FORBIDDEN)
-                            .entity(new ErrorResponse(MessageConstants.FORBIDDEN_CODE, MessageConstants.FORBIDDEN_ROLE, null))
-                            .type(MediaType.APPLICATION_JSON)
-                            .build()
-            );
-        }
+    private static Response error(Response.Status status, String code, String message) {
+        return Response
+                .status(status)
+                .entity(new ErrorResponse(code, message, null))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
 
-        if (path.startsWith("items")) {
-            // Check if the request method is one of the restricted methods
-            if (("POST".equalsIgnoreCase(method) || "PUT".equalsIgnoreCase(method) || "DELETE".equalsIgnoreCase(method))
-                    && !"ADMIN".equalsIgnoreCase(user.getRole())) {
+    /**
+     * Finds the logged-in user from the request's token or session.
+     *
+     * @param requestContext the request
+     * @return the user, or null if not logged in
+     */
+    private AuthenticatedUser resolveUser(ContainerRequestContext requestContext) {
+        if (TokenService.isEnabled()) {
+            return tokenService.verify(readToken(requestContext));
+        }
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+    }
 
-                requestContext.abortWith(
-                        Response
-                                .status(Response.Status.FORBIDDEN)
-                                .entity(new ErrorResponse(MessageConstants.FORBIDDEN_CODE, MessageConstants.FORBIDDEN_ROLE, null))
-                                .type(MediaType.APPLICATION_JSON)
-                                .build()
-                );
-            }
+    /**
+     * Reads the token from the Authorization header (for API clients) or the
+     * auth cookie (for the browser).
+     */
+    private static String readToken(ContainerRequestContext requestContext) {
+        String authorization = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return authorization.substring(BEARER_PREFIX.length()).trim();
         }
+        Cookie cookie = requestContext.getCookies().get(TokenService.COOKIE_NAME);
+        return cookie == null ? null : cookie.getValue();
     }
 }
@@ -0,0 +1,146 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.billCreate.BillResource;
+import com.hasitha.back_end.customer.CustomerResource;
+import com.hasitha.back_end.item.ItemResource;
+import com.hasitha.back_end.metrics.MetricsResource;
+import com.hasitha.back_end.report.ReportResource;
+import com.hasitha.back_end.user.UserResource;
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which users may call each resource method.
+ *
+ * The rules come from the resource annotations: {@link PermitAll} needs no
+ * login, {@link RolesAllowed} restricts a method to the listed {@link Role}s
+ * and {@link DenyAll} blocks it. A method annotation overrides one on its
+ * class; a method without either is open to every logged-in user.
+ *
+ * The rules are compiled once into a table from resource method to role
+ * mask, so a request is checked with one map lookup and a bit test. Methods
+ * of resources not compiled up front are added on first use.
+ */
+public class AuthorizationPolicy {
+
+    /**
+     * The outcome of an authorization check.
+     */
+    public enum Decision {
+        ALLOW,
+        UNAUTHORIZED,
+        FORBIDDEN
+    }
+
+    /**
+     * Role mask of methods that need no login.
+     */
+    public static final int PERMIT_ALL = -1;
+
+    private static final AuthorizationPolicy SHARED = compile(
+            AuthResource.class, BillResource.class, CustomerResource.class, ItemResource.class,
+            MetricsResource.class, ReportResource.class, UserResource.class);
+
+    private final ConcurrentHashMap<Method, Integer> roleMasks = new ConcurrentHashMap<>();
+
+    private AuthorizationPolicy() {
+    }
+
+    /**
+     * Compiles the rules of the public methods of the given resources.
+     *
+     * @param resources the resource classes
+     * @return the policy
+     * @throws IllegalStateException if an annotation names an unknown role
+     */
+    public static AuthorizationPolicy compile(Class<?>... resources) {
+        AuthorizationPolicy policy = new AuthorizationPolicy();
+        for (Class<?> resource : resources) {
+            for (Method method : resource.getMethods()) {
+                if (method.getDeclaringClass() == resource) {
+                    policy.roleMasks.put(method, roleMaskOf(method));
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Returns the policy for the application's resources.
+     *
+     * @return the shared policy
+     */
+    public static AuthorizationPolicy getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the roles allowed to call a method.
+     *
+     * @param method the resource method, or null if the request matched no
+     * resource method (e.g. an automatic OPTIONS response)
+     * @return a mask of {@link Role#bit()}s, or {@link #PERMIT_ALL}
+     */
+    public int roleMask(Method method) {
+        if (method == null) {
+            return Role.ALL;
+        }
+        Integer mask = roleMasks.get(method);
+        return mask != null ? mask : roleMasks.computeIfAbsent(method, AuthorizationPolicy::roleMaskOf);
+    }
+
+    /**
+     * Decides whether a user may call a method.
+     *
+     * @param method the resource method
+     * @param user the logged-in user, or null
+     * @return {@link Decision#UNAUTHORIZED} if the method needs a login and
+     * there is none, {@link Decision#FORBIDDEN} if the user's role is not
+     * allowed, otherwise {@link Decision#ALLOW}
+     */
+    public Decision decide(Method method, AuthenticatedUser user) {
+        int mask = roleMask(method);
+        if (mask == PERMIT_ALL) {
+            return Decision.ALLOW;
+        }
+        if (user == null) {
+            return Decision.UNAUTHORIZED;
+        }
+        Role role = user.getRole();
+        return role != null && (mask & role.bit()) != 0 ? Decision.ALLOW : Decision.FORBIDDEN;
+    }
+
+    private static int roleMaskOf(Method method) {
+        Integer mask = declaredMask(method);
+        if (mask == null) {
+            mask = declaredMask(method.getDeclaringClass());
+        }
+        return mask != null ? mask : Role.ALL;
+    }
+
+    private static Integer declaredMask(AnnotatedElement element) {
+        if (element.isAnnotationPresent(DenyAll.class)) {
+            return 0;
+        }
+        if (element.isAnnotationPresent(PermitAll.class)) {
+            return PERMIT_ALL;
+        }
+        RolesAllowed rolesAllowed = element.getAnnotation(RolesAllowed.class);
+        if (rolesAllowed == null) {
+            return null;
+        }
+        int mask = 0;
+        for (String name : rolesAllowed.value()) {
+            Role role = Role.parse(name);
+            if (role == null) {
+                throw new IllegalStateException("Unknown role '" + name + "' in @RolesAllowed on " + element);
+            }
+            mask |= role.bit();
+        }
+        return mask;
+    }
+}
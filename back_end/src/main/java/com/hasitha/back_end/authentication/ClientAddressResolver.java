@@ -0,0 +1,91 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.utils.AppConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Works out the address of the client behind a request.
+ *
+ * Behind the load balancer every request comes from the balancer's address,
+ * so the client is read from the {@code X-Forwarded-For} header instead. The
+ * header is trusted only when the request comes from one of the proxies in
+ * {@code app.auth.trustedProxies} (comma-separated addresses); anyone else
+ * could send any value in it. Each proxy appends the address it received
+ * the request from, so the header is read from the right, skipping trusted
+ * proxies, and the first other address is the client.
+ */
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final ClientAddressResolver SHARED = new ClientAddressResolver(
+            parseAddresses(AppConfig.getString("app.auth.trustedProxies", "")));
+
+    private final Set<String> trustedProxies;
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param trustedProxies addresses of the proxies whose
+     * {@code X-Forwarded-For} header is trusted
+     */
+    public ClientAddressResolver(Set<String> trustedProxies) {
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    /**
+     * Returns the resolver configured for this process.
+     *
+     * @return the shared resolver
+     */
+    public static ClientAddressResolver getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the client address of a request.
+     *
+     * @param request the request
+     * @return the client address
+     */
+    public String resolve(HttpServletRequest request) {
+        return resolve(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR));
+    }
+
+    /**
+     * Returns the client address given the connection's peer address and the
+     * {@code X-Forwarded-For} header.
+     *
+     * @param remoteAddr the address the connection came from
+     * @param forwardedFor the {@code X-Forwarded-For} header, may be null
+     * @return the client address
+     */
+    public String resolve(String remoteAddr, String forwardedFor) {
+        if (forwardedFor == null || !trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].strip();
+            if (hop.isEmpty()) {
+                break; // Malformed header; keep the last address we could trust
+            }
+            client = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    static Set<String> parseAddresses(String addresses) {
+        return Arrays.stream(addresses.split(","))
+                .map(String::strip)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,271 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.utils.AppConfig;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles login attempts per username and per client IP.
+ *
+ * Each key has a sliding-window counter: the attempts of the current and the
+ * previous fixed window, with the previous one weighted by how much of it
+ * still overlaps the sliding window. That approximates a true sliding window
+ * with two counters per key instead of a timestamp per attempt.
+ *
+ * The counters live in {@value #STRIPES} lock-striped maps in
+ * least-recently-used order, each holding at most its share of
+ * {@code app.auth.loginMaxKeys}, so a flood of random usernames cannot grow
+ * memory without limit; it only evicts the coldest keys. Keys idle for two
+ * windows count as empty.
+ *
+ * The limits are per process; behind a load balancer each node counts the
+ * attempts it sees.
+ */
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private static final LoginRateLimiter SHARED = new LoginRateLimiter(
+            AppConfig.getInt("app.auth.loginMaxPerUser", 5),
+            AppConfig.getInt("app.auth.loginMaxPerIp", 20),
+            AppConfig.getLong("app.auth.loginWindowSeconds", 60L) * 1000L,
+            AppConfig.getInt("app.auth.loginMaxKeys", 10_000),
+            System::currentTimeMillis);
+
+    private final int maxPerUser;
+    private final int maxPerIp;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param maxPerUser attempts allowed per username in one window, 0 for
+     * no limit
+     * @param maxPerIp attempts allowed per client IP in one window, 0 for no
+     * limit
+     * @param windowMillis length of the sliding window
+     * @param maxKeys most usernames and IPs tracked at once
+     * @param clock source of the current time in milliseconds
+     */
+    public LoginRateLimiter(int maxPerUser, int maxPerIp, long windowMillis, int maxKeys, LongSupplier clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Login window must be greater than zero.");
+        }
+        this.maxPerUser = maxPerUser;
+        this.maxPerIp = maxPerIp;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Returns the limiter shared by all requests in this process.
+     *
+     * @return the shared limiter
+     */
+    public static LoginRateLimiter getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Counts a login attempt if both the username and the IP are under their
+     * limits. The check and the count happen under the locks of both keys'
+     * stripes, so concurrent attempts cannot all pass before any is counted.
+     *
+     * @param username the submitted username, may be null
+     * @param ip the client address, may be null
+     * @return 0 if the attempt may proceed, otherwise the seconds until the
+     * caller may try again
+     */
+    public long tryAcquire(String username, String ip) {
+        String userKey = userKey(username);
+        String ipKey = ip == null ? null : "ip:" + ip;
+        int userStripe = userKey == null ? -1 : stripeIndex(userKey);
+        int ipStripe = ipKey == null ? -1 : stripeIndex(ipKey);
+
+        // Locks are always taken in stripe order, so two attempts cannot deadlock
+        int first = Math.min(userStripe, ipStripe);
+        int second = Math.max(userStripe, ipStripe);
+        lock(first);
+        try {
+            if (second != first) {
+                lock(second);
+            }
+            try {
+                long now = clock.getAsLong();
+                long wait = Math.max(waitMillis(userKey, maxPerUser, now), waitMillis(ipKey, maxPerIp, now));
+                if (wait > 0) {
+                    rejected.increment();
+                    return Math.max(1, (wait + 999) / 1000);
+                }
+                record(userKey, now);
+                record(ipKey, now);
+                return 0;
+            } finally {
+                if (second != first) {
+                    unlock(second);
+                }
+            }
+        } finally {
+            unlock(first);
+        }
+    }
+
+    /**
+     * Clears the attempts of a username after a successful login, so a user
+     * who mistyped a few times is not held back. The IP keeps its count.
+     *
+     * @param username the username that logged in
+     */
+    public void reset(String username) {
+        String key = userKey(username);
+        if (key != null) {
+            Stripe stripe = stripeOf(key);
+            stripe.lock.lock();
+            try {
+                stripe.windows.remove(key);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of attempts turned away.
+     *
+     * @return rejected attempt count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of usernames and IPs currently tracked.
+     *
+     * @return tracked key count
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private void lock(int stripe) {
+        if (stripe >= 0) {
+            stripes[stripe].lock.lock();
+        }
+    }
+
+    private void unlock(int stripe) {
+        if (stripe >= 0) {
+            stripes[stripe].lock.unlock();
+        }
+    }
+
+    // Caller holds the key's stripe lock
+    private long waitMillis(String key, int max, long now) {
+        if (key == null || max <= 0) { // A limit of 0 disables that check
+            return 0;
+        }
+        Window window = stripeOf(key).windows.get(key);
+        return window == null ? 0 : window.advance(now, windowMillis).waitMillis(now, max, windowMillis);
+    }
+
+    // Caller holds the key's stripe lock
+    private void record(String key, long now) {
+        if (key != null) {
+            stripeOf(key).windows.computeIfAbsent(key, k -> new Window(now - now % windowMillis))
+                    .advance(now, windowMillis).current++;
+        }
+    }
+
+    private Stripe stripeOf(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private static int stripeIndex(String key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static String userKey(String username) {
+        return username == null || username.isBlank() ? null : "user:" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One stripe: a lock and the windows of the keys that hash to it.
+     */
+    private static final class Stripe {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Window> windows;
+
+        Stripe(int maxKeys) {
+            windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    /**
+     * Attempt counts of the current and the previous fixed window of a key.
+     * Guarded by its stripe's lock.
+     */
+    private static final class Window {
+
+        long start;
+        int current;
+        int previous;
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        // Rolls the window forward to the one containing now
+        Window advance(long now, long length) {
+            long elapsedWindows = (now - start) / length;
+            if (elapsedWindows >= 1) {
+                previous = elapsedWindows == 1 ? current : 0;
+                current = 0;
+                start += elapsedWindows * length;
+            }
+            return this;
+        }
+
+        // Time until the weighted count drops below max, or 0 if it already is
+        long waitMillis(long now, int max, long length) {
+            long elapsed = now - start;
+            double weight = 1.0 - (double) elapsed / length;
+            if (current + previous * weight < max) {
+                return 0;
+            }
+            if (current < max) {
+                // The previous window's share has to fade: previous * (1 - t / length) < max - current
+                double fadedAt = (1.0 - (double) (max - current) / previous) * length;
+                return Math.max(1, (long) Math.ceil(fadedAt) - elapsed + 1);
+            }
+            // This window is full on its own; wait until it is the previous one and has faded enough
+            double fadedAt = (1.0 - (double) max / current) * length;
+            return length - elapsed + (long) Math.ceil(fadedAt) + 1;
+        }
+    }
+}
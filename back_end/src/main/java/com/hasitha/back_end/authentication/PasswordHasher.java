@@ -0,0 +1,243 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.utils.AppConfig;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Hashes and verifies passwords with salted PBKDF2-HMAC-SHA256.
+ *
+ * A stored hash is {@code pbkdf2_sha256$iterations$salt$hash} with a random
+ * 16-byte salt per password, so the cost ({@code app.auth.hashIterations})
+ * can be raised later: {@link #needsRehash} reports hashes made with fewer
+ * iterations, and plain-text passwords from before hashing was introduced,
+ * so they can be replaced at the next login.
+ *
+ * Hashing is deliberately slow, so it runs on a small dedicated pool of
+ * {@code app.auth.hashThreads} platform threads with a queue of
+ * {@code app.auth.hashQueueSize}. A burst of logins then waits in that queue
+ * instead of taking every core from billing requests. When the queue is
+ * full, or a caller waits longer than {@code app.auth.hashTimeoutMs}, the
+ * call fails with a {@link ServiceUnavailableException} (503).
+ */
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2_sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final PasswordHasher SHARED = new PasswordHasher(
+            AppConfig.getInt("app.auth.hashIterations", 310_000),
+            newPool(defaultThreads(), AppConfig.getInt("app.auth.hashQueueSize", 64)),
+            AppConfig.getLong("app.auth.hashTimeoutMs", 10_000L));
+
+    private final int iterations;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+    private volatile String dummyHash;
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param iterations PBKDF2 iterations for new hashes
+     * @param pool runs the hashing
+     * @param timeoutMillis how long a caller waits for its hash
+     */
+    public PasswordHasher(int iterations, ThreadPoolExecutor pool, long timeoutMillis) {
+        this.iterations = iterations;
+        this.pool = pool;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns the hasher shared by all requests in this process.
+     *
+     * @return the shared hasher
+     */
+    public static PasswordHasher getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a bounded pool of daemon platform threads for hashing.
+     *
+     * @param threads number of hashing threads
+     * @param queueSize hashes that may wait for a thread
+     * @return the pool
+     */
+    public static ThreadPoolExecutor newPool(int threads, int queueSize) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the plain-text password
+     * @return the encoded hash to store
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = run(() -> pbkdf2(password, salt, iterations));
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash, or against a legacy
+     * plain-text password.
+     *
+     * @param password the plain-text password
+     * @param stored the stored hash, may be null
+     * @return true if the password matches
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public boolean matches(String password, String stored) {
+        if (stored == null) {
+            return false;
+        }
+        if (!stored.startsWith(PREFIX)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, run(() -> pbkdf2(password, salt, storedIterations)));
+        } catch (IllegalArgumentException e) { // Corrupt hash
+            return false;
+        }
+    }
+
+    /**
+     * Checks a password against a fixed hash made with the configured
+     * iterations, and discards the result. Used when there is no user to
+     * check against, so an unknown username takes as long to reject as a
+     * wrong password and does not reveal which usernames exist.
+     *
+     * @param password the plain-text password
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public void matchesNone(String password) {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hash("dummy-password"); // Racing first callers just hash twice
+            dummyHash = hash;
+        }
+        matches(password, hash);
+    }
+
+    /**
+     * Tells whether a stored password should be hashed again, because it is
+     * plain text or was hashed with fewer iterations than configured.
+     *
+     * @param stored the stored hash
+     * @return true if it should be replaced
+     */
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of hashes currently running.
+     *
+     * @return running hash count
+     */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Returns the number of hashes waiting for a thread.
+     *
+     * @return queued hash count
+     */
+    public int getQueuedCount() {
+        return pool.getQueue().size();
+    }
+
+    public int getThreadCount() {
+        return pool.getMaximumPoolSize();
+    }
+
+    /**
+     * Returns the number of hashes turned away because the queue was full.
+     *
+     * @return rejected hash count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // Configured thread count, or half the cores so billing keeps the rest
+    private static int defaultThreads() {
+        int configured = AppConfig.getInt("app.auth.hashThreads", 0);
+        return configured > 0 ? configured : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private byte[] run(Callable<byte[]> work) {
+        Future<byte[]> future;
+        try {
+            future = pool.submit(work);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(MessageConstants.SERVER_BUSY);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException(MessageConstants.SERVER_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(MessageConstants.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hasitha.back_end.authentication;
+
+import java.util.Locale;
+
+/**
+ * The user roles, each with a bit in the role masks of
+ * {@link AuthorizationPolicy}.
+ */
+public enum Role {
+    ADMIN,
+    USER;
+
+    /**
+     * Mask with the bits of all roles.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    /**
+     * Returns this role's bit in a role mask.
+     *
+     * @return the bit
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Maps a stored role name to its role, ignoring case.
+     *
+     * @param name the role name, may be null
+     * @return the role, or null if the name is unknown
+     */
+    public static Role parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.utils.AppConfig;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies stateless, HMAC-signed session tokens.
+ *
+ * A token is {@code payload.signature}, both base64url encoded, where the
+ * payload is {@code userId:role:expiry} (expiry in epoch seconds) and the
+ * signature is its HMAC-SHA256 under {@code app.auth.tokenSecret}. Any node
+ * with the same secret can verify a token without a session store, so the
+ * backend can run behind a plain round-robin balancer.
+ *
+ * Tokens are used instead of the {@code HttpSession} when
+ * {@code app.auth.tokens} is true. The secret is then required: a missing,
+ * malformed or short secret fails startup, since a key generated per node
+ * would make every node reject the others' tokens. Tokens cannot be revoked
+ * before they expire; logging out only removes the cookie.
+ */
+public class TokenService {
+
+    /**
+     * Name of the HttpOnly cookie carrying the token.
+     */
+    public static final String COOKIE_NAME = "auth_token";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Shortest secret accepted: the HMAC-SHA256 output size
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static volatile TokenService defaultInstance;
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param secret the HMAC key
+     * @param ttlSeconds how long an issued token stays valid
+     * @param clock source of the current time
+     */
+    public TokenService(byte[] secret, long ttlSeconds, Clock clock) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the service shared by all requests in this process, creating
+     * it on first use. Called at startup so a bad secret stops deployment.
+     *
+     * @return the shared service
+     * @throws IllegalStateException if tokens are enabled and
+     * {@code app.auth.tokenSecret} is missing, not base64 or shorter than 32
+     * bytes
+     */
+    public static TokenService getDefault() {
+        TokenService instance = defaultInstance;
+        if (instance == null) {
+            synchronized (TokenService.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = new TokenService(
+                            loadSecret(AppConfig.getString("app.auth.tokenSecret", null), isEnabled()),
+                            AppConfig.getLong("app.auth.tokenTtlSeconds", 28_800L), Clock.systemUTC());
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Tells whether sessions are carried in signed tokens instead of the
+     * {@code HttpSession}.
+     *
+     * @return the value of {@code app.auth.tokens}
+     */
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("app.auth.tokens", false);
+    }
+
+    /**
+     * Returns how long an issued token stays valid.
+     *
+     * @return the lifetime in seconds
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Issues a token for a logged-in user.
+     *
+     * @param user the user, with ID and role
+     * @return the signed token
+     */
+    public String issue(User user) {
+        long expiry = clock.instant().getEpochSecond() + ttlSeconds;
+        String payload = ENCODER.encodeToString(
+                (user.getId() + ":" + user.getRole() + ":" + expiry).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies a token and returns the user it was issued for.
+     *
+     * @param token the token, may be null
+     * @return the user, with only ID and role set, or null if the token is
+     * malformed, has a wrong signature or has expired
+     */
+    public AuthenticatedUser verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            // Compare in constant time so the signature cannot be guessed byte by byte
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (fields.length != 3 || Long.parseLong(fields[2]) <= clock.instant().getEpochSecond()) {
+                return null;
+            }
+            return new AuthenticatedUser(new User(Integer.parseInt(fields[0]), null, null, null, fields[1]));
+        } catch (IllegalArgumentException e) { // Bad base64 or number
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            // Mac instances are not thread-safe, so each call gets its own
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Decodes the configured secret.
+     *
+     * @param secret the base64 secret, or null if not set
+     * @param enabled whether tokens are in use
+     * @return the key; a random one if tokens are not in use
+     * @throws IllegalStateException if tokens are enabled and the secret is
+     * missing, not base64 or shorter than 32 bytes
+     */
+    static byte[] loadSecret(String secret, boolean enabled) {
+        if (!enabled) {
+            // No token is ever issued or accepted, so any key will do
+            byte[] generated = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(generated);
+            return generated;
+        }
+        if (secret == null) {
+            throw new IllegalStateException("app.auth.tokenSecret must be set when app.auth.tokens is true, "
+                    + "to the same base64 key of at least " + MIN_SECRET_BYTES + " bytes on every node.");
+        }
+        byte[] decoded;
+        try {
+            decoded = Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("app.auth.tokenSecret is not valid base64: " + e.getMessage(), e);
+        }
+        if (decoded.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.auth.tokenSecret must decode to at least " + MIN_SECRET_BYTES
+                    + " bytes, but has " + decoded.length + ".");
+        }
+        return decoded;
+    }
+}
@@ -1,6 +1,7 @@
 package com.hasitha.back_end.bill;
 
 import com.hasitha.back_end.billItem.BillItem;
+import com.hasitha.back_end.utils.Money;
 import java.util.Date;
 import java.util.List;
 
@@ -34,7 +35,7 @@ public class Bill {
     /**
      * Total amount of the bill
      */
-    private double total;
+    private Money total;
 
     /**
      * List of individual bill items (products and their quantities)
@@ -55,7 +56,7 @@ public class Bill {
      * @param date the date/time of the bill
      * @param total the total bill amount
      */
-    public Bill(int customerId, int userId, Date date, double total) {
+    public Bill(int customerId, int userId, Date date, Money total) {
         this.customerId = customerId;
         this.userId = userId;
         this.date = date;
@@ -71,7 +72,7 @@ public class Bill {
      * @param date the date/time of the bill
      * @param total the total bill amount
      */
-    public Bill(int id, int customerId, int userId, Date date, double total) {
+    public Bill(int id, int customerId, int userId, Date date, Money total) {
         this.id = id;
         this.customerId = customerId;
         this.userId = userId;
@@ -89,7 +90,7 @@ public class Bill {
      * @param total the total bill amount
      * @param items the list of bill items
      */
-    public Bill(int id, int customerId, int userId, Date date, double total, List<BillItem> items) {
+    public Bill(int id, int customerId, int userId, Date date, Money total, List<BillItem> items) {
         this.id = id;
         this.customerId = customerId;
         this.userId = userId;
@@ -157,14 +158,14 @@ public class Bill {
     /**
      * @return the total bill amount
      */
-    public double getTotal() {
+    public Money getTotal() {
         return total;
     }
 
     /**
      * @param total sets the total bill amount
      */
-    public void setTotal(double total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
@@ -0,0 +1,84 @@
+package com.hasitha.back_end.bill;
+
+import com.hasitha.back_end.exceptions.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque position in the bill history, used for keyset pagination.
+ *
+ * A cursor points at the last bill of a page by its {@code (bill_date, id)}
+ * pair. The next page starts strictly after that pair in
+ * {@code bill_date DESC, id DESC} order. Clients receive it as a URL-safe
+ * Base64 string and send it back unchanged.
+ */
+public final class BillCursor {
+
+    private final long dateMillis;
+    private final int id;
+
+    /**
+     * Creates a cursor positioned at the given bill.
+     *
+     * @param date the bill date of the last bill on the page
+     * @param id the ID of the last bill on the page
+     */
+    public BillCursor(Date date, int id) {
+        this.dateMillis = date.getTime();
+        this.id = id;
+    }
+
+    private BillCursor(long dateMillis, int id) {
+        this.dateMillis = dateMillis;
+        this.id = id;
+    }
+
+    /**
+     * Returns the bill date the cursor points at.
+     *
+     * @return the bill date
+     */
+    public Date getDate() {
+        return new Date(dateMillis);
+    }
+
+    /**
+     * Returns the bill ID the cursor points at.
+     *
+     * @return the bill ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor into its opaque string form.
+     *
+     * @return URL-safe Base64 cursor string
+     */
+    public String encode() {
+        String raw = dateMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor string produced by {@link #encode()}.
+     *
+     * @param value the cursor string
+     * @return the decoded cursor
+     * @throws ValidationException if the value is not a valid cursor
+     */
+    public static BillCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor.");
+            }
+            return new BillCursor(Long.parseLong(raw.substring(0, separator)), Integer.parseInt(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor.");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hasitha.back_end.bill;
 
+import java.sql.Connection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for performing CRUD operations on bills.
@@ -17,6 +19,25 @@ public interface BillDAO {
      */
     Bill create(Bill bill);
 
+    /**
+     * Persists a new bill using the caller's connection, so it takes part in
+     * the caller's transaction.
+     *
+     * @param connection the transaction's connection
+     * @param bill the bill object to be created
+     * @return the created Bill object with its generated ID
+     */
+    Bill create(Connection connection, Bill bill);
+
+    /**
+     * Persists several bills with one batched insert on the caller's
+     * connection. Generated IDs are set on the given bills, in order.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills to create
+     */
+    void createAll(Connection connection, List<Bill> bills);
+
     /**
      * Retrieves all bills from the database.
      *
@@ -24,6 +45,35 @@ public interface BillDAO {
      */
     List<Bill> findAll();
 
+    /**
+     * Retrieves all bills together with their customer and user in a single
+     * joined query, most recent first. Bill items are not included.
+     *
+     * @return a list of BillDTO objects with customer and user populated
+     */
+    List<BillDTO> findAllWithDetails();
+
+    /**
+     * Retrieves one page of bills with customer and user details, ordered by
+     * {@code bill_date DESC, id DESC} and starting after the request's cursor.
+     * Filters in the request are applied in SQL.
+     *
+     * @param request the page parameters and filters
+     * @param fetchSize the maximum number of rows to return
+     * @return up to {@code fetchSize} bills
+     */
+    List<BillDTO> findPage(BillPageRequest request, int fetchSize);
+
+    /**
+     * Reads every bill matching the request's cursor and filters, in the
+     * same order as {@link #findPage}, and passes each one to the action as
+     * it is read. The request's limit is ignored.
+     *
+     * @param request the starting cursor and filters
+     * @param action receives the bills with customer and user populated
+     */
+    void streamWithDetails(BillPageRequest request, Consumer<? super BillDTO> action);
+
     /**
      * Finds a specific bill by its unique ID.
      *
@@ -1,17 +1,53 @@
 package com.hasitha.back_end.bill;
 
+import com.hasitha.back_end.customer.Customer;
 import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.utils.ConnectionPool;
 import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.Money;
+import com.hasitha.back_end.utils.StreamingQuery;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementation of BillDAO for performing database operations on bills.
  */
 public class BillDAOImpl implements BillDAO {
 
+    // Bill header joined with its customer and cashier
+    private static final String DETAILS_SELECT
+            = "SELECT b.id, b.bill_date, b.total, "
+            + "c.id AS c_id, c.first_name AS c_first_name, c.last_name AS c_last_name, c.address AS c_address, c.phone AS c_phone, "
+            + "u.id AS u_id, u.first_name AS u_first_name, u.last_name AS u_last_name, u.username AS u_username, u.role AS u_role "
+            + "FROM bills b "
+            + "JOIN customers c ON c.id = b.customer_id "
+            + "JOIN users u ON u.id = b.user_id ";
+
+    // Source of connections for methods that open their own
+    private final ConnectionPool.ConnectionFactory connectionSource;
+
+    /**
+     * Default constructor that uses the shared pool in {@link DBConnection}.
+     */
+    public BillDAOImpl() {
+        this.connectionSource = DBConnection::getConnection;
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param connectionSource supplies connections for each call
+     */
+    public BillDAOImpl(ConnectionPool.ConnectionFactory connectionSource) {
+        this.connectionSource = connectionSource;
+    }
+
     /**
      * Creates a new bill record in the database.
      *
@@ -23,14 +59,33 @@ public class BillDAOImpl implements BillDAO {
      */
     @Override
     public Bill create(Bill bill) {
+        try (Connection conn = connectionSource.create()) {
+            return create(conn, bill);
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while creating bill: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a new bill record on the given connection without committing.
+     *
+     * @param conn the transaction's connection
+     * @param bill the bill object containing customerId, userId, date, and
+     * total
+     * @return the bill object with the generated ID
+     * @throws DatabaseException if insertion fails or generated ID cannot be
+     * retrieved
+     */
+    @Override
+    public Bill create(Connection conn, Bill bill) {
         String sql = "INSERT INTO bills (customer_id, user_id, bill_date, total) VALUES (?, ?, ?, ?)";
 
-        try (Connection conn = DBConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setInt(1, bill.getCustomerId());
             ps.setInt(2, bill.getUserId());
             ps.setTimestamp(3, new Timestamp(bill.getDate().getTime()));
-            ps.setDouble(4, bill.getTotal());
+            ps.setBigDecimal(4, bill.getTotal().toBigDecimal());
 
             int rowsAffected = ps.executeUpdate();
 
@@ -52,6 +107,43 @@ public class BillDAOImpl implements BillDAO {
         }
     }
 
+    /**
+     * Creates several bill records on the given connection with a single
+     * batch insert, without committing, and copies the generated IDs back
+     * onto the bills.
+     *
+     * @param conn the transaction's connection
+     * @param bills the bills to insert
+     * @throws DatabaseException if insertion fails or the generated IDs cannot
+     * be retrieved
+     */
+    @Override
+    public void createAll(Connection conn, List<Bill> bills) {
+        String sql = "INSERT INTO bills (customer_id, user_id, bill_date, total) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Bill bill : bills) {
+                ps.setInt(1, bill.getCustomerId());
+                ps.setInt(2, bill.getUserId());
+                ps.setTimestamp(3, new Timestamp(bill.getDate().getTime()));
+                ps.setBigDecimal(4, bill.getTotal().toBigDecimal());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                for (Bill bill : bills) {
+                    if (!rs.next()) {
+                        throw new DatabaseException("Creating bills failed: Unable to retrieve generated IDs.");
+                    }
+                    bill.setId(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while creating bills: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Retrieves all bills from the database, ordered by date (most recent
      * first).
@@ -64,7 +156,7 @@ public class BillDAOImpl implements BillDAO {
         String sql = "SELECT * FROM bills ORDER BY bill_date DESC";
         List<Bill> bills = new ArrayList<>();
 
-        try (Connection conn = DBConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
                 Bill bill = new Bill(
@@ -72,7 +164,7 @@ public class BillDAOImpl implements BillDAO {
                         rs.getInt("customer_id"),
                         rs.getInt("user_id"),
                         rs.getTimestamp("bill_date"),
-                        rs.getDouble("total")
+                        Money.of(rs.getBigDecimal("total"))
                 );
                 bills.add(bill);
             }
@@ -84,6 +176,194 @@ public class BillDAOImpl implements BillDAO {
         return bills;
     }
 
+    /**
+     * Retrieves all bills with customer and user details using one joined
+     * query, so the number of statements does not grow with the number of
+     * bills. Customer and user objects are shared between rows that refer to
+     * the same record.
+     *
+     * @return list of all bills as DTOs, most recent first
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public List<BillDTO> findAllWithDetails() {
+        String sql = DETAILS_SELECT + "ORDER BY b.bill_date DESC";
+        List<BillDTO> bills = new ArrayList<>();
+        Map<Integer, Customer> customers = new HashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                bills.add(mapBillDetails(rs, customers, users));
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while fetching bill details: " + e.getMessage(), e);
+        }
+
+        return bills;
+    }
+
+    /**
+     * Retrieves one page of bills using keyset pagination on
+     * {@code (bill_date, id)}. Unlike OFFSET paging, the cost of a page does
+     * not grow with how far into the history it is.
+     *
+     * @param request the page parameters and filters
+     * @param fetchSize the maximum number of rows to return
+     * @return up to {@code fetchSize} bills, most recent first
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public List<BillDTO> findPage(BillPageRequest request, int fetchSize) {
+        StringBuilder sql = new StringBuilder(DETAILS_SELECT).append("WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(request, sql, params);
+        sql.append(" ORDER BY b.bill_date DESC, b.id DESC LIMIT ?");
+        params.add(fetchSize);
+
+        List<BillDTO> bills = new ArrayList<>();
+        Map<Integer, Customer> customers = new HashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    bills.add(mapBillDetails(rs, customers, users));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while fetching bill page: " + e.getMessage(), e);
+        }
+
+        return bills;
+    }
+
+    /**
+     * Streams every bill matching the request's cursor and filters, in page
+     * order, through a streaming result set (see
+     * {@link StreamingQuery#prepare}). The request's limit is ignored.
+     *
+     * @param request the starting cursor and filters
+     * @param action receives each bill as its row is read
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public void streamWithDetails(BillPageRequest request, Consumer<? super BillDTO> action) {
+        StringBuilder sql = new StringBuilder(DETAILS_SELECT).append("WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(request, sql, params);
+        sql.append(" ORDER BY b.bill_date DESC, b.id DESC");
+
+        // Only the current row's customer and user are kept, so memory does not grow with the result
+        Map<Integer, Customer> customers = new HashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = StreamingQuery.prepare(conn, sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    customers.clear();
+                    users.clear();
+                    action.accept(mapBillDetails(rs, customers, users));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while streaming bills: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appends the cursor and filter conditions of a page request to a
+     * {@link #DETAILS_SELECT} query.
+     *
+     * @param request the cursor and filters
+     * @param sql the query so far, ending in a WHERE clause
+     * @param params receives the parameter values in placeholder order
+     */
+    private static void appendFilters(BillPageRequest request, StringBuilder sql, List<Object> params) {
+        if (request.getCursor() != null) {
+            Timestamp cursorDate = new Timestamp(request.getCursor().getDate().getTime());
+            sql.append(" AND (b.bill_date < ? OR (b.bill_date = ? AND b.id < ?))");
+            params.add(cursorDate);
+            params.add(cursorDate);
+            params.add(request.getCursor().getId());
+        }
+        if (request.getFrom() != null) {
+            sql.append(" AND b.bill_date >= ?");
+            params.add(new Timestamp(request.getFrom().getTime()));
+        }
+        if (request.getTo() != null) {
+            sql.append(" AND b.bill_date < ?");
+            params.add(new Timestamp(request.getTo().getTime()));
+        }
+        if (request.getCustomerId() != null) {
+            sql.append(" AND b.customer_id = ?");
+            params.add(request.getCustomerId());
+        }
+        if (request.getUserId() != null) {
+            sql.append(" AND b.user_id = ?");
+            params.add(request.getUserId());
+        }
+    }
+
+    /**
+     * Maps the current row of a {@link #DETAILS_SELECT} result to a BillDTO.
+     *
+     * @param rs the result set positioned on a row
+     * @param customers customers already mapped in this result, by ID
+     * @param users users already mapped in this result, by ID
+     * @return the mapped bill without items
+     * @throws SQLException if a column cannot be read
+     */
+    private BillDTO mapBillDetails(ResultSet rs, Map<Integer, Customer> customers, Map<Integer, User> users) throws SQLException {
+        int customerId = rs.getInt("c_id");
+        Customer customer = customers.get(customerId);
+        if (customer == null) {
+            customer = new Customer(
+                    customerId,
+                    rs.getString("c_first_name"),
+                    rs.getString("c_last_name"),
+                    rs.getString("c_address"),
+                    rs.getString("c_phone")
+            );
+            customers.put(customerId, customer);
+        }
+
+        int userId = rs.getInt("u_id");
+        User user = users.get(userId);
+        if (user == null) {
+            user = new User(
+                    userId,
+                    rs.getString("u_first_name"),
+                    rs.getString("u_last_name"),
+                    rs.getString("u_username"),
+                    rs.getString("u_role")
+            );
+            users.put(userId, user);
+        }
+
+        return new BillDTO(
+                rs.getInt("id"),
+                customer,
+                user,
+                rs.getTimestamp("bill_date"),
+                Money.of(rs.getBigDecimal("total"))
+        );
+    }
+
     /**
      * Retrieves a bill by its ID.
      *
@@ -95,7 +375,7 @@ public class BillDAOImpl implements BillDAO {
     public Bill findById(int id) {
         String sql = "SELECT * FROM bills WHERE id = ?";
 
-        try (Connection conn = DBConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
 
@@ -106,7 +386,7 @@ public class BillDAOImpl implements BillDAO {
                             rs.getInt("customer_id"),
                             rs.getInt("user_id"),
                             rs.getTimestamp("bill_date"),
-                            rs.getDouble("total")
+                            Money.of(rs.getBigDecimal("total"))
                     );
                 }
             }
@@ -3,6 +3,7 @@ package com.hasitha.back_end.bill;
 import com.hasitha.back_end.billItem.BillItemDTO;
 import com.hasitha.back_end.customer.Customer;
 import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.utils.Money;
 import java.util.Date;
 import java.util.List;
 
@@ -16,7 +17,7 @@ public class BillDTO {
     private Customer customer;
     private User user;
     private Date date;
-    private double total;
+    private Money total;
     private List<BillItemDTO> billItems;
 
     /**
@@ -34,7 +35,7 @@ public class BillDTO {
      * @param date the date of the bill
      * @param total the total amount of the bill
      */
-    public BillDTO(int id, Customer customer, User user, Date date, double total) {
+    public BillDTO(int id, Customer customer, User user, Date date, Money total) {
         this.id = id;
         this.customer = customer;
         this.user = user;
@@ -52,7 +53,7 @@ public class BillDTO {
      * @param total the total amount of the bill
      * @param billItems list of bill items in the bill
      */
-    public BillDTO(int id, Customer customer, User user, Date date, double total, List<BillItemDTO> billItems) {
+    public BillDTO(int id, Customer customer, User user, Date date, Money total, List<BillItemDTO> billItems) {
         this.id = id;
         this.customer = customer;
         this.user = user;
@@ -138,7 +139,7 @@ public class BillDTO {
      *
      * @return the total amount
      */
-    public double getTotal() {
+    public Money getTotal() {
         return total;
     }
 
@@ -147,7 +148,7 @@ public class BillDTO {
      *
      * @param total the total amount to set
      */
-    public void setTotal(double total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
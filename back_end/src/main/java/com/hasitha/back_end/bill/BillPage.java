@@ -0,0 +1,58 @@
+package com.hasitha.back_end.bill;
+
+import java.util.List;
+
+/**
+ * One page of the bill history.
+ *
+ * {@code nextCursor} is null on the last page; otherwise it is passed back as
+ * the {@code cursor} query parameter to fetch the following page.
+ */
+public class BillPage {
+
+    private List<BillDTO> bills;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Default constructor.
+     */
+    public BillPage() {
+    }
+
+    /**
+     * Constructs a page.
+     *
+     * @param bills the bills on this page
+     * @param nextCursor cursor for the next page, or null if this is the last
+     */
+    public BillPage(List<BillDTO> bills, String nextCursor) {
+        this.bills = bills;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<BillDTO> getBills() {
+        return bills;
+    }
+
+    public void setBills(List<BillDTO> bills) {
+        this.bills = bills;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
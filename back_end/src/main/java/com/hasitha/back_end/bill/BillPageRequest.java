@@ -0,0 +1,103 @@
+package com.hasitha.back_end.bill;
+
+import java.util.Date;
+
+/**
+ * Parameters for fetching one page of the bill history.
+ *
+ * All filters are optional. Dates are compared against {@code bill_date}:
+ * {@code from} is inclusive and {@code to} is exclusive.
+ */
+public class BillPageRequest {
+
+    // Position after which the page starts; null for the first page
+    private BillCursor cursor;
+
+    // Maximum number of bills on the page
+    private int limit;
+
+    // Earliest bill date to include (inclusive)
+    private Date from;
+
+    // Bill date at which to stop (exclusive)
+    private Date to;
+
+    // Only bills for this customer
+    private Integer customerId;
+
+    // Only bills created by this user (cashier)
+    private Integer userId;
+
+    /**
+     * Default constructor.
+     */
+    public BillPageRequest() {
+    }
+
+    /**
+     * Constructs a page request with all parameters.
+     *
+     * @param cursor position after which the page starts, or null
+     * @param limit maximum number of bills on the page
+     * @param from earliest bill date (inclusive), or null
+     * @param to latest bill date (exclusive), or null
+     * @param customerId customer filter, or null
+     * @param userId cashier filter, or null
+     */
+    public BillPageRequest(BillCursor cursor, int limit, Date from, Date to, Integer customerId, Integer userId) {
+        this.cursor = cursor;
+        this.limit = limit;
+        this.from = from;
+        this.to = to;
+        this.customerId = customerId;
+        this.userId = userId;
+    }
+
+    public BillCursor getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(BillCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public void setFrom(Date from) {
+        this.from = from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public void setTo(Date to) {
+        this.to = to;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Integer customerId) {
+        this.customerId = customerId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+}
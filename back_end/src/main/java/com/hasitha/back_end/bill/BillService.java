@@ -1,14 +1,27 @@
 package com.hasitha.back_end.bill;
 
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.Money;
 import com.hasitha.back_end.exceptions.NotFoundException;  // Assuming this exists
+import java.sql.Connection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service layer for handling Bill-related business logic and validation.
  */
 public class BillService {
 
+    // Page size used when the client does not ask for one
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    // Largest page a client may request
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Shared timed DAO for default-constructed services
+    private static final BillDAO DEFAULT_DAO = TimedProxy.wrap(BillDAO.class, new BillDAOImpl());
+
     private final BillDAO billDao;
 
     /**
@@ -24,7 +37,7 @@ public class BillService {
      * Default constructor initializes with BillDAOImpl.
      */
     public BillService() {
-        this.billDao = new BillDAOImpl();
+        this.billDao = DEFAULT_DAO;
     }
 
     /**
@@ -39,6 +52,35 @@ public class BillService {
         return billDao.create(bill);
     }
 
+    /**
+     * Creates a new Bill inside the caller's transaction after validating its
+     * fields.
+     *
+     * @param connection the transaction's connection
+     * @param bill the Bill to create
+     * @return the created Bill with generated ID
+     * @throws ValidationException if the bill is invalid
+     */
+    public Bill create(Connection connection, Bill bill) {
+        validateBill(bill);
+        return billDao.create(connection, bill);
+    }
+
+    /**
+     * Creates several bills inside the caller's transaction with one batched
+     * insert, after validating each of them.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills to create; their IDs are set on return
+     * @throws ValidationException if any bill is invalid
+     */
+    public void createAll(Connection connection, List<Bill> bills) {
+        for (Bill bill : bills) {
+            validateBill(bill);
+        }
+        billDao.createAll(connection, bills);
+    }
+
     /**
      * Retrieves all bills from the data source.
      *
@@ -55,6 +97,67 @@ public class BillService {
         return list;
     }
 
+    /**
+     * Retrieves all bills with their customer and user details in one query.
+     *
+     * @return list of bill DTOs without bill items
+     * @throws NotFoundException if no bills are found
+     */
+    public List<BillDTO> findAllWithDetails() {
+        List<BillDTO> list = billDao.findAllWithDetails();
+
+        if (list == null || list.isEmpty()) {
+            throw new NotFoundException("No bills found.");
+        }
+
+        return list;
+    }
+
+    /**
+     * Retrieves one page of bills with customer and user details. One extra
+     * row is fetched to find out whether another page follows.
+     *
+     * @param request the page parameters and filters; a limit of 0 means the
+     * default page size
+     * @return the page, with a next cursor if more bills follow
+     * @throws ValidationException if the limit or date range is invalid
+     */
+    public BillPage findPage(BillPageRequest request) {
+        if (request.getLimit() == 0) {
+            request.setLimit(DEFAULT_PAGE_SIZE);
+        }
+        if (request.getLimit() < 0 || request.getLimit() > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().before(request.getTo())) {
+            throw new ValidationException("'from' date must be before 'to' date.");
+        }
+
+        List<BillDTO> rows = billDao.findPage(request, request.getLimit() + 1);
+        if (rows.size() <= request.getLimit()) {
+            return new BillPage(rows, null);
+        }
+
+        List<BillDTO> page = rows.subList(0, request.getLimit());
+        BillDTO last = page.get(page.size() - 1);
+        return new BillPage(page, new BillCursor(last.getDate(), last.getId()).encode());
+    }
+
+    /**
+     * Passes every bill matching the request's cursor and filters to the
+     * action as it is read, in page order. The request's limit is ignored.
+     *
+     * @param request the starting cursor and filters
+     * @param action receives each bill with customer and user populated
+     * @throws ValidationException if the date range is empty
+     */
+    public void streamWithDetails(BillPageRequest request, Consumer<? super BillDTO> action) {
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().before(request.getTo())) {
+            throw new ValidationException("'from' date must be before 'to' date.");
+        }
+        billDao.streamWithDetails(request, action);
+    }
+
     /**
      * Retrieves a Bill by its ID.
      *
@@ -88,10 +191,10 @@ public class BillService {
         if (bill.getUserId() <= 0) {
             throw new ValidationException("User ID must be a positive integer.");
         }
-        if (bill.getTotal() == 0) {
+        if (bill.getTotal() == null || bill.getTotal().equals(Money.ZERO)) {
             throw new ValidationException("Total price must be greater than zero.");
         }
-        if (bill.getTotal() < 0) {
+        if (bill.getTotal().isNegative()) {
             throw new ValidationException("Total price cannot be negative.");
         }
     }
@@ -2,6 +2,8 @@ package com.hasitha.back_end.billCreate;
 
 import com.hasitha.back_end.bill.Bill;
 import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillPage;
+import com.hasitha.back_end.bill.BillPageRequest;
 import com.hasitha.back_end.bill.BillService;
 import com.hasitha.back_end.billCreate.CreateBillRequest.BillItemRequest;
 import com.hasitha.back_end.billItem.BillItem;
@@ -9,15 +11,31 @@ import com.hasitha.back_end.billItem.BillItemDTO;
 import com.hasitha.back_end.billItem.BillItemService;
 import com.hasitha.back_end.customer.Customer;
 import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.exceptions.NotFoundException;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
 import com.hasitha.back_end.exceptions.ValidationException;
 import com.hasitha.back_end.item.Item;
 import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
 import com.hasitha.back_end.user.User;
 import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.AppConfig;
+import com.hasitha.back_end.utils.GroupCommitTransactionManager;
+import com.hasitha.back_end.utils.Money;
+import com.hasitha.back_end.utils.TaskScope;
+import com.hasitha.back_end.utils.TransactionManager;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * Service class for handling bill creation and retrieval logic.
@@ -29,16 +47,38 @@ public class BillCreateService {
     private final UserService userService;
     private final BillService billService;
     private final BillItemService billItemService;
+    private final TransactionManager transactionManager;
+    private final IdempotencyStore idempotencyStore;
+    private final SalesRollupService salesRollupService;
 
     /**
      * Constructor with dependency injection.
      */
-    public BillCreateService(ItemService itemService, CustomerService customerService, UserService userService, BillService billService, BillItemService billItemService) {
+    public BillCreateService(ItemService itemService, CustomerService customerService, UserService userService, BillService billService, BillItemService billItemService, TransactionManager transactionManager) {
+        this(itemService, customerService, userService, billService, billItemService, transactionManager, IdempotencyStore.getDefault());
+    }
+
+    /**
+     * Constructor with dependency injection, including the store used for
+     * idempotent submissions.
+     */
+    public BillCreateService(ItemService itemService, CustomerService customerService, UserService userService, BillService billService, BillItemService billItemService, TransactionManager transactionManager, IdempotencyStore idempotencyStore) {
+        this(itemService, customerService, userService, billService, billItemService, transactionManager, idempotencyStore, new SalesRollupService());
+    }
+
+    /**
+     * Constructor with dependency injection, including the idempotency store
+     * and the daily sales rollups updated with each bill.
+     */
+    public BillCreateService(ItemService itemService, CustomerService customerService, UserService userService, BillService billService, BillItemService billItemService, TransactionManager transactionManager, IdempotencyStore idempotencyStore, SalesRollupService salesRollupService) {
         this.itemService = itemService;
         this.customerService = customerService;
         this.userService = userService;
         this.billService = billService;
         this.billItemService = billItemService;
+        this.transactionManager = transactionManager;
+        this.idempotencyStore = idempotencyStore;
+        this.salesRollupService = salesRollupService;
     }
 
     /**
@@ -50,103 +90,236 @@ public class BillCreateService {
         this.userService = new UserService();
         this.billService = new BillService();
         this.billItemService = new BillItemService();
+        this.transactionManager = GroupCommitTransactionManager.isEnabled()
+                ? GroupCommitTransactionManager.getDefault()
+                : new TransactionManager();
+        this.idempotencyStore = IdempotencyStore.getDefault();
+        this.salesRollupService = new SalesRollupService();
     }
 
     /**
      * Creates a bill from the provided request and user.
      *
-     * @param userId ID of the user creating the bill.
-     * @param req Request object containing customer ID and bill items.
+     * Price lookup, guarded stock decrement, bill insert, bill item insert
+     * and the daily sales rollup update all run on one connection in a
+     * single transaction, so a failure part-way through
+     * leaves no partial bill behind. The returned DTO is assembled from the
+     * data already in hand instead of being read back from the database.
+     *
+     * @param req Request object containing user ID, customer ID and bill
+     * items.
      * @return Created {@link BillDTO} containing full bill details.
      * @throws ValidationException if input data is invalid.
      */
     public BillDTO createBill(CreateBillRequest req) {
-        Bill bill;
-        List<BillItem> billItems = new ArrayList<>();
-        List<BillItemDTO> billItemDtos = new ArrayList<>();
-        double grandTotal = 0;
+        validateCreateRequest(req);
+        return create(req, null);
+    }
 
+    /**
+     * Creates a bill at most once per user and Idempotency-Key. A retry with
+     * the same key and request returns the bill created by the first attempt
+     * without touching stock again, and a retry that arrives while the first
+     * attempt is still running waits for its result.
+     *
+     * @param req Request object containing user ID, customer ID and bill
+     * items.
+     * @param idempotencyKey client-supplied key, or null for a plain
+     * {@link #createBill(CreateBillRequest)}.
+     * @return the {@link BillDTO} created by the first attempt.
+     * @throws ValidationException if input data is invalid, or the key was
+     * already used for a different request.
+     */
+    public BillDTO createBill(CreateBillRequest req, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createBill(req);
+        }
         validateCreateRequest(req);
+        return idempotencyStore.execute(req.getUserId(), idempotencyKey, requestHash(req),
+                keyWriter -> create(req, keyWriter), this::getBill);
+    }
 
-        // Calculate total and prepare bill items
+    /**
+     * Creates the bill in one transaction, storing the idempotency key in the
+     * same transaction when one is given.
+     */
+    private BillDTO create(CreateBillRequest req, IdempotencyStore.KeyWriter keyWriter) {
+
+        User user = userService.findById(req.getUserId());
+        Customer customer = customerService.findById(req.getCustomerId());
+
+        // Total quantity per item, in ID order so rows are always updated in the same order
+        Map<Integer, Integer> quantities = new TreeMap<>();
         for (BillItemRequest itemReq : req.getItems()) {
-            double unitPrice = itemService.getPriceById(itemReq.getItemId());
-            double subtotal = unitPrice * itemReq.getQuantity();
-            grandTotal += subtotal;
-            billItems.add(new BillItem(itemReq.getItemId(), itemReq.getQuantity(), subtotal));
-            Item item = itemService.findById(itemReq.getItemId());
-            item.setStock(item.getStock() - itemReq.getQuantity());
-            itemService.update(item.getId(), item);
+            quantities.merge(itemReq.getItemId(), itemReq.getQuantity(), Integer::sum);
         }
 
-        // Create bill and save items
-        bill = billService.create(new Bill(req.getCustomerId(), req.getUserId(), new Date(), grandTotal));
-        billItemService.saveBillItems(bill.getId(), billItems);
+        return transactionManager.inTransaction(connection -> {
+            Map<Integer, Item> items = itemService.findByIds(connection, quantities.keySet());
 
-        // Retrieve and map saved bill items
-        bill.setItems(billItemService.getBillItemsByBillId(bill.getId()));
-        for (BillItem billItem : bill.getItems()) {
-            billItemDtos.add(convertToBillItemDTO(billItem));
-        }
+            List<Integer> outOfStock = itemService.decrementStock(connection, quantities);
+            if (!outOfStock.isEmpty()) {
+                throw new ValidationException(insufficientStockMessage(outOfStock, items, quantities));
+            }
 
-        Customer customer = customerService.findById(req.getCustomerId());
-        User user = userService.findById(req.getUserId());
+            // Calculate total and prepare bill items; the total is summed in whole cents
+            List<BillItem> billItems = new ArrayList<>(req.getItems().size());
+            long grandTotalCents = 0;
+            for (BillItemRequest itemReq : req.getItems()) {
+                Money subtotal = items.get(itemReq.getItemId()).getPrice().times(itemReq.getQuantity());
+                grandTotalCents = Math.addExact(grandTotalCents, subtotal.getCents());
+                billItems.add(new BillItem(itemReq.getItemId(), itemReq.getQuantity(), subtotal));
+            }
+
+            // Create bill and save items
+            Bill bill = billService.create(connection, new Bill(req.getCustomerId(), req.getUserId(), new Date(), Money.ofCents(grandTotalCents)));
+            billItemService.saveBillItems(connection, bill.getId(), billItems);
+            bill.setItems(billItems);
+            salesRollupService.record(connection, List.of(bill));
+            if (keyWriter != null) {
+                keyWriter.write(connection, bill.getId());
+            }
 
-        return new BillDTO(bill.getId(), customer, user, bill.getDate(), bill.getTotal(), billItemDtos);
+            List<BillItemDTO> billItemDtos = new ArrayList<>();
+            for (BillItem billItem : billItems) {
+                Item item = items.get(billItem.getItemId());
+                billItemDtos.add(new BillItemDTO(
+                        billItem.getId(),
+                        item.getId(),
+                        item.getName(),
+                        item.getPrice(),
+                        billItem.getQuantity(),
+                        billItem.getSubTotal()
+                ));
+            }
+
+            return new BillDTO(bill.getId(), customer, user, bill.getDate(), bill.getTotal(), billItemDtos);
+        });
     }
 
     /**
-     * Returns all bills with basic customer and user information.
+     * Returns all bills with basic customer and user information. Customer
+     * and user come from the same joined query as the bills, so the number of
+     * queries does not depend on the number of bills.
      *
      * @return List of {@link BillDTO} without bill items.
      */
     public List<BillDTO> getAllBills() {
-        List<Bill> bills = billService.findAll();
-        List<BillDTO> billDtos = new ArrayList<>();
-        for (Bill bill : bills) {
-            Customer customer = customerService.findById(bill.getCustomerId());
-            User user = userService.findById(bill.getUserId());
-            billDtos.add(new BillDTO(bill.getId(), customer, user, bill.getDate(), bill.getTotal()));
-        }
-        return billDtos;
+        return billService.findAllWithDetails();
     }
 
     /**
-     * Returns list of items for a specific bill.
+     * Returns one page of the bill history with basic customer and user
+     * information.
+     *
+     * @param request page position, size and filters.
+     * @return the {@link BillPage} with a cursor for the next page.
+     */
+    public BillPage getBillPage(BillPageRequest request) {
+        return billService.findPage(request);
+    }
+
+    /**
+     * Passes every bill matching the request's cursor and filters, with basic
+     * customer and user information, to the action as it is read.
+     *
+     * @param request starting cursor and filters; the limit is ignored.
+     * @param action receives each {@link BillDTO} without bill items.
+     */
+    public void streamBills(BillPageRequest request, Consumer<? super BillDTO> action) {
+        billService.streamWithDetails(request, action);
+    }
+
+    /**
+     * Returns list of items for a specific bill, with item name and unit
+     * price loaded in the same query.
      *
      * @param billId ID of the bill.
      * @return List of {@link BillItemDTO} for the bill.
      */
     public List<BillItemDTO> getBillItemsByBillId(int billId) {
-        List<BillItem> billItems = billItemService.getBillItemsByBillId(billId);
-        List<BillItemDTO> billItemDtos = new ArrayList<>();
+        return billItemService.getBillItemDetails(billId);
+    }
 
-        for (BillItem billItem : billItems) {
-            billItemDtos.add(convertToBillItemDTO(billItem));
-        }
-        return billItemDtos;
+    /**
+     * Returns the items of several bills at once, e.g. for exports.
+     *
+     * @param billIds IDs of the bills.
+     * @return {@link BillItemDTO}s grouped by bill ID.
+     */
+    public Map<Integer, List<BillItemDTO>> getBillItemsByBillIds(Collection<Integer> billIds) {
+        return billItemService.getBillItemDetails(billIds);
     }
 
+    /**
+     * Returns one bill with its customer, cashier and items.
+     *
+     * With {@code app.bill.parallelLookups=true} the item query, which only
+     * needs the bill ID, runs on a virtual thread while the bill row is read,
+     * within {@code app.bill.lookupTimeoutMs}. The customer and user usually
+     * come from their caches, so they are looked up on the calling thread
+     * rather than forked. The request then holds at most two pooled
+     * connections at once, one more than its
+     * {@link com.hasitha.back_end.utils.ResourceExecutor} slot accounts for, which is why the setting is off by default.
+     *
+     * @param id ID of the bill.
+     * @return the full {@link BillDTO}.
+     * @throws NotFoundException if the bill, its customer or its user does
+     * not exist.
+     * @throws ServiceUnavailableException if the item query did not finish
+     * in time.
+     */
     public BillDTO getBill(int id) {
+        if (!AppConfig.getBoolean("app.bill.parallelLookups", false)) {
+            Bill bill = billService.findById(id);
+            List<BillItemDTO> billItems = getBillItemsByBillId(id);
+            return toBillDTO(bill, billItems);
+        }
 
-        Bill bill = billService.findById(id);
-        List<BillItemDTO> billItems = getBillItemsByBillId(id);
+        try (TaskScope scope = new TaskScope(AppConfig.getLong("app.bill.lookupTimeoutMs", 5_000L))) {
+            TaskScope.Subtask<List<BillItemDTO>> billItems = scope.fork(() -> getBillItemsByBillId(id));
+            Bill bill = billService.findById(id);
+            scope.join();
+            return toBillDTO(bill, billItems.get());
+        }
+    }
 
+    private BillDTO toBillDTO(Bill bill, List<BillItemDTO> billItems) {
         Customer customer = customerService.findById(bill.getCustomerId());
         User user = userService.findById(bill.getUserId());
-
         return new BillDTO(bill.getId(), customer, user, bill.getDate(), bill.getTotal(), billItems);
     }
 
     /**
-     * Validates the request object before bill creation.
+     * Hashes the parts of a request that decide which bill it creates, so a
+     * reused Idempotency-Key can be matched against the original request.
+     *
+     * @param req the validated request.
+     * @return hex-encoded SHA-256 of the request.
+     */
+    static String requestHash(CreateBillRequest req) {
+        StringBuilder canonical = new StringBuilder()
+                .append(req.getUserId()).append('|').append(req.getCustomerId());
+        for (BillItemRequest item : req.getItems()) {
+            canonical.append('|').append(item.getItemId()).append('x').append(item.getQuantity());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Validates the request object before bill creation. Existence of the
+     * user, customer and items and the stock levels are checked by the
+     * lookups in {@link #createBill(CreateBillRequest)}.
      *
      * @param req The {@link CreateBillRequest} to validate.
      * @throws ValidationException if any rule is violated.
      */
     private void validateCreateRequest(CreateBillRequest req) {
-        userService.ensureUserExists(req.getUserId());
-        customerService.ensureCustomerExists(req.getCustomerId());
         if (req.getItems() == null || req.getItems().isEmpty()) {
             throw new ValidationException("Bill must contain at least one item.");
         }
@@ -154,30 +327,25 @@ public class BillCreateService {
             if (billItemRequest.getQuantity() <= 0) {
                 throw new ValidationException("Quantity must be > 0 for item " + billItemRequest.getItemId());
             }
-            itemService.ensureItemExists(billItemRequest.getItemId());
-            Item item = itemService.findById(billItemRequest.getItemId());
-            if ((item.getStock() - billItemRequest.getQuantity()) < 0) {
-                throw new ValidationException("Insufficient stock for item '" + item.getName()
-                        + "'. Available: " + item.getStock() + ", requested: " + billItemRequest.getQuantity());
-            }
         }
     }
 
     /**
-     * Maps a {@link BillItem} to a {@link BillItemDTO}, including item details.
+     * Builds the error message for items that ran out of stock. The available
+     * figure is from the read at the start of the transaction.
      *
-     * @param billItem The bill item to map.
-     * @return Mapped DTO.
-     */
-    private BillItemDTO convertToBillItemDTO(BillItem billItem) {
-        Item item = itemService.findById(billItem.getItemId());
-        return new BillItemDTO(
-                billItem.getId(),
-                item.getId(),
-                item.getName(),
-                item.getPrice(),
-                billItem.getQuantity(),
-                billItem.getSubTotal()
-        );
+     * @param outOfStock IDs of the items that could not be decremented.
+     * @param items the items loaded for the bill.
+     * @param quantities requested quantity per item ID.
+     * @return the validation message.
+     */
+    private String insufficientStockMessage(List<Integer> outOfStock, Map<Integer, Item> items, Map<Integer, Integer> quantities) {
+        List<String> parts = new ArrayList<>();
+        for (int itemId : outOfStock) {
+            Item item = items.get(itemId);
+            parts.add("Insufficient stock for item '" + item.getName()
+                    + "'. Available: " + item.getStock() + ", requested: " + quantities.get(itemId));
+        }
+        return String.join("; ", parts);
     }
 }
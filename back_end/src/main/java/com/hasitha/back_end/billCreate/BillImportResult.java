@@ -0,0 +1,74 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.utils.Money;
+
+/**
+ * Outcome of one bill in a {@code POST /bills/batch} import, identified by
+ * its position in the submitted array.
+ */
+public class BillImportResult {
+
+    /**
+     * Whether a bill was stored.
+     */
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Integer billId;
+    private final Money total;
+    private final String message;
+
+    private BillImportResult(int index, Status status, Integer billId, Money total, String message) {
+        this.index = index;
+        this.status = status;
+        this.billId = billId;
+        this.total = total;
+        this.message = message;
+    }
+
+    /**
+     * Result for a bill that was stored.
+     *
+     * @param index position of the bill in the batch
+     * @param billId ID of the created bill
+     * @param total the bill total
+     * @return the result
+     */
+    public static BillImportResult created(int index, int billId, Money total) {
+        return new BillImportResult(index, Status.CREATED, billId, total, null);
+    }
+
+    /**
+     * Result for a bill that was not stored.
+     *
+     * @param index position of the bill in the batch
+     * @param message why the bill was rejected
+     * @return the result
+     */
+    public static BillImportResult rejected(int index, String message) {
+        return new BillImportResult(index, Status.REJECTED, null, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Integer getBillId() {
+        return billId;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
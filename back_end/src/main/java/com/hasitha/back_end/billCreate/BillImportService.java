@@ -0,0 +1,323 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.bill.Bill;
+import com.hasitha.back_end.bill.BillService;
+import com.hasitha.back_end.billCreate.CreateBillRequest.BillItemRequest;
+import com.hasitha.back_end.billItem.BillItem;
+import com.hasitha.back_end.billItem.BillItemService;
+import com.hasitha.back_end.customer.Customer;
+import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.item.Item;
+import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
+import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.AppConfig;
+import com.hasitha.back_end.utils.Money;
+import com.hasitha.back_end.utils.TransactionManager;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Imports a batch of bills recorded offline by a POS terminal.
+ *
+ * Instead of running {@link BillCreateService#createBill} once per bill, the
+ * whole batch is checked and written with a fixed number of statements:
+ * <ul>
+ * <li>one query for all referenced customers and one for all referenced
+ * items;</li>
+ * <li>stock is allocated to the bills in submission order in memory, then
+ * taken off with one batched, guarded update per item;</li>
+ * <li>bills and bill items are each inserted with one JDBC batch, and the
+ * daily sales rollups are updated with one batched upsert per table.</li>
+ * </ul>
+ * A bill that references an unknown customer or item, or asks for more stock
+ * than is left after the bills before it, is rejected on its own; the others
+ * are still stored. Every bill gets a {@link BillImportResult}.
+ *
+ * If another sale changes stock between the read and the update, the whole
+ * batch transaction is rolled back and the allocation is repeated with the
+ * new figures.
+ */
+public class BillImportService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Largest amount the DECIMAL(10,2) total and price columns can hold
+    private static final Money MAX_AMOUNT = Money.of("99999999.99");
+
+    private final ItemService itemService;
+    private final CustomerService customerService;
+    private final UserService userService;
+    private final BillService billService;
+    private final BillItemService billItemService;
+    private final TransactionManager transactionManager;
+    private final SalesRollupService salesRollupService;
+    private final int maxBills;
+
+    /**
+     * Constructor for injection (used in tests).
+     */
+    public BillImportService(ItemService itemService, CustomerService customerService, UserService userService,
+            BillService billService, BillItemService billItemService, TransactionManager transactionManager,
+            SalesRollupService salesRollupService, int maxBills) {
+        this.itemService = itemService;
+        this.customerService = customerService;
+        this.userService = userService;
+        this.billService = billService;
+        this.billItemService = billItemService;
+        this.transactionManager = transactionManager;
+        this.salesRollupService = salesRollupService;
+        this.maxBills = maxBills;
+    }
+
+    /**
+     * Default constructor with default service initializations.
+     */
+    public BillImportService() {
+        this(new ItemService(), new CustomerService(), new UserService(), new BillService(), new BillItemService(),
+                new TransactionManager(), new SalesRollupService(), getMaxBills());
+    }
+
+    /**
+     * Returns the largest batch accepted, from {@code app.bill.importMaxBills}.
+     *
+     * @return the maximum number of bills per import
+     */
+    public static int getMaxBills() {
+        return AppConfig.getInt("app.bill.importMaxBills", 500);
+    }
+
+    /**
+     * Imports the given bills for one cashier.
+     *
+     * @param userId the cashier the bills are recorded for
+     * @param requests the bills, in the order the terminal recorded them
+     * @return one result per request, in the same order
+     * @throws ValidationException if the batch is empty or too large
+     * @throws ServiceUnavailableException if stock kept changing under the
+     * import
+     */
+    public List<BillImportResult> importBills(int userId, List<CreateBillRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one bill.");
+        }
+        if (requests.size() > maxBills) {
+            throw new ValidationException("Batch cannot contain more than " + maxBills + " bills.");
+        }
+        userService.findById(userId);
+
+        BillImportResult[] results = new BillImportResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String problem = checkShape(requests.get(i));
+            if (problem != null) {
+                results[i] = BillImportResult.rejected(i, problem);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // All customers in one lookup
+        Set<Integer> customerIds = new HashSet<>();
+        for (int i : candidates) {
+            customerIds.add(requests.get(i).getCustomerId());
+        }
+        Map<Integer, Customer> customers = customerService.findExisting(customerIds);
+        candidates.removeIf(i -> {
+            int customerId = requests.get(i).getCustomerId();
+            if (customers.containsKey(customerId)) {
+                return false;
+            }
+            results[i] = BillImportResult.rejected(i, "Customer with the specified ID " + customerId + " does not exist.");
+            return true;
+        });
+
+        if (!candidates.isEmpty()) {
+            for (BillImportResult result : write(userId, requests, candidates)) {
+                results[result.getIndex()] = result;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<BillImportResult> write(int userId, List<CreateBillRequest> requests, List<Integer> candidates) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                return transactionManager.inTransaction(connection -> allocateAndInsert(connection, userId, requests, candidates));
+            } catch (StockChangedException e) {
+                // Rolled back; allocate again against the current stock
+            }
+        }
+        throw new ServiceUnavailableException(MessageConstants.SERVER_BUSY);
+    }
+
+    /**
+     * Allocates stock to the candidate bills in order and stores the ones
+     * that can be fulfilled, all on the transaction's connection.
+     */
+    private List<BillImportResult> allocateAndInsert(Connection connection, int userId,
+            List<CreateBillRequest> requests, List<Integer> candidates) {
+        Set<Integer> itemIds = new HashSet<>();
+        for (int i : candidates) {
+            for (BillItemRequest itemReq : requests.get(i).getItems()) {
+                itemIds.add(itemReq.getItemId());
+            }
+        }
+        Map<Integer, Item> items = itemService.findExisting(connection, itemIds);
+
+        Map<Integer, Integer> available = new HashMap<>();
+        for (Item item : items.values()) {
+            available.put(item.getId(), item.getStock());
+        }
+
+        List<BillImportResult> results = new ArrayList<>(candidates.size());
+        List<Bill> bills = new ArrayList<>();
+        List<Integer> billIndexes = new ArrayList<>();
+        // Total taken per item, in ID order so rows are always updated in the same order
+        Map<Integer, Integer> taken = new TreeMap<>();
+        Date now = new Date();
+
+        for (int i : candidates) {
+            CreateBillRequest req = requests.get(i);
+            Map<Integer, Integer> quantities = new TreeMap<>();
+            try {
+                for (BillItemRequest itemReq : req.getItems()) {
+                    quantities.merge(itemReq.getItemId(), itemReq.getQuantity(), Math::addExact);
+                }
+            } catch (ArithmeticException e) {
+                results.add(BillImportResult.rejected(i, "Quantity is too large."));
+                continue;
+            }
+
+            String problem = checkStock(quantities, items, available);
+            if (problem != null) {
+                results.add(BillImportResult.rejected(i, problem));
+                continue;
+            }
+
+            Bill bill = toBill(req, userId, now, items);
+            if (bill == null) {
+                // One oversized bill must not fail the insert for the whole batch
+                results.add(BillImportResult.rejected(i, "Bill total cannot exceed " + MAX_AMOUNT + "."));
+                continue;
+            }
+            quantities.forEach((itemId, quantity) -> {
+                available.merge(itemId, -quantity, Integer::sum);
+                taken.merge(itemId, quantity, Integer::sum);
+            });
+            bills.add(bill);
+            billIndexes.add(i);
+        }
+
+        if (bills.isEmpty()) {
+            return results;
+        }
+        if (!itemService.decrementStock(connection, taken).isEmpty()) {
+            throw new StockChangedException();
+        }
+        billService.createAll(connection, bills);
+        billItemService.saveBillItems(connection, bills);
+        salesRollupService.record(connection, bills);
+
+        for (int b = 0; b < bills.size(); b++) {
+            Bill bill = bills.get(b);
+            results.add(BillImportResult.created(billIndexes.get(b), bill.getId(), bill.getTotal()));
+        }
+        return results;
+    }
+
+    /**
+     * Prices the bill's lines.
+     *
+     * @return the bill with its items, or null if an amount is too large to
+     * store
+     */
+    private static Bill toBill(CreateBillRequest req, int userId, Date date, Map<Integer, Item> items) {
+        List<BillItem> billItems = new ArrayList<>(req.getItems().size());
+        Money total = Money.ZERO;
+        try {
+            for (BillItemRequest itemReq : req.getItems()) {
+                Money subtotal = items.get(itemReq.getItemId()).getPrice().times(itemReq.getQuantity());
+                total = total.plus(subtotal);
+                billItems.add(new BillItem(itemReq.getItemId(), itemReq.getQuantity(), subtotal));
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        if (total.compareTo(MAX_AMOUNT) > 0) {
+            return null;
+        }
+        Bill bill = new Bill(req.getCustomerId(), userId, date, total);
+        bill.setItems(billItems);
+        return bill;
+    }
+
+    /**
+     * Checks what can be checked without the database.
+     *
+     * @return the rejection message, or null if the request looks valid
+     */
+    private static String checkShape(CreateBillRequest req) {
+        if (req == null) {
+            return "Bill cannot be null.";
+        }
+        if (req instanceof CreateBillRequestReader.Malformed malformed) {
+            return malformed.getReason();
+        }
+        if (req.getCustomerId() <= 0) {
+            return "Customer ID must be a positive integer.";
+        }
+        if (req.getItems() == null || req.getItems().isEmpty()) {
+            return "Bill must contain at least one item.";
+        }
+        for (BillItemRequest itemReq : req.getItems()) {
+            if (itemReq == null) {
+                return "Bill items cannot be null.";
+            }
+            if (itemReq.getQuantity() <= 0) {
+                return "Quantity must be > 0 for item " + itemReq.getItemId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that every item exists and has enough stock left after the
+     * bills allocated before this one.
+     *
+     * @return the rejection message, or null if the bill can be fulfilled
+     */
+    private static String checkStock(Map<Integer, Integer> quantities, Map<Integer, Item> items, Map<Integer, Integer> available) {
+        List<String> parts = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                return "Item with the specified ID " + entry.getKey() + " does not exist.";
+            }
+            int left = available.get(item.getId());
+            if (left < entry.getValue()) {
+                parts.add("Insufficient stock for item '" + item.getName()
+                        + "'. Available: " + left + ", requested: " + entry.getValue());
+            }
+        }
+        return parts.isEmpty() ? null : String.join("; ", parts);
+    }
+
+    private static final class StockChangedException extends RuntimeException {
+
+        private StockChangedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package com.hasitha.back_end.billCreate;
 
+import com.hasitha.back_end.authentication.AuthenticationFilter;
+import com.hasitha.back_end.bill.BillCursor;
 import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.bill.BillPage;
+import com.hasitha.back_end.bill.BillPageRequest;
 import com.hasitha.back_end.billItem.BillItemDTO;
 import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ValidationException;
 import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.response.StreamingApiResponse;
 import com.hasitha.back_end.user.User;
+import com.hasitha.back_end.utils.ResourceExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -22,57 +36,156 @@ import java.util.List;
 public class BillResource {
 
     private final BillCreateService billCreateService = new BillCreateService();
+    private final BillImportService billImportService = new BillImportService();
+    private final ResourceExecutor resourceExecutor = ResourceExecutor.getDefault();
 
     /**
      * Endpoint to create a new bill.
      *
      * <p>
      * <b>POST /bills</b></p>
-     * Requires the user to be logged in (retrieved from session). Accepts a
+     * Requires the user to be logged in (resolved by {@link AuthenticationFilter}). Accepts a
      * {@link CreateBillRequest} JSON object with customer ID and item list.
      * Returns the created bill with status 201 (Created).
      *
+     * An optional {@code Idempotency-Key} header makes retries safe: a repeat
+     * of the same request with the same key returns the bill created by the
+     * first attempt instead of creating another one.
+     *
      * @param req the request body containing bill details
+     * @param idempotencyKey client-generated key for this submission, optional
      * @param httpRequest the HTTP servlet request to extract logged-in user
-     * from session
-     * @return Response with created {@link BillDTO} wrapped in
+     * resolved by the authentication filter
+     * @param asyncResponse resumed with the response with created {@link BillDTO} wrapped in
      * {@link ApiResponse}, or 401 if not logged in
      */
     @POST
-    public Response createBill(CreateBillRequest req, @Context HttpServletRequest httpRequest) {
+    public void createBill(CreateBillRequest req, @HeaderParam("Idempotency-Key") String idempotencyKey,
+            @Context HttpServletRequest httpRequest, @Suspended AsyncResponse asyncResponse) {
+        // The request belongs to the container thread; read it before handing off
+        User user = (User) httpRequest.getAttribute(AuthenticationFilter.USER_PROPERTY);
+
+        if (user == null) {
+            asyncResponse.resume(Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("Login required").build());
+            return;
+        }
 
-        User user = (User) httpRequest.getSession().getAttribute("user");
+        resourceExecutor.submit(asyncResponse, () -> {
+            req.setUserId(user.getId());
+            BillDTO bill = billCreateService.createBill(req, idempotencyKey);
+            return Response
+                    .status(Response.Status.CREATED)
+                    .entity(new ApiResponse(MessageConstants.CREATE_SUCCESS, MessageConstants.CREATE_SUCCESS, bill))
+                    .build();
+        });
+    }
+
+    /**
+     * Endpoint to import bills recorded offline by a POS terminal.
+     *
+     * <p>
+     * <b>POST /bills/batch</b></p>
+     * Requires the user to be logged in. Accepts a JSON array of
+     * {@link CreateBillRequest}s, read one element at a time on the request
+     * thread before a database slot is taken, and stores them
+     * with set-based checks and batched inserts (see
+     * {@link BillImportService}). Bills that cannot be stored are rejected
+     * individually; the response lists a {@link BillImportResult} for every
+     * element, in order.
+     *
+     * @param body the request body, a JSON array of bills
+     * @param httpRequest the HTTP servlet request to extract logged-in user
+     * resolved by the authentication filter
+     * @param asyncResponse resumed with the response with a list of
+     * {@link BillImportResult} wrapped in {@link ApiResponse}, or 401 if not
+     * logged in
+     */
+    @POST
+    @Path("/batch")
+    public void importBills(InputStream body, @Context HttpServletRequest httpRequest, @Suspended AsyncResponse asyncResponse) {
+        User user = (User) httpRequest.getAttribute(AuthenticationFilter.USER_PROPERTY);
 
         if (user == null) {
-            return Response.status(Response.Status.UNAUTHORIZED)
-                    .entity("Login required").build();
+            asyncResponse.resume(Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("Login required").build());
+            return;
+        }
+
+        // Read the body here: a slow upload must not hold a database slot
+        List<CreateBillRequest> requests;
+        try {
+            requests = CreateBillRequestReader.read(body, BillImportService.getMaxBills());
+        } catch (ValidationException e) {
+            asyncResponse.resume(e);
+            return;
         }
 
-        req.setUserId(user.getId());
-        BillDTO bill = billCreateService.createBill(req);
-        return Response
-                .status(Response.Status.CREATED)
-                .entity(new ApiResponse(MessageConstants.CREATE_SUCCESS, MessageConstants.CREATE_SUCCESS, bill))
-                .build();
+        resourceExecutor.submit(asyncResponse, () -> {
+            List<BillImportResult> results = billImportService.importBills(user.getId(), requests);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.BILL_IMPORT_SUCCESS, results))
+                    .build();
+        });
     }
 
     /**
-     * Endpoint to retrieve a list of all bills (bill headers).
+     * Endpoint to retrieve the bill history (bill headers), one page at a
+     * time.
      *
      * <p>
-     * <b>GET /bills</b></p>
-     * Returns all available bills with status 200 (OK).
+     * <b>GET /bills?limit=&amp;cursor=&amp;from=&amp;to=&amp;customerId=&amp;cashierId=</b></p>
+     * Returns up to {@code limit} bills (default 50, max 200), most recent
+     * first. Pass the {@code nextCursor} from a response as {@code cursor} to
+     * get the following page. {@code from} and {@code to} are inclusive ISO
+     * dates (yyyy-MM-dd).
      *
-     * @return Response containing a list of {@link BillDTO} wrapped in
+     * With {@code stream=true} every matching bill from the cursor on is
+     * written while it is read from the database, ignoring {@code limit}; the
+     * response's data is then the array of bills itself, without a next
+     * cursor.
+     *
+     * @param cursor opaque cursor from the previous page, optional
+     * @param limit page size, optional
+     * @param from first bill date to include, optional
+     * @param to last bill date to include, optional
+     * @param customerId only bills for this customer, optional
+     * @param cashierId only bills created by this user, optional
+     * @param stream whether to stream all matching bills instead of one page
+     * @param asyncResponse resumed with the response containing a {@link BillPage} wrapped in
      * {@link ApiResponse}
      */
     @GET
-    public Response getAllBills() {
-        List<BillDTO> bills = billCreateService.getAllBills();
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, bills))
-                .build();
+    public void getAllBills(@QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("customerId") Integer customerId,
+            @QueryParam("cashierId") Integer cashierId,
+            @QueryParam("stream") @DefaultValue("false") boolean stream, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            BillPageRequest pageRequest = new BillPageRequest(
+                    cursor == null || cursor.isBlank() ? null : BillCursor.decode(cursor),
+                    limit,
+                    parseDate(from, "from", 0),
+                    parseDate(to, "to", 1),
+                    customerId,
+                    cashierId
+            );
+            if (stream) {
+                return Response
+                        .status(Response.Status.OK)
+                        .entity(new StreamingApiResponse<BillDTO>(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS,
+                                action -> billCreateService.streamBills(pageRequest, action), null))
+                        .build();
+            }
+            BillPage page = billCreateService.getBillPage(pageRequest);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, page))
+                    .build();
+        });
     }
 
     /**
@@ -84,26 +197,53 @@ public class BillResource {
      * items.
      *
      * @param billId the ID of the bill whose items are to be retrieved
-     * @return Response with a list of {@link BillItemDTO} wrapped in
+     * @param asyncResponse resumed with the response with a list of {@link BillItemDTO} wrapped in
      * {@link ApiResponse}
      */
     @GET
     @Path("/{id}/items")
-    public Response getBillItemsByBillId(@PathParam("id") int billId) {
-        List<BillItemDTO> billItems = billCreateService.getBillItemsByBillId(billId);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, billItems))
-                .build();
+    public void getBillItemsByBillId(@PathParam("id") int billId, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            List<BillItemDTO> billItems = billCreateService.getBillItemsByBillId(billId);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, billItems))
+                    .build();
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Response getBill(@PathParam("id") int id) {
-        BillDTO bill = billCreateService.getBill(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, bill))
-                .build();
+    public void getBill(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            BillDTO bill = billCreateService.getBill(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, bill))
+                    .build();
+        });
+    }
+
+    /**
+     * Parses an ISO date query parameter into the start of that day, plus the
+     * given number of days.
+     *
+     * @param value the raw parameter, may be null
+     * @param name the parameter name, for the error message
+     * @param plusDays days to add (1 turns an inclusive end date into an
+     * exclusive bound)
+     * @return the date, or null if the parameter was not given
+     * @throws ValidationException if the value is not a valid date
+     */
+    private static Date parseDate(String value, String name, int plusDays) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            LocalDate date = LocalDate.parse(value.trim()).plusDays(plusDays);
+            return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(String.format(MessageConstants.INVALID_FORMAT, name));
+        }
     }
 }
@@ -0,0 +1,135 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.billCreate.CreateBillRequest.BillItemRequest;
+import com.hasitha.back_end.exceptions.ValidationException;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of {@link CreateBillRequest}s from a request body one
+ * element at a time, so a large import never holds more than one bill's JSON
+ * tree in memory and an oversized batch is refused as soon as it is seen.
+ *
+ * Only the array itself must be well formed. A bill with missing or wrongly
+ * typed fields is still returned (with zero or null in those fields, or null
+ * for a non-object element) so the import can reject that one bill and keep
+ * the rest. A bill with an integer that does not fit an {@code int} is
+ * returned as a {@link Malformed} carrying the reason, rather than with the
+ * value silently truncated.
+ */
+final class CreateBillRequestReader {
+
+    private CreateBillRequestReader() {
+    }
+
+    /**
+     * A bill that cannot be imported as sent, with the reason to report for
+     * it.
+     */
+    static final class Malformed extends CreateBillRequest {
+
+        private final String reason;
+
+        Malformed(String reason) {
+            this.reason = reason;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+
+    /**
+     * Parses the body.
+     *
+     * @param body the request body
+     * @param maxBills the most bills accepted
+     * @return the bills in array order; null for elements that are not
+     * objects
+     * @throws ValidationException if the body is not a JSON array or has more
+     * than {@code maxBills} elements
+     */
+    static List<CreateBillRequest> read(InputStream body, int maxBills) {
+        List<CreateBillRequest> requests = new ArrayList<>();
+        try (JsonParser parser = Json.createParser(body)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new ValidationException("Request body must be a JSON array of bills.");
+            }
+            while (true) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_ARRAY) {
+                    return requests;
+                }
+                if (requests.size() == maxBills) {
+                    throw new ValidationException("Batch cannot contain more than " + maxBills + " bills.");
+                }
+                if (event == JsonParser.Event.START_OBJECT) {
+                    requests.add(toRequest(parser.getObject()));
+                } else {
+                    if (event == JsonParser.Event.START_ARRAY) {
+                        parser.skipArray();
+                    }
+                    requests.add(null);
+                }
+            }
+        } catch (JsonException | IllegalStateException | NoSuchElementException e) {
+            throw new ValidationException("Request body is not valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static CreateBillRequest toRequest(JsonObject json) {
+        try {
+            return toValidatedRequest(json);
+        } catch (OutOfRangeException e) {
+            return new Malformed(e.getMessage());
+        }
+    }
+
+    private static CreateBillRequest toValidatedRequest(JsonObject json) {
+        CreateBillRequest req = new CreateBillRequest();
+        req.setCustomerId(intField(json, "customerId"));
+        if (json.get("items") instanceof JsonArray array) {
+            List<BillItemRequest> items = new ArrayList<>(array.size());
+            for (JsonValue value : array) {
+                if (value instanceof JsonObject itemJson) {
+                    BillItemRequest item = new BillItemRequest();
+                    item.setItemId(intField(itemJson, "itemId"));
+                    item.setQuantity(intField(itemJson, "quantity"));
+                    items.add(item);
+                } else {
+                    items.add(null);
+                }
+            }
+            req.setItems(items);
+        }
+        return req;
+    }
+
+    private static int intField(JsonObject json, String name) {
+        if (json.get(name) instanceof JsonNumber number && number.isIntegral()) {
+            try {
+                return number.intValueExact();
+            } catch (ArithmeticException e) {
+                throw new OutOfRangeException(name + " " + number + " is out of range.");
+            }
+        }
+        return 0;
+    }
+
+    // Aborts reading one bill; never leaves this class
+    private static final class OutOfRangeException extends RuntimeException {
+
+        OutOfRangeException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
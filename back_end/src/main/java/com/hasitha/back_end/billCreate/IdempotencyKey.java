@@ -0,0 +1,44 @@
+package com.hasitha.back_end.billCreate;
+
+/**
+ * A stored Idempotency-Key of a bill submission: who sent it, a hash of the
+ * request it was first used with, and the bill that request created.
+ */
+public class IdempotencyKey {
+
+    private final int userId;
+    private final String key;
+    private final String requestHash;
+    private final int billId;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param userId the user who submitted the bill
+     * @param key the client-supplied key
+     * @param requestHash SHA-256 of the request the key was first used with
+     * @param billId the bill created by that request
+     */
+    public IdempotencyKey(int userId, String key, String requestHash, int billId) {
+        this.userId = userId;
+        this.key = key;
+        this.requestHash = requestHash;
+        this.billId = billId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getBillId() {
+        return billId;
+    }
+}
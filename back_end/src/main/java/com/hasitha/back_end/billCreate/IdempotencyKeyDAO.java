@@ -0,0 +1,40 @@
+package com.hasitha.back_end.billCreate;
+
+import java.sql.Connection;
+
+/**
+ * Data Access Object for the Idempotency-Key values of bill submissions.
+ *
+ * Keys are kept for a retention period; an older key counts as unused.
+ */
+public interface IdempotencyKeyDAO {
+
+    /**
+     * Finds a stored key.
+     *
+     * @param userId the user who submitted the bill
+     * @param key the client-supplied key
+     * @return the stored key, or null if it has not been used within the
+     * retention period
+     */
+    public IdempotencyKey findByKey(int userId, String key);
+
+    /**
+     * Stores a key on the given connection, as part of the transaction that
+     * creates its bill. An expired row for the same key is replaced.
+     *
+     * @param connection the bill transaction's connection
+     * @param idempotencyKey the key to store
+     * @return true if stored, false if the key was already stored by another
+     * request
+     */
+    public boolean insert(Connection connection, IdempotencyKey idempotencyKey);
+
+    /**
+     * Deletes up to {@code limit} keys older than the retention period.
+     *
+     * @param limit maximum rows to delete
+     * @return the number of rows deleted
+     */
+    public int deleteExpired(int limit);
+}
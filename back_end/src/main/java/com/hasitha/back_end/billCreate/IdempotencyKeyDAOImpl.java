@@ -0,0 +1,139 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.utils.ConnectionPool;
+import com.hasitha.back_end.utils.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+/**
+ * JDBC implementation of {@link IdempotencyKeyDAO}.
+ *
+ * Ages are compared with the database's {@code CURRENT_TIMESTAMP}, the same
+ * clock that fills {@code created_at}.
+ */
+public class IdempotencyKeyDAOImpl implements IdempotencyKeyDAO {
+
+    // Rows created before this are expired; the parameter is minus the retention in seconds
+    private static final String EXPIRY = "TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)";
+
+    private final ConnectionPool.ConnectionFactory connectionSource;
+    private final long retentionSeconds;
+
+    /**
+     * Creates a DAO using the shared pool in {@link DBConnection}.
+     *
+     * @param retentionMillis how long keys are kept
+     */
+    public IdempotencyKeyDAOImpl(long retentionMillis) {
+        this(DBConnection::getConnection, retentionMillis);
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param connectionSource supplies connections for each call
+     * @param retentionMillis how long keys are kept
+     */
+    public IdempotencyKeyDAOImpl(ConnectionPool.ConnectionFactory connectionSource, long retentionMillis) {
+        this.connectionSource = connectionSource;
+        this.retentionSeconds = Math.max(1, retentionMillis / 1000);
+    }
+
+    /**
+     * Finds a stored key that has not expired.
+     *
+     * @param userId the user who submitted the bill
+     * @param key the client-supplied key
+     * @return the stored key, or null if it has not been used within the
+     * retention period
+     * @throws DatabaseException if there is a database error
+     */
+    @Override
+    public IdempotencyKey findByKey(int userId, String key) {
+        String sql = "SELECT request_hash, bill_id FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ? AND created_at >= " + EXPIRY;
+        try (Connection c = connectionSource.create(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            ps.setString(2, key);
+            ps.setLong(3, -retentionSeconds);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new IdempotencyKey(userId, key, rs.getString("request_hash"), rs.getInt("bill_id"));
+                }
+                return null;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Error fetching idempotency key. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores a key as part of the bill transaction. If the key is taken by an
+     * expired row that has not been purged yet, that row is deleted and the
+     * insert tried once more.
+     *
+     * @param connection the bill transaction's connection
+     * @param idempotencyKey the key to store
+     * @return true if stored, false if the key already exists and has not
+     * expired
+     * @throws DatabaseException if there is any other database error
+     */
+    @Override
+    public boolean insert(Connection connection, IdempotencyKey idempotencyKey) {
+        try {
+            if (tryInsert(connection, idempotencyKey)) {
+                return true;
+            }
+            return deleteExpired(connection, idempotencyKey) && tryInsert(connection, idempotencyKey);
+        } catch (SQLException e) {
+            throw new DatabaseException("Error saving idempotency key. " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean tryInsert(Connection connection, IdempotencyKey idempotencyKey) throws SQLException {
+        String sql = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, bill_id) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, idempotencyKey.getUserId());
+            ps.setString(2, idempotencyKey.getKey());
+            ps.setString(3, idempotencyKey.getRequestHash());
+            ps.setInt(4, idempotencyKey.getBillId());
+            ps.executeUpdate();
+            return true;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;
+        }
+    }
+
+    private boolean deleteExpired(Connection connection, IdempotencyKey idempotencyKey) throws SQLException {
+        String sql = "DELETE FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ? AND created_at < " + EXPIRY;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, idempotencyKey.getUserId());
+            ps.setString(2, idempotencyKey.getKey());
+            ps.setLong(3, -retentionSeconds);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Deletes a batch of expired keys in its own short statement, so a large
+     * backlog is purged without one long-running delete.
+     *
+     * @param limit maximum rows to delete
+     * @return the number of rows deleted
+     * @throws DatabaseException if there is a database error
+     */
+    @Override
+    public int deleteExpired(int limit) {
+        String sql = "DELETE FROM idempotency_keys WHERE created_at < " + EXPIRY + " LIMIT ?";
+        try (Connection c = connectionSource.create(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, -retentionSeconds);
+            ps.setInt(2, limit);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseException("Error purging idempotency keys. " + e.getMessage(), e);
+        }
+    }
+}
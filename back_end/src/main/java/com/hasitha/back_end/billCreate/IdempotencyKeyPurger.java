@@ -0,0 +1,90 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.utils.AppConfig;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes expired Idempotency-Key rows, so {@code idempotency_keys} does not
+ * grow with every bill ever submitted.
+ *
+ * Runs at startup and then every {@code app.idempotency.purgeIntervalMinutes}
+ * on a daemon thread. Each run deletes in batches of
+ * {@code app.idempotency.purgeBatchSize} rows until a batch comes back short,
+ * so a large backlog never holds locks for long. Several nodes purging at once
+ * only delete the same rows.
+ */
+public class IdempotencyKeyPurger {
+
+    private static final IdempotencyKeyPurger SHARED = new IdempotencyKeyPurger(
+            IdempotencyStore.DEFAULT_DAO,
+            AppConfig.getInt("app.idempotency.purgeBatchSize", 1_000),
+            AppConfig.getLong("app.idempotency.purgeIntervalMinutes", 60L));
+
+    private final IdempotencyKeyDAO idempotencyKeyDao;
+    private final int batchSize;
+    private final long intervalMinutes;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param idempotencyKeyDao deletes expired keys
+     * @param batchSize rows deleted per statement
+     * @param intervalMinutes time between runs
+     */
+    public IdempotencyKeyPurger(IdempotencyKeyDAO idempotencyKeyDao, int batchSize, long intervalMinutes) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Purge batch size must be greater than zero.");
+        }
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.batchSize = batchSize;
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    /**
+     * Returns the purger shared by the application.
+     *
+     * @return the shared purger
+     */
+    public static IdempotencyKeyPurger getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Schedules the purge on a background thread; later calls do nothing.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::purge, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Deletes all expired keys, one batch at a time. Errors are logged and
+     * the next run tries again.
+     *
+     * @return the number of rows deleted
+     */
+    public int purge() {
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = idempotencyKeyDao.deleteExpired(batchSize);
+                total += deleted;
+            } while (deleted == batchSize);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Failed to purge expired idempotency keys: " + e.getMessage());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,235 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.exceptions.AppException;
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.AppConfig;
+import com.hasitha.back_end.utils.BoundedCache;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Makes bill submissions idempotent per client-supplied Idempotency-Key.
+ *
+ * A key is looked up in three places, cheapest first:
+ * <ol>
+ * <li>recently completed submissions, kept in a bounded in-memory cache
+ * together with their {@link BillDTO};</li>
+ * <li>submissions still running in this process: a duplicate waits for the
+ * first one's result instead of creating a second bill;</li>
+ * <li>the {@code idempotency_keys} table, which survives restarts; the bill is
+ * then reloaded by ID.</li>
+ * </ol>
+ * Only successful submissions are remembered. The key row is written in the
+ * bill's own transaction, so a failed submission leaves no key behind and can
+ * be retried with the same key.
+ *
+ * Keys are remembered for {@code app.idempotency.retentionHours} in both the
+ * cache and the table; older rows are ignored by lookups and deleted by
+ * {@link IdempotencyKeyPurger}.
+ *
+ * A key reused with a different request is rejected with a
+ * {@link ValidationException}.
+ */
+public class IdempotencyStore {
+
+    /**
+     * Writes the key row inside the bill transaction once the bill ID is
+     * known.
+     */
+    @FunctionalInterface
+    public interface KeyWriter {
+
+        void write(Connection connection, int billId);
+    }
+
+    private static final int CACHE_SIZE = 10_000;
+
+    /**
+     * How long a key is remembered, in memory and in the database.
+     */
+    static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(AppConfig.getLong("app.idempotency.retentionHours", 24L));
+
+    // Shared timed DAO, also used by the purger
+    static final IdempotencyKeyDAO DEFAULT_DAO = TimedProxy.wrap(IdempotencyKeyDAO.class, new IdempotencyKeyDAOImpl(RETENTION_MILLIS));
+
+    private static final Pattern KEY_FORMAT = Pattern.compile("[A-Za-z0-9_.:-]{1,100}");
+
+    private static final IdempotencyStore SHARED = new IdempotencyStore(
+            DEFAULT_DAO,
+            new BoundedCache<>("idempotency", CACHE_SIZE, RETENTION_MILLIS),
+            AppConfig.getLong("app.idempotency.waitTimeoutMs", 30_000L));
+
+    private final IdempotencyKeyDAO idempotencyKeyDao;
+    private final BoundedCache<String, Completed> completed;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutMillis;
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param idempotencyKeyDao stores keys in the database
+     * @param completed cache of recently completed submissions
+     * @param waitTimeoutMillis how long a duplicate waits for the first
+     * submission to finish
+     */
+    public IdempotencyStore(IdempotencyKeyDAO idempotencyKeyDao, BoundedCache<String, Completed> completed, long waitTimeoutMillis) {
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.completed = completed;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * Returns the store shared by all requests in this process.
+     *
+     * @return the shared store
+     */
+    public static IdempotencyStore getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cache of completed submissions, so its statistics can be
+     * monitored.
+     *
+     * @return the shared cache
+     */
+    public static BoundedCache<String, Completed> sharedCache() {
+        return SHARED.completed;
+    }
+
+    /**
+     * Runs a bill submission at most once per user and key.
+     *
+     * @param userId the submitting user
+     * @param key the client-supplied Idempotency-Key
+     * @param requestHash hash identifying the request body
+     * @param create creates the bill; must call the given {@link KeyWriter}
+     * inside its transaction
+     * @param load loads an existing bill by ID
+     * @return the bill created by the first submission with this key
+     * @throws ValidationException if the key is malformed or was used for a
+     * different request
+     * @throws ServiceUnavailableException if a concurrent submission with the
+     * same key did not finish in time
+     */
+    public BillDTO execute(int userId, String key, String requestHash,
+            Function<KeyWriter, BillDTO> create, IntFunction<BillDTO> load) {
+        if (!KEY_FORMAT.matcher(key).matches()) {
+            throw new ValidationException("Idempotency-Key must be 1 to 100 letters, digits or - _ . : characters.");
+        }
+        String storeKey = userId + ":" + key;
+
+        Completed done = completed.getIfPresent(storeKey);
+        if (done != null) {
+            checkSameRequest(done.requestHash, requestHash);
+            return done.bill;
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight running = inFlight.putIfAbsent(storeKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash, requestHash);
+            return await(running.result);
+        }
+
+        try {
+            BillDTO bill = run(userId, key, requestHash, create, load);
+            completed.put(storeKey, new Completed(requestHash, bill));
+            mine.result.complete(bill);
+            return bill;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, mine);
+        }
+    }
+
+    private BillDTO run(int userId, String key, String requestHash,
+            Function<KeyWriter, BillDTO> create, IntFunction<BillDTO> load) {
+        IdempotencyKey stored = idempotencyKeyDao.findByKey(userId, key);
+        if (stored == null) {
+            try {
+                return create.apply((connection, billId) -> {
+                    if (!idempotencyKeyDao.insert(connection, new IdempotencyKey(userId, key, requestHash, billId))) {
+                        // Another process stored the key first; roll this bill back and return theirs
+                        throw new KeyTakenException();
+                    }
+                });
+            } catch (KeyTakenException e) {
+                stored = idempotencyKeyDao.findByKey(userId, key);
+                if (stored == null) {
+                    throw new DatabaseException("Idempotency key could not be stored.");
+                }
+            }
+        }
+        checkSameRequest(stored.getRequestHash(), requestHash);
+        return load.apply(stored.getBillId());
+    }
+
+    private BillDTO await(CompletableFuture<BillDTO> result) {
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(MessageConstants.TIMEOUT_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while waiting for a duplicate bill submission.", e);
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ValidationException("Idempotency-Key was already used for a different bill.");
+        }
+    }
+
+    /**
+     * A completed submission: the hash of its request and the bill it
+     * created.
+     */
+    public static final class Completed {
+
+        private final String requestHash;
+        private final BillDTO bill;
+
+        public Completed(String requestHash, BillDTO bill) {
+            this.requestHash = requestHash;
+            this.bill = bill;
+        }
+    }
+
+    private static final class InFlight {
+
+        private final String requestHash;
+        private final CompletableFuture<BillDTO> result = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private static final class KeyTakenException extends RuntimeException {
+
+        private KeyTakenException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.hasitha.back_end.billItem;
 
+import com.hasitha.back_end.utils.Money;
+
 /**
  * Represents an item in a bill, containing details such as item ID, quantity,
  * and total price.
@@ -30,7 +32,7 @@ public class BillItem {
      * Total price for the quantity of this item (usually quantity × unit
      * price).
      */
-    private double subTotal;
+    private Money subTotal;
 
     /**
      * Default no-argument constructor.
@@ -47,7 +49,7 @@ public class BillItem {
      * @param quantity the quantity purchased
      * @param totalPrice the total price for this item
      */
-    public BillItem(int id, int billId, int itemId, int quantity, double subTotal) {
+    public BillItem(int id, int billId, int itemId, int quantity, Money subTotal) {
         this.id = id;
         this.billId = billId;
         this.itemId = itemId;
@@ -63,7 +65,7 @@ public class BillItem {
      * @param quantity the quantity purchased
      * @param totalPrice the total price for this item
      */
-    public BillItem(int billId, int itemId, int quantity, double subTotal) {
+    public BillItem(int billId, int itemId, int quantity, Money subTotal) {
         this.billId = billId;
         this.itemId = itemId;
         this.quantity = quantity;
@@ -78,7 +80,7 @@ public class BillItem {
      * @param quantity the quantity purchased
      * @param totalPrice the total price for this item
      */
-    public BillItem(int itemId, int quantity, double subTotal) {
+    public BillItem(int itemId, int quantity, Money subTotal) {
         this.itemId = itemId;
         this.quantity = quantity;
         this.subTotal = subTotal;
@@ -116,11 +118,11 @@ public class BillItem {
         this.quantity = quantity;
     }
 
-    public double getSubTotal() {
+    public Money getSubTotal() {
         return subTotal;
     }
 
-    public void setSubTotal(double subTotal) {
+    public void setSubTotal(Money subTotal) {
         this.subTotal = subTotal;
     }
 
@@ -1,6 +1,10 @@
 package com.hasitha.back_end.billItem;
 
+import com.hasitha.back_end.bill.Bill;
+import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object interface for managing BillItem entities.
@@ -15,6 +19,26 @@ public interface BillItemDAO {
      */
     public void saveItems(int billId, List<BillItem> items);
 
+    /**
+     * Saves a list of BillItems using the caller's connection, so they take
+     * part in the caller's transaction. Generated IDs are set on the items.
+     *
+     * @param connection the transaction's connection
+     * @param billId the ID of the bill to which these items belong
+     * @param items the list of BillItem objects to save
+     */
+    public void saveItems(Connection connection, int billId, List<BillItem> items);
+
+    /**
+     * Saves the items of several bills with one batched insert on the
+     * caller's connection. Each bill must already have its ID; generated IDs
+     * are set on the items.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills whose {@link Bill#getItems() items} to save
+     */
+    public void saveItems(Connection connection, List<Bill> bills);
+
     /**
      * Retrieves the list of BillItems associated with a specific bill ID.
      *
@@ -22,4 +46,20 @@ public interface BillItemDAO {
      * @return List of BillItem objects related to the bill
      */
     public List<BillItem> findByBillId(int billId);
+
+    /**
+     * Retrieves the items of a bill joined with their item details.
+     *
+     * @param billId the ID of the bill whose items to retrieve
+     * @return fully populated BillItemDTOs, in insertion order
+     */
+    public List<BillItemDTO> findDetailsByBillId(int billId);
+
+    /**
+     * Retrieves the items of several bills joined with their item details.
+     *
+     * @param billIds the IDs of the bills whose items to retrieve
+     * @return BillItemDTOs grouped by bill ID; bills without items are absent
+     */
+    public Map<Integer, List<BillItemDTO>> findDetailsByBillIds(Collection<Integer> billIds);
 }
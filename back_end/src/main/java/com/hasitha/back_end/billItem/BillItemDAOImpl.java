@@ -1,11 +1,17 @@
 package com.hasitha.back_end.billItem;
 
+import com.hasitha.back_end.bill.Bill;
 import com.hasitha.back_end.exceptions.DatabaseException;
 import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.Money;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the BillItemDAO interface. Handles database operations
@@ -13,6 +19,15 @@ import java.util.List;
  */
 public class BillItemDAOImpl implements BillItemDAO {
 
+    // Bill items joined with the item they refer to
+    private static final String DETAILS_SELECT
+            = "SELECT bi.id, bi.bill_id, bi.item_id, bi.quantity, bi.price AS sub_total, "
+            + "i.name AS item_name, i.price AS unit_price "
+            + "FROM bill_items bi JOIN items i ON i.id = bi.item_id ";
+
+    // Upper bound on bill IDs per IN (...) list
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     /**
      * Saves a list of bill items for a specific bill ID into the database. Uses
      * batch insert for performance efficiency.
@@ -22,16 +37,45 @@ public class BillItemDAOImpl implements BillItemDAO {
      */
     @Override
     public void saveItems(int billId, List<BillItem> items) {
+        try (Connection c = DBConnection.getConnection()) {
+            saveItems(c, billId, items);
+        } catch (SQLException e) {
+            throw new DatabaseException(
+                    "Failed to save bill items for bill ID " + billId + ". Database error: " + e.getMessage(), e
+            );
+        }
+    }
+
+    /**
+     * Saves a list of bill items on the given connection with a single batch
+     * insert, and copies the generated IDs back onto the items.
+     *
+     * @param c the transaction's connection
+     * @param billId the ID of the bill to associate the items with
+     * @param items the list of BillItem objects to save
+     */
+    @Override
+    public void saveItems(Connection c, int billId, List<BillItem> items) {
         String sql = "INSERT INTO bill_items (bill_id, item_id, quantity, price) VALUES (?, ?, ?, ?)";
-        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+        try (PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             for (BillItem item : items) {
                 ps.setInt(1, billId);
                 ps.setInt(2, item.getItemId());
                 ps.setInt(3, item.getQuantity());
-                ps.setDouble(4, item.getSubTotal());
+                ps.setBigDecimal(4, item.getSubTotal().toBigDecimal());
                 ps.addBatch(); // add this insert to the batch
             }
             ps.executeBatch(); // execute all batched inserts at once
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (BillItem item : items) {
+                    if (!keys.next()) {
+                        break;
+                    }
+                    item.setId(keys.getInt(1));
+                    item.setBillId(billId);
+                }
+            }
         } catch (SQLException e) {
             throw new DatabaseException(
                     "Failed to save bill items for bill ID " + billId + ". Database error: " + e.getMessage(), e
@@ -39,6 +83,44 @@ public class BillItemDAOImpl implements BillItemDAO {
         }
     }
 
+    /**
+     * Saves the items of several bills on the given connection with a single
+     * batch insert, and copies the generated IDs back onto the items.
+     *
+     * @param c the transaction's connection
+     * @param bills the bills whose items to save, each with its ID set
+     */
+    @Override
+    public void saveItems(Connection c, List<Bill> bills) {
+        String sql = "INSERT INTO bill_items (bill_id, item_id, quantity, price) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Bill bill : bills) {
+                for (BillItem item : bill.getItems()) {
+                    ps.setInt(1, bill.getId());
+                    ps.setInt(2, item.getItemId());
+                    ps.setInt(3, item.getQuantity());
+                    ps.setBigDecimal(4, item.getSubTotal().toBigDecimal());
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (Bill bill : bills) {
+                    for (BillItem item : bill.getItems()) {
+                        if (!keys.next()) {
+                            return;
+                        }
+                        item.setId(keys.getInt(1));
+                        item.setBillId(bill.getId());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to save bill items for " + bills.size() + " bills. Database error: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Retrieves a list of bill items associated with a specific bill ID.
      *
@@ -58,7 +140,7 @@ public class BillItemDAOImpl implements BillItemDAO {
                         rs.getInt("bill_id"),
                         rs.getInt("item_id"),
                         rs.getInt("quantity"),
-                        rs.getDouble("price")
+                        Money.of(rs.getBigDecimal("price"))
                 ));
             }
             return items;
@@ -68,4 +150,91 @@ public class BillItemDAOImpl implements BillItemDAO {
             );
         }
     }
+
+    /**
+     * Retrieves the items of a bill together with item name and unit price
+     * in a single joined query.
+     *
+     * @param billId the ID of the bill to look up
+     * @return list of BillItemDTOs for the bill
+     */
+    @Override
+    public List<BillItemDTO> findDetailsByBillId(int billId) {
+        String sql = DETAILS_SELECT + "WHERE bi.bill_id = ? ORDER BY bi.id";
+        List<BillItemDTO> items = new ArrayList<>();
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, billId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapDetails(rs));
+                }
+            }
+            return items;
+        } catch (SQLException e) {
+            throw new DatabaseException(
+                    "Failed to retrieve bill item details for bill ID " + billId + ". Database error: " + e.getMessage(), e
+            );
+        }
+    }
+
+    /**
+     * Retrieves the items of many bills with {@code WHERE bill_id IN (...)}.
+     * Large ID sets are split into chunks of {@value #MAX_IDS_PER_QUERY} so
+     * each statement stays a reasonable size; all chunks share one
+     * connection.
+     *
+     * @param billIds the IDs of the bills to look up
+     * @return BillItemDTOs grouped by bill ID, in the order of the given IDs
+     */
+    @Override
+    public Map<Integer, List<BillItemDTO>> findDetailsByBillIds(Collection<Integer> billIds) {
+        Map<Integer, List<BillItemDTO>> itemsByBill = new LinkedHashMap<>();
+        if (billIds.isEmpty()) {
+            return itemsByBill;
+        }
+        List<Integer> ids = new ArrayList<>(billIds);
+        for (int id : ids) {
+            itemsByBill.put(id, new ArrayList<>());
+        }
+
+        try (Connection c = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                String sql = DETAILS_SELECT
+                        + "WHERE bi.bill_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") "
+                        + "ORDER BY bi.bill_id, bi.id";
+                try (PreparedStatement ps = c.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            itemsByBill.get(rs.getInt("bill_id")).add(mapDetails(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(
+                    "Failed to retrieve bill item details for bills " + billIds + ". Database error: " + e.getMessage(), e
+            );
+        }
+
+        itemsByBill.values().removeIf(List::isEmpty);
+        return itemsByBill;
+    }
+
+    /**
+     * Maps the current row of a {@link #DETAILS_SELECT} result.
+     */
+    private BillItemDTO mapDetails(ResultSet rs) throws SQLException {
+        return new BillItemDTO(
+                rs.getInt("id"),
+                rs.getInt("item_id"),
+                rs.getString("item_name"),
+                Money.of(rs.getBigDecimal("unit_price")),
+                rs.getInt("quantity"),
+                Money.of(rs.getBigDecimal("sub_total"))
+        );
+    }
 }
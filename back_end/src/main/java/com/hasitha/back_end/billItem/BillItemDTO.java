@@ -1,5 +1,7 @@
 package com.hasitha.back_end.billItem;
 
+import com.hasitha.back_end.utils.Money;
+
 /**
  * Data Transfer Object (DTO) representing a single item in a bill. This class
  * is used to send item data between the backend and the frontend.
@@ -9,9 +11,9 @@ public class BillItemDTO {
     private int id;             // Unique identifier of the bill item (optional)
     private int itemId;         // ID of the item from the items table
     private String itemName;    // Name of the item
-    private double unitPrice;   // Price per unit of the item
+    private Money unitPrice;   // Price per unit of the item
     private int quantity;       // Quantity of the item purchased
-    private double subTotal;    // Total price (unitPrice * quantity)
+    private Money subTotal;    // Total price (unitPrice * quantity)
 
     // Default constructor
     public BillItemDTO() {
@@ -27,7 +29,7 @@ public class BillItemDTO {
      * @param quantity quantity purchased
      * @param subTotal total cost (unitPrice * quantity)
      */
-    public BillItemDTO(int id, int itemId, String itemName, double unitPrice, int quantity, double subTotal) {
+    public BillItemDTO(int id, int itemId, String itemName, Money unitPrice, int quantity, Money subTotal) {
         this.id = id;
         this.itemId = itemId;
         this.itemName = itemName;
@@ -61,11 +63,11 @@ public class BillItemDTO {
         this.itemName = itemName;
     }
 
-    public double getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
 
-    public void setUnitPrice(double unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
 
@@ -77,11 +79,11 @@ public class BillItemDTO {
         this.quantity = quantity;
     }
 
-    public double getSubTotal() {
+    public Money getSubTotal() {
         return subTotal;
     }
 
-    public void setSubTotal(double subTotal) {
+    public void setSubTotal(Money subTotal) {
         this.subTotal = subTotal;
     }
 }
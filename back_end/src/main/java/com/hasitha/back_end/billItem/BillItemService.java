@@ -1,8 +1,13 @@
 package com.hasitha.back_end.billItem;
 
+import com.hasitha.back_end.bill.Bill;
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class for handling business logic related to Bill Items. Provides
@@ -11,6 +16,9 @@ import java.util.List;
  */
 public class BillItemService {
 
+    // Shared timed DAO for default-constructed services
+    private static final BillItemDAO DEFAULT_DAO = TimedProxy.wrap(BillItemDAO.class, new BillItemDAOImpl());
+
     private final BillItemDAO billItemDao;
 
     /**
@@ -28,7 +36,7 @@ public class BillItemService {
      * implementation.
      */
     public BillItemService() {
-        this.billItemDao = new BillItemDAOImpl();
+        this.billItemDao = DEFAULT_DAO;
     }
 
     /**
@@ -47,6 +55,42 @@ public class BillItemService {
         billItemDao.saveItems(billId, items);
     }
 
+    /**
+     * Saves a list of bill items inside the caller's transaction. Performs
+     * the same validation as {@link #saveBillItems(int, List)}.
+     *
+     * @param connection the transaction's connection
+     * @param billId the ID of the bill to which items belong
+     * @param items the list of bill items to save
+     * @throws ValidationException if billId is invalid or items are invalid
+     */
+    public void saveBillItems(Connection connection, int billId, List<BillItem> items) {
+        if (billId <= 0) {
+            throw new ValidationException("Invalid bill ID: must be a positive integer.");
+        }
+        validateBillItems(items);
+        billItemDao.saveItems(connection, billId, items);
+    }
+
+    /**
+     * Saves the items of several bills inside the caller's transaction with
+     * one batched insert. Performs the same validation as
+     * {@link #saveBillItems(int, List)} for every bill.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills whose items to save, each with its ID set
+     * @throws ValidationException if a bill ID or any item is invalid
+     */
+    public void saveBillItems(Connection connection, List<Bill> bills) {
+        for (Bill bill : bills) {
+            if (bill.getId() <= 0) {
+                throw new ValidationException("Invalid bill ID: must be a positive integer.");
+            }
+            validateBillItems(bill.getItems());
+        }
+        billItemDao.saveItems(connection, bills);
+    }
+
     /**
      * Retrieves the list of bill items for a given bill ID.
      *
@@ -66,6 +110,44 @@ public class BillItemService {
         return billItems;
     }
 
+    /**
+     * Retrieves the bill items of a bill with item name and unit price, using
+     * a single joined query.
+     *
+     * @param billId the ID of the bill
+     * @return list of bill item DTOs for the specified bill
+     * @throws ValidationException if the billId is invalid
+     * @throws NotFoundException if no items are found for the given billId
+     */
+    public List<BillItemDTO> getBillItemDetails(int billId) {
+        if (billId <= 0) {
+            throw new ValidationException("Invalid bill ID: must be a positive integer.");
+        }
+        List<BillItemDTO> billItems = billItemDao.findDetailsByBillId(billId);
+        if (billItems == null || billItems.isEmpty()) {
+            throw new NotFoundException("No items found for bill ID: " + billId);
+        }
+        return billItems;
+    }
+
+    /**
+     * Retrieves the bill items of several bills with item details in one
+     * round trip per few hundred bills.
+     *
+     * @param billIds the IDs of the bills
+     * @return bill item DTOs grouped by bill ID; bills without items are
+     * absent
+     * @throws ValidationException if any bill ID is invalid
+     */
+    public Map<Integer, List<BillItemDTO>> getBillItemDetails(Collection<Integer> billIds) {
+        for (int billId : billIds) {
+            if (billId <= 0) {
+                throw new ValidationException("Invalid bill ID: must be a positive integer.");
+            }
+        }
+        return billItemDao.findDetailsByBillIds(billIds);
+    }
+
     /**
      * Validates the list of bill items before saving. Ensures all required
      * fields are set and logically correct.
@@ -85,8 +167,8 @@ public class BillItemService {
             if (item.getQuantity() <= 0) {
                 throw new ValidationException("Quantity must be greater than 0 for item ID: " + item.getItemId());
             }
-            if (item.getSubTotal() < 0) {
-                throw new ValidationException("Subtotal cannot be negative for item ID: " + item.getItemId());
+            if (item.getSubTotal() == null || item.getSubTotal().isNegative()) {
+                throw new ValidationException("Subtotal is required and cannot be negative for item ID: " + item.getItemId());
             }
         }
     }
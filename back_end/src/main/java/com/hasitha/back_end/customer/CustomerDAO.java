@@ -1,6 +1,9 @@
 package com.hasitha.back_end.customer;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * CustomerDAO defines the contract for performing CRUD operations on Customer
@@ -16,6 +19,14 @@ public interface CustomerDAO {
      */
     public List<Customer> findAll();
 
+    /**
+     * Reads all customers and passes each one to the action as it is read,
+     * without building a list.
+     *
+     * @param action receives the customers in table order
+     */
+    public void streamAll(Consumer<? super Customer> action);
+
     /**
      * Finds a customer by its unique identifier.
      *
@@ -24,6 +35,14 @@ public interface CustomerDAO {
      */
     public Customer findById(int id);
 
+    /**
+     * Finds several customers in one query.
+     *
+     * @param ids the IDs of the customers to load
+     * @return the customers found, keyed by ID; missing IDs are left out
+     */
+    public Map<Integer, Customer> findByIds(Collection<Integer> ids);
+
     /**
      * Creates a new customer record in the data source.
      *
@@ -2,9 +2,15 @@ package com.hasitha.back_end.customer;
 
 import com.hasitha.back_end.exceptions.DatabaseException;
 import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.StreamingQuery;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the CustomerDAO interface. Provides concrete logic to
@@ -43,6 +49,30 @@ public class CustomerDAOImpl implements CustomerDAO {
         }
     }
 
+    /**
+     * Reads all customers through a streaming result set, see
+     * {@link StreamingQuery#prepare}.
+     *
+     * @param action receives each customer as its row is read
+     */
+    @Override
+    public void streamAll(Consumer<? super Customer> action) {
+        String sql = "SELECT * FROM customers";
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = StreamingQuery.prepare(c, sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(new Customer(
+                        rs.getInt("id"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("address"),
+                        rs.getString("phone")
+                ));
+            }
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error streaming customers. " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Fetches a customer by ID from the database.
      *
@@ -75,6 +105,46 @@ public class CustomerDAOImpl implements CustomerDAO {
         }
     }
 
+    /**
+     * Fetches several customers with a single IN query.
+     *
+     * @param ids the IDs of the customers to load
+     * @return the customers found, keyed by ID
+     * @throws DatabaseException if there is a database error
+     */
+    @Override
+    public Map<Integer, Customer> findByIds(Collection<Integer> ids) {
+        Map<Integer, Customer> customers = new HashMap<>();
+        if (ids.isEmpty()) {
+            return customers;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT * FROM customers WHERE id IN (" + placeholders + ")";
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+
+            int index = 1;
+            for (int id : ids) {
+                ps.setInt(index++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Customer customer = new Customer(
+                            rs.getInt("id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("address"),
+                            rs.getString("phone")
+                    );
+                    customers.put(customer.getId(), customer);
+                }
+            }
+            return customers;
+
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error fetching customers " + ids + ". " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Creates a new customer in the database.
      *
@@ -2,14 +2,20 @@ package com.hasitha.back_end.customer;
 
 import com.hasitha.back_end.exceptions.MessageConstants;
 import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.response.StreamingApiResponse;
+import com.hasitha.back_end.utils.ResourceExecutor;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
@@ -25,15 +31,18 @@ import java.util.List;
 public class CustomerResource {
 
     private final CustomerService customerService;
+    private final ResourceExecutor resourceExecutor;
 
     /**
      * Constructs the resource with a custom CustomerService (for testing or
      * DI).
      *
      * @param customerService the CustomerService instance
+     * @param resourceExecutor runs the blocking work of each request
      */
-    public CustomerResource(CustomerService customerService) {
+    public CustomerResource(CustomerService customerService, ResourceExecutor resourceExecutor) {
         this.customerService = customerService;
+        this.resourceExecutor = resourceExecutor;
     }
 
     /**
@@ -41,51 +50,69 @@ public class CustomerResource {
      */
     public CustomerResource() {
         this.customerService = new CustomerService();
+        this.resourceExecutor = ResourceExecutor.getDefault();
     }
 
     /**
      * Retrieves a list of all customers.
      *
-     * @return HTTP 200 OK with a list of customers wrapped in ApiResponse
+     * With {@code ?stream=true} the customers are written to the response while
+     * they are read from the database instead of being collected first.
+     *
+     * @param stream whether to stream the list
+     * @param asyncResponse resumed with HTTP 200 OK with a list of customers wrapped in ApiResponse
      */
     @GET
-    public Response findAll() {
-        List<Customer> list = customerService.findAll();
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, list))
-                .build();
+    public void findAll(@QueryParam("stream") @DefaultValue("false") boolean stream, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            if (stream) {
+                return Response
+                        .status(Response.Status.OK)
+                        .entity(new StreamingApiResponse<Customer>(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS,
+                                customerService::streamAll, CustomerService.NONE_FOUND))
+                        .build();
+            }
+            List<Customer> list = customerService.findAll();
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, list))
+                    .build();
+        });
     }
 
     /**
      * Retrieves a customer by their ID.
      *
      * @param id the unique identifier of the customer
-     * @return HTTP 200 OK with the customer details wrapped in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with the customer details wrapped in ApiResponse
      */
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") int id) {
-        Customer customer = customerService.findById(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, customer))
-                .build();
+    public void findById(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Customer customer = customerService.findById(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, customer))
+                    .build();
+        });
     }
 
     /**
      * Creates a new customer.
      *
      * @param customer the customer data from request body
-     * @return HTTP 201 Created with the created customer wrapped in ApiResponse
+     * @param asyncResponse resumed with HTTP 201 Created with the created customer wrapped in ApiResponse
      */
     @POST
-    public Response create(Customer customer) {
-        Customer createdCustomer = customerService.create(customer);
-        return Response
-                .status(Response.Status.CREATED)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdCustomer))
-                .build();
+    public void create(Customer customer, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Customer createdCustomer = customerService.create(customer);
+            return Response
+                    .status(Response.Status.CREATED)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdCustomer))
+                    .build();
+        });
     }
 
     /**
@@ -93,31 +120,35 @@ public class CustomerResource {
      *
      * @param id the ID of the customer to update
      * @param customer the updated customer data
-     * @return HTTP 200 OK with the updated customer wrapped in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with the updated customer wrapped in ApiResponse
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") int id, Customer customer) {
-        Customer updatedCustomer = customerService.update(id, customer);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedCustomer))
-                .build();
+    public void update(@PathParam("id") int id, Customer customer, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Customer updatedCustomer = customerService.update(id, customer);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedCustomer))
+                    .build();
+        });
     }
 
     /**
      * Deletes a customer by ID.
      *
      * @param id the ID of the customer to delete
-     * @return HTTP 200 OK with a success message wrapped in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with a success message wrapped in ApiResponse
      */
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") int id) {
-        customerService.delete(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
-                .build();
+    public void delete(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            customerService.delete(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
+                    .build();
+        });
     }
 }
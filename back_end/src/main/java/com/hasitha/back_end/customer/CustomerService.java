@@ -6,32 +6,67 @@ package com.hasitha.back_end.customer;
 
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.BoundedCache;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service layer for handling business logic related to customers. Communicates
  * with CustomerDAO for database operations and handles validation and error
  * checking.
+ *
+ * Lookups by ID go through a bounded cache shared by all default-constructed
+ * services. The cache holds private copies, so callers are free to modify the
+ * customers they get back.
  */
 public class CustomerService {
 
+    // Message when the customers table is empty
+    static final String NONE_FOUND = "No customers found in the system.";
+
+    static final int CACHE_SIZE = 5000;
+    static final long CACHE_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private static final BoundedCache<Integer, Customer> SHARED_CACHE
+            = new BoundedCache<>("customer", CACHE_SIZE, CACHE_TTL_MILLIS);
+
+    private static final CustomerDAO DEFAULT_DAO = TimedProxy.wrap(CustomerDAO.class, new CustomerDAOImpl());
+
     private final CustomerDAO customerDao;
+    private final BoundedCache<Integer, Customer> cache;
 
     /**
      * Constructor that accepts a CustomerDAO implementation for dependency
-     * injection.
+     * injection. Each instance gets its own cache.
      *
      * @param customerDao DAO implementation to use for database access.
      */
     public CustomerService(CustomerDAO customerDao) {
         this.customerDao = customerDao;
+        this.cache = new BoundedCache<>("customer", CACHE_SIZE, CACHE_TTL_MILLIS);
     }
 
     /**
-     * Default constructor that initializes with the default CustomerDAOImpl.
+     * Default constructor that initializes with the default CustomerDAOImpl
+     * and the shared cache.
      */
     public CustomerService() {
-        this.customerDao = new CustomerDAOImpl();
+        this.customerDao = DEFAULT_DAO;
+        this.cache = SHARED_CACHE;
+    }
+
+    /**
+     * Returns the cache shared by the default-constructed services, so its
+     * statistics can be reported.
+     *
+     * @return the shared customer cache
+     */
+    public static BoundedCache<Integer, Customer> sharedCache() {
+        return SHARED_CACHE;
     }
 
     /**
@@ -43,11 +78,21 @@ public class CustomerService {
     public List<Customer> findAll() {
         List<Customer> customerList = customerDao.findAll();
         if (customerList == null || customerList.isEmpty()) {
-            throw new NotFoundException("No customers found in the system.");
+            throw new NotFoundException(NONE_FOUND);
         }
         return customerList;
     }
 
+    /**
+     * Passes every customer to the action as it is read from the database,
+     * for responses that are written while the query runs.
+     *
+     * @param action receives each customer
+     */
+    public void streamAll(Consumer<? super Customer> action) {
+        customerDao.streamAll(action);
+    }
+
     /**
      * Finds a customer by their unique ID.
      *
@@ -56,11 +101,53 @@ public class CustomerService {
      * @throws NotFoundException if the customer is not found.
      */
     public Customer findById(int id) {
-        Customer customer = customerDao.findById(id);
+        Customer customer = cache.get(id, key -> copyOf(customerDao.findById(key)));
         if (customer == null) {
             throw new NotFoundException("Customer with the specified ID " + id + " does not exist.");
         }
-        return customer;
+        return copyOf(customer);
+    }
+
+    /**
+     * Finds several customers at once. Cached customers are returned
+     * directly and all misses are loaded with a single query.
+     *
+     * @param ids the customer IDs.
+     * @return the customers keyed by ID.
+     * @throws NotFoundException if any of the customers does not exist.
+     */
+    public Map<Integer, Customer> findByIds(Collection<Integer> ids) {
+        Map<Integer, Customer> customers = findExisting(ids);
+        for (int id : ids) {
+            if (!customers.containsKey(id)) {
+                throw new NotFoundException("Customer with the specified ID " + id + " does not exist.");
+            }
+        }
+        return customers;
+    }
+
+    /**
+     * Finds whichever of the given customers exist, for callers that handle
+     * missing customers themselves. Uses the cache like
+     * {@link #findByIds(Collection)}.
+     *
+     * @param ids the customer IDs.
+     * @return the customers found, keyed by ID; missing IDs are left out.
+     */
+    public Map<Integer, Customer> findExisting(Collection<Integer> ids) {
+        Map<Integer, Customer> cached = cache.getAll(ids, missing -> {
+            Map<Integer, Customer> loaded = new HashMap<>();
+            customerDao.findByIds(missing).forEach((id, customer) -> loaded.put(id, copyOf(customer)));
+            return loaded;
+        });
+        Map<Integer, Customer> customers = new HashMap<>();
+        for (int id : ids) {
+            Customer customer = cached.get(id);
+            if (customer != null) {
+                customers.put(id, copyOf(customer));
+            }
+        }
+        return customers;
     }
 
     /**
@@ -87,7 +174,11 @@ public class CustomerService {
     public Customer update(int id, Customer customerUpdate) {
         ensureCustomerExists(id);
         validateCustomer(customerUpdate);
-        return customerDao.update(id, customerUpdate);
+        try {
+            return customerDao.update(id, customerUpdate);
+        } finally {
+            cache.invalidate(id);
+        }
     }
 
     /**
@@ -98,7 +189,11 @@ public class CustomerService {
      */
     public void delete(int id) {
         ensureCustomerExists(id);
-        customerDao.delete(id);
+        try {
+            customerDao.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
     }
 
     /**
@@ -108,9 +203,7 @@ public class CustomerService {
      * @throws NotFoundException if the customer is not found.
      */
     public void ensureCustomerExists(int id) {
-        if (customerDao.findById(id) == null) {
-            throw new NotFoundException("Customer with the specified ID " + id + " does not exist.");
-        }
+        findById(id);
     }
 
     /**
@@ -120,8 +213,15 @@ public class CustomerService {
      * @return true if the customer exists, false otherwise.
      */
     public boolean exists(int id) {
-        Customer customer = customerDao.findById(id);
-        return customer != null;
+        return cache.get(id, key -> copyOf(customerDao.findById(key))) != null;
+    }
+
+    private static Customer copyOf(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+        return new Customer(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getAddress(), customer.getPhoneNumber());
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.hasitha.back_end.exceptions;
 
 import com.hasitha.back_end.response.ErrorResponse;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -11,7 +13,8 @@ import jakarta.ws.rs.ext.Provider;
  * This class is annotated with {@link Provider} to register it as a JAX-RS
  * exception mapper. It catches any unexpected exceptions that are not
  * explicitly handled elsewhere and returns a standardized error response with
- * HTTP status 500 (Internal Server Error).
+ * HTTP status 500 (Internal Server Error). Errors raised by the JAX-RS
+ * runtime itself, such as 404 for an unknown path, keep their status.
  */
 @Provider
 public class GenericExceptionMapper implements ExceptionMapper<Throwable> {
@@ -20,13 +23,21 @@ public class GenericExceptionMapper implements ExceptionMapper<Throwable> {
      * Converts a generic Throwable into a JAX-RS {@link Response}.
      *
      * @param e the caught exception or error
-     * @return a Response object with status 500 and a JSON error body
+     * @return a Response object with status 500, or the status of a
+     * {@link WebApplicationException}, and a JSON error body
      */
     @Override
     public Response toResponse(Throwable e) {
+        int status = e instanceof WebApplicationException webError
+                ? webError.getResponse().getStatus()
+                : Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+        String code = status == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()
+                ? MessageConstants.SERVER_ERROR_CODE
+                : String.valueOf(status);
         return Response
-                .status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity(new ErrorResponse(MessageConstants.SERVER_ERROR_CODE, e.getMessage(), null))
+                .status(status)
+                .entity(new ErrorResponse(code, e.getMessage(), null))
+                .type(MediaType.APPLICATION_JSON)
                 .build();
     }
 }
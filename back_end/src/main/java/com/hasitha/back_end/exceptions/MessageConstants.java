@@ -13,6 +13,7 @@ public class MessageConstants {
     public static final String LOGOUT_SUCCESS = "Logout successful";
     public static final String REGISTER_SUCCESS = "User registered successfully";
     public static final String BILL_CREATE_SUCCESS = "Bill created successfully";
+    public static final String BILL_IMPORT_SUCCESS = "Bill batch processed";
 
     // ❌ Validation Error Codes (starts with 4xx)
     public static final String VALIDATION_ERROR_CODE = "400";
@@ -22,12 +23,14 @@ public class MessageConstants {
     public static final String EMAIL_EXISTS = "Email is already in use";
     public static final String USERNAME_EXISTS = "Username is already taken";
 
-    // 🔐 Auth Errors (401–403)
+    // 🔐 Auth Errors (401–403, 429)
     public static final String UNAUTHORIZED_CODE = "401";
     public static final String FORBIDDEN_CODE = "403";
     public static final String INVALID_CREDENTIALS = "Invalid username or password";
     public static final String UNAUTHORIZED_ACCESS = "You are not authorized to perform this action";
     public static final String FORBIDDEN_ROLE = "Access denied for current role";
+    public static final String TOO_MANY_REQUESTS_CODE = "429";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many login attempts, please try again later";
 
     // ⚙️ Business Logic Errors (404, 409, etc.)
     public static final String NOT_FOUND_CODE = "404";
@@ -42,6 +45,8 @@ public class MessageConstants {
     public static final String INTERNAL_ERROR = "An unexpected error occurred";
     public static final String DATABASE_ERROR = "A database error occurred";
     public static final String TIMEOUT_ERROR = "Request timed out, please try again";
+    public static final String SERVICE_UNAVAILABLE_CODE = "503";
+    public static final String SERVER_BUSY = "Server is busy, please try again";
 
     private MessageConstants() {
     }
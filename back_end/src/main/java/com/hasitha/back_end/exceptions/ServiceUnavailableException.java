@@ -0,0 +1,20 @@
+package com.hasitha.back_end.exceptions;
+
+/**
+ * Custom exception class indicating that the server is too busy to handle the
+ * request right now.
+ *
+ * Extends {@link AppException}; clients may retry the request later.
+ */
+public class ServiceUnavailableException extends AppException {
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified detail
+     * message.
+     *
+     * @param m the detail message explaining the exception
+     */
+    public ServiceUnavailableException(String m) {
+        super(m);
+    }
+}
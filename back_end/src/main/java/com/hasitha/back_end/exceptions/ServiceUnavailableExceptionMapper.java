@@ -0,0 +1,32 @@
+package com.hasitha.back_end.exceptions;
+
+import com.hasitha.back_end.response.ErrorResponse;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Exception mapper that handles {@link ServiceUnavailableException} and
+ * converts it into a standardized HTTP 503 Service Unavailable response.
+ *
+ * This class is annotated with {@link Provider} to register it as a JAX-RS
+ * exception mapper.
+ */
+@Provider
+public class ServiceUnavailableExceptionMapper implements ExceptionMapper<ServiceUnavailableException> {
+
+    /**
+     * Converts a {@link ServiceUnavailableException} into a JAX-RS
+     * {@link Response}.
+     *
+     * @param e the caught ServiceUnavailableException
+     * @return a Response object with HTTP status 503 and a JSON error body
+     */
+    @Override
+    public Response toResponse(ServiceUnavailableException e) {
+        return Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(new ErrorResponse(MessageConstants.SERVICE_UNAVAILABLE_CODE, e.getMessage(), null))
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.hasitha.back_end.exceptions;
+
+/**
+ * Custom exception class indicating that a client sent too many requests and
+ * has to wait before trying again.
+ *
+ * Extends {@link AppException}; carries how long the client should wait.
+ */
+public class TooManyRequestsException extends AppException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new TooManyRequestsException with the specified detail
+     * message and wait time.
+     *
+     * @param m the detail message explaining the exception
+     * @param retryAfterSeconds seconds until the client may try again
+     */
+    public TooManyRequestsException(String m, long retryAfterSeconds) {
+        super(m);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns how long the client should wait before trying again.
+     *
+     * @return the wait in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
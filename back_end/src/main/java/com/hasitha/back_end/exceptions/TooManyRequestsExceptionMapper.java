@@ -0,0 +1,36 @@
+package com.hasitha.back_end.exceptions;
+
+import com.hasitha.back_end.response.ErrorResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Exception mapper that handles {@link TooManyRequestsException} and converts
+ * it into a standardized HTTP 429 Too Many Requests response with a
+ * {@code Retry-After} header.
+ *
+ * This class is annotated with {@link Provider} to register it as a JAX-RS
+ * exception mapper.
+ */
+@Provider
+public class TooManyRequestsExceptionMapper implements ExceptionMapper<TooManyRequestsException> {
+
+    /**
+     * Converts a {@link TooManyRequestsException} into a JAX-RS
+     * {@link Response}.
+     *
+     * @param e the caught TooManyRequestsException
+     * @return a Response object with HTTP status 429, the wait in the
+     * Retry-After header and a JSON error body
+     */
+    @Override
+    public Response toResponse(TooManyRequestsException e) {
+        return Response
+                .status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                .entity(new ErrorResponse(MessageConstants.TOO_MANY_REQUESTS_CODE, e.getMessage(), null))
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.hasitha.back_end.item;
 
+import com.hasitha.back_end.utils.Money;
+
 /**
  * Represents an item in the system, such as a product in a bookshop or
  * inventory.
@@ -15,7 +17,7 @@ public class Item {
     private String name;
 
     // Price per unit of the item
-    private double price;
+    private Money price;
 
     // Available quantity in stock
     private int stock;
@@ -34,7 +36,7 @@ public class Item {
      * @param unitPrice the price per unit
      * @param stock the quantity available in stock
      */
-    public Item(String name, double unitPrice, int stock) {
+    public Item(String name, Money unitPrice, int stock) {
         this.name = name;
         this.price = unitPrice;
         this.stock = stock;
@@ -48,7 +50,7 @@ public class Item {
      * @param unitPrice the price per unit
      * @param stock the quantity available in stock
      */
-    public Item(int id, String name, double unitPrice, int stock) {
+    public Item(int id, String name, Money unitPrice, int stock) {
         this.id = id;
         this.name = name;
         this.price = unitPrice;
@@ -86,14 +88,14 @@ public class Item {
     /**
      * Returns the unit price of the item.
      */
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
     /**
      * Sets the unit price of the item.
      */
-    public void setPrice(double unitPrice) {
+    public void setPrice(Money unitPrice) {
         this.price = unitPrice;
     }
 
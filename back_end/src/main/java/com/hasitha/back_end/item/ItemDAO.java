@@ -1,6 +1,10 @@
 package com.hasitha.back_end.item;
 
+import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface that defines the contract for performing CRUD operations on Item
@@ -18,6 +22,14 @@ public interface ItemDAO {
      */
     public List<Item> findAll();
 
+    /**
+     * Reads all items and passes each one to the action as it is read,
+     * without building a list.
+     *
+     * @param action receives the items in table order
+     */
+    public void streamAll(Consumer<? super Item> action);
+
     /**
      * Finds a single item by its ID.
      *
@@ -49,4 +61,24 @@ public interface ItemDAO {
      * @param id the ID of the item to delete
      */
     public void delete(int id);
+
+    /**
+     * Loads the given items on the caller's connection in one query.
+     *
+     * @param connection the transaction's connection
+     * @param ids the IDs of the items to load
+     * @return the found items keyed by ID; missing IDs are absent
+     */
+    public Map<Integer, Item> findByIds(Connection connection, Collection<Integer> ids);
+
+    /**
+     * Atomically decrements the stock of several items on the caller's
+     * connection. An item is only decremented if it has enough stock left.
+     *
+     * @param connection the transaction's connection
+     * @param quantities quantity to take off per item ID
+     * @return the IDs of the items that did not have enough stock; empty if
+     * every decrement was applied
+     */
+    public List<Integer> decrementStock(Connection connection, Map<Integer, Integer> quantities);
 }
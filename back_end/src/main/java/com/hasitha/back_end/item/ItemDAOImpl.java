@@ -2,10 +2,17 @@ package com.hasitha.back_end.item;
 
 import com.hasitha.back_end.exceptions.DatabaseException;
 import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.Money;
+import com.hasitha.back_end.utils.StreamingQuery;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link ItemDAO} for managing item records in the
@@ -35,7 +42,7 @@ public class ItemDAOImpl implements ItemDAO {
                 list.add(new Item(
                         rs.getInt("id"),
                         rs.getString("name"),
-                        rs.getDouble("price"),
+                        Money.of(rs.getBigDecimal("price")),
                         rs.getInt("stock")
                 ));
             }
@@ -45,6 +52,30 @@ public class ItemDAOImpl implements ItemDAO {
         }
     }
 
+    /**
+     * Reads all items through a streaming result set, see
+     * {@link StreamingQuery#prepare}.
+     *
+     * @param action receives each item as its row is read
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public void streamAll(Consumer<? super Item> action) {
+        String sql = "SELECT * FROM items";
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = StreamingQuery.prepare(c, sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(new Item(
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        Money.of(rs.getBigDecimal("price")),
+                        rs.getInt("stock")
+                ));
+            }
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error streaming items. " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Retrieves a single item by its ID.
      *
@@ -62,7 +93,7 @@ public class ItemDAOImpl implements ItemDAO {
                 return new Item(
                         rs.getInt("id"),
                         rs.getString("name"),
-                        rs.getDouble("price"),
+                        Money.of(rs.getBigDecimal("price")),
                         rs.getInt("stock")
                 );
             }
@@ -84,7 +115,7 @@ public class ItemDAOImpl implements ItemDAO {
         String sql = "INSERT INTO items (name, price, stock) VALUES (?, ?, ?)";
         try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, item.getName());
-            ps.setDouble(2, item.getPrice());
+            ps.setBigDecimal(2, item.getPrice().toBigDecimal());
             ps.setInt(3, item.getStock());
             int affectedRows = ps.executeUpdate();
             if (affectedRows == 0) {
@@ -115,7 +146,7 @@ public class ItemDAOImpl implements ItemDAO {
         String sql = "UPDATE items SET name=?, price=?, stock=? WHERE id=?";
         try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, item.getName());
-            ps.setDouble(2, item.getPrice());
+            ps.setBigDecimal(2, item.getPrice().toBigDecimal());
             ps.setInt(3, item.getStock());
             ps.setInt(4, id);
             int affectedRows = ps.executeUpdate();
@@ -148,4 +179,85 @@ public class ItemDAOImpl implements ItemDAO {
             throw new DatabaseException("Error deleting item with ID " + id + ". " + ex.getMessage());
         }
     }
+
+    /**
+     * Loads several items in one query on the given connection.
+     *
+     * @param connection the transaction's connection
+     * @param ids the IDs of the items to load
+     * @return the found items keyed by ID
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public Map<Integer, Item> findByIds(Connection connection, Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT * FROM items WHERE id IN (" + placeholders + ")";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int id : ids) {
+                ps.setInt(index++, id);
+            }
+            Map<Integer, Item> items = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Item item = new Item(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            Money.of(rs.getBigDecimal("price")),
+                            rs.getInt("stock")
+                    );
+                    items.put(item.getId(), item);
+                }
+            }
+            return items;
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error fetching items " + ids + ". " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Decrements stock for all given items in one JDBC batch. Each statement
+     * is guarded by {@code stock >= ?}, so concurrent bills can never drive
+     * stock negative or overwrite each other's updates; an update count of 0
+     * means the item did not have enough stock.
+     *
+     * Requires plain batch execution (no {@code rewriteBatchedStatements}) so
+     * the driver reports one update count per statement.
+     *
+     * @param connection the transaction's connection
+     * @param quantities quantity to take off per item ID
+     * @return the IDs of the items that did not have enough stock
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public List<Integer> decrementStock(Connection connection, Map<Integer, Integer> quantities) {
+        String sql = "UPDATE items SET stock = stock - ? WHERE id = ? AND stock >= ?";
+        List<Integer> ids = new ArrayList<>(quantities.keySet());
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int id : ids) {
+                int quantity = quantities.get(id);
+                ps.setInt(1, quantity);
+                ps.setInt(2, id);
+                ps.setInt(3, quantity);
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+
+            List<Integer> insufficient = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    throw new DatabaseException("Stock update returned no row counts; disable rewriteBatchedStatements.");
+                }
+                if (counts[i] == 0) {
+                    insufficient.add(ids.get(i));
+                }
+            }
+            return insufficient;
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error updating stock for items " + ids + ". " + ex.getMessage(), ex);
+        }
+    }
 }
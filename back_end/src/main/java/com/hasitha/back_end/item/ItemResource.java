@@ -2,14 +2,21 @@ package com.hasitha.back_end.item;
 
 import com.hasitha.back_end.exceptions.MessageConstants;
 import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.response.StreamingApiResponse;
+import com.hasitha.back_end.utils.ResourceExecutor;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
@@ -27,60 +34,81 @@ import java.util.List;
 public class ItemResource {
 
     private final ItemService itemService;
+    private final ResourceExecutor resourceExecutor;
 
     // Default constructor (used in production)
     public ItemResource() {
         this.itemService = new ItemService();
+        this.resourceExecutor = ResourceExecutor.getDefault();
     }
 
     // Constructor for injection (used in tests)
-    public ItemResource(ItemService itemService) {
+    public ItemResource(ItemService itemService, ResourceExecutor resourceExecutor) {
         this.itemService = itemService;
+        this.resourceExecutor = resourceExecutor;
     }
 
     /**
      * Retrieves a list of all items.
      *
-     * @return Response containing the list of items and a success message.
+     * With {@code ?stream=true} the items are written to the response while
+     * they are read from the database instead of being collected first.
+     *
+     * @param stream whether to stream the list
+     * @param asyncResponse resumed with the response containing the list of items and a success message.
      */
     @GET
-    public Response findAll() {
-        List<Item> items = itemService.findAll();
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, items))
-                .build();
+    public void findAll(@QueryParam("stream") @DefaultValue("false") boolean stream, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            if (stream) {
+                return Response
+                        .status(Response.Status.OK)
+                        .entity(new StreamingApiResponse<Item>(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS,
+                                itemService::streamAll, ItemService.NONE_FOUND))
+                        .build();
+            }
+            List<Item> items = itemService.findAll();
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, items))
+                    .build();
+        });
     }
 
     /**
      * Retrieves a specific item by its ID.
      *
      * @param id The ID of the item to retrieve.
-     * @return Response containing the requested item and a success message.
+     * @param asyncResponse resumed with the response containing the requested item and a success message.
      */
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") int id) {
-        Item item = itemService.findById(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, item))
-                .build();
+    public void findById(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Item item = itemService.findById(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, item))
+                    .build();
+        });
     }
 
     /**
      * Creates a new item.
      *
      * @param item The item object to be created.
-     * @return Response with the created item and a creation success message.
+     * @param asyncResponse resumed with the response with the created item and a creation success message.
      */
     @POST
-    public Response create(Item item) {
-        Item createdItem = itemService.create(item);
-        return Response
-                .status(Response.Status.CREATED)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdItem))
-                .build();
+    @RolesAllowed("ADMIN")
+    public void create(Item item, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Item createdItem = itemService.create(item);
+            return Response
+                    .status(Response.Status.CREATED)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdItem))
+                    .build();
+        });
     }
 
     /**
@@ -88,31 +116,37 @@ public class ItemResource {
      *
      * @param id The ID of the item to update.
      * @param item The updated item data.
-     * @return Response containing the updated item and a success message.
+     * @param asyncResponse resumed with the response containing the updated item and a success message.
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") int id, Item item) {
-        Item updatedItem = itemService.update(id, item);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedItem))
-                .build();
+    @RolesAllowed("ADMIN")
+    public void update(@PathParam("id") int id, Item item, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            Item updatedItem = itemService.update(id, item);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedItem))
+                    .build();
+        });
     }
 
     /**
      * Deletes an item by ID.
      *
      * @param id The ID of the item to delete.
-     * @return Response with success message and HTTP 200 OK status.
+     * @param asyncResponse resumed with the response with success message and HTTP 200 OK status.
      */
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") int id) {
-        itemService.delete(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
-                .build();
+    @RolesAllowed("ADMIN")
+    public void delete(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            itemService.delete(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
+                    .build();
+        });
     }
 }
@@ -2,27 +2,72 @@ package com.hasitha.back_end.item;
 
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.BoundedCache;
+import com.hasitha.back_end.utils.Money;
+import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service class for managing business logic related to items.
  *
  * This class acts as a middle layer between the controller/resource layer and
  * the data access layer. It handles validation and error handling.
+ *
+ * Item names and prices are served from a bounded in-process catalog cache.
+ * Stock is never cached: it changes on every sale, so anything that needs
+ * stock reads it from the database.
  */
 public class ItemService {
 
+    // Message when the items table is empty
+    static final String NONE_FOUND = "No items found in the system.";
+
+    // Limits for the shared catalog cache
+    static final int CATALOG_CACHE_SIZE = 1000;
+    static final long CATALOG_CACHE_TTL_MILLIS = 5 * 60 * 1000L;
+
+    // Shared by every default-constructed service, since resources create a new service per request
+    private static final BoundedCache<Integer, CatalogEntry> SHARED_CATALOG
+            = new BoundedCache<>("item_catalog", CATALOG_CACHE_SIZE, CATALOG_CACHE_TTL_MILLIS);
+
+    // Shared timed DAO for default-constructed services
+    private static final ItemDAO DEFAULT_DAO = TimedProxy.wrap(ItemDAO.class, new ItemDAOImpl());
+
     // DAO used for database operations
     private final ItemDAO itemDao;
 
+    // Cache of item names and prices keyed by item ID
+    private final BoundedCache<Integer, CatalogEntry> catalog;
+
     // Constructor for injection (used in tests)
     public ItemService(ItemDAO itemDao) {
+        this(itemDao, new BoundedCache<>("item_catalog", CATALOG_CACHE_SIZE, CATALOG_CACHE_TTL_MILLIS));
+    }
+
+    // Constructor for injection of both the DAO and the cache (used in tests)
+    public ItemService(ItemDAO itemDao, BoundedCache<Integer, CatalogEntry> catalog) {
         this.itemDao = itemDao;
+        this.catalog = catalog;
     }
 
     // Default constructor (used in production)
     public ItemService() {
-        this.itemDao = new ItemDAOImpl(); // default real DAO
+        this.itemDao = DEFAULT_DAO; // default real DAO, timed
+        this.catalog = SHARED_CATALOG;
+    }
+
+    /**
+     * Returns the catalog cache shared by the default-constructed services,
+     * so its hit, miss and eviction counts can be reported.
+     *
+     * @return the shared catalog cache
+     */
+    public static BoundedCache<Integer, CatalogEntry> catalogCache() {
+        return SHARED_CATALOG;
     }
 
     /**
@@ -34,23 +79,36 @@ public class ItemService {
     public List<Item> findAll() {
         List<Item> itemList = itemDao.findAll();
         if (itemList == null || itemList.isEmpty()) {
-            throw new NotFoundException("No items found in the system.");
+            throw new NotFoundException(NONE_FOUND);
         }
         return itemList;
     }
 
     /**
-     * Retrieves an item by its ID.
+     * Passes every item to the action as it is read from the database,
+     * for responses that are written while the query runs.
+     *
+     * @param action receives each item
+     */
+    public void streamAll(Consumer<? super Item> action) {
+        itemDao.streamAll(action);
+    }
+
+    /**
+     * Retrieves an item by its ID. Always reads the database so the returned
+     * stock is current; the catalog cache is refreshed on the way out.
      *
      * @param id the item ID
      * @return the item with the specified ID
      * @throws NotFoundException if the item does not exist
      */
     public Item findById(int id) {
+        long generation = catalog.generation(); // Taken first, so an update during the read is not undone
         Item item = itemDao.findById(id);
         if (item == null) {
             throw new NotFoundException("Item with the specified ID " + id + " does not exist.");
         }
+        catalog.put(id, CatalogEntry.of(item), generation);
         return item;
     }
 
@@ -63,7 +121,11 @@ public class ItemService {
      */
     public Item create(Item item) {
         validateItem(item);
-        return itemDao.create(item);
+        Item created = itemDao.create(item);
+        if (created != null) {
+            catalog.invalidate(created.getId());
+        }
+        return created;
     }
 
     /**
@@ -78,7 +140,11 @@ public class ItemService {
     public Item update(int id, Item itemUpdate) {
         ensureItemExists(id);
         validateItem(itemUpdate);
-        return itemDao.update(id, itemUpdate);
+        try {
+            return itemDao.update(id, itemUpdate);
+        } finally {
+            catalog.invalidate(id);
+        }
     }
 
     /**
@@ -89,18 +155,71 @@ public class ItemService {
      */
     public void delete(int id) {
         ensureItemExists(id);
-        itemDao.delete(id);
+        try {
+            itemDao.delete(id);
+        } finally {
+            catalog.invalidate(id);
+        }
     }
 
     /**
-     * Gets the price of an item by its ID.
+     * Gets the price of an item by its ID, served from the catalog cache when
+     * possible.
      *
      * @param id the ID of the item
      * @return the unit price of the item
      * @throws NotFoundException if the item is not found
      */
-    public double getPriceById(int id) {
-        return findById(id).getPrice();
+    public Money getPriceById(int id) {
+        return getCatalogEntry(id).getPrice();
+    }
+
+    /**
+     * Loads the given items inside the caller's transaction.
+     *
+     * @param connection the transaction's connection
+     * @param ids the IDs of the items to load
+     * @return the items keyed by ID
+     * @throws NotFoundException if any of the items does not exist
+     */
+    public Map<Integer, Item> findByIds(Connection connection, Collection<Integer> ids) {
+        Map<Integer, Item> items = findExisting(connection, ids);
+        for (int id : ids) {
+            if (!items.containsKey(id)) {
+                throw new NotFoundException("Item with the specified ID " + id + " does not exist.");
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Loads whichever of the given items exist inside the caller's
+     * transaction, for callers that handle missing items themselves.
+     *
+     * @param connection the transaction's connection
+     * @param ids the IDs of the items to load
+     * @return the found items keyed by ID; missing IDs are absent
+     */
+    public Map<Integer, Item> findExisting(Connection connection, Collection<Integer> ids) {
+        return itemDao.findByIds(connection, ids);
+    }
+
+    /**
+     * Takes the given quantities off stock inside the caller's transaction.
+     * Each decrement only applies if enough stock is left at that moment.
+     *
+     * @param connection the transaction's connection
+     * @param quantities quantity to take off per item ID
+     * @return the IDs of the items that ran out of stock; empty on success
+     * @throws ValidationException if a quantity is not positive
+     */
+    public List<Integer> decrementStock(Connection connection, Map<Integer, Integer> quantities) {
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() <= 0) {
+                throw new ValidationException("Quantity must be > 0 for item " + entry.getKey());
+            }
+        }
+        return itemDao.decrementStock(connection, quantities);
     }
 
     /**
@@ -110,9 +229,21 @@ public class ItemService {
      * @throws NotFoundException if the item is not found
      */
     public void ensureItemExists(int id) {
-        if (itemDao.findById(id) == null) {
+        getCatalogEntry(id);
+    }
+
+    /**
+     * Looks up the cached name and price of an item, loading it on a miss.
+     */
+    private CatalogEntry getCatalogEntry(int id) {
+        CatalogEntry entry = catalog.get(id, key -> {
+            Item item = itemDao.findById(key);
+            return item == null ? null : CatalogEntry.of(item);
+        });
+        if (entry == null) {
             throw new NotFoundException("Item with the specified ID " + id + " does not exist.");
         }
+        return entry;
     }
 
     /**
@@ -128,7 +259,7 @@ public class ItemService {
         if (item.getName() == null || item.getName().isBlank()) {
             throw new ValidationException("Item name is required and cannot be empty.");
         }
-        if (item.getPrice() <= 0) {
+        if (item.getPrice() == null || !item.getPrice().isPositive()) {
             throw new ValidationException("Item price must be greater than zero.");
         }
         if (item.getStock() < 0) {
@@ -136,4 +267,37 @@ public class ItemService {
         }
 
     }
+
+    /**
+     * The cached, stock-free view of an item. Immutable so cached copies can
+     * be shared between threads.
+     */
+    public static final class CatalogEntry {
+
+        private final int id;
+        private final String name;
+        private final Money price;
+
+        public CatalogEntry(int id, String name, Money price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        static CatalogEntry of(Item item) {
+            return new CatalogEntry(item.getId(), item.getName(), item.getPrice());
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Money getPrice() {
+            return price;
+        }
+    }
 }
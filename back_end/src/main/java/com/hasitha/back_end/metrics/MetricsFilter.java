@@ -0,0 +1,98 @@
+package com.hasitha.back_end.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency and status of every REST call, per resource method.
+ *
+ * The request filter runs before every other filter, including
+ * authentication, so the recorded time covers the whole JAX-RS pipeline.
+ * Requests that never reach a resource method, for example because
+ * authentication rejected them, are recorded under the {@code unmatched}
+ * endpoint.
+ */
+@Provider
+@PreMatching
+@Priority(1)
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    // Request property holding the System.nanoTime() of arrival
+    static final String START_PROPERTY = "metrics.startNanos";
+
+    private static final String UNMATCHED = "unmatched";
+
+    // Metrics per resource method; filled on first call of each method
+    private static final Map<Method, EndpointMetrics> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private static final EndpointMetrics UNMATCHED_METRICS = new EndpointMetrics(MetricsRegistry.getDefault(), UNMATCHED);
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object start = requestContext.getProperty(START_PROPERTY);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (Long) start;
+        endpointFor(resourceInfo == null ? null : resourceInfo.getResourceMethod())
+                .record(elapsed, responseContext.getStatus());
+    }
+
+    private static EndpointMetrics endpointFor(Method method) {
+        if (method == null) {
+            return UNMATCHED_METRICS;
+        }
+        EndpointMetrics metrics = ENDPOINTS.get(method);
+        if (metrics == null) {
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            metrics = ENDPOINTS.computeIfAbsent(method, m -> new EndpointMetrics(MetricsRegistry.getDefault(), name));
+        }
+        return metrics;
+    }
+
+    /**
+     * Latency histogram and per-status-class counters for one endpoint.
+     */
+    static final class EndpointMetrics {
+
+        private final LatencyHistogram latency;
+
+        // Indexed by status / 100; index 0 collects anything out of range
+        private final LongAdder[] responses = new LongAdder[6];
+
+        EndpointMetrics(MetricsRegistry registry, String endpoint) {
+            String labels = "endpoint=\"" + MetricsRegistry.escape(endpoint) + "\"";
+            this.latency = registry.histogram("http_server_requests_seconds", "Latency of REST calls.", labels);
+            for (int i = 0; i < responses.length; i++) {
+                String status = i == 0 ? "other" : i + "xx";
+                responses[i] = registry.counter("http_server_responses_total", "REST responses by status class.",
+                        labels + ",status=\"" + status + "\"");
+            }
+        }
+
+        void record(long nanos, int status) {
+            latency.record(nanos);
+            int statusClass = status / 100;
+            responses[statusClass > 0 && statusClass < responses.length ? statusClass : 0].increment();
+        }
+    }
+}
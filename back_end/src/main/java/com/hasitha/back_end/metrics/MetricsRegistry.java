@@ -0,0 +1,184 @@
+package com.hasitha.back_end.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process registry of counters, gauges and latency histograms, rendered in
+ * the Prometheus text exposition format.
+ *
+ * Metrics are grouped in families that share a name, a help text and a type.
+ * Each series within a family is identified by its label string, for example
+ * {@code dao="ItemDAO",method="findById"}. Looking up a series allocates, so
+ * callers should look up once and keep the returned counter or histogram;
+ * updating it afterwards is lock-free and allocation-free.
+ *
+ * Usage example: LatencyHistogram h = MetricsRegistry.getDefault()
+ * .histogram("dao_call_seconds", "DAO call latency", "method=\"findById\"");
+ * h.record(System.nanoTime() - start);
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    // Quantiles reported for every histogram
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), SUMMARY("summary");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+    }
+
+    private static final class Family {
+
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final Map<String, Object> series = new ConcurrentSkipListMap<>();
+
+        private Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the registry used by the application.
+     *
+     * @return the shared registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the counter for the given series, creating it on first use.
+     *
+     * @param name the metric family name, ending in {@code _total}
+     * @param help the help text of the family
+     * @param labels the rendered label string, or an empty string
+     * @return the counter
+     */
+    public LongAdder counter(String name, String help, String labels) {
+        return (LongAdder) family(name, help, Type.COUNTER).series.computeIfAbsent(labels, k -> new LongAdder());
+    }
+
+    /**
+     * Registers a counter whose value is kept elsewhere and read when the
+     * metrics are scraped. A counter already registered for the series is
+     * kept.
+     *
+     * @param name the metric family name, ending in {@code _total}
+     * @param help the help text of the family
+     * @param labels the rendered label string, or an empty string
+     * @param value supplies the current, never decreasing value
+     */
+    public void counter(String name, String help, String labels, LongSupplier value) {
+        family(name, help, Type.COUNTER).series.putIfAbsent(labels, value);
+    }
+
+    /**
+     * Returns the latency histogram for the given series, creating it on
+     * first use. Values are recorded in nanoseconds and reported in seconds.
+     *
+     * @param name the metric family name, ending in {@code _seconds}
+     * @param help the help text of the family
+     * @param labels the rendered label string, or an empty string
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name, String help, String labels) {
+        return (LatencyHistogram) family(name, help, Type.SUMMARY).series.computeIfAbsent(labels, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge whose value is read when the metrics are scraped. A
+     * gauge that is already registered for the series is kept.
+     *
+     * @param name the metric family name
+     * @param help the help text of the family
+     * @param labels the rendered label string, or an empty string
+     * @param value supplies the current value
+     */
+    public void gauge(String name, String help, String labels, LongSupplier value) {
+        family(name, help, Type.GAUGE).series.putIfAbsent(labels, value);
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format, version 0.0.4.
+     *
+     * @return the exposition text
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.prometheusName).append('\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                String labels = series.getKey();
+                switch (family.type) {
+                    case COUNTER, GAUGE ->
+                        sample(out, family.name, labels, null, read(series.getValue()));
+                    case SUMMARY ->
+                        summary(out, family.name, labels, (LatencyHistogram) series.getValue());
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Renders a label value with backslashes, quotes and newlines escaped.
+     *
+     * @param value the raw label value
+     * @return the escaped value, without surrounding quotes
+     */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, k -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.prometheusName);
+        }
+        return family;
+    }
+
+    private static long read(Object value) {
+        return value instanceof LongAdder adder ? adder.sum() : ((LongSupplier) value).getAsLong();
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double q : QUANTILES) {
+            sample(out, name, labels, "quantile=\"" + q + "\"", histogram.getValueAtQuantile(q) / NANOS_PER_SECOND);
+        }
+        sample(out, name + "_sum", labels, null, histogram.getSumNanos() / NANOS_PER_SECOND);
+        sample(out, name + "_count", labels, null, histogram.getCount());
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, String extraLabel, Object value) {
+        out.append(name);
+        boolean hasLabels = !labels.isEmpty();
+        if (hasLabels || extraLabel != null) {
+            out.append('{').append(labels);
+            if (extraLabel != null) {
+                out.append(hasLabels ? "," : "").append(extraLabel);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,52 @@
+package com.hasitha.back_end.metrics;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exposes the application metrics in the Prometheus text format.
+ *
+ * The endpoint timings, DAO timings and pool and cache statistics describe
+ * the system's internals, so only admins may read them. A scraper logs in
+ * as an admin and sends the session cookie, or a Bearer token when
+ * {@code app.auth.tokens} is on.
+ */
+@RolesAllowed("ADMIN")
+@Path("/metrics")
+public class MetricsResource {
+
+    // Content type of the Prometheus text exposition format
+    static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+
+    /**
+     * Default constructor used by the JAX-RS runtime.
+     */
+    public MetricsResource() {
+        this.registry = MetricsRegistry.getDefault();
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param registry the registry to expose
+     */
+    public MetricsResource(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns every metric.
+     *
+     * @return the metrics in Prometheus text format
+     */
+    @GET
+    @Produces(PROMETHEUS_TEXT)
+    public Response getMetrics() {
+        return Response.ok(registry.scrape()).type(PROMETHEUS_TEXT).build();
+    }
+}
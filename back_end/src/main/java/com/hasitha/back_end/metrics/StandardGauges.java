@@ -0,0 +1,64 @@
+package com.hasitha.back_end.metrics;
+
+import com.hasitha.back_end.authentication.LoginRateLimiter;
+import com.hasitha.back_end.authentication.PasswordHasher;
+import com.hasitha.back_end.billCreate.IdempotencyStore;
+import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.BoundedCache;
+import com.hasitha.back_end.utils.ConnectionPool;
+import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.ResourceExecutor;
+
+/**
+ * Registers gauges for the connection pool, the resource executor, the
+ * password hashing pool, the login limiter and the shared entity caches.
+ */
+public final class StandardGauges {
+
+    private StandardGauges() {
+    }
+
+    /**
+     * Registers the gauges in the given registry. Calling this more than once
+     * is harmless.
+     *
+     * @param registry the registry to add the gauges to
+     */
+    public static void register(MetricsRegistry registry) {
+        ConnectionPool pool = DBConnection.getPool();
+        registry.gauge("db_pool_connections", "Pooled database connections by state.", "state=\"active\"", pool::getActiveCount);
+        registry.gauge("db_pool_connections", "Pooled database connections by state.", "state=\"idle\"", pool::getIdleCount);
+        registry.gauge("db_pool_connections", "Pooled database connections by state.", "state=\"open\"", pool::getOpenCount);
+        registry.gauge("db_pool_max_connections", "Configured maximum pool size.", "", pool::getMaxSize);
+
+        ResourceExecutor executor = ResourceExecutor.getDefault();
+        registry.gauge("rest_executor_calls", "Resource calls on virtual threads by state.", "state=\"active\"", executor::getActiveCount);
+        registry.gauge("rest_executor_calls", "Resource calls on virtual threads by state.", "state=\"queued\"", executor::getQueuedCount);
+        registry.gauge("rest_executor_max_calls", "Maximum resource calls running at once.", "", executor::getMaxConcurrency);
+
+        PasswordHasher hasher = PasswordHasher.getDefault();
+        registry.gauge("password_hash_tasks", "Password hashes on the hashing pool by state.", "state=\"active\"", hasher::getActiveCount);
+        registry.gauge("password_hash_tasks", "Password hashes on the hashing pool by state.", "state=\"queued\"", hasher::getQueuedCount);
+        registry.gauge("password_hash_threads", "Threads of the password hashing pool.", "", hasher::getThreadCount);
+        registry.counter("password_hash_rejected_total", "Password hashes rejected because the queue was full.", "", hasher::getRejectedCount);
+
+        LoginRateLimiter limiter = LoginRateLimiter.getDefault();
+        registry.counter("login_throttled_total", "Login attempts rejected with 429.", "", limiter::getRejectedCount);
+        registry.gauge("login_limiter_keys", "Usernames and IPs tracked by the login limiter.", "", limiter::size);
+
+        registerCache(registry, ItemService.catalogCache());
+        registerCache(registry, CustomerService.sharedCache());
+        registerCache(registry, UserService.sharedCache());
+        registerCache(registry, IdempotencyStore.sharedCache());
+    }
+
+    private static void registerCache(MetricsRegistry registry, BoundedCache<?, ?> cache) {
+        String labels = "cache=\"" + MetricsRegistry.escape(cache.getName()) + "\"";
+        registry.counter("cache_hits_total", "Cache lookups served from the cache.", labels, cache::getHitCount);
+        registry.counter("cache_misses_total", "Cache lookups that had to load.", labels, cache::getMissCount);
+        registry.counter("cache_evictions_total", "Entries evicted to stay within the size limit.", labels, cache::getEvictionCount);
+        registry.gauge("cache_size", "Entries currently cached.", labels, cache::size);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hasitha.back_end.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps a DAO in a dynamic proxy that times every interface method.
+ *
+ * Each method gets a latency histogram in {@code dao_call_seconds} and an
+ * error counter in {@code dao_call_errors_total}, labelled with the DAO
+ * interface and method name. Both are looked up once when the proxy is built,
+ * so a call only pays for two {@link System#nanoTime()} reads and a few
+ * atomic increments.
+ *
+ * Usage example: ItemDAO dao = TimedProxy.wrap(ItemDAO.class, new
+ * ItemDAOImpl());
+ */
+public final class TimedProxy {
+
+    private TimedProxy() {
+    }
+
+    /**
+     * Wraps the target so its calls are recorded in the default registry.
+     *
+     * @param type the DAO interface
+     * @param target the real DAO
+     * @param <T> the DAO type
+     * @return a proxy implementing {@code type}
+     */
+    public static <T> T wrap(Class<T> type, T target) {
+        return wrap(type, target, MetricsRegistry.getDefault());
+    }
+
+    /**
+     * Wraps the target so its calls are recorded in the given registry.
+     *
+     * @param type the DAO interface
+     * @param target the real DAO
+     * @param registry where to record the timings
+     * @param <T> the DAO type
+     * @return a proxy implementing {@code type}
+     */
+    public static <T> T wrap(Class<T> type, T target, MetricsRegistry registry) {
+        Map<Method, MethodMetrics> metrics = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            String labels = "dao=\"" + type.getSimpleName() + "\",method=\"" + method.getName() + "\"";
+            metrics.put(method, new MethodMetrics(
+                    registry.histogram("dao_call_seconds", "Latency of DAO calls.", labels),
+                    registry.counter("dao_call_errors_total", "DAO calls that threw an exception.", labels)));
+        }
+        InvocationHandler handler = new TimingHandler(target, metrics);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private record MethodMetrics(LatencyHistogram latency, LongAdder errors) {
+
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, MethodMetrics> metrics;
+
+        private TimingHandler(Object target, Map<Method, MethodMetrics> metrics) {
+            this.target = target;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodMetrics m = metrics.get(method);
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (m != null) {
+                    m.errors().increment();
+                }
+                throw e.getCause();
+            } finally {
+                if (m != null) {
+                    m.latency().record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
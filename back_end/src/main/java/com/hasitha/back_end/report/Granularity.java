@@ -0,0 +1,56 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ValidationException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * The length of the periods a sales summary's series is split into.
+ */
+public enum Granularity {
+
+    DAY,
+    /**
+     * ISO weeks, starting on Monday.
+     */
+    WEEK,
+    MONTH;
+
+    /**
+     * Returns the first day of the period that contains the given date.
+     *
+     * @param date any day in the period
+     * @return the day the period starts on
+     */
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY ->
+                date;
+            case WEEK ->
+                date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH ->
+                date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Parses a query parameter such as {@code "week"}, ignoring case.
+     *
+     * @param value the raw parameter
+     * @return the granularity, or null if the value is null or blank
+     * @throws ValidationException if the value is not a known granularity
+     */
+    public static Granularity parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format(MessageConstants.INVALID_FORMAT, "granularity"));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hasitha.back_end.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Access Object interface for aggregate sales queries.
+ *
+ * Every method takes a half-open range of days {@code [from, to)}; a null
+ * bound leaves that side of the range open. Days before {@code liveFrom} are
+ * read from the daily rollups (see {@link SalesRollupDAO}), later days from
+ * the bills themselves; a null {@code liveFrom} reads everything from the
+ * bills.
+ */
+public interface ReportDAO {
+
+    /**
+     * Counts the bills in the range, sums their totals and counts the
+     * different customers billed.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills, or null to read
+     * every day from the bills
+     * @return the totals; zero if the range has no bills
+     */
+    SalesSummary findTotals(LocalDate from, LocalDate to, LocalDate liveFrom);
+
+    /**
+     * Counts and sums the bills in the range per calendar day.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills, or null to read
+     * every day from the bills
+     * @return one period per day that has bills, oldest first
+     */
+    List<SalesPeriod> findDailySales(LocalDate from, LocalDate to, LocalDate liveFrom);
+
+    /**
+     * Finds the items with the highest revenue in the range.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills, or null to read
+     * every day from the bills
+     * @param limit the maximum number of items to return
+     * @return up to {@code limit} items, highest revenue first
+     */
+    List<TopItem> findTopItems(LocalDate from, LocalDate to, LocalDate liveFrom, int limit);
+}
@@ -0,0 +1,236 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.utils.ConnectionPool;
+import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.Money;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of ReportDAO using aggregate SQL.
+ *
+ * Each figure is one GROUP BY query, so only the aggregated rows leave the
+ * database. The rows it aggregates are a UNION ALL of two sources:
+ * <ul>
+ * <li>days before {@code liveFrom} come from the daily rollups
+ * ({@code daily_customer_sales} and {@code daily_sales}), a few rows per
+ * day however many bills it had;</li>
+ * <li>later days, normally just today, come from {@code bills} and
+ * {@code bill_items} through the covering indexes of migration V4.</li>
+ * </ul>
+ * A source whose part of the range is empty is left out of the query. A
+ * null {@code liveFrom} reads every day from the bills, while the rollups
+ * are still being backfilled.
+ */
+public class ReportDAOImpl implements ReportDAO {
+
+    // Rows per day and customer: customer_id, bill_count, revenue
+    private static final String CUSTOMER_ROLLUP
+            = "SELECT r.customer_id, r.bill_count, r.revenue FROM daily_customer_sales r";
+    private static final String CUSTOMER_LIVE
+            = "SELECT b.customer_id, 1 AS bill_count, b.total AS revenue FROM bills b";
+
+    // Rows per day: sale_day, bill_count, revenue
+    private static final String DAY_ROLLUP
+            = "SELECT r.sale_date AS sale_day, r.bill_count, r.revenue FROM daily_customer_sales r";
+    private static final String DAY_LIVE
+            = "SELECT CAST(b.bill_date AS DATE) AS sale_day, 1 AS bill_count, b.total AS revenue FROM bills b";
+
+    // Rows per item: item_id, quantity, revenue
+    private static final String ITEM_ROLLUP
+            = "SELECT r.item_id, r.quantity, r.revenue FROM daily_sales r";
+    private static final String ITEM_LIVE
+            = "SELECT bi.item_id, bi.quantity, bi.price AS revenue FROM bills b JOIN bill_items bi ON bi.bill_id = b.id";
+
+    // Source of connections for each call
+    private final ConnectionPool.ConnectionFactory connectionSource;
+
+    /**
+     * Default constructor that uses the shared pool in {@link DBConnection}.
+     */
+    public ReportDAOImpl() {
+        this.connectionSource = DBConnection::getConnection;
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param connectionSource supplies connections for each call
+     */
+    public ReportDAOImpl(ConnectionPool.ConnectionFactory connectionSource) {
+        this.connectionSource = connectionSource;
+    }
+
+    /**
+     * Computes the bill count, revenue and distinct customer count of the
+     * range in one query.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills
+     * @return the totals
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public SalesSummary findTotals(LocalDate from, LocalDate to, LocalDate liveFrom) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT SUM(s.bill_count), SUM(s.revenue), COUNT(DISTINCT s.customer_id) FROM "
+                + sources(CUSTOMER_ROLLUP, CUSTOMER_LIVE, from, to, liveFrom, params) + " s";
+
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = prepare(conn, sql, params); ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return new SalesSummary(rs.getLong(1), toMoney(rs.getBigDecimal(2)), rs.getLong(3));
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while summarizing sales: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sums the bill counts and revenue of the range per day.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills
+     * @return one period per day with bills, oldest first
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public List<SalesPeriod> findDailySales(LocalDate from, LocalDate to, LocalDate liveFrom) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT s.sale_day, SUM(s.bill_count) AS bill_count, SUM(s.revenue) AS revenue FROM "
+                + sources(DAY_ROLLUP, DAY_LIVE, from, to, liveFrom, params) + " s"
+                + " GROUP BY s.sale_day ORDER BY s.sale_day";
+
+        List<SalesPeriod> days = new ArrayList<>();
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = prepare(conn, sql, params); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                days.add(new SalesPeriod(
+                        rs.getDate("sale_day").toLocalDate(),
+                        rs.getLong("bill_count"),
+                        toMoney(rs.getBigDecimal("revenue"))
+                ));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while fetching daily sales: " + e.getMessage(), e);
+        }
+        return days;
+    }
+
+    /**
+     * Sums quantity and revenue of the range per item and keeps the highest
+     * revenue ones.
+     *
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills
+     * @param limit the maximum number of items to return
+     * @return up to {@code limit} items, highest revenue first
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public List<TopItem> findTopItems(LocalDate from, LocalDate to, LocalDate liveFrom, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT s.item_id, i.name, SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue FROM "
+                + sources(ITEM_ROLLUP, ITEM_LIVE, from, to, liveFrom, params) + " s"
+                + " JOIN items i ON i.id = s.item_id"
+                + " GROUP BY s.item_id, i.name ORDER BY revenue DESC, s.item_id LIMIT ?";
+        params.add(limit);
+
+        List<TopItem> items = new ArrayList<>();
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = prepare(conn, sql, params); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                items.add(new TopItem(
+                        rs.getInt("item_id"),
+                        rs.getString("name"),
+                        rs.getLong("quantity"),
+                        toMoney(rs.getBigDecimal("revenue"))
+                ));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while fetching top items: " + e.getMessage(), e);
+        }
+        return items;
+    }
+
+    /**
+     * Builds the derived table a report aggregates: the rollup query for the
+     * days before {@code liveFrom}, the live query for the rest, or both
+     * joined with UNION ALL. Without {@code liveFrom} the whole range is read
+     * live.
+     *
+     * @param rollup the query over a rollup table aliased {@code r}
+     * @param live the query over {@code bills b}
+     * @param from the first day to include, or null
+     * @param to the first day to exclude, or null
+     * @param liveFrom the first day read from the bills, or null for all
+     * @param params receives the parameter values in placeholder order
+     * @return the parenthesized query
+     */
+    private static String sources(String rollup, String live, LocalDate from, LocalDate to, LocalDate liveFrom, List<Object> params) {
+        if (liveFrom == null) {
+            StringBuilder sql = new StringBuilder("(").append(live).append(" WHERE 1=1");
+            if (from != null) {
+                sql.append(" AND b.bill_date >= ?");
+                params.add(Timestamp.valueOf(from.atStartOfDay()));
+            }
+            if (to != null) {
+                sql.append(" AND b.bill_date < ?");
+                params.add(Timestamp.valueOf(to.atStartOfDay()));
+            }
+            return sql.append(")").toString();
+        }
+        LocalDate rollupTo = to == null || to.isAfter(liveFrom) ? liveFrom : to;
+        LocalDate liveStart = from == null || from.isBefore(liveFrom) ? liveFrom : from;
+        boolean useRollup = from == null || from.isBefore(rollupTo);
+        boolean useLive = to == null || liveStart.isBefore(to);
+
+        StringBuilder sql = new StringBuilder("(");
+        if (useRollup || !useLive) {
+            sql.append(rollup).append(" WHERE r.sale_date < ?");
+            params.add(java.sql.Date.valueOf(rollupTo));
+            if (from != null) {
+                sql.append(" AND r.sale_date >= ?");
+                params.add(java.sql.Date.valueOf(from));
+            }
+        }
+        if (useLive) {
+            if (useRollup) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append(live).append(" WHERE b.bill_date >= ?");
+            params.add(Timestamp.valueOf(liveStart.atStartOfDay()));
+            if (to != null) {
+                sql.append(" AND b.bill_date < ?");
+                params.add(Timestamp.valueOf(to.atStartOfDay()));
+            }
+        }
+        return sql.append(")").toString();
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, List<Object> params) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql);
+        try {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        } catch (SQLException e) {
+            ps.close();
+            throw e;
+        }
+    }
+
+    // SUM over no rows is NULL
+    private static Money toMoney(BigDecimal amount) {
+        return amount == null ? Money.ZERO : Money.of(amount);
+    }
+}
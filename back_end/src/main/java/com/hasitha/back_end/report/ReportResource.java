@@ -0,0 +1,149 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.utils.ResourceExecutor;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * REST resource for sales reports, so dashboards can show aggregate figures
+ * without downloading the bill history.
+ */
+@Path("/reports")
+@Produces(MediaType.APPLICATION_JSON)
+public class ReportResource {
+
+    private final ReportService reportService;
+    private final SalesRollupService salesRollupService;
+    private final RollupBackfill rollupBackfill;
+    private final ResourceExecutor resourceExecutor;
+
+    /**
+     * Constructs the resource with custom services (for testing or DI).
+     *
+     * @param reportService the ReportService instance
+     * @param salesRollupService the SalesRollupService instance
+     * @param rollupBackfill told when an admin rebuilt the whole history
+     * @param resourceExecutor runs the blocking work of each request
+     */
+    public ReportResource(ReportService reportService, SalesRollupService salesRollupService,
+            RollupBackfill rollupBackfill, ResourceExecutor resourceExecutor) {
+        this.reportService = reportService;
+        this.salesRollupService = salesRollupService;
+        this.rollupBackfill = rollupBackfill;
+        this.resourceExecutor = resourceExecutor;
+    }
+
+    /**
+     * Default constructor initializing with new service instances.
+     */
+    public ReportResource() {
+        this.reportService = new ReportService();
+        this.salesRollupService = new SalesRollupService();
+        this.rollupBackfill = RollupBackfill.getDefault();
+        this.resourceExecutor = ResourceExecutor.getDefault();
+    }
+
+    /**
+     * Summarizes the sales of a date range.
+     *
+     * <p>
+     * <b>GET /reports/summary?from=&amp;to=&amp;granularity=&amp;top=</b></p>
+     * Returns the bill count, revenue, average basket and number of distinct
+     * customers for the range, plus its best-selling items. {@code from} and
+     * {@code to} are inclusive ISO dates (yyyy-MM-dd); leaving one out leaves
+     * that side of the range open. With {@code granularity} (day, week or
+     * month) the response also has a series of the periods with sales.
+     *
+     * @param from first bill date to include, optional
+     * @param to last bill date to include, optional
+     * @param granularity period length of the series, optional
+     * @param top number of top items, default 5
+     * @param asyncResponse resumed with the {@link SalesSummary} wrapped in
+     * {@link ApiResponse}
+     */
+    @GET
+    @Path("/summary")
+    public void getSummary(@QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("granularity") String granularity,
+            @QueryParam("top") @DefaultValue("" + ReportService.DEFAULT_TOP_ITEMS) int top,
+            @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            SalesSummary summary = reportService.getSummary(
+                    parseDate(from, "from"), parseDate(to, "to"), Granularity.parse(granularity), top);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, summary))
+                    .build();
+        });
+    }
+
+    /**
+     * Rebuilds the daily sales rollups of a date range from the bills, e.g.
+     * after bills were corrected directly in the database. ADMIN only.
+     *
+     * <p>
+     * <b>POST /reports/rollup?from=&amp;to=</b></p>
+     * {@code from} and {@code to} are inclusive ISO dates; {@code from}
+     * defaults to the day of the oldest bill and {@code to} to today. The
+     * data is the number of days rebuilt. Rebuilding the whole history lets
+     * reports read past days from the rollups again if the startup backfill
+     * failed.
+     *
+     * @param from first day to rebuild, optional
+     * @param to last day to rebuild, optional
+     * @param asyncResponse resumed with the number of days wrapped in
+     * {@link ApiResponse}
+     */
+    @POST
+    @Path("/rollup")
+    @RolesAllowed("ADMIN")
+    public void rebuildRollup(@QueryParam("from") String from, @QueryParam("to") String to,
+            @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            LocalDate first = parseDate(from, "from");
+            LocalDate last = parseDate(to, "to");
+            int days = salesRollupService.rebuild(first, last);
+            if (first == null && last == null) {
+                rollupBackfill.markComplete();
+            }
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, days))
+                    .build();
+        });
+    }
+
+    /**
+     * Parses an ISO date query parameter.
+     *
+     * @param value the raw parameter, may be null
+     * @param name the parameter name, for the error message
+     * @return the date, or null if the parameter was not given
+     * @throws ValidationException if the value is not a valid date
+     */
+    private static LocalDate parseDate(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(String.format(MessageConstants.INVALID_FORMAT, name));
+        }
+    }
+}
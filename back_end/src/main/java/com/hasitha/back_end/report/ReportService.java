@@ -0,0 +1,125 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Service layer for sales reports.
+ *
+ * The figures are aggregated by the database (see {@link ReportDAO}), so a
+ * summary costs a few small result sets however many bills the range holds.
+ * Days before today are read from the daily rollups; only today, which is
+ * still changing, is read from the bills. The series is read per day and
+ * rolled up into weeks or months here. While the rollups are still being
+ * backfilled (see {@link RollupBackfill}) every day is read from the bills.
+ */
+public class ReportService {
+
+    // Number of top items returned when the client does not ask for a number
+    public static final int DEFAULT_TOP_ITEMS = 5;
+
+    // Most top items a client may request
+    public static final int MAX_TOP_ITEMS = 50;
+
+    // Shared timed DAO for default-constructed services
+    private static final ReportDAO DEFAULT_DAO = TimedProxy.wrap(ReportDAO.class, new ReportDAOImpl());
+
+    private final ReportDAO reportDao;
+    private final Clock clock;
+    private final BooleanSupplier rollupsComplete;
+
+    /**
+     * Constructs ReportService with a specified ReportDAO.
+     *
+     * @param reportDao the ReportDAO implementation to use
+     */
+    public ReportService(ReportDAO reportDao) {
+        this(reportDao, Clock.systemDefaultZone(), () -> true);
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param reportDao the ReportDAO implementation to use
+     * @param clock decides which day is today
+     * @param rollupsComplete tells whether past days may be read from the
+     * rollups
+     */
+    public ReportService(ReportDAO reportDao, Clock clock, BooleanSupplier rollupsComplete) {
+        this.reportDao = reportDao;
+        this.clock = clock;
+        this.rollupsComplete = rollupsComplete;
+    }
+
+    /**
+     * Default constructor initializes with ReportDAOImpl and the shared
+     * rollup backfill.
+     */
+    public ReportService() {
+        this(DEFAULT_DAO, Clock.systemDefaultZone(), RollupBackfill.getDefault()::isComplete);
+    }
+
+    /**
+     * Summarizes the sales of a date range.
+     *
+     * @param from the first day to include, or null for no lower bound
+     * @param to the last day to include, or null for no upper bound
+     * @param granularity the period length of the series, or null for no
+     * series
+     * @param topItems how many best-selling items to include, 0 for none
+     * @return the summary
+     * @throws ValidationException if the range is reversed or
+     * {@code topItems} is out of range
+     */
+    public SalesSummary getSummary(LocalDate from, LocalDate to, Granularity granularity, int topItems) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("'from' date must not be after 'to' date.");
+        }
+        if (topItems < 0 || topItems > MAX_TOP_ITEMS) {
+            throw new ValidationException("Top items must be between 0 and " + MAX_TOP_ITEMS + ".");
+        }
+
+        // Inclusive last day to an exclusive bound
+        LocalDate end = to == null ? null : to.plusDays(1);
+        // Days from liveFrom on are read from the bills; all of them until the rollups are backfilled
+        LocalDate liveFrom = rollupsComplete.getAsBoolean() ? LocalDate.now(clock) : null;
+
+        SalesSummary summary = reportDao.findTotals(from, end, liveFrom);
+        summary.setFrom(from);
+        summary.setTo(to);
+        summary.setGranularity(granularity);
+        if (granularity != null) {
+            summary.setSeries(rollUp(reportDao.findDailySales(from, end, liveFrom), granularity));
+        }
+        summary.setTopItems(topItems == 0 ? List.of() : reportDao.findTopItems(from, end, liveFrom, topItems));
+        return summary;
+    }
+
+    /**
+     * Merges daily sales into periods of the given granularity.
+     *
+     * @param days daily sales, oldest first
+     * @param granularity the period length
+     * @return one period per period with sales, oldest first
+     */
+    static List<SalesPeriod> rollUp(List<SalesPeriod> days, Granularity granularity) {
+        if (granularity == Granularity.DAY) {
+            return days;
+        }
+        Map<LocalDate, SalesPeriod> periods = new LinkedHashMap<>();
+        for (SalesPeriod day : days) {
+            periods.merge(granularity.startOf(day.getStart()), day, (a, b) -> new SalesPeriod(
+                    a.getStart(), a.getBillCount() + b.getBillCount(), a.getRevenue().plus(b.getRevenue())));
+        }
+        List<SalesPeriod> series = new ArrayList<>(periods.size());
+        periods.forEach((start, period) -> series.add(new SalesPeriod(start, period.getBillCount(), period.getRevenue())));
+        return series;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.utils.AppConfig;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Fills the daily sales rollups from the bill history in the background,
+ * after the application has started.
+ *
+ * A full-history rebuild can take minutes on a large bills table, and its
+ * chunks lock bill ranges while they run, so it must not hold up deployment.
+ * Until it has finished, {@link #isComplete} is false and
+ * {@link ReportService} reads every day from the bills, which is slower but
+ * correct. Completion is recorded in the database by the rebuild itself, so
+ * a restart, or another node starting while a rebuild is still running,
+ * backfills again instead of trusting partial rollups. If the backfill
+ * fails, reports keep reading live data until an admin rebuilds the whole
+ * history (POST /reports/rollup without dates) or a restart backfills it.
+ *
+ * With {@code app.report.rollupBackfillOnStartup=false} nothing runs and the
+ * rollups are trusted as they are.
+ */
+public class RollupBackfill {
+
+    private static final RollupBackfill SHARED = new RollupBackfill(
+            () -> new SalesRollupService().backfillIfIncomplete(),
+            AppConfig.getBoolean("app.report.rollupBackfillOnStartup", true));
+
+    private final IntSupplier backfill;
+    private final boolean enabled;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean complete;
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param backfill fills the rollups unless a full rebuild has completed
+     * and returns the number of days rebuilt
+     * @param enabled false to trust the rollups without a backfill
+     */
+    public RollupBackfill(IntSupplier backfill, boolean enabled) {
+        this.backfill = backfill;
+        this.enabled = enabled;
+        this.complete = !enabled;
+    }
+
+    /**
+     * Returns the backfill shared by the application.
+     *
+     * @return the shared backfill
+     */
+    public static RollupBackfill getDefault() {
+        return SHARED;
+    }
+
+    /**
+     * Starts the backfill on a background thread; later calls do nothing.
+     *
+     * @return the thread running it, or null if nothing was started
+     */
+    public Thread start() {
+        if (!enabled || !started.compareAndSet(false, true)) {
+            return null;
+        }
+        return Thread.ofVirtual().name("rollup-backfill").start(this::run);
+    }
+
+    /**
+     * Tells whether the rollups hold the whole history, so past days can be
+     * read from them.
+     *
+     * @return true once the backfill has finished
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Records that the rollups hold the whole history, after an admin rebuilt
+     * it.
+     */
+    public void markComplete() {
+        complete = true;
+    }
+
+    private void run() {
+        try {
+            int days = backfill.getAsInt();
+            complete = true;
+            if (days > 0) {
+                System.out.println("✅ Daily sales rollups backfilled (" + days + " day(s)).");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ Failed to backfill daily sales rollups, reports read live data: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.utils.Money;
+import java.time.LocalDate;
+
+/**
+ * Sales of one period (a day, week or month) in a sales summary's series.
+ */
+public class SalesPeriod {
+
+    private LocalDate start;        // First day of the period
+    private long billCount;         // Number of bills in the period
+    private Money revenue;          // Sum of the bill totals
+    private Money averageBasket;    // Revenue divided by the number of bills
+
+    /**
+     * Default constructor.
+     */
+    public SalesPeriod() {
+    }
+
+    /**
+     * Constructs a period; the average basket is derived from the other
+     * figures.
+     *
+     * @param start the first day of the period
+     * @param billCount the number of bills
+     * @param revenue the sum of the bill totals
+     */
+    public SalesPeriod(LocalDate start, long billCount, Money revenue) {
+        this.start = start;
+        this.billCount = billCount;
+        this.revenue = revenue;
+        this.averageBasket = billCount == 0 ? Money.ZERO : revenue.dividedBy(billCount);
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public long getBillCount() {
+        return billCount;
+    }
+
+    public void setBillCount(long billCount) {
+        this.billCount = billCount;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Money revenue) {
+        this.revenue = revenue;
+    }
+
+    public Money getAverageBasket() {
+        return averageBasket;
+    }
+
+    public void setAverageBasket(Money averageBasket) {
+        this.averageBasket = averageBasket;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.bill.Bill;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Access Object interface for the daily sales rollups
+ * ({@code daily_sales} and {@code daily_customer_sales}).
+ */
+public interface SalesRollupDAO {
+
+    /**
+     * Adds new bills to the rollups using the caller's connection, so the
+     * rollups change in the same transaction as the bills.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills just created, with their items
+     */
+    void record(Connection connection, List<Bill> bills);
+
+    /**
+     * Replaces the rollup rows of a date range with totals recomputed from
+     * the bills, using the caller's connection.
+     *
+     * @param connection the transaction's connection
+     * @param from the first day to rebuild
+     * @param to the first day not to rebuild
+     */
+    void rebuild(Connection connection, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the day of the oldest bill.
+     *
+     * @return the date, or null if there are no bills
+     */
+    LocalDate findFirstBillDate();
+
+    /**
+     * Checks whether a full-history rebuild of the rollups has completed.
+     *
+     * @return true if the rollups hold the whole history
+     */
+    boolean isComplete();
+
+    /**
+     * Records that the rollups hold the whole history, after a full-history
+     * rebuild has committed all of its days.
+     */
+    void markComplete();
+}
@@ -0,0 +1,225 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.bill.Bill;
+import com.hasitha.back_end.billItem.BillItem;
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.utils.ConnectionPool;
+import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.Money;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of SalesRollupDAO.
+ *
+ * New bills are added with {@code INSERT ... ON DUPLICATE KEY UPDATE}, one
+ * batched statement per table. Rows are written in primary key order, so
+ * concurrent bills lock them in the same order.
+ */
+public class SalesRollupDAOImpl implements SalesRollupDAO {
+
+    private static final String UPSERT_ITEM_SALES
+            = "INSERT INTO daily_sales (sale_date, item_id, user_id, quantity, revenue) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)";
+
+    private static final String UPSERT_CUSTOMER_SALES
+            = "INSERT INTO daily_customer_sales (sale_date, customer_id, bill_count, revenue) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE bill_count = bill_count + VALUES(bill_count), revenue = revenue + VALUES(revenue)";
+
+    private static final String REBUILD_ITEM_SALES
+            = "INSERT INTO daily_sales (sale_date, item_id, user_id, quantity, revenue) "
+            + "SELECT CAST(b.bill_date AS DATE) AS sale_day, bi.item_id, b.user_id, SUM(bi.quantity), SUM(bi.price) "
+            + "FROM bills b JOIN bill_items bi ON bi.bill_id = b.id "
+            + "WHERE b.bill_date >= ? AND b.bill_date < ? "
+            + "GROUP BY sale_day, bi.item_id, b.user_id";
+
+    private static final String REBUILD_CUSTOMER_SALES
+            = "INSERT INTO daily_customer_sales (sale_date, customer_id, bill_count, revenue) "
+            + "SELECT CAST(b.bill_date AS DATE) AS sale_day, b.customer_id, COUNT(*), SUM(b.total) "
+            + "FROM bills b "
+            + "WHERE b.bill_date >= ? AND b.bill_date < ? "
+            + "GROUP BY sale_day, b.customer_id";
+
+    private static final String MARK_COMPLETE
+            = "INSERT INTO rollup_state (name, completed_at) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE completed_at = VALUES(completed_at)";
+
+    // Name of the daily sales rollups in rollup_state
+    private static final String ROLLUP_NAME = "daily_sales";
+
+    private static final Comparator<ItemKey> ITEM_KEY_ORDER = Comparator.comparing(ItemKey::date)
+            .thenComparingInt(ItemKey::itemId).thenComparingInt(ItemKey::userId);
+
+    private static final Comparator<CustomerKey> CUSTOMER_KEY_ORDER = Comparator.comparing(CustomerKey::date)
+            .thenComparingInt(CustomerKey::customerId);
+
+    // Source of connections for methods that open their own
+    private final ConnectionPool.ConnectionFactory connectionSource;
+
+    /**
+     * Default constructor that uses the shared pool in {@link DBConnection}.
+     */
+    public SalesRollupDAOImpl() {
+        this.connectionSource = DBConnection::getConnection;
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param connectionSource supplies connections for each call
+     */
+    public SalesRollupDAOImpl(ConnectionPool.ConnectionFactory connectionSource) {
+        this.connectionSource = connectionSource;
+    }
+
+    /**
+     * Sums the bills per rollup row first, so a batch with many lines for the
+     * same day, item and cashier updates that row once.
+     *
+     * @param conn the transaction's connection
+     * @param bills the bills to add, with their items
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public void record(Connection conn, List<Bill> bills) {
+        Map<ItemKey, long[]> itemSales = new TreeMap<>(ITEM_KEY_ORDER);
+        Map<CustomerKey, long[]> customerSales = new TreeMap<>(CUSTOMER_KEY_ORDER);
+        for (Bill bill : bills) {
+            LocalDate day = bill.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            for (BillItem item : bill.getItems()) {
+                long[] sums = itemSales.computeIfAbsent(new ItemKey(day, item.getItemId(), bill.getUserId()), key -> new long[2]);
+                sums[0] += item.getQuantity();
+                sums[1] = Math.addExact(sums[1], item.getSubTotal().getCents());
+            }
+            long[] sums = customerSales.computeIfAbsent(new CustomerKey(day, bill.getCustomerId()), key -> new long[2]);
+            sums[0]++;
+            sums[1] = Math.addExact(sums[1], bill.getTotal().getCents());
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(UPSERT_ITEM_SALES)) {
+            for (Map.Entry<ItemKey, long[]> entry : itemSales.entrySet()) {
+                ps.setDate(1, java.sql.Date.valueOf(entry.getKey().date()));
+                ps.setInt(2, entry.getKey().itemId());
+                ps.setInt(3, entry.getKey().userId());
+                ps.setLong(4, entry.getValue()[0]);
+                ps.setBigDecimal(5, Money.ofCents(entry.getValue()[1]).toBigDecimal());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while updating daily item sales: " + e.getMessage(), e);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(UPSERT_CUSTOMER_SALES)) {
+            for (Map.Entry<CustomerKey, long[]> entry : customerSales.entrySet()) {
+                ps.setDate(1, java.sql.Date.valueOf(entry.getKey().date()));
+                ps.setInt(2, entry.getKey().customerId());
+                ps.setLong(3, entry.getValue()[0]);
+                ps.setBigDecimal(4, Money.ofCents(entry.getValue()[1]).toBigDecimal());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while updating daily customer sales: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes the rollup rows of the range and inserts them again from a
+     * GROUP BY over the range's bills, without committing.
+     *
+     * @param conn the transaction's connection
+     * @param from the first day to rebuild
+     * @param to the first day not to rebuild
+     * @throws DatabaseException if a SQL error occurs
+     */
+    @Override
+    public void rebuild(Connection conn, LocalDate from, LocalDate to) {
+        try {
+            for (String table : new String[]{"daily_sales", "daily_customer_sales"}) {
+                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM " + table + " WHERE sale_date >= ? AND sale_date < ?")) {
+                    ps.setDate(1, java.sql.Date.valueOf(from));
+                    ps.setDate(2, java.sql.Date.valueOf(to));
+                    ps.executeUpdate();
+                }
+            }
+            for (String sql : new String[]{REBUILD_ITEM_SALES, REBUILD_CUSTOMER_SALES}) {
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+                    ps.setTimestamp(2, Timestamp.valueOf(to.atStartOfDay()));
+                    ps.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while rebuilding daily sales from " + from + " to " + to + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the oldest bill date from the {@code bill_date} index.
+     *
+     * @return the day of the oldest bill, or null if there are no bills
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public LocalDate findFirstBillDate() {
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement("SELECT MIN(bill_date) FROM bills"); ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            Timestamp first = rs.getTimestamp(1);
+            return first == null ? null : first.toLocalDateTime().toLocalDate();
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while fetching first bill date: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks for the rollups' row in {@code rollup_state}.
+     *
+     * @return true if a full-history rebuild has completed
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public boolean isComplete() {
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM rollup_state WHERE name = ?")) {
+            ps.setString(1, ROLLUP_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while checking daily sales state: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes or refreshes the rollups' row in {@code rollup_state}; several
+     * nodes finishing a rebuild at once all succeed.
+     *
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public void markComplete() {
+        try (Connection conn = connectionSource.create(); PreparedStatement ps = conn.prepareStatement(MARK_COMPLETE)) {
+            ps.setString(1, ROLLUP_NAME);
+            ps.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while recording daily sales state: " + e.getMessage(), e);
+        }
+    }
+
+    private record ItemKey(LocalDate date, int itemId, int userId) {
+    }
+
+    private record CustomerKey(LocalDate date, int customerId) {
+    }
+}
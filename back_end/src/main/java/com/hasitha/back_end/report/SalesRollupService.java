@@ -0,0 +1,163 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.bill.Bill;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.AppConfig;
+import com.hasitha.back_end.utils.TransactionManager;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Maintains the daily sales rollups that {@link ReportDAOImpl} reads for
+ * past days.
+ *
+ * Bill writers call {@link #record} inside their transaction, so a bill and
+ * its rollup rows are committed or rolled back together. {@link #rebuild}
+ * recomputes a date range from the bills, e.g. to fill the rollups for the
+ * history that existed before them. The range is split into chunks of
+ * {@code app.report.rollupChunkDays} days, each rebuilt in its own
+ * transaction, with up to {@code app.report.rollupThreads} chunks at a time.
+ * Only a rebuild of the whole history that committed every chunk marks the
+ * rollups complete; see {@link SalesRollupDAO#markComplete}.
+ */
+public class SalesRollupService {
+
+    // Shared timed DAO for default-constructed services
+    private static final SalesRollupDAO DEFAULT_DAO = TimedProxy.wrap(SalesRollupDAO.class, new SalesRollupDAOImpl());
+
+    private final SalesRollupDAO rollupDao;
+    private final TransactionManager transactionManager;
+    private final int threads;
+    private final int chunkDays;
+
+    /**
+     * Constructor for injection (used in tests).
+     */
+    public SalesRollupService(SalesRollupDAO rollupDao, TransactionManager transactionManager, int threads, int chunkDays) {
+        this.rollupDao = rollupDao;
+        this.transactionManager = transactionManager;
+        this.threads = threads;
+        this.chunkDays = chunkDays;
+    }
+
+    /**
+     * Default constructor using the shared DAO and the configured backfill
+     * settings.
+     */
+    public SalesRollupService() {
+        this(DEFAULT_DAO, new TransactionManager(),
+                AppConfig.getInt("app.report.rollupThreads", 4),
+                AppConfig.getInt("app.report.rollupChunkDays", 31));
+    }
+
+    /**
+     * Adds new bills to the rollups inside the caller's transaction.
+     *
+     * @param connection the transaction's connection
+     * @param bills the bills just created, with their items
+     */
+    public void record(Connection connection, List<Bill> bills) {
+        if (!bills.isEmpty()) {
+            rollupDao.record(connection, bills);
+        }
+    }
+
+    /**
+     * Recomputes the rollups of a date range from the bills, in parallel
+     * chunks. A chunk that fails, e.g. because it deadlocked with a
+     * neighbouring chunk, is retried once on its own after the others have
+     * finished. Without both dates the whole history is rebuilt and, once
+     * every chunk has committed, the rollups are marked complete.
+     *
+     * @param from the first day to rebuild, or null for the day of the
+     * oldest bill
+     * @param to the last day to rebuild, or null for today
+     * @return the number of days rebuilt
+     * @throws ValidationException if {@code from} is after {@code to}
+     * @throws RuntimeException the error of a chunk that failed twice
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        boolean wholeHistory = from == null && to == null;
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = rollupDao.findFirstBillDate();
+            if (from == null) {
+                if (wholeHistory) {
+                    rollupDao.markComplete(); // No history; new bills are recorded as they come
+                }
+                return 0;
+            }
+            to = max(from, to);
+        }
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' date must not be after 'to' date.");
+        }
+        LocalDate end = to.plusDays(1);
+
+        Map<LocalDate, Future<?>> chunks = new LinkedHashMap<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("rollup-backfill-", 0).factory())) {
+            for (LocalDate start = from; start.isBefore(end); start = start.plusDays(chunkDays)) {
+                LocalDate chunkStart = start;
+                LocalDate chunkEnd = min(start.plusDays(chunkDays), end);
+                chunks.put(chunkStart, pool.submit(() -> rebuildChunk(chunkStart, chunkEnd)));
+            }
+        }
+
+        for (Map.Entry<LocalDate, Future<?>> chunk : chunks.entrySet()) {
+            try {
+                chunk.getValue().get();
+            } catch (ExecutionException e) {
+                LocalDate start = chunk.getKey();
+                rebuildChunk(start, min(start.plusDays(chunkDays), end));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rebuilding daily sales", e);
+            }
+        }
+        if (wholeHistory) {
+            rollupDao.markComplete();
+        }
+        return (int) ChronoUnit.DAYS.between(from, end);
+    }
+
+    /**
+     * Fills the rollups from the bill history unless a full rebuild has
+     * already completed, e.g. on the first start after they were added. Rows
+     * written by new bills or by a rebuild that failed do not count. Run in
+     * the background by {@link RollupBackfill}.
+     *
+     * @return the number of days rebuilt
+     */
+    public int backfillIfIncomplete() {
+        if (rollupDao.isComplete()) {
+            return 0;
+        }
+        return rebuild(null, null);
+    }
+
+    private void rebuildChunk(LocalDate from, LocalDate to) {
+        transactionManager.inTransaction(connection -> {
+            rollupDao.rebuild(connection, from, to);
+            return null;
+        });
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,119 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.utils.Money;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales figures for a date range, as returned by
+ * {@code GET /reports/summary}.
+ *
+ * {@code from} and {@code to} are inclusive and null when that side of the
+ * range is open. {@code series} is only present when a granularity was
+ * requested and lists the periods that had sales, oldest first.
+ */
+public class SalesSummary {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Granularity granularity;
+    private long billCount;
+    private Money revenue;
+    private Money averageBasket;
+    private long distinctCustomers;
+    private List<SalesPeriod> series;
+    private List<TopItem> topItems;
+
+    /**
+     * Default constructor.
+     */
+    public SalesSummary() {
+    }
+
+    /**
+     * Constructs a summary from the range's totals; the average basket is
+     * derived from them.
+     *
+     * @param billCount the number of bills
+     * @param revenue the sum of the bill totals
+     * @param distinctCustomers the number of different customers billed
+     */
+    public SalesSummary(long billCount, Money revenue, long distinctCustomers) {
+        this.billCount = billCount;
+        this.revenue = revenue;
+        this.averageBasket = billCount == 0 ? Money.ZERO : revenue.dividedBy(billCount);
+        this.distinctCustomers = distinctCustomers;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public long getBillCount() {
+        return billCount;
+    }
+
+    public void setBillCount(long billCount) {
+        this.billCount = billCount;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Money revenue) {
+        this.revenue = revenue;
+    }
+
+    public Money getAverageBasket() {
+        return averageBasket;
+    }
+
+    public void setAverageBasket(Money averageBasket) {
+        this.averageBasket = averageBasket;
+    }
+
+    public long getDistinctCustomers() {
+        return distinctCustomers;
+    }
+
+    public void setDistinctCustomers(long distinctCustomers) {
+        this.distinctCustomers = distinctCustomers;
+    }
+
+    public List<SalesPeriod> getSeries() {
+        return series;
+    }
+
+    public void setSeries(List<SalesPeriod> series) {
+        this.series = series;
+    }
+
+    public List<TopItem> getTopItems() {
+        return topItems;
+    }
+
+    public void setTopItems(List<TopItem> topItems) {
+        this.topItems = topItems;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.utils.Money;
+
+/**
+ * One of the best-selling items in a sales summary.
+ */
+public class TopItem {
+
+    private int itemId;         // ID of the item
+    private String name;        // Current name of the item
+    private long quantity;      // Units sold in the summary's range
+    private Money revenue;      // Sum of the line subtotals for the item
+
+    /**
+     * Default constructor.
+     */
+    public TopItem() {
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param itemId the item ID
+     * @param name the item name
+     * @param quantity the units sold
+     * @param revenue the revenue from the item
+     */
+    public TopItem(int itemId, String name, long quantity, Money revenue) {
+        this.itemId = itemId;
+        this.name = name;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(int itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Money revenue) {
+        this.revenue = revenue;
+    }
+}
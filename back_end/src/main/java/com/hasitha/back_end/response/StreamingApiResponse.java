@@ -0,0 +1,137 @@
+package com.hasitha.back_end.response;
+
+import com.hasitha.back_end.exceptions.NotFoundException;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Writes the same JSON as an {@link ApiResponse} with a list as its data,
+ * but serializes each element as soon as the source produces it instead of
+ * building the list first. Fed by a streaming JDBC query, rows reach the
+ * client while the query is still being read and memory use does not depend
+ * on the number of rows.
+ *
+ * Nothing is written until the first element arrives, so a source that
+ * fails straight away, or an empty source with an {@code emptyMessage}, still
+ * produces a normal error response. A failure after that cuts the response
+ * short, as the status has already been sent.
+ *
+ * The query runs while the entity is written, so it holds a pooled
+ * connection for as long as the client takes to read the response. Callers
+ * that bound the work running at once register {@link #whenWritten} to keep
+ * their slot until the write is over.
+ *
+ * @param <T> the element type
+ */
+public class StreamingApiResponse<T> implements StreamingOutput {
+
+    /**
+     * Produces the elements, e.g. a DAO method that reads a result set.
+     *
+     * @param <T> the element type
+     */
+    @FunctionalInterface
+    public interface Source<T> {
+
+        void forEach(Consumer<? super T> action);
+    }
+
+    // Created on first use, so loading this class does not need a JSON-B provider
+    private static final class SharedJsonb {
+
+        private static final Jsonb INSTANCE = JsonbBuilder.create();
+    }
+
+    private final String successCode;
+    private final String message;
+    private final Source<T> source;
+    private final String emptyMessage;
+    private final Jsonb jsonb;
+    private volatile Runnable onWritten;
+
+    /**
+     * Creates a streaming response.
+     *
+     * @param successCode the response's success code
+     * @param message the response's message
+     * @param source produces the data elements
+     * @param emptyMessage if not null, an empty source fails with a
+     * {@link NotFoundException} with this message instead of writing an empty
+     * array
+     */
+    public StreamingApiResponse(String successCode, String message, Source<T> source, String emptyMessage) {
+        this(successCode, message, source, emptyMessage, SharedJsonb.INSTANCE);
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     */
+    public StreamingApiResponse(String successCode, String message, Source<T> source, String emptyMessage, Jsonb jsonb) {
+        this.successCode = successCode;
+        this.message = message;
+        this.source = source;
+        this.emptyMessage = emptyMessage;
+        this.jsonb = jsonb;
+    }
+
+    /**
+     * Registers a callback run once the entity has been written, or has
+     * failed to be written.
+     *
+     * @param callback runs after {@link #write}
+     */
+    public void whenWritten(Runnable callback) {
+        this.onWritten = callback;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try {
+            writeData(output);
+        } finally {
+            Runnable callback = onWritten;
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    private void writeData(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long[] count = {0};
+        try {
+            source.forEach(element -> {
+                try {
+                    writer.write(count[0]++ == 0 ? "{\"data\":[" : ",");
+                    writer.write(jsonb.toJson(element));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (count[0] == 0) {
+            if (emptyMessage != null) {
+                throw new NotFoundException(emptyMessage);
+            }
+            writer.write("{\"data\":[");
+        }
+        // Remaining fields in the order JSON-B writes ApiResponse
+        writer.write("],\"message\":" + jsonb.toJson(message)
+                + ",\"success\":true,\"successCode\":" + jsonb.toJson(successCode)
+                + ",\"timestamp\":" + jsonb.toJson(LocalDateTime.now().toString()) + "}");
+        writer.flush();
+    }
+}
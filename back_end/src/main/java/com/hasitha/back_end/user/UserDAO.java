@@ -1,6 +1,9 @@
 package com.hasitha.back_end.user;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface defining data access operations for User entities.
@@ -14,6 +17,14 @@ public interface UserDAO {
      */
     List<User> findAll();
 
+    /**
+     * Reads all users and passes each one to the action as it is read,
+     * without building a list.
+     *
+     * @param action receives the users in table order
+     */
+    void streamAll(Consumer<? super User> action);
+
     /**
      * Finds a user by their unique ID.
      *
@@ -22,6 +33,14 @@ public interface UserDAO {
      */
     User findById(int id);
 
+    /**
+     * Finds several users in one query.
+     *
+     * @param ids the IDs of the users to load
+     * @return the users found, keyed by ID; missing IDs are left out
+     */
+    Map<Integer, User> findByIds(Collection<Integer> ids);
+
     /**
      * Creates a new user in the database.
      *
@@ -63,13 +82,4 @@ public interface UserDAO {
      */
     String findPasswordById(int id);
 
-    /**
-     * Updates the password for a user.
-     *
-     * @param userId the ID of the user
-     * @param newPassword the new password (should be hashed before calling)
-     * @throws DatabaseException if the update fails
-     */
-    void updatePassword(int userId, String newPassword);
-
 }
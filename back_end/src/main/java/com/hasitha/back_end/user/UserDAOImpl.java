@@ -2,9 +2,15 @@ package com.hasitha.back_end.user;
 
 import com.hasitha.back_end.exceptions.DatabaseException;
 import com.hasitha.back_end.utils.DBConnection;
+import com.hasitha.back_end.utils.StreamingQuery;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object implementation for User entities. Handles all database
@@ -43,6 +49,29 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    /**
+     * Reads all users through a streaming result set, see
+     * {@link StreamingQuery#prepare}.
+     *
+     * @param action receives each user as its row is read
+     */
+    @Override
+    public void streamAll(Consumer<? super User> action) {
+        String sql = "SELECT * FROM users";
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = StreamingQuery.prepare(c, sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(new User(
+                        rs.getInt("id"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("username"),
+                        rs.getString("role")));
+            }
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error streaming users. " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Finds a user by their unique ID.
      *
@@ -73,6 +102,45 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    /**
+     * Retrieves several users with a single IN query. Passwords are not
+     * loaded.
+     *
+     * @param ids the IDs of the users to load
+     * @return the users found, keyed by ID
+     * @throws DatabaseException if a database access error occurs
+     */
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> ids) {
+        Map<Integer, User> users = new HashMap<>();
+        if (ids.isEmpty()) {
+            return users;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT id, first_name, last_name, username, role FROM users WHERE id IN (" + placeholders + ")";
+        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+
+            int index = 1;
+            for (int id : ids) {
+                ps.setInt(index++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    User user = new User(
+                            rs.getInt("id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("username"),
+                            rs.getString("role"));
+                    users.put(user.getId(), user);
+                }
+            }
+            return users;
+        } catch (SQLException ex) {
+            throw new DatabaseException("Error fetching users " + ids + ". " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Creates a new user in the database.
      *
@@ -217,22 +285,4 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
-    @Override
-    public void updatePassword(int userId, String newPassword) {
-        String sql = "UPDATE users SET password = ? WHERE id = ?";
-        try (Connection c = DBConnection.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setString(1, newPassword);
-            ps.setInt(2, userId);
-
-            int affected = ps.executeUpdate();
-            if (affected == 0) {
-                throw new DatabaseException("Password update failed, no rows affected for user ID: " + userId);
-            }
-
-        } catch (SQLException ex) {
-            throw new DatabaseException("Error updating password for user ID " + userId + ". " + ex.getMessage());
-        }
-    }
-
 }
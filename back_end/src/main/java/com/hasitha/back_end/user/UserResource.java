@@ -2,7 +2,12 @@ package com.hasitha.back_end.user;
 
 import com.hasitha.back_end.exceptions.MessageConstants;
 import com.hasitha.back_end.response.ApiResponse;
+import com.hasitha.back_end.response.StreamingApiResponse;
+import com.hasitha.back_end.utils.ResourceExecutor;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
@@ -15,66 +20,87 @@ import java.util.List;
  *
  * @author hasithawelikannage
  */
+@RolesAllowed("ADMIN")
 @Path("/users")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class UserResource {
 
     private final UserService userService;
+    private final ResourceExecutor resourceExecutor;
 
     // Default constructor (used in production)
     public UserResource() {
         this.userService = new UserService();
+        this.resourceExecutor = ResourceExecutor.getDefault();
     }
 
     // Constructor for injection (used in tests)
-    public UserResource(UserService userService) {
+    public UserResource(UserService userService, ResourceExecutor resourceExecutor) {
         this.userService = userService;
+        this.resourceExecutor = resourceExecutor;
     }
 
     /**
      * Retrieves a list of findAll users.
      *
-     * @return HTTP 200 OK with a list of users in ApiResponse
+     * With {@code ?stream=true} the users are written to the response while
+     * they are read from the database instead of being collected first.
+     *
+     * @param stream whether to stream the list
+     * @param asyncResponse resumed with HTTP 200 OK with a list of users in ApiResponse
      */
     @GET
-    public Response findAll() {
-        List<User> list = userService.findAll();
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, list))
-                .build();
+    public void findAll(@QueryParam("stream") @DefaultValue("false") boolean stream, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            if (stream) {
+                return Response
+                        .status(Response.Status.OK)
+                        .entity(new StreamingApiResponse<User>(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS,
+                                userService::streamAll, UserService.NONE_FOUND))
+                        .build();
+            }
+            List<User> list = userService.findAll();
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.LIST_SUCCESS, list))
+                    .build();
+        });
     }
 
     /**
      * Retrieves a single user by ID.
      *
      * @param id The ID of the user to retrieve
-     * @return HTTP 200 OK with the user data in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with the user data in ApiResponse
      */
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") int id) {
-        User user = userService.findById(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, user))
-                .build();
+    public void findById(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            User user = userService.findById(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.READ_SUCCESS, user))
+                    .build();
+        });
     }
 
     /**
      * Creates a new user.
      *
      * @param user The user data to create
-     * @return HTTP 201 Created with the created user in ApiResponse
+     * @param asyncResponse resumed with HTTP 201 Created with the created user in ApiResponse
      */
     @POST
-    public Response create(User user) {
-        User createdUser = userService.create(user);
-        return Response
-                .status(Response.Status.CREATED)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdUser))
-                .build();
+    public void create(User user, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            User createdUser = userService.create(user);
+            return Response
+                    .status(Response.Status.CREATED)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.CREATE_SUCCESS, createdUser))
+                    .build();
+        });
     }
 
     /**
@@ -82,31 +108,35 @@ public class UserResource {
      *
      * @param id The ID of the user to update
      * @param user The updated user data
-     * @return HTTP 200 OK with the updated user in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with the updated user in ApiResponse
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") int id, User user) {
-        User updatedUser = userService.update(id, user);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedUser))
-                .build();
+    public void update(@PathParam("id") int id, User user, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            User updatedUser = userService.update(id, user);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.UPDATE_SUCCESS, updatedUser))
+                    .build();
+        });
     }
 
     /**
      * Deletes a user by ID.
      *
      * @param id The ID of the user to delete
-     * @return HTTP 200 OK with a success message in ApiResponse
+     * @param asyncResponse resumed with HTTP 200 OK with a success message in ApiResponse
      */
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") int id) {
-        userService.delete(id);
-        return Response
-                .status(Response.Status.OK)
-                .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
-                .build();
+    public void delete(@PathParam("id") int id, @Suspended AsyncResponse asyncResponse) {
+        resourceExecutor.submit(asyncResponse, () -> {
+            userService.delete(id);
+            return Response
+                    .status(Response.Status.OK)
+                    .entity(new ApiResponse(MessageConstants.SUCCESS_CODE, MessageConstants.DELETE_SUCCESS, null))
+                    .build();
+        });
     }
 }
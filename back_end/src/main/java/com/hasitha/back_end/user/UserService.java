@@ -1,26 +1,67 @@
 package com.hasitha.back_end.user;
 
+import com.hasitha.back_end.authentication.PasswordHasher;
 import com.hasitha.back_end.exceptions.MessageConstants;
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.TimedProxy;
+import com.hasitha.back_end.utils.BoundedCache;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service layer for managing users. Handles validation and business logic
  * before delegating to the UserDAO.
+ *
+ * Lookups by ID go through a bounded cache shared by all default-constructed
+ * services. Cached users never carry a password, and callers always get their
+ * own copy.
+ *
+ * Passwords are stored as salted hashes made by {@link PasswordHasher}; the
+ * plain-text password is only validated, never stored.
  */
 public class UserService {
 
+    // Message when the users table is empty
+    static final String NONE_FOUND = "No users found in the system.";
+
+    static final int CACHE_SIZE = 500;
+    static final long CACHE_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private static final BoundedCache<Integer, User> SHARED_CACHE
+            = new BoundedCache<>("user", CACHE_SIZE, CACHE_TTL_MILLIS);
+
+    private static final UserDAO DEFAULT_DAO = TimedProxy.wrap(UserDAO.class, new UserDAOImpl());
+
     private final UserDAO userDao;
+    private final BoundedCache<Integer, User> cache;
+    private final PasswordHasher passwordHasher;
 
-    // Constructor for injection (used in tests)
-    public UserService(UserDAO userDAO) {
+    // Constructor for injection (used in tests); each instance gets its own cache
+    public UserService(UserDAO userDAO, PasswordHasher passwordHasher) {
         this.userDao = userDAO;
+        this.cache = new BoundedCache<>("user", CACHE_SIZE, CACHE_TTL_MILLIS);
+        this.passwordHasher = passwordHasher;
     }
 
     // Default constructor (used in production)
     public UserService() {
-        this.userDao = new UserDAOImpl(); // default real DAO
+        this.userDao = DEFAULT_DAO; // default real DAO, timed
+        this.cache = SHARED_CACHE;
+        this.passwordHasher = PasswordHasher.getDefault();
+    }
+
+    /**
+     * Returns the cache shared by the default-constructed services, so its
+     * statistics can be reported.
+     *
+     * @return the shared user cache
+     */
+    public static BoundedCache<Integer, User> sharedCache() {
+        return SHARED_CACHE;
     }
 
     /**
@@ -32,11 +73,21 @@ public class UserService {
     public List<User> findAll() {
         List<User> userList = userDao.findAll();
         if (userList == null || userList.isEmpty()) {
-            throw new NotFoundException("No users found in the system.");
+            throw new NotFoundException(NONE_FOUND);
         }
         return userList;
     }
 
+    /**
+     * Passes every user to the action as it is read from the database,
+     * for responses that are written while the query runs.
+     *
+     * @param action receives each user
+     */
+    public void streamAll(Consumer<? super User> action) {
+        userDao.streamAll(action);
+    }
+
     /**
      * Retrieves a user by ID.
      *
@@ -45,11 +96,36 @@ public class UserService {
      * @throws NotFoundException if the user is not found
      */
     public User findById(int id) {
-        User user = userDao.findById(id);
+        User user = cache.get(id, key -> copyOf(userDao.findById(key)));
         if (user == null) {
             throw new NotFoundException("User with the specified ID " + id + " does not exist.");
         }
-        return user;
+        return copyOf(user);
+    }
+
+    /**
+     * Retrieves several users at once. Cached users are returned directly and
+     * all misses are loaded with a single query.
+     *
+     * @param ids the IDs of the users
+     * @return the users keyed by ID
+     * @throws NotFoundException if any of the users is not found
+     */
+    public Map<Integer, User> findByIds(Collection<Integer> ids) {
+        Map<Integer, User> cached = cache.getAll(ids, missing -> {
+            Map<Integer, User> loaded = new HashMap<>();
+            userDao.findByIds(missing).forEach((id, user) -> loaded.put(id, copyOf(user)));
+            return loaded;
+        });
+        Map<Integer, User> users = new HashMap<>();
+        for (int id : ids) {
+            User user = cached.get(id);
+            if (user == null) {
+                throw new NotFoundException("User with the specified ID " + id + " does not exist.");
+            }
+            users.put(id, copyOf(user));
+        }
+        return users;
     }
 
     /**
@@ -60,12 +136,14 @@ public class UserService {
      * @throws ValidationException if input data is invalid
      */
     public User create(User user) {
-        validateUser(user, true);
+        validateUser(user, true, true);
+        user.setPassword(passwordHasher.hash(user.getPassword()));
         return userDao.create(user);
     }
 
     /**
-     * Updates an existing user by ID after validation.
+     * Updates an existing user by ID after validation. Without a new
+     * password the stored hash is kept.
      *
      * @param id the ID of the user to update
      * @param userUpdate the updated user data
@@ -75,13 +153,17 @@ public class UserService {
      */
     public User update(int id, User userUpdate) {
         ensureUserExists(id);
-        String currentPassword = userDao.findPasswordById(id);
-        if (userUpdate.getPassword() == null || userUpdate.getPassword().isBlank()) {
-            userUpdate.setPassword(currentPassword);
-        }
+        boolean newPassword = userUpdate.getPassword() != null && !userUpdate.getPassword().isBlank();
         userUpdate.setId(id);
-        validateUser(userUpdate, false);
-        return userDao.update(id, userUpdate);
+        validateUser(userUpdate, false, newPassword);
+        userUpdate.setPassword(newPassword
+                ? passwordHasher.hash(userUpdate.getPassword())
+                : userDao.findPasswordById(id));
+        try {
+            return userDao.update(id, userUpdate);
+        } finally {
+            cache.invalidate(id);
+        }
     }
 
     /**
@@ -92,7 +174,11 @@ public class UserService {
      */
     public void delete(int id) {
         ensureUserExists(id);
-        userDao.delete(id);
+        try {
+            userDao.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
     }
 
     /**
@@ -102,9 +188,17 @@ public class UserService {
      * @return true if user ensureUserExists, false otherwise
      */
     public void ensureUserExists(int id) {
-        if (userDao.findById(id) == null) {
-            throw new NotFoundException("User with the specified ID " + id + " does not exist.");
+        findById(id);
+    }
+
+    /**
+     * Copies the public fields of a user; the password is never copied.
+     */
+    private static User copyOf(User user) {
+        if (user == null) {
+            return null;
         }
+        return new User(user.getId(), user.getFirstName(), user.getLastName(), user.getUserName(), user.getRole());
     }
 
     /**
@@ -112,10 +206,11 @@ public class UserService {
      *
      * @param user the user to validate
      * @param isCreate true if creating a new user; false if updating
+     * @param checkPassword true if the user carries a new plain-text password
      * @throws ValidationException if any field is invalid or username is
      * duplicated
      */
-    private void validateUser(User user, boolean isCreate) {
+    private void validateUser(User user, boolean isCreate, boolean checkPassword) {
         if (user.getFirstName() == null || user.getFirstName().isBlank()) {
             throw new ValidationException("First name is required and cannot be empty.");
         }
@@ -128,11 +223,13 @@ public class UserService {
         if (user.getUserName().length() < 4 || user.getUserName().length() > 30) {
             throw new ValidationException("Username must be between 4 and 30 characters.");
         }
-        if (user.getPassword() == null || user.getPassword().isBlank()) {
-            throw new ValidationException("Password is required and cannot be empty.");
-        }
-        if (user.getPassword().length() < 6 || user.getPassword().length() > 50) {
-            throw new ValidationException("Password must be between 6 and 50 characters.");
+        if (checkPassword) {
+            if (user.getPassword() == null || user.getPassword().isBlank()) {
+                throw new ValidationException("Password is required and cannot be empty.");
+            }
+            if (user.getPassword().length() < 6 || user.getPassword().length() > 50) {
+                throw new ValidationException("Password must be between 6 and 50 characters.");
+            }
         }
         if (user.getRole() == null || user.getRole().isBlank()) {
             throw new ValidationException("User role is required and cannot be empty.");
@@ -0,0 +1,87 @@
+package com.hasitha.back_end.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application settings that are not database related.
+ *
+ * Values are read from {@code application.properties} on the classpath. Any
+ * key can be overridden with a JVM system property of the same name, e.g.
+ * {@code -Dapp.async.enabled=true}.
+ *
+ * This class is not meant to be instantiated.
+ */
+public final class AppConfig {
+
+    private static final Properties properties = load();
+
+    private AppConfig() {
+    }
+
+    /**
+     * Returns a boolean setting.
+     *
+     * @param key the setting name
+     * @param defaultValue used when the setting is missing or blank
+     * @return the setting value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Returns an integer setting.
+     *
+     * @param key the setting name
+     * @param defaultValue used when the setting is missing or blank
+     * @return the setting value
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Returns a long setting.
+     *
+     * @param key the setting name
+     * @param defaultValue used when the setting is missing or blank
+     * @return the setting value
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Returns a string setting.
+     *
+     * @param key the setting name
+     * @param defaultValue used when the setting is missing or blank
+     * @return the setting value
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    private static String get(String key) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Properties load() {
+        Properties loaded = new Properties();
+        try (InputStream input = AppConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (input != null) {
+                loaded.load(input);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to read application.properties: " + e.getMessage());
+        }
+        return loaded;
+    }
+}
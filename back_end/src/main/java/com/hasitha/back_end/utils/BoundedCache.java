@@ -0,0 +1,343 @@
+package com.hasitha.back_end.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A small in-process read-through cache with a size limit and a time-to-live.
+ *
+ * Entries are kept in least-recently-used order; when the cache is full the
+ * least recently read entry is evicted. Entries older than the TTL are
+ * treated as missing and reloaded.
+ *
+ * Loads happen outside the lock so a slow database call never blocks other
+ * readers. To stop a load that raced with an invalidation from putting an
+ * old value back, every invalidation bumps a generation counter and a loaded
+ * value is only stored if the generation has not changed in the meantime.
+ *
+ * Hit, miss and eviction counts are kept for monitoring.
+ *
+ * @param <K> the key type
+ * @param <V> the value type; values should be immutable
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Bumped on every invalidation so in-flight loads can detect they are stale
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache that uses the system clock.
+     *
+     * @param name a short name used when reporting statistics
+     * @param maxSize maximum number of entries kept
+     * @param ttlMillis how long an entry stays valid after it was loaded
+     */
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        this(name, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param name a short name used when reporting statistics
+     * @param maxSize maximum number of entries kept
+     * @param ttlMillis how long an entry stays valid after it was loaded
+     * @param clock source of the current time in milliseconds
+     */
+    public BoundedCache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be greater than zero.");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache TTL must be greater than zero.");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value for the key, loading it if it is missing or
+     * expired. A loader result of {@code null} is returned but not cached.
+     *
+     * @param key the key to look up
+     * @param loader loads the value on a miss
+     * @return the cached or freshly loaded value, or null if the loader
+     * returned null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = clock.getAsLong();
+        long observedGeneration;
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlMillis) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            observedGeneration = generation.get();
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            putIfCurrent(key, value, observedGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the key without loading it.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if it is missing or expired
+     */
+    public V getIfPresent(K key) {
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlMillis) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the values for all given keys, loading every missing or expired
+     * key with a single call to the bulk loader. Keys the loader does not
+     * return are left out of the result and are not cached.
+     *
+     * @param keys the keys to look up
+     * @param bulkLoader loads the values for the missing keys
+     * @return the values found, keyed by key
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys, Function<? super Set<K>, ? extends Map<K, V>> bulkLoader) {
+        long now = clock.getAsLong();
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        long observedGeneration;
+        lock.lock();
+        try {
+            for (K key : keys) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null && now - entry.loadedAt < ttlMillis) {
+                    hits.increment();
+                    result.put(key, entry.value);
+                } else {
+                    if (entry != null) {
+                        entries.remove(key);
+                    }
+                    missing.add(key);
+                }
+            }
+            observedGeneration = generation.get();
+        } finally {
+            lock.unlock();
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.add(missing.size());
+        Map<K, V> loaded = bulkLoader.apply(missing);
+        lock.lock();
+        try {
+            boolean current = generation.get() == observedGeneration;
+            for (K key : missing) {
+                V value = loaded.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                    if (current) {
+                        store(key, value);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current invalidation generation. Read it before loading a
+     * value from the source of truth and pass it to {@link #put}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a value unconditionally. Only for values that are never
+     * invalidated, such as write-once results; a value read from a source
+     * that can change goes through {@link #put(Object, Object, long)}.
+     *
+     * @param key the key
+     * @param value the value; null values are ignored
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            store(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a value that was read from the source of truth, unless the
+     * cache was invalidated after the read started.
+     *
+     * @param key the key
+     * @param value the value; null values are ignored
+     * @param observedGeneration the {@link #generation} read before the value
+     * was loaded
+     */
+    public void put(K key, V value, long observedGeneration) {
+        if (value != null) {
+            putIfCurrent(key, value, observedGeneration);
+        }
+    }
+
+    /**
+     * Removes one entry. Any load of this key that is already running will
+     * not be stored.
+     *
+     * @param key the key to remove
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of entries currently held, including expired entries
+     * that have not been read since they expired.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void putIfCurrent(K key, V value, long observedGeneration) {
+        lock.lock();
+        try {
+            if (generation.get() == observedGeneration) {
+                store(key, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the entry and evicts from the least recently used end until the
+     * cache is back within its size limit. Caller must hold the lock.
+     */
+    private void store(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
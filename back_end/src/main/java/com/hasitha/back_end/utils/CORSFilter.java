@@ -51,7 +51,10 @@ public class CORSFilter implements Filter {
         response.setHeader("Access-Control-Allow-Origin", "http://localhost:5173");
 
         // Specify which headers can be sent in the request
-        response.setHeader("Access-Control-Allow-Headers", "Content-Type");
+        response.setHeader("Access-Control-Allow-Headers", "Content-Type, Authorization, Idempotency-Key");
+
+        // Let the frontend read how long to wait after a 429
+        response.setHeader("Access-Control-Expose-Headers", "Retry-After");
 
         // Specify which HTTP methods are allowed
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
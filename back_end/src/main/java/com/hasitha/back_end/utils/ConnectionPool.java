@@ -0,0 +1,360 @@
+package com.hasitha.back_end.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small, bounded JDBC connection pool.
+ *
+ * Connections handed out by {@link #getConnection()} are proxies: calling
+ * {@code close()} on them returns the underlying physical connection to the
+ * pool instead of closing it, so existing try-with-resources code keeps
+ * working unchanged.
+ *
+ * The pool supports:
+ * <ul>
+ * <li>a minimum number of idle connections kept warm by a background
+ * task</li>
+ * <li>a hard maximum number of open connections</li>
+ * <li>idle eviction of connections above the minimum</li>
+ * <li>a maximum lifetime after which a connection is retired</li>
+ * <li>validation with {@link Connection#isValid(int)} on borrow</li>
+ * <li>a bounded wait when the pool is exhausted</li>
+ * </ul>
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Opens new physical connections for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long acquireTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    // Idle connections; most recently returned first so hot connections stay hot
+    private final ConcurrentLinkedDeque<PooledEntry> idle = new ConcurrentLinkedDeque<>();
+
+    // One permit per connection that may be handed out
+    private final Semaphore permits;
+
+    // Number of physical connections currently open (idle + in use)
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Creates a pool.
+     *
+     * @param factory creates new physical connections
+     * @param minIdle connections kept open even when idle
+     * @param maxSize maximum number of open connections
+     * @param idleTimeoutMillis idle time after which connections above
+     * {@code minIdle} are closed
+     * @param maxLifetimeMillis age after which a connection is retired
+     * @param acquireTimeoutMillis how long a borrower waits when the pool is
+     * exhausted
+     * @param validationTimeoutSeconds timeout passed to
+     * {@link Connection#isValid(int)} on borrow
+     */
+    public ConnectionPool(ConnectionFactory factory, int minIdle, int maxSize, long idleTimeoutMillis,
+            long maxLifetimeMillis, long acquireTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool max size must be greater than zero.");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool min idle must be between 0 and max size.");
+        }
+        this.factory = factory;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle
+     * connection is available and the pool is below its maximum size.
+     *
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLException if the pool is closed, the wait times out, or a
+     * new connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledEntry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) {
+                    return entry.lease();
+                }
+                discard(entry);
+            }
+            return openEntry().lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the configured maximum number of connections.
+     *
+     * @return the pool's maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of physical connections currently open.
+     *
+     * @return open connection count
+     */
+    public int getOpenCount() {
+        return openCount.get();
+    }
+
+    /**
+     * Returns the number of connections sitting idle in the pool.
+     *
+     * @return idle connection count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of connections currently borrowed.
+     *
+     * @return active connection count
+     */
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeping task. Borrowed
+     * connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    /**
+     * Evicts idle or expired connections and tops the pool back up to its
+     * minimum size. Runs periodically on the housekeeping thread.
+     */
+    void housekeep() {
+        if (closed.get()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Iterator<PooledEntry> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledEntry entry = it.next();
+            boolean expired = now - entry.createdAt >= maxLifetimeMillis;
+            boolean idleTooLong = now - entry.lastReturnedAt >= idleTimeoutMillis && openCount.get() > minIdle;
+            if ((expired || idleTooLong) && idle.removeFirstOccurrence(entry)) {
+                discard(entry);
+            }
+        }
+
+        // Fill up to the minimum without exceeding the maximum
+        while (openCount.get() < minIdle && permits.tryAcquire()) {
+            try {
+                idle.offerFirst(openEntry());
+            } catch (SQLException e) {
+                System.err.println("❌ Failed to open pooled connection: " + e.getMessage());
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        if (System.currentTimeMillis() - entry.createdAt >= maxLifetimeMillis) {
+            return false;
+        }
+        try {
+            return entry.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        Connection physical = factory.create();
+        openCount.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    private void discard(PooledEntry entry) {
+        openCount.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {
+            // Connection is being thrown away anyway
+        }
+    }
+
+    /**
+     * Called when a borrower closes its proxy.
+     */
+    private void release(PooledEntry entry) {
+        try {
+            boolean reusable = !closed.get() && resetState(entry.physical);
+            if (reusable) {
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            } else {
+                discard(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Rolls back any unfinished transaction and restores auto-commit so the
+     * next borrower gets a clean connection.
+     */
+    private static boolean resetState(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A physical connection plus the bookkeeping the pool needs.
+     */
+    private final class PooledEntry {
+
+        private final Connection physical;
+        private final long createdAt;
+        private volatile long lastReturnedAt;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = createdAt;
+        }
+
+        /**
+         * Wraps the physical connection in a fresh proxy for one borrower.
+         */
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection, except {@code close()} which
+     * returns it to the pool. A lease can only be closed once; after that,
+     * every call fails as it would on a closed connection.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final PooledEntry entry;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
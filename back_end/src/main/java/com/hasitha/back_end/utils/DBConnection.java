@@ -11,12 +11,19 @@ import java.util.Properties;
  * Utility class for managing database connections.
  *
  * This class loads database credentials from a properties file and provides a
- * method to get a JDBC Connection object.
+ * method to get a JDBC Connection object. Connections come from a shared
+ * {@link ConnectionPool}; closing them returns them to the pool.
  *
  * The expected database.properties file should include:
  * db.url=jdbc:mysql://localhost:3306/your_database db.user=your_username
  * db.password=your_password
  *
+ * Optional pool settings (defaults in brackets): db.pool.minIdle [5]
+ * db.pool.maxSize [20] db.pool.idleTimeoutMs [600000] db.pool.maxLifetimeMs
+ * [1800000] db.pool.acquireTimeoutMs [5000] db.pool.validationTimeoutSec [2]
+ *
+ * Any db.* key can be overridden with a JVM system property of the same name.
+ *
  * Usage example: try (Connection conn = DBConnection.getConnection()) { // Use
  * the connection } catch (SQLException e) { e.printStackTrace(); }
  *
@@ -32,6 +39,9 @@ public class DBConnection {
     private static String USER;
     private static String PASSWORD;
 
+    // Shared pool, created once the properties are loaded
+    private static ConnectionPool pool;
+
     // Static block runs once when the class is first loaded
     static {
         try {
@@ -40,6 +50,7 @@ public class DBConnection {
 
             // Load configuration from properties file
             loadProperties();
+            pool = createPool();
         } catch (ClassNotFoundException e) {
             throw new RuntimeException("MySQL JDBC Driver not found", e);
         }
@@ -64,6 +75,13 @@ public class DBConnection {
             // Load key-value pairs into the Properties object
             properties.load(input);
 
+            // JVM system properties (-Ddb.url=...) override the file, e.g. for benchmarks
+            for (String key : System.getProperties().stringPropertyNames()) {
+                if (key.startsWith("db.")) {
+                    properties.setProperty(key, System.getProperty(key));
+                }
+            }
+
             // Extract properties into variables
             URL = properties.getProperty("db.url");
             USER = properties.getProperty("db.user");
@@ -75,12 +93,49 @@ public class DBConnection {
     }
 
     /**
-     * Returns a new database connection using the loaded properties.
+     * Builds the connection pool from the db.pool.* properties.
      *
-     * @return a JDBC Connection to the configured database
-     * @throws SQLException if the connection cannot be established
+     * @return the configured pool
+     */
+    private static ConnectionPool createPool() {
+        return new ConnectionPool(
+                () -> DriverManager.getConnection(URL, USER, PASSWORD),
+                intProperty("db.pool.minIdle", 5),
+                intProperty("db.pool.maxSize", 20),
+                longProperty("db.pool.idleTimeoutMs", 600_000L),
+                longProperty("db.pool.maxLifetimeMs", 1_800_000L),
+                longProperty("db.pool.acquireTimeoutMs", 5_000L),
+                intProperty("db.pool.validationTimeoutSec", 2)
+        );
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long longProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Borrows a database connection from the pool.
+     *
+     * @return a pooled JDBC Connection to the configured database
+     * @throws SQLException if no connection becomes available in time or a
+     * new one cannot be established
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return pool.getConnection();
+    }
+
+    /**
+     * Returns the shared connection pool, e.g. for sizing or monitoring.
+     *
+     * @return the connection pool
+     */
+    public static ConnectionPool getPool() {
+        return pool;
     }
 }
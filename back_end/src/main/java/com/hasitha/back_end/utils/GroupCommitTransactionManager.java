@@ -0,0 +1,436 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.AppException;
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.metrics.LatencyHistogram;
+import com.hasitha.back_end.metrics.MetricsRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link TransactionManager} that groups units of work from concurrent
+ * callers into shared transactions, so many small writes pay for one commit.
+ *
+ * Callers still call {@link #inTransaction} and block until their own work is
+ * committed. Behind it, writer threads take the first waiting unit, collect
+ * more for up to {@code maxWait} or until {@code maxBatchSize} units are
+ * gathered, and run them one after another on one connection. Each unit runs
+ * under its own savepoint: a unit that throws is rolled back to its savepoint
+ * and only its caller sees the exception; the rest of the batch still
+ * commits.
+ *
+ * A caller waits at most {@code waitTimeout} for its batch and then fails
+ * with a {@link ServiceUnavailableException} (503). Work that has not been
+ * picked up by then is withdrawn; work already in a batch may still commit.
+ *
+ * If the batch transaction itself fails (for example a deadlock, which rolls
+ * back everything, or a failed commit), every unit that has not already
+ * failed is run again in its own transaction through the plain
+ * {@link TransactionManager} path.
+ *
+ * Batch fill is exported as {@code group_commit_batches_total},
+ * {@code group_commit_units_total} (fill = units / batches),
+ * {@code group_commit_full_batches_total},
+ * {@code group_commit_fallbacks_total}, the queue wait as
+ * {@code group_commit_queue_wait_seconds} and the queue depth as
+ * {@code group_commit_queue_depth}.
+ *
+ * Enabled with {@code app.groupCommit.enabled=true}; see
+ * {@code application.properties} for the other settings.
+ */
+public class GroupCommitTransactionManager extends TransactionManager implements AutoCloseable {
+
+    private static volatile GroupCommitTransactionManager defaultInstance;
+
+    private final ConnectionPool.ConnectionFactory connectionSource;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long waitTimeoutMillis;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> writers = new ArrayList<>();
+    // Held while checking closed and queueing, so close() cannot slip in between
+    private final ReentrantLock intake = new ReentrantLock();
+    private volatile boolean closed;
+
+    private final LongAdder batches;
+    private final LongAdder units;
+    private final LongAdder fullBatches;
+    private final LongAdder fallbacks;
+    private final LatencyHistogram queueWait;
+
+    /**
+     * Creates the manager and starts its writer threads.
+     *
+     * @param connectionSource supplies the connection for each batch
+     * @param maxBatchSize most units committed together
+     * @param maxWaitMicros how long a batch waits for more units after its
+     * first one arrived
+     * @param writerCount number of batches written at the same time
+     * @param waitTimeoutMillis how long a caller waits for its batch
+     * @param registry where the batch metrics are registered
+     */
+    public GroupCommitTransactionManager(ConnectionPool.ConnectionFactory connectionSource, int maxBatchSize,
+            long maxWaitMicros, int writerCount, long waitTimeoutMillis, MetricsRegistry registry) {
+        super(connectionSource);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Group commit batch size must be greater than zero.");
+        }
+        if (writerCount <= 0) {
+            throw new IllegalArgumentException("Group commit writer count must be greater than zero.");
+        }
+        this.connectionSource = connectionSource;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        batches = registry.counter("group_commit_batches_total", "Transactions written by the group-commit stage.", "");
+        units = registry.counter("group_commit_units_total", "Units of work written by the group-commit stage.", "");
+        fullBatches = registry.counter("group_commit_full_batches_total", "Batches that reached the maximum batch size.", "");
+        fallbacks = registry.counter("group_commit_fallbacks_total", "Units re-run alone after their batch transaction failed.", "");
+        queueWait = registry.histogram("group_commit_queue_wait_seconds", "Time a unit waited before its batch started.", "");
+        registry.gauge("group_commit_queue_depth", "Units waiting for a batch.", "", queue::size);
+
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = Thread.ofPlatform().daemon().name("group-commit-" + i).start(this::runWriter);
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Returns true if group commit is switched on in {@link AppConfig}.
+     *
+     * @return whether {@link #getDefault()} should be used
+     */
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("app.groupCommit.enabled", false);
+    }
+
+    /**
+     * Returns the manager configured from {@link AppConfig}, creating it on
+     * first use.
+     *
+     * @return the shared manager
+     */
+    public static GroupCommitTransactionManager getDefault() {
+        GroupCommitTransactionManager instance = defaultInstance;
+        if (instance == null) {
+            synchronized (GroupCommitTransactionManager.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = new GroupCommitTransactionManager(
+                            DBConnection::getConnection,
+                            AppConfig.getInt("app.groupCommit.maxBatchSize", 16),
+                            AppConfig.getLong("app.groupCommit.maxWaitMicros", 2_000L),
+                            AppConfig.getInt("app.groupCommit.writers", 2),
+                            AppConfig.getLong("app.groupCommit.waitTimeoutMs", 30_000L),
+                            MetricsRegistry.getDefault());
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues the work for the next batch and waits until it is committed.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the value returned by the work
+     * @throws DatabaseException if the work fails with a {@link SQLException}
+     * or its transaction cannot be committed
+     * @throws ServiceUnavailableException if the batch does not finish
+     * within the wait timeout
+     * @throws RuntimeException any unchecked exception thrown by the work,
+     * after its changes have been rolled back
+     */
+    @Override
+    public <T> T inTransaction(TransactionWork<T> work) {
+        Pending<T> pending = new Pending<>(work);
+        intake.lock();
+        try {
+            if (closed) {
+                pending = null;
+            } else {
+                queue.add(pending);
+            }
+        } finally {
+            intake.unlock();
+        }
+        if (pending == null) {
+            return super.inTransaction(work);
+        }
+        return pending.await(queue, waitTimeoutMillis);
+    }
+
+    /**
+     * Stops taking new work. Work already queued is still written; later
+     * calls run in their own transactions. Anything the writers leave in the
+     * queue fails with a {@link ServiceUnavailableException} rather than
+     * waiting forever.
+     */
+    @Override
+    public void close() {
+        intake.lock();
+        try {
+            closed = true;
+        } finally {
+            intake.unlock();
+        }
+        try {
+            for (Thread writer : writers) {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            List<Pending<?>> left = new ArrayList<>();
+            queue.drainTo(left);
+            for (Pending<?> pending : left) {
+                pending.fail(new ServiceUnavailableException(MessageConstants.SERVER_BUSY));
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<Pending<?>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                // Never leave a caller waiting because the writer hit something unexpected
+                for (Pending<?> pending : batch) {
+                    pending.fail(t);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds queued units to the batch until it is full or the wait window
+     * that started with its first unit has passed.
+     */
+    private void collect(List<Pending<?>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return;
+            }
+            Pending<?> next = queue.poll(left, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(List<Pending<?>> batch) {
+        long started = System.nanoTime();
+        batches.increment();
+        units.add(batch.size());
+        if (batch.size() == maxBatchSize) {
+            fullBatches.increment();
+        }
+        for (Pending<?> pending : batch) {
+            queueWait.record(started - pending.queuedAt);
+        }
+
+        List<Pending<?>> succeeded = new ArrayList<>(batch.size());
+        try (Connection connection = connectionSource.create()) {
+            boolean previousAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Pending<?> pending : batch) {
+                    if (runUnit(connection, pending, batch.size() > 1)) {
+                        succeeded.add(pending);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(connection);
+                runAlone(batch);
+                return;
+            } finally {
+                restoreAutoCommit(connection, previousAutoCommit);
+            }
+        } catch (SQLException e) {
+            // No connection for the batch; the callers' own transactions may still get one
+            runAlone(batch);
+            return;
+        }
+        for (Pending<?> pending : succeeded) {
+            pending.complete();
+        }
+    }
+
+    /**
+     * Runs one unit inside the batch transaction. A unit that fails is rolled
+     * back to its savepoint, or the whole transaction when it is alone in the
+     * batch, and its caller gets the exception.
+     *
+     * @return true if the unit succeeded
+     * @throws SQLException if the whole transaction is no longer usable
+     */
+    private static boolean runUnit(Connection connection, Pending<?> pending, boolean useSavepoint) throws SQLException {
+        Savepoint savepoint = useSavepoint ? connection.setSavepoint() : null;
+        try {
+            pending.run(connection);
+        } catch (SQLException | RuntimeException e) {
+            if (abortsTransaction(e)) {
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException(e.getMessage(), e);
+            }
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            } else {
+                connection.rollback();
+            }
+            pending.fail(e);
+            return false;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+        return true;
+    }
+
+    /**
+     * Re-runs every unit that has not failed on its own, each in its own
+     * transaction.
+     */
+    private void runAlone(List<Pending<?>> batch) {
+        for (Pending<?> pending : batch) {
+            if (!pending.isDone()) {
+                fallbacks.increment();
+                pending.runAlone(this);
+            }
+        }
+    }
+
+    private <T> T runInOwnTransaction(TransactionWork<T> work) {
+        return super.inTransaction(work);
+    }
+
+    /**
+     * Deadlocks and lock wait timeouts roll back the whole transaction, so
+     * savepoints inside it are gone too.
+     */
+    private static boolean abortsTransaction(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransactionRollbackException) {
+                return true;
+            }
+            if (t instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("40")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // The connection is closed next; the server discards the transaction
+        }
+    }
+
+    private static void restoreAutoCommit(Connection connection, boolean autoCommit) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException ignored) {
+            // The pool resets auto-commit again when the connection is returned
+        }
+    }
+
+    /**
+     * One caller's unit of work and the future it waits on.
+     */
+    private static final class Pending<T> {
+
+        private final TransactionWork<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+        private T result;
+
+        private Pending(TransactionWork<T> work) {
+            this.work = work;
+        }
+
+        private void run(Connection connection) throws SQLException {
+            result = work.execute(connection);
+        }
+
+        private void runAlone(GroupCommitTransactionManager manager) {
+            try {
+                future.complete(manager.runInOwnTransaction(work));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+
+        private void fail(Throwable e) {
+            if (e instanceof SQLException) {
+                future.completeExceptionally(new DatabaseException("Transaction failed and was rolled back: " + e.getMessage(), e));
+            } else {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private boolean isDone() {
+            return future.isDone();
+        }
+
+        private T await(BlockingQueue<Pending<?>> queue, long timeoutMillis) {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                queue.remove(this); // Not picked up yet, so it will never run
+                throw new ServiceUnavailableException(MessageConstants.SERVER_BUSY);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new AppException(e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AppException("Interrupted while waiting for the transaction to commit.", e);
+            }
+        }
+    }
+}
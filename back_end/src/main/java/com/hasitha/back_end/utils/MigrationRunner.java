@@ -0,0 +1,310 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned SQL migration scripts at startup.
+ *
+ * Scripts live on the classpath under {@code db/migration/} and are named
+ * {@code V<version>__<description>.sql}. They are applied in version order,
+ * and each applied version is recorded in the {@code schema_migrations}
+ * table together with a SHA-256 checksum of the script. Running the
+ * migrations again only applies the versions that are not recorded yet.
+ *
+ * If a script that has already been applied is edited afterwards, its
+ * checksum no longer matches and migration stops with an error: applied
+ * scripts must never change; add a new version instead.
+ *
+ * Every node migrates when it starts, so on MySQL the check-and-apply runs
+ * under the named lock {@code schema_migrations} ({@code GET_LOCK}). A node
+ * that starts while another is migrating waits for it and then finds the
+ * versions already recorded. Other databases (H2 in the load tests) run a
+ * single node and skip the lock.
+ *
+ * MySQL commits DDL implicitly, so a script that fails halfway is not rolled
+ * back. Its version is not recorded and the error is reported.
+ */
+public class MigrationRunner {
+
+    // Scripts known to the application, in any order; new scripts must be added here
+    static final List<String> SCRIPTS = List.of(
+            "V1__create_tables.sql",
+            "V2__add_query_indexes.sql",
+            "V3__add_idempotency_keys.sql",
+            "V4__add_report_indexes.sql",
+            "V5__add_daily_sales_rollups.sql"
+    );
+
+    private static final String LOCATION = "db/migration/";
+
+    // Named lock held while migrating, and how long a node waits for another node's migration
+    static final String LOCK_NAME = "schema_migrations";
+    static final int LOCK_TIMEOUT_SECONDS = 600;
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final ConnectionPool.ConnectionFactory connectionSource;
+    private final List<Migration> migrations;
+
+    /**
+     * Default constructor that loads the bundled scripts and uses the shared
+     * pool in {@link DBConnection}.
+     */
+    public MigrationRunner() {
+        this(DBConnection::getConnection, loadScripts(SCRIPTS));
+    }
+
+    /**
+     * Constructor for injection (used in tests).
+     *
+     * @param connectionSource supplies the connection to migrate on
+     * @param migrations the migrations to apply
+     */
+    public MigrationRunner(ConnectionPool.ConnectionFactory connectionSource, List<Migration> migrations) {
+        this.connectionSource = connectionSource;
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+
+    /**
+     * Applies every migration that has not been applied yet.
+     *
+     * @return the number of migrations applied by this call
+     * @throws DatabaseException if a script fails or an applied script has
+     * been changed
+     */
+    public int migrate() {
+        try (Connection connection = connectionSource.create()) {
+            boolean locked = supportsNamedLocks(connection);
+            if (locked) {
+                acquireLock(connection);
+            }
+            try {
+                return applyPending(connection);
+            } finally {
+                if (locked) {
+                    releaseLock(connection);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int applyPending(Connection connection) throws SQLException {
+        createHistoryTable(connection);
+        Map<Integer, String> applied = findApplied(connection);
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.getVersion());
+            if (checksum != null) {
+                if (!checksum.equals(migration.getChecksum())) {
+                    throw new DatabaseException("Migration V" + migration.getVersion()
+                            + " has changed since it was applied (checksum mismatch).");
+                }
+                continue;
+            }
+            apply(connection, migration);
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean supportsNamedLocks(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && (product.contains("MySQL") || product.contains("MariaDB"));
+    }
+
+    private static void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                // 1 when acquired, 0 on timeout, NULL on error
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new DatabaseException("Timed out waiting for another node to finish migrating the database.");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException ignored) {
+            // The server releases the lock when the connection closes
+        }
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS schema_migrations (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(200) NOT NULL,
+                    checksum CHAR(64) NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+    }
+
+    private static Map<Integer, String> findApplied(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : splitStatements(migration.getScript())) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("V" + migration.getVersion() + " (" + migration.getDescription() + "): "
+                    + e.getMessage(), e);
+        }
+        String sql = "INSERT INTO schema_migrations (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, migration.getVersion());
+            ps.setString(2, migration.getDescription());
+            ps.setString(3, migration.getChecksum());
+            ps.executeUpdate();
+        }
+        System.out.println("✅ Applied migration V" + migration.getVersion() + " " + migration.getDescription());
+    }
+
+    /**
+     * Splits a script into statements on semicolons at the end of a line.
+     * Lines starting with {@code --} are comments and are dropped.
+     *
+     * @param script the script text
+     * @return the statements, without their trailing semicolons
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            if (trimmed.endsWith(";")) {
+                current.append(trimmed, 0, trimmed.length() - 1);
+                statements.add(current.toString().strip());
+                current.setLength(0);
+            } else {
+                current.append(trimmed).append('\n');
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().strip());
+        }
+        return statements;
+    }
+
+    private static List<Migration> loadScripts(List<String> names) {
+        List<Migration> loaded = new ArrayList<>();
+        for (String name : names) {
+            try (InputStream input = MigrationRunner.class.getClassLoader().getResourceAsStream(LOCATION + name)) {
+                if (input == null) {
+                    throw new IllegalStateException("Migration script not found on classpath: " + LOCATION + name);
+                }
+                loaded.add(Migration.of(name, new String(input.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read migration script " + name, e);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * One versioned migration script.
+     */
+    public static final class Migration {
+
+        private final int version;
+        private final String description;
+        private final String script;
+        private final String checksum;
+
+        public Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.checksum = sha256(script);
+        }
+
+        /**
+         * Creates a migration from a script file name of the form
+         * {@code V<version>__<description>.sql}.
+         *
+         * @param fileName the script file name
+         * @param script the script text
+         * @return the migration
+         */
+        public static Migration of(String fileName, String script) {
+            Matcher m = SCRIPT_NAME.matcher(fileName);
+            if (!m.matches()) {
+                throw new IllegalArgumentException("Migration script name must look like V1__description.sql: " + fileName);
+            }
+            return new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '), script);
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getScript() {
+            return script;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        private static String sha256(String text) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
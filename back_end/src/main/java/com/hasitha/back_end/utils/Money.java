@@ -0,0 +1,146 @@
+package com.hasitha.back_end.utils;
+
+import jakarta.json.bind.annotation.JsonbTypeAdapter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money, held as a whole number of cents.
+ *
+ * Prices, subtotals and bill totals use this type instead of {@code double}
+ * so sums are exact and match the {@code DECIMAL(10,2)} columns. Arithmetic
+ * works on the {@code long} directly and fails with an
+ * {@link ArithmeticException} on overflow instead of wrapping around.
+ *
+ * At the edges the amount is converted with {@link #of(BigDecimal)} and
+ * {@link #toBigDecimal()}: the DAOs use {@code getBigDecimal} and
+ * {@code setBigDecimal}, and JSON uses a plain number such as {@code 12.50}
+ * (see {@link MoneyAdapter}).
+ *
+ * Instances are immutable.
+ */
+@JsonbTypeAdapter(MoneyAdapter.class)
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Creates an amount from a number of cents.
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a decimal value. Values with more than two
+     * decimal places are rounded half up to the nearest cent.
+     *
+     * @param amount the amount, e.g. {@code 12.50}
+     * @return the amount, or null if the value is null
+     * @throws ArithmeticException if the amount does not fit in a long number
+     * of cents
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Creates an amount from its decimal text, e.g. {@code "12.50"}.
+     *
+     * @param amount the amount as text
+     * @return the amount
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Returns the sum of this amount and another.
+     *
+     * @param other the amount to add
+     * @return the sum
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * Returns this amount multiplied by a quantity, e.g. a line subtotal.
+     *
+     * @param quantity the number of units
+     * @return the product
+     */
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    /**
+     * Returns this amount divided into {@code divisor} equal parts, rounded
+     * half up to the nearest cent, e.g. an average bill total.
+     *
+     * @param divisor the number of parts
+     * @return the quotient
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public Money dividedBy(long divisor) {
+        return of(toBigDecimal().divide(BigDecimal.valueOf(divisor), 2, RoundingMode.HALF_UP));
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    /**
+     * Returns the amount as a decimal with two decimal places, for JDBC and
+     * JSON.
+     *
+     * @return the amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Returns the amount with two decimal places, e.g. {@code "12.50"}.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.hasitha.back_end.utils;
+
+import jakarta.json.bind.adapter.JsonbAdapter;
+import java.math.BigDecimal;
+
+/**
+ * JSON-B adapter that writes {@link Money} as a plain JSON number with two
+ * decimal places and reads it back from any JSON number.
+ */
+public class MoneyAdapter implements JsonbAdapter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal adaptToJson(Money money) {
+        return money.toBigDecimal();
+    }
+
+    @Override
+    public Money adaptFromJson(BigDecimal amount) {
+        return Money.of(amount);
+    }
+}
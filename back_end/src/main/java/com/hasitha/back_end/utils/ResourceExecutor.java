@@ -0,0 +1,181 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.response.StreamingApiResponse;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.CompletionCallback;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking resource methods on virtual threads.
+ *
+ * A resource method suspends its {@link AsyncResponse} and hands the work to
+ * {@link #submit}. The work runs on a fresh virtual thread, so a request
+ * waiting on JDBC no longer holds a container thread. The number of calls
+ * running at once is capped by a semaphore sized to the database pool, so
+ * extra requests queue here rather than inside the pool.
+ *
+ * Exceptions thrown by the work are passed to
+ * {@link AsyncResponse#resume(Throwable)} and go through the normal exception
+ * mappers. If no slot frees up in time the request fails with a
+ * {@link ServiceUnavailableException} (503).
+ *
+ * A {@link StreamingApiResponse} runs its query while the response is
+ * written, after the work has returned, so its slot is kept until the write
+ * is over (or the request completes without one).
+ *
+ * The mode is off by default ({@code app.async.enabled=false}): the work then
+ * runs directly on the calling container thread, as before. MySQL
+ * Connector/J 8.0 does its socket I/O inside {@code synchronized} blocks, so
+ * on Java 21 every running query pins its virtual thread to a carrier, and
+ * at most about one query per CPU core runs at once whatever the pool size.
+ * Only turn the mode on with a driver that uses {@code java.util.concurrent}
+ * locks (Connector/J 9.x), after comparing both modes with the load harness.
+ *
+ * Only hand over work that does not touch the servlet request or session;
+ * read anything needed from them before calling {@link #submit}.
+ */
+public class ResourceExecutor {
+
+    private static volatile ResourceExecutor defaultInstance;
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMillis;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an executor.
+     *
+     * @param enabled false to run the work on the calling thread
+     * @param maxConcurrency maximum calls running at once
+     * @param acquireTimeoutMillis how long a call waits for a free slot
+     */
+    public ResourceExecutor(boolean enabled, int maxConcurrency, long acquireTimeoutMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than zero.");
+        }
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.executor = enabled ? Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("rest-", 0).factory()) : null;
+    }
+
+    /**
+     * Returns the executor configured from {@link AppConfig}, creating it on
+     * first use. Concurrency defaults to the database pool size.
+     *
+     * @return the shared executor
+     */
+    public static ResourceExecutor getDefault() {
+        ResourceExecutor instance = defaultInstance;
+        if (instance == null) {
+            synchronized (ResourceExecutor.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    int configured = AppConfig.getInt("app.async.maxConcurrency", 0);
+                    instance = new ResourceExecutor(
+                            AppConfig.getBoolean("app.async.enabled", false),
+                            configured > 0 ? configured : DBConnection.getPool().getMaxSize(),
+                            AppConfig.getLong("app.async.acquireTimeoutMs", 5_000L));
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Runs the work and resumes the response with its result.
+     *
+     * @param asyncResponse the suspended response
+     * @param work builds the response; may throw application exceptions
+     */
+    public void submit(AsyncResponse asyncResponse, Supplier<Response> work) {
+        if (!enabled) {
+            run(asyncResponse, work);
+            return;
+        }
+        executor.execute(() -> {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                asyncResponse.resume(new ServiceUnavailableException(MessageConstants.SERVER_BUSY));
+                return;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            boolean handedOver = false;
+            try {
+                Response response = work.get();
+                if (response != null && response.getEntity() instanceof StreamingApiResponse<?> streaming) {
+                    // Released after the write; the callback covers a response that is never written
+                    streaming.whenWritten(release);
+                    asyncResponse.register((CompletionCallback) error -> release.run());
+                    handedOver = asyncResponse.resume(response);
+                } else {
+                    asyncResponse.resume(response);
+                }
+            } catch (RuntimeException e) {
+                asyncResponse.resume(e);
+            } finally {
+                if (!handedOver) {
+                    release.run();
+                }
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns the number of calls currently running.
+     *
+     * @return running call count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Returns an estimate of the calls waiting for a free slot.
+     *
+     * @return waiting call count
+     */
+    public int getQueuedCount() {
+        return permits.getQueueLength();
+    }
+
+    private static void run(AsyncResponse asyncResponse, Supplier<Response> work) {
+        try {
+            asyncResponse.resume(work.get());
+        } catch (RuntimeException e) {
+            asyncResponse.resume(e);
+        }
+    }
+}
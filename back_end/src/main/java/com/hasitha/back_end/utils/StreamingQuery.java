@@ -0,0 +1,44 @@
+package com.hasitha.back_end.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepares queries whose rows are fetched from the server while the result
+ * set is read, instead of all at once, for results too large to hold in
+ * memory.
+ *
+ * The fetch size comes from {@code app.stream.fetchSize}. The default,
+ * {@link Integer#MIN_VALUE}, makes MySQL Connector/J stream row by row; other
+ * drivers, or MySQL with {@code useCursorFetch=true}, need a positive value.
+ * While such a result set is open its connection cannot run other statements.
+ *
+ * This class is not meant to be instantiated.
+ */
+public final class StreamingQuery {
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement with the streaming fetch
+     * size.
+     *
+     * @param connection the connection to prepare on
+     * @param sql the query
+     * @return the prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            ps.setFetchSize(AppConfig.getInt("app.stream.fetchSize", Integer.MIN_VALUE));
+        } catch (SQLException | RuntimeException e) {
+            ps.close();
+            throw e;
+        }
+        return ps;
+    }
+}
@@ -0,0 +1,151 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.AppException;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a few independent lookups at the same time, each on its own virtual
+ * thread, and waits for all of them with a deadline.
+ *
+ * The first subtask to fail cancels the others and its exception is rethrown
+ * from {@link #join()}, so a {@code NotFoundException} from one lookup reaches
+ * the caller unchanged. If the deadline passes first, the remaining subtasks
+ * are cancelled and {@link #join()} throws a
+ * {@link ServiceUnavailableException}.
+ *
+ * Usage example: try (TaskScope scope = new TaskScope(2000)) {
+ * TaskScope.Subtask&lt;Customer&gt; c = scope.fork(() -&gt;
+ * customerService.findById(id)); scope.join(); return c.get(); }
+ *
+ * Closing the scope does not wait for cancelled subtasks: a JDBC call that
+ * ignores the interrupt finishes in the background, its connection goes back
+ * to the pool and its result is dropped.
+ */
+public final class TaskScope implements AutoCloseable {
+
+    private final long deadlineNanos;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fan-out-", 0).factory());
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // One party per running subtask plus the joiner; terminated as soon as a subtask fails
+    private final Phaser pending = new Phaser(1);
+
+    /**
+     * Opens a scope whose subtasks must all finish within the timeout.
+     *
+     * @param timeoutMillis time allowed from now until {@link #join()} gives up
+     */
+    public TaskScope(long timeoutMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Starts a subtask on a new virtual thread.
+     *
+     * @param task the work to run
+     * @param <T> the result type
+     * @return a handle whose {@link Subtask#get()} is valid after
+     * {@link #join()} returns
+     */
+    public <T> Subtask<T> fork(Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>();
+        pending.register();
+        futures.add(executor.submit(() -> {
+            try {
+                subtask.value = task.call();
+            } catch (Throwable t) {
+                if (failure.compareAndSet(null, t)) {
+                    pending.forceTermination();
+                }
+            } finally {
+                pending.arriveAndDeregister();
+            }
+        }));
+        return subtask;
+    }
+
+    /**
+     * Waits until every subtask has finished, one has failed or the deadline
+     * has passed.
+     *
+     * @throws RuntimeException the exception of the first failed subtask;
+     * checked exceptions are wrapped in {@link AppException}
+     * @throws ServiceUnavailableException if the deadline passed first
+     */
+    public void join() {
+        try {
+            long remaining = deadlineNanos - System.nanoTime();
+            pending.awaitAdvanceInterruptibly(pending.arrive(), Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw new ServiceUnavailableException(MessageConstants.TIMEOUT_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new AppException("Interrupted while waiting for parallel lookups.", e);
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            cancelAll();
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (error instanceof Error fatal) {
+                throw fatal;
+            }
+            throw new AppException(error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Cancels anything still running and releases the scope's threads.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        executor.shutdown();
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Result of one forked subtask.
+     *
+     * @param <T> the result type
+     */
+    public static final class Subtask<T> {
+
+        private volatile T value;
+
+        private Subtask() {
+        }
+
+        /**
+         * Returns the subtask's result. Only valid after a successful
+         * {@link TaskScope#join()}.
+         *
+         * @return the result
+         */
+        public T get() {
+            return value;
+        }
+    }
+}
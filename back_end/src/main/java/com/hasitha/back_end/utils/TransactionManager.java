@@ -0,0 +1,97 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs a unit of work on a single connection inside one database transaction.
+ *
+ * The connection is borrowed from {@link DBConnection}, auto-commit is turned
+ * off, and the work is committed if it returns normally. Any exception rolls
+ * the whole unit back, so callers never see partially written data.
+ *
+ * Usage example: transactionManager.inTransaction(conn -> { billDao.create(conn,
+ * bill); billItemDao.saveItems(conn, bill.getId(), items); return bill; });
+ */
+public class TransactionManager {
+
+    /**
+     * A piece of work that runs on the transaction's connection.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface TransactionWork<T> {
+
+        T execute(Connection connection) throws SQLException;
+    }
+
+    // Source of connections for each transaction
+    private final ConnectionPool.ConnectionFactory connectionSource;
+
+    /**
+     * Default constructor that uses the shared pool in {@link DBConnection}.
+     */
+    public TransactionManager() {
+        this.connectionSource = DBConnection::getConnection;
+    }
+
+    /**
+     * Constructor for injection (used in tests and benchmarks).
+     *
+     * @param connectionSource supplies the connection for each transaction
+     */
+    public TransactionManager(ConnectionPool.ConnectionFactory connectionSource) {
+        this.connectionSource = connectionSource;
+    }
+
+    /**
+     * Executes the given work in a transaction.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the value returned by the work
+     * @throws DatabaseException if the transaction cannot be started or
+     * committed, or the work fails with a {@link SQLException}
+     * @throws RuntimeException any unchecked exception thrown by the work,
+     * after the transaction has been rolled back
+     */
+    public <T> T inTransaction(TransactionWork<T> work) {
+        try (Connection connection = connectionSource.create()) {
+            boolean previousAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(connection, e);
+                if (e instanceof SQLException) {
+                    throw new DatabaseException("Transaction failed and was rolled back: " + e.getMessage(), e);
+                }
+                throw (RuntimeException) e;
+            } finally {
+                restoreAutoCommit(connection, previousAutoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Database error while running transaction: " + e.getMessage(), e);
+        }
+    }
+
+    private static void restoreAutoCommit(Connection connection, boolean autoCommit) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException ignored) {
+            // The pool resets auto-commit again when the connection is returned
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+        }
+    }
+}
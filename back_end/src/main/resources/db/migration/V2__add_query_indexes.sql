@@ -0,0 +1,18 @@
+-- Indexes for the bill history and bill detail queries.
+--
+-- Bill history pages are read newest first (ORDER BY bill_date DESC, id DESC)
+-- and may be filtered by customer or cashier. InnoDB appends the primary key
+-- to every secondary index, so (bill_date) already orders by (bill_date, id).
+CREATE INDEX idx_bills_bill_date ON bills (bill_date);
+
+-- Customer and cashier history; these also serve the foreign keys, so the
+-- implicit single-column FK indexes become redundant and MySQL drops them.
+CREATE INDEX idx_bills_customer_date ON bills (customer_id, bill_date);
+CREATE INDEX idx_bills_user_date ON bills (user_id, bill_date);
+
+-- Loading the lines of one or many bills joined to their items.
+CREATE INDEX idx_bill_items_bill_item ON bill_items (bill_id, item_id);
+
+-- Login looks users up by username, which is already covered by the UNIQUE
+-- constraint on users.username; a (username, password) index would add
+-- nothing, so none is created.
@@ -0,0 +1,17 @@
+-- Idempotency-Key values of bill submissions, so a retried POST /bills
+-- returns the bill created by the first attempt. Keys are scoped to the
+-- submitting user. The row is written in the same transaction as the bill.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id INT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    bill_id INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key),
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (bill_id) REFERENCES bills(id)
+);
+
+-- Keys are kept for app.idempotency.retentionHours. The purge deletes the
+-- oldest rows in batches through this index.
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,16 @@
+-- Covering indexes for the sales summary report (GET /reports/summary).
+--
+-- The report counts and sums bills over a bill_date range. With total and
+-- customer_id in the index, COUNT/SUM/COUNT(DISTINCT) are answered from the
+-- index alone. idx_bills_bill_date stays for the bill history pages, which
+-- read ORDER BY bill_date DESC, id DESC after a (bill_date, id) cursor:
+-- (bill_date) with the implicit primary key gives that order, while this
+-- index has customer_id before the key and would sort every page.
+CREATE INDEX idx_bills_date_total_customer ON bills (bill_date, total, customer_id);
+
+-- Top items join each bill in the range to its lines and sum quantity and
+-- price per item. Extends idx_bill_items_bill_item with those columns so the
+-- lines are read from the index; the bill_id prefix still serves the bill
+-- detail queries and the foreign key.
+CREATE INDEX idx_bill_items_bill_item_qty_price ON bill_items (bill_id, item_id, quantity, price);
+DROP INDEX idx_bill_items_bill_item ON bill_items;
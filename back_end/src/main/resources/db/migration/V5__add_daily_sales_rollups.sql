@@ -0,0 +1,34 @@
+-- Pre-aggregated sales per day, so reports over long ranges read a few rows
+-- per day instead of every bill. Both tables are updated in the same
+-- transaction as the bill and can be rebuilt from bills and bill_items.
+--
+-- Item sales per day and cashier: quantity and revenue (sum of line
+-- subtotals) for the top items.
+CREATE TABLE IF NOT EXISTS daily_sales (
+    sale_date DATE NOT NULL,
+    item_id INT NOT NULL,
+    user_id INT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (sale_date, item_id, user_id)
+);
+
+-- Bills per day and customer: bill counts and revenue, and distinct
+-- customers, which cannot be derived from the item rows.
+CREATE TABLE IF NOT EXISTS daily_customer_sales (
+    sale_date DATE NOT NULL,
+    customer_id INT NOT NULL,
+    bill_count INT NOT NULL,
+    revenue DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (sale_date, customer_id)
+);
+
+-- Rollup sets whose whole history has been rebuilt from the bills. The row
+-- is written by the last step of a successful full rebuild, so rows added
+-- by new bills or by an unfinished or failed rebuild are not mistaken for a
+-- complete history; until it exists reports read every day from the bills.
+CREATE TABLE IF NOT EXISTS rollup_state (
+    name VARCHAR(64) NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -4,18 +4,22 @@ import com.hasitha.back_end.exceptions.ValidationException;
 import com.hasitha.back_end.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 public class AuthServiceTest {
 
     private AuthDAO mockAuthDao;
+    private PasswordHasher passwordHasher;
     private AuthService authService;
 
     @BeforeEach
     public void setUp() {
         mockAuthDao = mock(AuthDAO.class);
-        authService = new AuthService(mockAuthDao);
+        passwordHasher = new PasswordHasher(1_000, PasswordHasher.newPool(1, 4), 5_000);
+        authService = new AuthService(mockAuthDao, passwordHasher);
     }
 
     // --- Tests for successful login ---
@@ -29,17 +33,20 @@ public class AuthServiceTest {
         request.setUsername(username);
         request.setPassword(password);
 
-        User expectedUser = new User(1, "test", "user", username, "password", "cashier");
+        User expectedUser = new User(1, "test", "user", username, passwordHasher.hash(password), "cashier");
 
-        when(mockAuthDao.authenticate(username, password)).thenReturn(expectedUser);
+        when(mockAuthDao.findCredentials(username)).thenReturn(expectedUser);
 
         // Act
         User result = authService.login(request);
 
         // Assert
         assertNotNull(result);
-        assertEquals(expectedUser, result);
-        verify(mockAuthDao, times(1)).authenticate(username, password);
+        assertEquals(1, result.getId());
+        assertEquals("cashier", result.getRole());
+        assertNull(result.getPassword());
+        verify(mockAuthDao, times(1)).findCredentials(username);
+        verify(mockAuthDao, never()).updatePasswordHash(anyInt(), anyString());
     }
 
     @Test
@@ -52,9 +59,9 @@ public class AuthServiceTest {
         request.setUsername(usernameWithWhitespace);
         request.setPassword(passwordWithWhitespace);
 
-        User expectedUser = new User(1, "test", "user", "testuser", "password123", "cashier");
+        User expectedUser = new User(1, "test", "user", "testuser", passwordHasher.hash("password123"), "cashier");
 
-        when(mockAuthDao.authenticate("testuser", "password123")).thenReturn(expectedUser);
+        when(mockAuthDao.findCredentials("testuser")).thenReturn(expectedUser);
 
         // Act
         User result = authService.login(request);
@@ -62,7 +69,7 @@ public class AuthServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(expectedUser.getUserName(), result.getUserName());
-        verify(mockAuthDao, times(1)).authenticate("testuser", "password123");
+        verify(mockAuthDao, times(1)).findCredentials("testuser");
     }
 
     // --- Tests for invalid login attempts ---
@@ -74,7 +81,7 @@ public class AuthServiceTest {
         });
 
         assertEquals("Login request cannot be null.", exception.getMessage());
-        verify(mockAuthDao, never()).authenticate(anyString(), anyString());
+        verify(mockAuthDao, never()).findCredentials(anyString());
     }
 
     @Test
@@ -91,7 +98,7 @@ public class AuthServiceTest {
         });
 
         assertEquals("Username is required.", exception.getMessage());
-        verify(mockAuthDao, never()).authenticate(anyString(), anyString());
+        verify(mockAuthDao, never()).findCredentials(anyString());
     }
 
     @Test
@@ -108,7 +115,7 @@ public class AuthServiceTest {
         });
 
         assertEquals("Username is required.", exception.getMessage());
-        verify(mockAuthDao, never()).authenticate(anyString(), anyString());
+        verify(mockAuthDao, never()).findCredentials(anyString());
     }
 
     @Test
@@ -125,7 +132,7 @@ public class AuthServiceTest {
         });
 
         assertEquals("Password is required.", exception.getMessage());
-        verify(mockAuthDao, never()).authenticate(anyString(), anyString());
+        verify(mockAuthDao, never()).findCredentials(anyString());
     }
 
     @Test
@@ -142,7 +149,7 @@ public class AuthServiceTest {
         });
 
         assertEquals("Password is required.", exception.getMessage());
-        verify(mockAuthDao, never()).authenticate(anyString(), anyString());
+        verify(mockAuthDao, never()).findCredentials(anyString());
     }
 
     @Test
@@ -155,7 +162,7 @@ public class AuthServiceTest {
         request.setUsername(username);
         request.setPassword(password);
 
-        when(mockAuthDao.authenticate(username, password)).thenReturn(null);
+        when(mockAuthDao.findCredentials(username)).thenReturn(null);
 
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> {
@@ -163,6 +170,52 @@ public class AuthServiceTest {
         });
 
         assertEquals("Incorrect username or password. Please try again.", exception.getMessage());
-        verify(mockAuthDao, times(1)).authenticate(username, password);
+        verify(mockAuthDao, times(1)).findCredentials(username);
+    }
+
+    @Test
+    public void testLogin_shouldSpendAHashOnUnknownUsername() {
+        PasswordHasher spyHasher = spy(passwordHasher);
+        authService = new AuthService(mockAuthDao, spyHasher);
+        LoginRequest request = new LoginRequest();
+        request.setUsername("nobody");
+        request.setPassword("secret123");
+        when(mockAuthDao.findCredentials("nobody")).thenReturn(null);
+
+        assertThrows(ValidationException.class, () -> authService.login(request));
+
+        verify(spyHasher).matchesNone("secret123");
+        verify(spyHasher).matches(eq("secret123"), startsWith("pbkdf2_sha256$1000$"));
+    }
+
+    @Test
+    public void testLogin_shouldRejectWrongPasswordForExistingUser() {
+        LoginRequest request = new LoginRequest();
+        request.setUsername("testuser");
+        request.setPassword("wrongpassword");
+
+        when(mockAuthDao.findCredentials("testuser"))
+                .thenReturn(new User(1, "test", "user", "testuser", passwordHasher.hash("password123"), "cashier"));
+
+        assertThrows(ValidationException.class, () -> authService.login(request));
+        verify(mockAuthDao, never()).updatePasswordHash(anyInt(), anyString());
+    }
+
+    // --- Tests for upgrading stored passwords ---
+    @Test
+    public void testLogin_shouldHashLegacyPlainTextPasswordOnSuccess() {
+        LoginRequest request = new LoginRequest();
+        request.setUsername("testuser");
+        request.setPassword("password123");
+
+        when(mockAuthDao.findCredentials("testuser"))
+                .thenReturn(new User(1, "test", "user", "testuser", "password123", "cashier"));
+
+        authService.login(request);
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(mockAuthDao).updatePasswordHash(eq(1), hash.capture());
+        assertTrue(hash.getValue().startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(passwordHasher.matches("password123", hash.getValue()));
     }
 }
@@ -0,0 +1,115 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.authentication.AuthorizationPolicy.Decision;
+import com.hasitha.back_end.item.ItemResource;
+import com.hasitha.back_end.metrics.MetricsResource;
+import com.hasitha.back_end.user.User;
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.container.AsyncResponse;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthorizationPolicyTest {
+
+    @RolesAllowed("ADMIN")
+    public static class AdminResource {
+
+        public void list() {
+        }
+
+        @PermitAll
+        public void health() {
+        }
+
+        @RolesAllowed({"ADMIN", "USER"})
+        public void profile() {
+        }
+
+        @DenyAll
+        public void purge() {
+        }
+    }
+
+    public static class OpenResource {
+
+        public void list() {
+        }
+    }
+
+    public static class BadResource {
+
+        @RolesAllowed("MANAGER")
+        public void list() {
+        }
+    }
+
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(new User(1, "Ada", "Admin", "ada", "ADMIN"));
+    private static final AuthenticatedUser CASHIER = new AuthenticatedUser(new User(2, "Cal", "Cashier", "cal", "user"));
+
+    private AuthorizationPolicy policy;
+
+    @BeforeEach
+    public void setUp() {
+        policy = AuthorizationPolicy.compile(AdminResource.class, OpenResource.class);
+    }
+
+    private static Method method(Class<?> resource, String name) throws NoSuchMethodException {
+        return resource.getMethod(name);
+    }
+
+    @Test
+    public void testDecide_shouldApplyClassRolesUnlessMethodOverrides() throws Exception {
+        assertEquals(Decision.ALLOW, policy.decide(method(AdminResource.class, "list"), ADMIN));
+        assertEquals(Decision.FORBIDDEN, policy.decide(method(AdminResource.class, "list"), CASHIER));
+        assertEquals(Decision.UNAUTHORIZED, policy.decide(method(AdminResource.class, "list"), null));
+
+        assertEquals(Decision.ALLOW, policy.decide(method(AdminResource.class, "health"), null));
+        assertEquals(Decision.ALLOW, policy.decide(method(AdminResource.class, "profile"), CASHIER));
+        assertEquals(Decision.FORBIDDEN, policy.decide(method(AdminResource.class, "purge"), ADMIN));
+    }
+
+    @Test
+    public void testDecide_shouldRequireLoginForUnannotatedMethods() throws Exception {
+        assertEquals(Decision.ALLOW, policy.decide(method(OpenResource.class, "list"), CASHIER));
+        assertEquals(Decision.UNAUTHORIZED, policy.decide(method(OpenResource.class, "list"), null));
+        assertEquals(Decision.UNAUTHORIZED, policy.decide(null, null));
+        assertEquals(Decision.FORBIDDEN,
+                policy.decide(method(OpenResource.class, "list"), new AuthenticatedUser(new User(3, "Old", "Role", "old", "MANAGER"))));
+    }
+
+    @Test
+    public void testDecide_shouldRestrictItemChangesToAdmins() throws Exception {
+        AuthorizationPolicy defaults = AuthorizationPolicy.getDefault();
+        Method delete = ItemResource.class.getMethod("delete", int.class, AsyncResponse.class);
+
+        assertEquals(Decision.FORBIDDEN, defaults.decide(delete, CASHIER));
+        assertEquals(Decision.ALLOW, defaults.decide(delete, ADMIN));
+        assertEquals(Role.ADMIN.bit(), defaults.roleMask(delete));
+    }
+
+    @Test
+    public void testDecide_shouldRestrictMetricsToAdmins() throws Exception {
+        AuthorizationPolicy defaults = AuthorizationPolicy.getDefault();
+        Method metrics = MetricsResource.class.getMethod("getMetrics");
+
+        assertEquals(Decision.UNAUTHORIZED, defaults.decide(metrics, null));
+        assertEquals(Decision.FORBIDDEN, defaults.decide(metrics, CASHIER));
+        assertEquals(Decision.ALLOW, defaults.decide(metrics, ADMIN));
+    }
+
+    @Test
+    public void testAuthenticatedUser_shouldParseRoleOnce() {
+        assertEquals(Role.ADMIN, ADMIN.getRole());
+        assertEquals(Role.USER, CASHIER.getRole());
+        assertNull(new AuthenticatedUser(new User(3, "Old", "Role", "old", "MANAGER")).getRole());
+    }
+
+    @Test
+    public void testCompile_shouldRejectUnknownRoles() {
+        assertThrows(IllegalStateException.class, () -> AuthorizationPolicy.compile(BadResource.class));
+    }
+}
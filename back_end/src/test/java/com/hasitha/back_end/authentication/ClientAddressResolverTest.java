@@ -0,0 +1,32 @@
+package com.hasitha.back_end.authentication;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(Set.of("10.0.0.1", "10.0.0.2"));
+
+    @Test
+    public void testResolve_shouldUseForwardedClientFromTrustedProxy() {
+        assertEquals("203.0.113.7", resolver.resolve("10.0.0.1", "203.0.113.7"));
+        // A client-supplied value on the left is ignored; the balancer appended the real peer
+        assertEquals("203.0.113.7", resolver.resolve("10.0.0.1", "198.51.100.1, 203.0.113.7"));
+        // Chained trusted proxies are skipped
+        assertEquals("203.0.113.7", resolver.resolve("10.0.0.1", "203.0.113.7, 10.0.0.2"));
+    }
+
+    @Test
+    public void testResolve_shouldIgnoreHeaderFromUntrustedPeer() {
+        assertEquals("203.0.113.7", resolver.resolve("203.0.113.7", "198.51.100.1"));
+        assertEquals("10.0.0.1", resolver.resolve("10.0.0.1", null));
+        assertEquals("10.0.0.1", resolver.resolve("10.0.0.1", " , "));
+    }
+
+    @Test
+    public void testParseAddresses_shouldSkipBlanks() {
+        assertEquals(Set.of("10.0.0.1", "10.0.0.2"), ClientAddressResolver.parseAddresses(" 10.0.0.1,,10.0.0.2 "));
+        assertTrue(ClientAddressResolver.parseAddresses("").isEmpty());
+    }
+}
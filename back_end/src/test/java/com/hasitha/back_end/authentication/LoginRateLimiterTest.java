@@ -0,0 +1,114 @@
+package com.hasitha.back_end.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+
+    private AtomicLong now;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong(10 * WINDOW);
+        limiter = new LoginRateLimiter(3, 5, WINDOW, 1_000, now::get);
+    }
+
+    @Test
+    public void testTryAcquire_shouldLimitUsernameAndReportRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("Alice", "10.0.0." + i));
+        }
+
+        // Same user from yet another IP, with different case and spacing
+        assertEquals(WINDOW / 1000 + 1, limiter.tryAcquire(" alice ", "10.0.0.9"));
+        assertEquals(0, limiter.tryAcquire("bob", "10.0.0.9"));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testTryAcquire_shouldLimitIpAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("user" + i, "10.0.0.1"));
+        }
+
+        assertTrue(limiter.tryAcquire("user9", "10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("user9", "10.0.0.2"));
+    }
+
+    @Test
+    public void testTryAcquire_shouldLetPreviousWindowFadeOut() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice", null);
+        }
+
+        // Half-way into the next window, 3 * 0.5 = 1.5 old attempts still count
+        now.addAndGet(WINDOW + WINDOW / 2);
+        assertEquals(0, limiter.tryAcquire("alice", null));
+        assertEquals(0, limiter.tryAcquire("alice", null));
+        // 2 + 1.5 >= 3 until the old share drops below 1, 10 seconds later
+        assertEquals(11, limiter.tryAcquire("alice", null));
+
+        // Two windows later nothing counts any more
+        now.addAndGet(2 * WINDOW);
+        assertEquals(0, limiter.tryAcquire("alice", null));
+    }
+
+    @Test
+    public void testReset_shouldClearUsernameButNotIp() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice", "10.0.0.1");
+        }
+        limiter.reset("ALICE");
+
+        assertEquals(0, limiter.tryAcquire("alice", "10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("bob", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("carol", "10.0.0.1") > 0);
+    }
+
+    @Test
+    public void testTryAcquire_shouldKeepMemoryBounded() {
+        LoginRateLimiter small = new LoginRateLimiter(3, 0, WINDOW, 32, now::get);
+        for (int i = 0; i < 10_000; i++) {
+            small.tryAcquire("user" + i, "10.0.0.1");
+        }
+
+        assertTrue(small.size() <= 32);
+    }
+
+    @Test
+    public void testTryAcquire_shouldNotLetConcurrentBurstPastLimit() throws Exception {
+        int attempts = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < attempts; i++) {
+                String ip = "10.0.1." + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return limiter.tryAcquire("alice", ip);
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Long> result : results) {
+                if (result.get() == 0) {
+                    allowed++;
+                }
+            }
+            assertEquals(3, allowed);
+            assertEquals(attempts - 3, limiter.getRejectedCount());
+        }
+    }
+}
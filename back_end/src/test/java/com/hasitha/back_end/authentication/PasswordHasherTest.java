@@ -0,0 +1,78 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    private ThreadPoolExecutor pool;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    public void setUp() {
+        pool = PasswordHasher.newPool(1, 1);
+        passwordHasher = new PasswordHasher(1_000, pool, 5_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testHash_shouldBeSaltedAndVerifiable() {
+        String first = passwordHasher.hash("secret123");
+        String second = passwordHasher.hash("secret123");
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(passwordHasher.matches("secret123", first));
+        assertTrue(passwordHasher.matches("secret123", second));
+        assertFalse(passwordHasher.matches("secret124", first));
+        assertFalse(passwordHasher.matches("secret123", null));
+        assertFalse(passwordHasher.matches("secret123", "pbkdf2_sha256$1000$!!$!!"));
+    }
+
+    @Test
+    public void testNeedsRehash_shouldFlagPlainTextAndCheaperHashes() {
+        String current = passwordHasher.hash("secret123");
+        String cheaper = new PasswordHasher(500, pool, 5_000).hash("secret123");
+
+        assertTrue(passwordHasher.matches("secret123", "secret123"));
+        assertTrue(passwordHasher.needsRehash("secret123"));
+        assertTrue(passwordHasher.needsRehash(cheaper));
+        assertTrue(passwordHasher.matches("secret123", cheaper));
+        assertFalse(passwordHasher.needsRehash(current));
+    }
+
+    @Test
+    public void testHash_shouldFailFastWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        pool.execute(() -> {
+        }); // Fills the single queue slot
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> passwordHasher.hash("secret123"));
+            assertEquals(1, passwordHasher.getRejectedCount());
+            assertEquals(1, passwordHasher.getActiveCount());
+            assertEquals(1, passwordHasher.getQueuedCount());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hasitha.back_end.authentication;
+
+import com.hasitha.back_end.user.User;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant NOW = Instant.parse("2024-03-20T10:00:00Z");
+
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        tokenService = new TokenService(SECRET, 3600, Clock.fixed(NOW, ZoneOffset.UTC));
+        user = new User(7, "Jane", "Doe", "jane", "secret", "ADMIN");
+    }
+
+    @Test
+    public void testVerify_shouldReturnIdAndRoleOfIssuedToken() {
+        AuthenticatedUser principal = tokenService.verify(tokenService.issue(user));
+
+        assertNotNull(principal);
+        assertEquals(Role.ADMIN, principal.getRole());
+        User verified = principal.getUser();
+        assertEquals(7, verified.getId());
+        assertEquals("ADMIN", verified.getRole());
+        assertNull(verified.getPassword());
+    }
+
+    @Test
+    public void testVerify_shouldRejectTamperedOrForeignTokens() {
+        String token = tokenService.issue(user);
+        String forged = tokenService.issue(new User(7, null, null, null, "cashier")).split("\\.")[0]
+                + token.substring(token.indexOf('.'));
+        TokenService otherNode = new TokenService("another-secret-another-secret-12".getBytes(StandardCharsets.US_ASCII),
+                3600, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertNull(tokenService.verify(forged));
+        assertNull(otherNode.verify(token));
+        assertNull(tokenService.verify(token + "x"));
+        assertNull(tokenService.verify("not-a-token"));
+        assertNull(tokenService.verify("a.b.c"));
+        assertNull(tokenService.verify(null));
+    }
+
+    @Test
+    public void testVerify_shouldRejectExpiredToken() {
+        String token = tokenService.issue(user);
+        TokenService later = new TokenService(SECRET, 3600, Clock.fixed(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+
+        assertNull(later.verify(token));
+    }
+
+    @Test
+    public void testLoadSecret_shouldRequireValidSecretWhenTokensEnabled() {
+        String valid = Base64.getEncoder().encodeToString(SECRET);
+        assertArrayEquals(SECRET, TokenService.loadSecret(valid, true));
+
+        IllegalStateException missing = assertThrows(IllegalStateException.class, () -> TokenService.loadSecret(null, true));
+        assertTrue(missing.getMessage().contains("app.auth.tokenSecret must be set"));
+        assertThrows(IllegalStateException.class, () -> TokenService.loadSecret("not base64!", true));
+        IllegalStateException tooShort = assertThrows(IllegalStateException.class,
+                () -> TokenService.loadSecret(Base64.getEncoder().encodeToString(new byte[16]), true));
+        assertTrue(tooShort.getMessage().contains("has 16"));
+    }
+
+    @Test
+    public void testLoadSecret_shouldGenerateKeyWhenTokensDisabled() {
+        assertEquals(32, TokenService.loadSecret(null, false).length);
+        assertEquals(32, TokenService.loadSecret("not base64!", false).length);
+    }
+}
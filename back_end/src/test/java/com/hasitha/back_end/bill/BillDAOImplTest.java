@@ -0,0 +1,82 @@
+package com.hasitha.back_end.bill;
+
+import com.hasitha.back_end.utils.Money;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BillDAOImplTest {
+
+    /**
+     * Query-count check for the bill list: however many bills the result
+     * holds, findAllWithDetails must issue exactly one statement.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 10_000})
+    public void testFindAllWithDetails_shouldUseOneQueryRegardlessOfBillCount(int billCount) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        AtomicInteger row = new AtomicInteger();
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() <= billCount);
+        when(resultSet.getInt("id")).thenAnswer(invocation -> row.get());
+        when(resultSet.getInt("c_id")).thenAnswer(invocation -> row.get() % 50);
+        when(resultSet.getInt("u_id")).thenReturn(1);
+        when(resultSet.getTimestamp("bill_date")).thenReturn(new Timestamp(0));
+        when(resultSet.getBigDecimal("total")).thenReturn(new BigDecimal("10.005"));
+
+        BillDAOImpl billDao = new BillDAOImpl(() -> connection);
+        List<BillDTO> bills = billDao.findAllWithDetails();
+
+        assertEquals(billCount, bills.size());
+        // Read as an exact decimal and rounded half up to cents
+        assertEquals(Money.of("10.01"), bills.get(0).getTotal());
+        verify(connection, times(1)).prepareStatement(anyString());
+        verify(statement, times(1)).executeQuery();
+        // Rows for the same cashier share one User instance
+        assertSame(bills.get(0).getUser(), bills.get(bills.size() - 1).getUser());
+    }
+
+    @Test
+    public void testStreamWithDetails_shouldHandRowsToActionFromStreamingStatement() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        AtomicInteger row = new AtomicInteger();
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() <= 3);
+        when(resultSet.getInt("id")).thenAnswer(invocation -> row.get());
+        when(resultSet.getInt("c_id")).thenReturn(7);
+        when(resultSet.getInt("u_id")).thenReturn(1);
+        when(resultSet.getTimestamp("bill_date")).thenReturn(new Timestamp(0));
+
+        BillPageRequest filters = new BillPageRequest(null, 0, null, null, 7, null);
+        List<Integer> seen = new ArrayList<>();
+        new BillDAOImpl(() -> connection).streamWithDetails(filters, bill -> seen.add(bill.getId()));
+
+        assertEquals(List.of(1, 2, 3), seen);
+        verify(connection).prepareStatement(argThat((String sql) -> sql.contains("b.customer_id = ?") && !sql.contains("LIMIT")),
+                eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement).setObject(1, 7);
+        verify(resultSet).close();
+        verify(connection).close();
+    }
+}
@@ -2,6 +2,7 @@ package com.hasitha.back_end.bill;
 
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.Date;
@@ -26,8 +27,8 @@ public class BillServiceTest {
     @Test
     public void testCreate_shouldSucceed() {
         // Corrected constructor call to include a new Date() object
-        Bill billToCreate = new Bill(1, 1, new Date(), 100.0);
-        Bill createdBill = new Bill(1, 1, 1, new Date(), 100.0);
+        Bill billToCreate = new Bill(1, 1, new Date(), Money.of("100.0"));
+        Bill createdBill = new Bill(1, 1, 1, new Date(), Money.of("100.0"));
         when(mockBillDao.create(any(Bill.class))).thenReturn(createdBill);
 
         Bill result = billService.create(billToCreate);
@@ -50,7 +51,7 @@ public class BillServiceTest {
     @Test
     public void testCreate_shouldThrowValidationException_whenCustomerIdIsInvalid() {
         // Corrected constructor call to include a new Date() object
-        Bill invalidBill = new Bill(0, 1, new Date(), 100.0);
+        Bill invalidBill = new Bill(0, 1, new Date(), Money.of("100.0"));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             billService.create(invalidBill);
@@ -63,7 +64,7 @@ public class BillServiceTest {
     @Test
     public void testCreate_shouldThrowValidationException_whenUserIdIsInvalid() {
         // Corrected constructor call to include a new Date() object
-        Bill invalidBill = new Bill(1, 0, new Date(), 100.0);
+        Bill invalidBill = new Bill(1, 0, new Date(), Money.of("100.0"));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             billService.create(invalidBill);
@@ -76,7 +77,7 @@ public class BillServiceTest {
     @Test
     public void testCreate_shouldThrowValidationException_whenTotalIsZero() {
         // Corrected constructor call to include a new Date() object
-        Bill invalidBill = new Bill(1, 1, new Date(), 0.0);
+        Bill invalidBill = new Bill(1, 1, new Date(), Money.of("0.0"));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             billService.create(invalidBill);
@@ -89,7 +90,7 @@ public class BillServiceTest {
     @Test
     public void testCreate_shouldThrowValidationException_whenTotalIsNegative() {
         // Corrected constructor call to include a new Date() object
-        Bill invalidBill = new Bill(1, 1, new Date(), -10.0);
+        Bill invalidBill = new Bill(1, 1, new Date(), Money.of("-10.0"));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             billService.create(invalidBill);
@@ -104,8 +105,8 @@ public class BillServiceTest {
     public void testFindAll_shouldReturnListOfBills() {
         // Corrected constructor calls to include a new Date() object
         List<Bill> expectedList = List.of(
-                new Bill(1, 1, 1, new Date(), 100.0),
-                new Bill(2, 2, 1, new Date(), 150.0)
+                new Bill(1, 1, 1, new Date(), Money.of("100.0")),
+                new Bill(2, 2, 1, new Date(), Money.of("150.0"))
         );
         when(mockBillDao.findAll()).thenReturn(expectedList);
 
@@ -132,7 +133,7 @@ public class BillServiceTest {
     public void testFindById_shouldReturnBill() {
         int billId = 1;
         // Corrected constructor call to include a new Date() object
-        Bill expectedBill = new Bill(billId, 1, 1, new Date(), 100.0);
+        Bill expectedBill = new Bill(billId, 1, 1, new Date(), Money.of("100.0"));
         when(mockBillDao.findById(billId)).thenReturn(expectedBill);
 
         Bill result = billService.findById(billId);
@@ -153,4 +154,67 @@ public class BillServiceTest {
 
         assertEquals("Bill with ID " + billId + " not found.", exception.getMessage());
     }
+
+    // --- Tests for findAllWithDetails() ---
+    @Test
+    public void testFindAllWithDetails_shouldReturnBills() {
+        List<BillDTO> bills = List.of(new BillDTO(1, null, null, new Date(), Money.of("100.0")));
+        when(mockBillDao.findAllWithDetails()).thenReturn(bills);
+
+        List<BillDTO> result = billService.findAllWithDetails();
+
+        assertEquals(1, result.size());
+        verify(mockBillDao, never()).findAll();
+    }
+
+    @Test
+    public void testFindAllWithDetails_shouldThrowNotFoundException_whenEmpty() {
+        when(mockBillDao.findAllWithDetails()).thenReturn(new ArrayList<>());
+
+        assertThrows(NotFoundException.class, () -> billService.findAllWithDetails());
+    }
+
+    // --- Tests for findPage() ---
+    @Test
+    public void testFindPage_shouldReturnNextCursorWhenMoreBillsExist() {
+        List<BillDTO> rows = List.of(
+                new BillDTO(3, null, null, new Date(3000), Money.of("30.0")),
+                new BillDTO(2, null, null, new Date(2000), Money.of("20.0")),
+                new BillDTO(1, null, null, new Date(1000), Money.of("10.0"))
+        );
+        when(mockBillDao.findPage(any(BillPageRequest.class), eq(3))).thenReturn(rows);
+
+        BillPage page = billService.findPage(new BillPageRequest(null, 2, null, null, null, null));
+
+        assertEquals(2, page.getBills().size());
+        assertTrue(page.isHasMore());
+        BillCursor cursor = BillCursor.decode(page.getNextCursor());
+        assertEquals(2, cursor.getId());
+        assertEquals(2000, cursor.getDate().getTime());
+    }
+
+    @Test
+    public void testFindPage_shouldReturnNoCursorOnLastPage() {
+        when(mockBillDao.findPage(any(BillPageRequest.class), eq(BillService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(new BillDTO(1, null, null, new Date(), Money.of("10.0"))));
+
+        BillPage page = billService.findPage(new BillPageRequest());
+
+        assertEquals(1, page.getBills().size());
+        assertNull(page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    public void testFindPage_shouldThrowValidationException_whenLimitTooLarge() {
+        BillPageRequest request = new BillPageRequest(null, BillService.MAX_PAGE_SIZE + 1, null, null, null, null);
+
+        assertThrows(ValidationException.class, () -> billService.findPage(request));
+        verify(mockBillDao, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    public void testFindPage_shouldThrowValidationException_whenCursorIsInvalid() {
+        assertThrows(ValidationException.class, () -> BillCursor.decode("not a cursor"));
+    }
 }
@@ -13,13 +13,24 @@ import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
 import com.hasitha.back_end.item.Item;
 import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
 import com.hasitha.back_end.user.User;
 import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.TransactionManager;
+import com.hasitha.back_end.utils.TransactionManager.TransactionWork;
+import com.hasitha.back_end.utils.BoundedCache;
+import com.hasitha.back_end.utils.Money;
+import java.sql.Connection;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -30,6 +41,9 @@ public class BillCreateServiceTest {
     private UserService mockUserService;
     private BillService mockBillService;
     private BillItemService mockBillItemService;
+    private TransactionManager mockTransactionManager;
+    private SalesRollupService mockSalesRollupService;
+    private Connection mockConnection;
 
     private BillCreateService billCreateService;
 
@@ -40,9 +54,17 @@ public class BillCreateServiceTest {
         mockUserService = mock(UserService.class);
         mockBillService = mock(BillService.class);
         mockBillItemService = mock(BillItemService.class);
+        mockTransactionManager = mock(TransactionManager.class);
+        mockSalesRollupService = mock(SalesRollupService.class);
+        mockConnection = mock(Connection.class);
+
+        // Run the unit of work directly on a mock connection
+        when(mockTransactionManager.inTransaction(any())).thenAnswer(
+                invocation -> ((TransactionWork<?>) invocation.getArgument(0)).execute(mockConnection));
 
         billCreateService = new BillCreateService(
-                mockItemService, mockCustomerService, mockUserService, mockBillService, mockBillItemService
+                mockItemService, mockCustomerService, mockUserService, mockBillService, mockBillItemService,
+                mockTransactionManager, IdempotencyStore.getDefault(), mockSalesRollupService
         );
     }
 
@@ -64,27 +86,17 @@ public class BillCreateServiceTest {
 
         req.setItems(List.of(itemReq1, itemReq2));
 
-        Item item1 = new Item(1, "Item One", 10.0, 100);
-        Item item2 = new Item(2, "Item Two", 20.0, 50);
-
-        when(mockItemService.getPriceById(1)).thenReturn(10.0);
-        when(mockItemService.getPriceById(2)).thenReturn(20.0);
-
-        doNothing().when(mockUserService).ensureUserExists(1);
-        doNothing().when(mockCustomerService).ensureCustomerExists(1);
-        doNothing().when(mockItemService).ensureItemExists(1);
-        doNothing().when(mockItemService).ensureItemExists(2);
-
-        when(mockBillService.create(any(Bill.class))).thenReturn(new Bill(1, 1, 1, new Date(), 80.0));
-
-        List<BillItem> createdBillItems = List.of(
-                new BillItem(1, 1, 2, 20.0),
-                new BillItem(2, 2, 3, 60.0)
-        );
-        when(mockBillItemService.getBillItemsByBillId(1)).thenReturn(createdBillItems);
+        Item item1 = new Item(1, "Item One", Money.of("10.0"), 100);
+        Item item2 = new Item(2, "Item Two", Money.of("20.0"), 50);
 
-        when(mockItemService.findById(1)).thenReturn(item1);
-        when(mockItemService.findById(2)).thenReturn(item2);
+        when(mockItemService.findByIds(eq(mockConnection), anyCollection()))
+                .thenReturn(Map.of(1, item1, 2, item2));
+        when(mockItemService.decrementStock(eq(mockConnection), anyMap())).thenReturn(List.of());
+        when(mockBillService.create(eq(mockConnection), any(Bill.class))).thenAnswer(invocation -> {
+            Bill bill = invocation.getArgument(1);
+            bill.setId(1);
+            return bill;
+        });
 
         when(mockCustomerService.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
         when(mockUserService.findById(1)).thenReturn(new User(1, "John", "Doe", "johndoe", "cashier", "cashier"));
@@ -95,14 +107,43 @@ public class BillCreateServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getId());
-        assertEquals(80.0, result.getTotal());
+        assertEquals(Money.of("80.0"), result.getTotal());
         assertEquals(2, result.getBillItems().size());
+        assertEquals("Item Two", result.getBillItems().get(1).getItemName());
+
+        verify(mockTransactionManager, times(1)).inTransaction(any());
+        verify(mockItemService, times(1)).decrementStock(mockConnection, Map.of(1, 2, 2, 3));
+        verify(mockItemService, never()).findById(anyInt());
+        verify(mockBillService, times(1)).create(eq(mockConnection), any(Bill.class));
+        verify(mockBillItemService, times(1)).saveBillItems(eq(mockConnection), eq(1), anyList());
+        verify(mockBillItemService, never()).getBillItemsByBillId(anyInt());
+        // The rollup is updated on the bill's connection, with the priced lines
+        verify(mockSalesRollupService, times(1)).record(eq(mockConnection),
+                argThat(bills -> bills.size() == 1 && bills.get(0).getItems().size() == 2));
+    }
 
-        verify(mockUserService, times(1)).ensureUserExists(1);
-        verify(mockCustomerService, times(1)).ensureCustomerExists(1);
-        verify(mockBillService, times(1)).create(any(Bill.class));
-        verify(mockBillItemService, times(1)).saveBillItems(eq(1), anyList());
-        verify(mockBillItemService, times(1)).getBillItemsByBillId(1);
+    @Test
+    public void testCreateBill_shouldThrowValidationException_forInsufficientStock() {
+        // Arrange
+        CreateBillRequest req = new CreateBillRequest();
+        req.setUserId(1);
+        req.setCustomerId(1);
+
+        CreateBillRequest.BillItemRequest itemReq = new CreateBillRequest.BillItemRequest();
+        itemReq.setItemId(1);
+        itemReq.setQuantity(5);
+        req.setItems(List.of(itemReq));
+
+        when(mockItemService.findByIds(eq(mockConnection), anyCollection()))
+                .thenReturn(Map.of(1, new Item(1, "Item One", Money.of("10.0"), 3)));
+        when(mockItemService.decrementStock(eq(mockConnection), anyMap())).thenReturn(List.of(1));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, () -> billCreateService.createBill(req));
+        assertEquals("Insufficient stock for item 'Item One'. Available: 3, requested: 5", exception.getMessage());
+        verify(mockBillService, never()).create(any(), any());
+        verify(mockBillItemService, never()).saveBillItems(any(), anyInt(), anyList());
+        verify(mockSalesRollupService, never()).record(any(), anyList());
     }
 
     @Test
@@ -116,7 +157,7 @@ public class BillCreateServiceTest {
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> billCreateService.createBill(req));
         assertEquals("Bill must contain at least one item.", exception.getMessage());
-        verify(mockBillService, never()).create(any());
+        verify(mockTransactionManager, never()).inTransaction(any());
     }
 
     @Test
@@ -134,22 +175,21 @@ public class BillCreateServiceTest {
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> billCreateService.createBill(req));
         assertEquals("Quantity must be > 0 for item 1", exception.getMessage());
-        verify(mockBillService, never()).create(any());
+        verify(mockTransactionManager, never()).inTransaction(any());
     }
 
     // --- Test of getAllBills method ---
     @Test
     public void testGetAllBills_shouldReturnListOfBillDTOs() {
         // Arrange
-        List<Bill> mockBills = List.of(
-                new Bill(1, 1, 1, new Date(), 100.0),
-                new Bill(2, 2, 1, new Date(), 150.0)
+        Customer john = new Customer(1, "John", "Doe", "123 Main St", "+94712345678");
+        Customer jane = new Customer(2, "Jane", "Doe", "456 Main St", "+94718765432");
+        User cashier = new User(1, "John", "Doe", "johndoe", "cashier");
+        List<BillDTO> mockBills = List.of(
+                new BillDTO(1, john, cashier, new Date(), Money.of("100.0")),
+                new BillDTO(2, jane, cashier, new Date(), Money.of("150.0"))
         );
-        when(mockBillService.findAll()).thenReturn(mockBills);
-
-        when(mockCustomerService.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
-        when(mockCustomerService.findById(2)).thenReturn(new Customer(2, "Jane", "Doe", "456 Main St", "+94718765432"));
-        when(mockUserService.findById(1)).thenReturn(new User(1, "John", "Doe", "johndoe", "cashier", "cashier"));
+        when(mockBillService.findAllWithDetails()).thenReturn(mockBills);
 
         // Act
         List<BillDTO> result = billCreateService.getAllBills();
@@ -157,15 +197,17 @@ public class BillCreateServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(100.0, result.get(0).getTotal());
+        assertEquals(Money.of("100.0"), result.get(0).getTotal());
         assertEquals("John", result.get(0).getCustomer().getFirstName());
         assertEquals("johndoe", result.get(0).getUser().getUserName());
+        verify(mockCustomerService, never()).findById(anyInt());
+        verify(mockUserService, never()).findById(anyInt());
     }
 
     @Test
     public void testGetAllBills_shouldThrowNotFoundException() {
         // Arrange
-        when(mockBillService.findAll()).thenThrow(new NotFoundException("No bills found."));
+        when(mockBillService.findAllWithDetails()).thenThrow(new NotFoundException("No bills found."));
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> billCreateService.getAllBills());
@@ -176,14 +218,11 @@ public class BillCreateServiceTest {
     public void testGetBillItemsByBillId_shouldReturnItems() {
         // Arrange
         int billId = 1;
-        List<BillItem> mockBillItems = List.of(
-                new BillItem(1, 1, 2, 20.0),
-                new BillItem(2, 2, 3, 60.0)
+        List<BillItemDTO> mockBillItems = List.of(
+                new BillItemDTO(1, 1, "Item One", Money.of("10.0"), 2, Money.of("20.0")),
+                new BillItemDTO(2, 2, "Item Two", Money.of("20.0"), 3, Money.of("60.0"))
         );
-        when(mockBillItemService.getBillItemsByBillId(billId)).thenReturn(mockBillItems);
-
-        when(mockItemService.findById(1)).thenReturn(new Item(1, "Item One", 10.0, 100));
-        when(mockItemService.findById(2)).thenReturn(new Item(2, "Item Two", 20.0, 50));
+        when(mockBillItemService.getBillItemDetails(billId)).thenReturn(mockBillItems);
 
         // Act
         List<BillItemDTO> result = billCreateService.getBillItemsByBillId(billId);
@@ -191,15 +230,16 @@ public class BillCreateServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(20.0, result.get(0).getSubTotal());
+        assertEquals(Money.of("20.0"), result.get(0).getSubTotal());
         assertEquals("Item Two", result.get(1).getItemName());
+        verify(mockItemService, never()).findById(anyInt());
     }
 
     @Test
     public void testGetBillItemsByBillId_shouldThrowNotFoundException() {
         // Arrange
         int billId = 99;
-        when(mockBillItemService.getBillItemsByBillId(billId)).thenThrow(new NotFoundException("No items found for bill ID: " + billId));
+        when(mockBillItemService.getBillItemDetails(billId)).thenThrow(new NotFoundException("No items found for bill ID: " + billId));
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> billCreateService.getBillItemsByBillId(billId));
@@ -210,17 +250,14 @@ public class BillCreateServiceTest {
     public void testGetBill_shouldReturnBillDTO() {
         // Arrange
         int billId = 1;
-        Bill mockBill = new Bill(billId, 1, 1, new Date(), 80.0);
-        List<BillItem> mockBillItems = List.of(
-                new BillItem(1, 1, 2, 20.0),
-                new BillItem(2, 2, 3, 60.0)
+        Bill mockBill = new Bill(billId, 1, 1, new Date(), Money.of("80.0"));
+        List<BillItemDTO> mockBillItems = List.of(
+                new BillItemDTO(1, 1, "Item One", Money.of("10.0"), 2, Money.of("20.0")),
+                new BillItemDTO(2, 2, "Item Two", Money.of("20.0"), 3, Money.of("60.0"))
         );
 
         when(mockBillService.findById(billId)).thenReturn(mockBill);
-        when(mockBillItemService.getBillItemsByBillId(billId)).thenReturn(mockBillItems);
-
-        when(mockItemService.findById(1)).thenReturn(new Item(1, "Item One", 10.0, 100));
-        when(mockItemService.findById(2)).thenReturn(new Item(2, "Item Two", 20.0, 50));
+        when(mockBillItemService.getBillItemDetails(billId)).thenReturn(mockBillItems);
 
         when(mockCustomerService.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
         when(mockUserService.findById(1)).thenReturn(new User(1, "John", "Doe", "johndoe", "password", "cashier"));
@@ -234,6 +271,7 @@ public class BillCreateServiceTest {
         assertEquals(2, result.getBillItems().size());
         assertEquals("John", result.getCustomer().getFirstName());
         assertEquals("johndoe", result.getUser().getUserName());
+        verify(mockItemService, never()).findById(anyInt());
     }
 
     @Test
@@ -245,4 +283,89 @@ public class BillCreateServiceTest {
         // Act & Assert
         assertThrows(NotFoundException.class, () -> billCreateService.getBill(billId));
     }
+
+    @Test
+    public void testGetBill_withParallelLookups_shouldForkOnlyItemQuery() {
+        int billId = 1;
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Set<Thread> lookupThreads = ConcurrentHashMap.newKeySet();
+        // Neither query can finish unless the other one is running at the same time
+        when(mockBillService.findById(billId)).thenAnswer(invocation -> {
+            barrier.await(1, TimeUnit.SECONDS);
+            return new Bill(billId, 1, 1, new Date(), Money.of("80.0"));
+        });
+        when(mockBillItemService.getBillItemDetails(billId)).thenAnswer(invocation -> {
+            barrier.await(1, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(mockCustomerService.findById(1)).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread());
+            return new Customer(1, "John", "Doe", "123 Main St", "+94712345678");
+        });
+        when(mockUserService.findById(1)).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread());
+            return new User(1, "John", "Doe", "johndoe", "password", "cashier");
+        });
+
+        System.setProperty("app.bill.parallelLookups", "true");
+        try {
+            BillDTO result = billCreateService.getBill(billId);
+
+            assertEquals("John", result.getCustomer().getFirstName());
+            assertEquals("johndoe", result.getUser().getUserName());
+            assertEquals(Set.of(Thread.currentThread()), lookupThreads);
+        } finally {
+            System.clearProperty("app.bill.parallelLookups");
+        }
+    }
+
+    @Test
+    public void testGetBill_withParallelLookups_shouldPropagateNotFound() {
+        int billId = 1;
+        when(mockBillService.findById(billId)).thenReturn(new Bill(billId, 5, 1, new Date(), Money.of("80.0")));
+        when(mockBillItemService.getBillItemDetails(billId)).thenThrow(new NotFoundException("No items found for bill ID: " + billId));
+
+        System.setProperty("app.bill.parallelLookups", "true");
+        try {
+            assertThrows(NotFoundException.class, () -> billCreateService.getBill(billId));
+        } finally {
+            System.clearProperty("app.bill.parallelLookups");
+        }
+    }
+
+    @Test
+    public void testCreateBill_withIdempotencyKey_shouldStoreKeyInBillTransaction() {
+        IdempotencyKeyDAO mockKeyDao = mock(IdempotencyKeyDAO.class);
+        when(mockKeyDao.insert(any(), any())).thenReturn(true);
+        billCreateService = new BillCreateService(
+                mockItemService, mockCustomerService, mockUserService, mockBillService, mockBillItemService,
+                mockTransactionManager, new IdempotencyStore(mockKeyDao, new BoundedCache<>("idempotency", 10, 60_000), 1_000),
+                mockSalesRollupService
+        );
+        CreateBillRequest req = new CreateBillRequest();
+        req.setUserId(1);
+        req.setCustomerId(1);
+        CreateBillRequest.BillItemRequest itemReq = new CreateBillRequest.BillItemRequest();
+        itemReq.setItemId(1);
+        itemReq.setQuantity(2);
+        req.setItems(List.of(itemReq));
+
+        when(mockItemService.findByIds(eq(mockConnection), anyCollection()))
+                .thenReturn(Map.of(1, new Item(1, "Item One", Money.of("10.0"), 100)));
+        when(mockItemService.decrementStock(eq(mockConnection), anyMap())).thenReturn(List.of());
+        when(mockBillService.create(eq(mockConnection), any(Bill.class))).thenAnswer(invocation -> {
+            Bill bill = invocation.getArgument(1);
+            bill.setId(9);
+            return bill;
+        });
+
+        BillDTO first = billCreateService.createBill(req, "abc-123");
+        BillDTO retry = billCreateService.createBill(req, "abc-123");
+
+        assertSame(first, retry);
+        verify(mockTransactionManager, times(1)).inTransaction(any());
+        verify(mockItemService, times(1)).decrementStock(eq(mockConnection), anyMap());
+        verify(mockKeyDao).insert(eq(mockConnection), argThat(key -> key.getBillId() == 9
+                && key.getRequestHash().equals(BillCreateService.requestHash(req))));
+    }
 }
@@ -0,0 +1,205 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.bill.Bill;
+import com.hasitha.back_end.bill.BillService;
+import com.hasitha.back_end.billCreate.CreateBillRequest.BillItemRequest;
+import com.hasitha.back_end.billItem.BillItemService;
+import com.hasitha.back_end.customer.Customer;
+import com.hasitha.back_end.customer.CustomerService;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.item.Item;
+import com.hasitha.back_end.item.ItemService;
+import com.hasitha.back_end.report.SalesRollupService;
+import com.hasitha.back_end.user.UserService;
+import com.hasitha.back_end.utils.Money;
+import com.hasitha.back_end.utils.TransactionManager;
+import com.hasitha.back_end.utils.TransactionManager.TransactionWork;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BillImportServiceTest {
+
+    private ItemService mockItemService;
+    private CustomerService mockCustomerService;
+    private UserService mockUserService;
+    private BillService mockBillService;
+    private BillItemService mockBillItemService;
+    private TransactionManager mockTransactionManager;
+    private SalesRollupService mockSalesRollupService;
+    private Connection mockConnection;
+
+    private BillImportService billImportService;
+
+    @BeforeEach
+    public void setUp() {
+        mockItemService = mock(ItemService.class);
+        mockCustomerService = mock(CustomerService.class);
+        mockUserService = mock(UserService.class);
+        mockBillService = mock(BillService.class);
+        mockBillItemService = mock(BillItemService.class);
+        mockTransactionManager = mock(TransactionManager.class);
+        mockSalesRollupService = mock(SalesRollupService.class);
+        mockConnection = mock(Connection.class);
+
+        when(mockTransactionManager.inTransaction(any())).thenAnswer(
+                invocation -> ((TransactionWork<?>) invocation.getArgument(0)).execute(mockConnection));
+
+        // Number the bills like the database would
+        doAnswer(invocation -> {
+            List<Bill> bills = invocation.getArgument(1);
+            for (int i = 0; i < bills.size(); i++) {
+                bills.get(i).setId(100 + i);
+            }
+            return null;
+        }).when(mockBillService).createAll(eq(mockConnection), anyList());
+
+        when(mockCustomerService.findExisting(any())).thenReturn(Map.of(1, new Customer()));
+        when(mockItemService.findExisting(eq(mockConnection), any())).thenReturn(Map.of(
+                1, new Item(1, "Pen", Money.of("12.50"), 5),
+                2, new Item(2, "Book", Money.of("3.00"), 10)));
+        when(mockItemService.decrementStock(eq(mockConnection), any())).thenReturn(Collections.emptyList());
+
+        billImportService = new BillImportService(mockItemService, mockCustomerService, mockUserService,
+                mockBillService, mockBillItemService, mockTransactionManager, mockSalesRollupService, 10);
+    }
+
+    @Test
+    public void testImportBills_shouldStoreValidBillsAndRejectOthers() {
+        List<CreateBillRequest> requests = List.of(
+                request(1, item(1, 3), item(2, 1)), // stored
+                request(7, item(1, 1)), // unknown customer
+                request(1, item(2, 0)), // bad quantity
+                request(1, item(1, 3)), // only 2 pens left after the first bill
+                request(1, item(9, 1)), // unknown item
+                request(1, item(1, 2))); // takes the last 2 pens
+
+        List<BillImportResult> results = billImportService.importBills(5, requests);
+
+        assertEquals(6, results.size());
+        assertCreated(results.get(0), 0, 100, "40.50");
+        assertRejected(results.get(1), 1, "Customer with the specified ID 7 does not exist.");
+        assertRejected(results.get(2), 2, "Quantity must be > 0 for item 2");
+        assertRejected(results.get(3), 3, "Insufficient stock for item 'Pen'. Available: 2, requested: 3");
+        assertRejected(results.get(4), 4, "Item with the specified ID 9 does not exist.");
+        assertCreated(results.get(5), 5, 101, "25.00");
+
+        // One lookup, one stock update and one insert per table for the whole batch
+        verify(mockCustomerService, times(1)).findExisting(any());
+        verify(mockItemService, times(1)).findExisting(eq(mockConnection), any());
+        verify(mockItemService).decrementStock(mockConnection, Map.of(1, 5, 2, 1));
+        verify(mockBillService, times(1)).createAll(eq(mockConnection), argThat(bills -> bills.size() == 2
+                && bills.get(0).getUserId() == 5 && bills.get(0).getItems().size() == 2));
+        verify(mockBillItemService, times(1)).saveBillItems(eq(mockConnection), anyList());
+        verify(mockSalesRollupService, times(1)).record(eq(mockConnection), argThat(bills -> bills.size() == 2));
+    }
+
+    @Test
+    public void testImportBills_shouldRejectBillTooLargeToStore() {
+        when(mockItemService.findExisting(eq(mockConnection), any())).thenReturn(Map.of(
+                1, new Item(1, "Pen", Money.of("12.50"), Integer.MAX_VALUE)));
+
+        List<BillImportResult> results = billImportService.importBills(5, List.of(
+                request(1, item(1, 10_000_000)),
+                request(1, item(1, Integer.MAX_VALUE), item(1, 1)),
+                request(1, item(1, 1))));
+
+        assertRejected(results.get(0), 0, "Bill total cannot exceed 99999999.99.");
+        assertRejected(results.get(1), 1, "Quantity is too large.");
+        assertCreated(results.get(2), 2, 100, "12.50");
+        verify(mockItemService).decrementStock(mockConnection, Map.of(1, 1));
+    }
+
+    @Test
+    public void testImportBills_shouldRejectBillWithOutOfRangeNumber() {
+        List<CreateBillRequest> requests = new ArrayList<>(CreateBillRequestReader.read(new ByteArrayInputStream(
+                "[{\"customerId\": 1, \"items\": [{\"itemId\": 1, \"quantity\": 4294967297}]}]".getBytes(StandardCharsets.UTF_8)), 10));
+        requests.add(request(1, item(1, 1)));
+
+        List<BillImportResult> results = billImportService.importBills(5, requests);
+
+        assertRejected(results.get(0), 0, "quantity 4294967297 is out of range.");
+        assertCreated(results.get(1), 1, 100, "12.50");
+        verify(mockItemService).decrementStock(mockConnection, Map.of(1, 1));
+    }
+
+    @Test
+    public void testImportBills_shouldRetryWhenStockChangedConcurrently() {
+        when(mockItemService.decrementStock(eq(mockConnection), any()))
+                .thenReturn(List.of(1))
+                .thenReturn(Collections.emptyList());
+
+        List<BillImportResult> results = billImportService.importBills(5, List.of(request(1, item(1, 1))));
+
+        assertCreated(results.get(0), 0, 100, "12.50");
+        verify(mockTransactionManager, times(2)).inTransaction(any());
+        verify(mockBillService, times(1)).createAll(eq(mockConnection), anyList());
+    }
+
+    @Test
+    public void testImportBills_shouldGiveUpWhenStockKeepsChanging() {
+        when(mockItemService.decrementStock(eq(mockConnection), any())).thenReturn(List.of(1));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> billImportService.importBills(5, List.of(request(1, item(1, 1)))));
+        verify(mockBillService, never()).createAll(any(), anyList());
+    }
+
+    @Test
+    public void testImportBills_shouldSkipTransactionWhenNothingIsValid() {
+        List<BillImportResult> results = billImportService.importBills(5, List.of(request(7, item(1, 1))));
+
+        assertEquals(BillImportResult.Status.REJECTED, results.get(0).getStatus());
+        verify(mockTransactionManager, never()).inTransaction(any());
+    }
+
+    @Test
+    public void testImportBills_shouldRejectEmptyOrOversizedBatch() {
+        List<CreateBillRequest> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(request(1, item(1, 1)));
+        }
+
+        assertThrows(ValidationException.class, () -> billImportService.importBills(5, List.of()));
+        assertThrows(ValidationException.class, () -> billImportService.importBills(5, tooMany));
+        verifyNoInteractions(mockTransactionManager);
+    }
+
+    private static void assertCreated(BillImportResult result, int index, int billId, String total) {
+        assertEquals(index, result.getIndex());
+        assertEquals(BillImportResult.Status.CREATED, result.getStatus());
+        assertEquals(billId, result.getBillId());
+        assertEquals(Money.of(total), result.getTotal());
+    }
+
+    private static void assertRejected(BillImportResult result, int index, String message) {
+        assertEquals(index, result.getIndex());
+        assertEquals(BillImportResult.Status.REJECTED, result.getStatus());
+        assertNull(result.getBillId());
+        assertEquals(message, result.getMessage());
+    }
+
+    private static CreateBillRequest request(int customerId, BillItemRequest... items) {
+        CreateBillRequest req = new CreateBillRequest();
+        req.setCustomerId(customerId);
+        req.setItems(List.of(items));
+        return req;
+    }
+
+    private static BillItemRequest item(int itemId, int quantity) {
+        BillItemRequest item = new BillItemRequest();
+        item.setItemId(itemId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
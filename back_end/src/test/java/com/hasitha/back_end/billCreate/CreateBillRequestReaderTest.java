@@ -0,0 +1,72 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.exceptions.ValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CreateBillRequestReaderTest {
+
+    @Test
+    public void testRead_shouldParseEachBill() {
+        List<CreateBillRequest> requests = CreateBillRequestReader.read(json(
+                "[{\"customerId\": 3, \"items\": [{\"itemId\": 1, \"quantity\": 2}, {\"itemId\": 4, \"quantity\": 1}]},"
+                + " {\"customerId\": 5, \"items\": [{\"itemId\": 2, \"quantity\": 7}]}]"), 10);
+
+        assertEquals(2, requests.size());
+        assertEquals(3, requests.get(0).getCustomerId());
+        assertEquals(2, requests.get(0).getItems().size());
+        assertEquals(4, requests.get(0).getItems().get(1).getItemId());
+        assertEquals(1, requests.get(0).getItems().get(1).getQuantity());
+        assertEquals(7, requests.get(1).getItems().get(0).getQuantity());
+    }
+
+    @Test
+    public void testRead_shouldKeepMalformedBillsForPerBillRejection() {
+        List<CreateBillRequest> requests = CreateBillRequestReader.read(json(
+                "[42, {\"customerId\": \"x\"}, {\"customerId\": 1, \"items\": [null]}]"), 10);
+
+        assertEquals(3, requests.size());
+        assertNull(requests.get(0));
+        assertEquals(0, requests.get(1).getCustomerId());
+        assertNull(requests.get(1).getItems());
+        assertNull(requests.get(2).getItems().get(0));
+    }
+
+    @Test
+    public void testRead_shouldMarkBillWithOutOfRangeIntegerInsteadOfTruncating() {
+        List<CreateBillRequest> requests = CreateBillRequestReader.read(json(
+                "[{\"customerId\": 1, \"items\": [{\"itemId\": 1, \"quantity\": 4294967297}]},"
+                + " {\"customerId\": 99999999999, \"items\": [{\"itemId\": 1, \"quantity\": 1}]},"
+                + " {\"customerId\": 2, \"items\": [{\"itemId\": 1, \"quantity\": 2147483647}]}]"), 10);
+
+        assertEquals(3, requests.size());
+        CreateBillRequestReader.Malformed quantity = assertInstanceOf(CreateBillRequestReader.Malformed.class, requests.get(0));
+        assertEquals("quantity 4294967297 is out of range.", quantity.getReason());
+        CreateBillRequestReader.Malformed customer = assertInstanceOf(CreateBillRequestReader.Malformed.class, requests.get(1));
+        assertEquals("customerId 99999999999 is out of range.", customer.getReason());
+        assertEquals(Integer.MAX_VALUE, requests.get(2).getItems().get(0).getQuantity());
+    }
+
+    @Test
+    public void testRead_shouldRejectBodyThatIsNotAnArray() {
+        assertThrows(ValidationException.class, () -> CreateBillRequestReader.read(json("{\"customerId\": 1}"), 10));
+    }
+
+    @Test
+    public void testRead_shouldRejectTruncatedBody() {
+        assertThrows(ValidationException.class, () -> CreateBillRequestReader.read(json("[{\"customerId\": 1}"), 10));
+    }
+
+    @Test
+    public void testRead_shouldRejectOversizedBatch() {
+        assertThrows(ValidationException.class, () -> CreateBillRequestReader.read(json("[{}, {}, {}]"), 2));
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.hasitha.back_end.billCreate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyKeyDAOImplTest {
+
+    private static final IdempotencyKey KEY = new IdempotencyKey(1, "key-1", "hash", 7);
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement delete;
+    private IdempotencyKeyDAOImpl idempotencyKeyDao;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        insert = mock(PreparedStatement.class);
+        delete = mock(PreparedStatement.class);
+        when(connection.prepareStatement(startsWith("INSERT"))).thenReturn(insert);
+        when(connection.prepareStatement(startsWith("DELETE"))).thenReturn(delete);
+        idempotencyKeyDao = new IdempotencyKeyDAOImpl(() -> connection, TimeUnit.HOURS.toMillis(24));
+    }
+
+    @Test
+    public void testFindByKey_shouldIgnoreKeysOlderThanRetention() throws SQLException {
+        PreparedStatement select = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(startsWith("SELECT"))).thenReturn(select);
+        when(select.executeQuery()).thenReturn(resultSet);
+
+        assertNull(idempotencyKeyDao.findByKey(1, "key-1"));
+        verify(connection).prepareStatement(contains("created_at >= TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)"));
+        verify(select).setLong(3, -86_400L);
+    }
+
+    @Test
+    public void testInsert_shouldReplaceExpiredRowWithSameKey() throws SQLException {
+        when(insert.executeUpdate()).thenThrow(new SQLIntegrityConstraintViolationException("Duplicate entry")).thenReturn(1);
+        when(delete.executeUpdate()).thenReturn(1);
+
+        assertTrue(idempotencyKeyDao.insert(connection, KEY));
+        verify(insert, times(2)).executeUpdate();
+    }
+
+    @Test
+    public void testInsert_shouldReportLiveKeyAsTaken() throws SQLException {
+        when(insert.executeUpdate()).thenThrow(new SQLIntegrityConstraintViolationException("Duplicate entry"));
+        when(delete.executeUpdate()).thenReturn(0);
+
+        assertFalse(idempotencyKeyDao.insert(connection, KEY));
+        verify(insert, times(1)).executeUpdate();
+    }
+
+    @Test
+    public void testDeleteExpired_shouldDeleteOneBatch() throws SQLException {
+        when(delete.executeUpdate()).thenReturn(500);
+
+        assertEquals(500, idempotencyKeyDao.deleteExpired(500));
+        verify(connection).prepareStatement(contains("LIMIT ?"));
+        verify(delete).setLong(1, -86_400L);
+        verify(delete).setInt(2, 500);
+        verify(connection).close();
+    }
+}
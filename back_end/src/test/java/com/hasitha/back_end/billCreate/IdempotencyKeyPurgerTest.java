@@ -0,0 +1,31 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyKeyPurgerTest {
+
+    @Test
+    public void testPurge_shouldDeleteInBatchesUntilShortBatch() {
+        IdempotencyKeyDAO mockDao = mock(IdempotencyKeyDAO.class);
+        when(mockDao.deleteExpired(100)).thenReturn(100, 100, 42);
+
+        assertEquals(242, new IdempotencyKeyPurger(mockDao, 100, 60).purge());
+        verify(mockDao, times(3)).deleteExpired(100);
+    }
+
+    @Test
+    public void testPurge_shouldKeepDeletedCountWhenBatchFails() {
+        IdempotencyKeyDAO mockDao = mock(IdempotencyKeyDAO.class);
+        when(mockDao.deleteExpired(100)).thenReturn(100).thenThrow(new DatabaseException("Lock wait timeout exceeded"));
+
+        assertEquals(100, new IdempotencyKeyPurger(mockDao, 100, 60).purge());
+    }
+
+    @Test
+    public void testConstructor_shouldRejectEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyKeyPurger(mock(IdempotencyKeyDAO.class), 0, 60));
+    }
+}
@@ -0,0 +1,147 @@
+package com.hasitha.back_end.billCreate;
+
+import com.hasitha.back_end.bill.BillDTO;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.BoundedCache;
+import com.hasitha.back_end.utils.Money;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyStoreTest {
+
+    private IdempotencyKeyDAO mockDao;
+    private Connection mockConnection;
+    private IdempotencyStore store;
+    private AtomicInteger creates;
+
+    @BeforeEach
+    public void setUp() {
+        mockDao = mock(IdempotencyKeyDAO.class);
+        mockConnection = mock(Connection.class);
+        when(mockDao.insert(any(), any())).thenReturn(true);
+        store = new IdempotencyStore(mockDao, new BoundedCache<>("idempotency", 100, 60_000), 2_000);
+        creates = new AtomicInteger();
+    }
+
+    private Function<IdempotencyStore.KeyWriter, BillDTO> creating(int billId) {
+        return writer -> {
+            creates.incrementAndGet();
+            writer.write(mockConnection, billId);
+            return bill(billId);
+        };
+    }
+
+    private static BillDTO bill(int id) {
+        return new BillDTO(id, null, null, new Date(), Money.of("10.00"));
+    }
+
+    private static final IntFunction<BillDTO> NO_LOAD = id -> {
+        throw new AssertionError("Bill should not be reloaded");
+    };
+
+    @Test
+    public void testExecute_shouldCreateOnceAndReplayRetries() {
+        BillDTO first = store.execute(1, "key-1", "hash", creating(7), NO_LOAD);
+        BillDTO retry = store.execute(1, "key-1", "hash", creating(8), NO_LOAD);
+
+        assertSame(first, retry);
+        assertEquals(1, creates.get());
+        verify(mockDao).insert(eq(mockConnection), argThat(k -> k.getBillId() == 7 && k.getKey().equals("key-1")));
+    }
+
+    @Test
+    public void testExecute_shouldScopeKeysPerUser() {
+        store.execute(1, "key-1", "hash", creating(7), NO_LOAD);
+        BillDTO other = store.execute(2, "key-1", "hash", creating(8), NO_LOAD);
+
+        assertEquals(8, other.getId());
+        assertEquals(2, creates.get());
+    }
+
+    @Test
+    public void testExecute_shouldRejectKeyReusedForDifferentRequest() {
+        store.execute(1, "key-1", "hash-a", creating(7), NO_LOAD);
+
+        assertThrows(ValidationException.class, () -> store.execute(1, "key-1", "hash-b", creating(8), NO_LOAD));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    public void testExecute_shouldReloadBillForKeyFoundInDatabase() {
+        when(mockDao.findByKey(1, "key-1")).thenReturn(new IdempotencyKey(1, "key-1", "hash", 42));
+
+        BillDTO result = store.execute(1, "key-1", "hash", creating(7), IdempotencyStoreTest::bill);
+
+        assertEquals(42, result.getId());
+        assertEquals(0, creates.get());
+    }
+
+    @Test
+    public void testExecute_shouldReturnOtherProcessBillWhenKeyTakenOnInsert() {
+        when(mockDao.insert(any(), any())).thenReturn(false);
+        when(mockDao.findByKey(1, "key-1")).thenReturn(null, new IdempotencyKey(1, "key-1", "hash", 42));
+
+        BillDTO result = store.execute(1, "key-1", "hash", creating(7), IdempotencyStoreTest::bill);
+
+        assertEquals(42, result.getId());
+    }
+
+    @Test
+    public void testExecute_shouldNotRememberFailedSubmissions() {
+        assertThrows(ValidationException.class, () -> store.execute(1, "key-1", "hash", writer -> {
+            throw new ValidationException("Insufficient stock");
+        }, NO_LOAD));
+
+        BillDTO retry = store.execute(1, "key-1", "hash", creating(7), NO_LOAD);
+        assertEquals(7, retry.getId());
+    }
+
+    @Test
+    public void testExecute_shouldMakeConcurrentDuplicateWaitForFirstResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BillDTO> first = executor.submit(() -> store.execute(1, "key-1", "hash", writer -> {
+                creates.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return bill(7);
+            }, NO_LOAD));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            Future<BillDTO> duplicate = executor.submit(() -> store.execute(1, "key-1", "hash", creating(8), NO_LOAD));
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone());
+
+            release.countDown();
+            assertSame(first.get(1, TimeUnit.SECONDS), duplicate.get(1, TimeUnit.SECONDS));
+            assertEquals(1, creates.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecute_shouldRejectMalformedKey() {
+        assertThrows(ValidationException.class, () -> store.execute(1, "has spaces", "hash", creating(7), NO_LOAD));
+        assertThrows(ValidationException.class, () -> store.execute(1, "x".repeat(101), "hash", creating(7), NO_LOAD));
+        assertEquals(0, creates.get());
+    }
+}
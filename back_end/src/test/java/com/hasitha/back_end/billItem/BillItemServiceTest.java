@@ -2,10 +2,12 @@ package com.hasitha.back_end.billItem;
 
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -25,8 +27,8 @@ public class BillItemServiceTest {
     public void testSaveBillItems_shouldSucceed() {
         int billId = 1;
         List<BillItem> items = List.of(
-                new BillItem(1, 2, 25.0),
-                new BillItem(2, 1, 50.0)
+                new BillItem(1, 2, Money.of("25.0")),
+                new BillItem(2, 1, Money.of("50.0"))
         );
 
         doNothing().when(mockBillItemDao).saveItems(billId, items);
@@ -38,7 +40,7 @@ public class BillItemServiceTest {
     @Test
     public void testSaveBillItems_shouldThrowValidationExceptionForInvalidBillId() {
         int billId = 0;
-        List<BillItem> items = List.of(new BillItem(1, 2, 25.0));
+        List<BillItem> items = List.of(new BillItem(1, 2, Money.of("25.0")));
 
         ValidationException exception = assertThrows(ValidationException.class,
                 () -> billItemService.saveBillItems(billId, items));
@@ -62,7 +64,7 @@ public class BillItemServiceTest {
     @Test
     public void testSaveBillItems_shouldThrowValidationExceptionForInvalidItemId() {
         int billId = 1;
-        List<BillItem> items = List.of(new BillItem(0, 2, 25.0));
+        List<BillItem> items = List.of(new BillItem(0, 2, Money.of("25.0")));
 
         ValidationException exception = assertThrows(ValidationException.class,
                 () -> billItemService.saveBillItems(billId, items));
@@ -73,7 +75,7 @@ public class BillItemServiceTest {
     @Test
     public void testSaveBillItems_shouldThrowValidationExceptionForInvalidQuantity() {
         int billId = 1;
-        List<BillItem> items = List.of(new BillItem(1, 0, 25.0));
+        List<BillItem> items = List.of(new BillItem(1, 0, Money.of("25.0")));
 
         ValidationException exception = assertThrows(ValidationException.class,
                 () -> billItemService.saveBillItems(billId, items));
@@ -86,8 +88,8 @@ public class BillItemServiceTest {
     public void testGetBillItemsByBillId_shouldReturnItems() {
         int billId = 1;
         List<BillItem> expectedItems = List.of(
-                new BillItem(1, 2, 25.0),
-                new BillItem(2, 1, 50.0)
+                new BillItem(1, 2, Money.of("25.0")),
+                new BillItem(2, 1, Money.of("50.0"))
         );
         when(mockBillItemDao.findByBillId(billId)).thenReturn(expectedItems);
 
@@ -119,4 +121,40 @@ public class BillItemServiceTest {
         assertEquals("Invalid bill ID: must be a positive integer.", exception.getMessage());
         verify(mockBillItemDao, never()).findByBillId(anyInt());
     }
+
+    // --- Tests for getBillItemDetails() ---
+    @Test
+    public void testGetBillItemDetails_shouldReturnJoinedItems() {
+        List<BillItemDTO> details = List.of(new BillItemDTO(1, 5, "Pen", Money.of("10.0"), 2, Money.of("20.0")));
+        when(mockBillItemDao.findDetailsByBillId(1)).thenReturn(details);
+
+        List<BillItemDTO> result = billItemService.getBillItemDetails(1);
+        assertEquals("Pen", result.get(0).getItemName());
+    }
+
+    @Test
+    public void testGetBillItemDetails_shouldThrowNotFoundExceptionWhenEmpty() {
+        when(mockBillItemDao.findDetailsByBillId(7)).thenReturn(new ArrayList<>());
+
+        assertThrows(NotFoundException.class, () -> billItemService.getBillItemDetails(7));
+    }
+
+    @Test
+    public void testGetBillItemDetails_shouldLoadManyBillsInOneCall() {
+        Map<Integer, List<BillItemDTO>> grouped = Map.of(
+                1, List.of(new BillItemDTO(1, 5, "Pen", Money.of("10.0"), 2, Money.of("20.0"))),
+                2, List.of(new BillItemDTO(2, 6, "Book", Money.of("50.0"), 1, Money.of("50.0")))
+        );
+        when(mockBillItemDao.findDetailsByBillIds(List.of(1, 2))).thenReturn(grouped);
+
+        Map<Integer, List<BillItemDTO>> result = billItemService.getBillItemDetails(List.of(1, 2));
+        assertEquals(2, result.size());
+        verify(mockBillItemDao, times(1)).findDetailsByBillIds(List.of(1, 2));
+    }
+
+    @Test
+    public void testGetBillItemDetails_shouldThrowValidationExceptionForInvalidBillIds() {
+        assertThrows(ValidationException.class, () -> billItemService.getBillItemDetails(List.of(1, 0)));
+        verify(mockBillItemDao, never()).findDetailsByBillIds(any());
+    }
 }
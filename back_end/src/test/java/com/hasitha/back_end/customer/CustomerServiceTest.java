@@ -5,6 +5,8 @@ import com.hasitha.back_end.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -160,4 +162,61 @@ public class CustomerServiceTest {
         when(mockCustomerDao.findById(99)).thenReturn(null);
         assertFalse(customerService.exists(99));
     }
+
+    // --- Tests for the customer cache ---
+    @Test
+    public void testFindById_shouldServeRepeatedLookupsFromCache() {
+        when(mockCustomerDao.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
+
+        customerService.findById(1);
+        Customer second = customerService.findById(1);
+
+        assertEquals("John", second.getFirstName());
+        verify(mockCustomerDao, times(1)).findById(1);
+    }
+
+    @Test
+    public void testFindById_shouldNotLeakChangesIntoCache() {
+        when(mockCustomerDao.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
+
+        customerService.findById(1).setFirstName("Changed");
+
+        assertEquals("John", customerService.findById(1).getFirstName());
+    }
+
+    @Test
+    public void testUpdate_shouldInvalidateCachedCustomer() {
+        Customer updated = new Customer(1, "Johnny", "Doe", "123 Main St", "+94712345678");
+        when(mockCustomerDao.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
+        customerService.findById(1);
+
+        when(mockCustomerDao.update(eq(1), any(Customer.class))).thenReturn(updated);
+        customerService.update(1, updated);
+        when(mockCustomerDao.findById(1)).thenReturn(updated);
+
+        assertEquals("Johnny", customerService.findById(1).getFirstName());
+    }
+
+    // --- Tests for findByIds() ---
+    @Test
+    public void testFindByIds_shouldLoadOnlyMissesInOneQuery() {
+        when(mockCustomerDao.findById(1)).thenReturn(new Customer(1, "John", "Doe", "123 Main St", "+94712345678"));
+        customerService.findById(1);
+        when(mockCustomerDao.findByIds(Set.of(2, 3))).thenReturn(Map.of(
+                2, new Customer(2, "Jane", "Smith", "456 Side Ave", "+94778765432"),
+                3, new Customer(3, "Bob", "Stone", "789 Hill Rd", "+94771111111")));
+
+        Map<Integer, Customer> result = customerService.findByIds(List.of(1, 2, 3));
+
+        assertEquals(3, result.size());
+        verify(mockCustomerDao, times(1)).findByIds(Set.of(2, 3));
+    }
+
+    @Test
+    public void testFindByIds_shouldThrowNotFoundIfAnyMissing() {
+        when(mockCustomerDao.findByIds(Set.of(1, 2))).thenReturn(Map.of(
+                1, new Customer(1, "John", "Doe", "123 Main St", "+94712345678")));
+
+        assertThrows(NotFoundException.class, () -> customerService.findByIds(List.of(1, 2)));
+    }
 }
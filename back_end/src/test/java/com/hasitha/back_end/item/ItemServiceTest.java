@@ -2,9 +2,13 @@ package com.hasitha.back_end.item;
 
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.BoundedCache;
+import com.hasitha.back_end.utils.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.sql.Connection;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -22,8 +26,8 @@ public class ItemServiceTest {
     // --- Tests for findAll() ---
     @Test
     public void testFindAll_shouldReturnItemList() {
-        Item item1 = new Item(1, "Laptop", 1200.00, 50);
-        Item item2 = new Item(2, "Mouse", 25.00, 200);
+        Item item1 = new Item(1, "Laptop", Money.of("1200.00"), 50);
+        Item item2 = new Item(2, "Mouse", Money.of("25.00"), 200);
         when(mockItemDao.findAll()).thenReturn(List.of(item1, item2));
 
         List<Item> items = itemService.findAll();
@@ -42,7 +46,7 @@ public class ItemServiceTest {
     // --- Tests for findById() ---
     @Test
     public void testFindById_shouldReturnItem() {
-        Item item = new Item(1, "Laptop", 1200.00, 50);
+        Item item = new Item(1, "Laptop", Money.of("1200.00"), 50);
         when(mockItemDao.findById(1)).thenReturn(item);
 
         Item result = itemService.findById(1);
@@ -60,7 +64,7 @@ public class ItemServiceTest {
     // --- Tests for create() ---
     @Test
     public void testCreate_shouldSucceed() {
-        Item newItem = new Item("Keyboard", 75.00, 100);
+        Item newItem = new Item("Keyboard", Money.of("75.00"), 100);
         when(mockItemDao.create(newItem)).thenReturn(newItem);
 
         Item created = itemService.create(newItem);
@@ -70,21 +74,21 @@ public class ItemServiceTest {
 
     @Test
     public void testCreate_shouldThrowValidationIfNameIsBlank() {
-        Item invalidItem = new Item("", 10.00, 5);
+        Item invalidItem = new Item("", Money.of("10.00"), 5);
 
         assertThrows(ValidationException.class, () -> itemService.create(invalidItem));
     }
 
     @Test
     public void testCreate_shouldThrowValidationIfPriceIsZero() {
-        Item invalidItem = new Item("Pencil", 0.00, 10);
+        Item invalidItem = new Item("Pencil", Money.of("0.00"), 10);
 
         assertThrows(ValidationException.class, () -> itemService.create(invalidItem));
     }
 
     @Test
     public void testCreate_shouldThrowValidationIfStockIsNegative() {
-        Item invalidItem = new Item("Pen", 1.50, -5);
+        Item invalidItem = new Item("Pen", Money.of("1.50"), -5);
 
         assertThrows(ValidationException.class, () -> itemService.create(invalidItem));
     }
@@ -92,8 +96,8 @@ public class ItemServiceTest {
     // --- Tests for update() ---
     @Test
     public void testUpdate_shouldSucceed() {
-        Item existingItem = new Item(1, "Old Name", 10.00, 5);
-        Item updatedItem = new Item(1, "New Name", 15.00, 10);
+        Item existingItem = new Item(1, "Old Name", Money.of("10.00"), 5);
+        Item updatedItem = new Item(1, "New Name", Money.of("15.00"), 10);
 
         when(mockItemDao.findById(1)).thenReturn(existingItem);
         when(mockItemDao.update(eq(1), any(Item.class))).thenReturn(updatedItem);
@@ -101,12 +105,12 @@ public class ItemServiceTest {
         Item result = itemService.update(1, updatedItem);
         assertNotNull(result);
         assertEquals("New Name", result.getName());
-        assertEquals(15.00, result.getPrice(), 0.001);
+        assertEquals(Money.of("15.00"), result.getPrice());
     }
 
     @Test
     public void testUpdate_shouldThrowNotFoundIfNotExisting() {
-        Item updatedItem = new Item(99, "Nonexistent", 20.00, 1);
+        Item updatedItem = new Item(99, "Nonexistent", Money.of("20.00"), 1);
         when(mockItemDao.findById(99)).thenReturn(null);
 
         assertThrows(NotFoundException.class, () -> itemService.update(99, updatedItem));
@@ -114,8 +118,8 @@ public class ItemServiceTest {
 
     @Test
     public void testUpdate_shouldThrowValidationIfNameIsBlank() {
-        Item existingItem = new Item(1, "Old Name", 10.00, 5);
-        Item invalidUpdate = new Item(1, "", 10.00, 5);
+        Item existingItem = new Item(1, "Old Name", Money.of("10.00"), 5);
+        Item invalidUpdate = new Item(1, "", Money.of("10.00"), 5);
 
         when(mockItemDao.findById(1)).thenReturn(existingItem);
 
@@ -142,11 +146,11 @@ public class ItemServiceTest {
     // --- Tests for getPriceById() ---
     @Test
     public void testGetPriceById_shouldReturnPrice() {
-        Item item = new Item(1, "Laptop", 1200.00, 50);
+        Item item = new Item(1, "Laptop", Money.of("1200.00"), 50);
         when(mockItemDao.findById(1)).thenReturn(item);
 
-        double price = itemService.getPriceById(1);
-        assertEquals(1200.00, price, 0.001);
+        Money price = itemService.getPriceById(1);
+        assertEquals(Money.of("1200.00"), price);
     }
 
     @Test
@@ -155,4 +159,73 @@ public class ItemServiceTest {
 
         assertThrows(NotFoundException.class, () -> itemService.getPriceById(99));
     }
+
+    // --- Tests for decrementStock() ---
+    @Test
+    public void testDecrementStock_shouldReturnItemsOutOfStock() {
+        Connection connection = mock(Connection.class);
+        Map<Integer, Integer> quantities = Map.of(1, 2, 2, 5);
+        when(mockItemDao.decrementStock(connection, quantities)).thenReturn(List.of(2));
+
+        List<Integer> outOfStock = itemService.decrementStock(connection, quantities);
+        assertEquals(List.of(2), outOfStock);
+    }
+
+    @Test
+    public void testDecrementStock_shouldThrowValidationIfQuantityNotPositive() {
+        Connection connection = mock(Connection.class);
+
+        assertThrows(ValidationException.class, () -> itemService.decrementStock(connection, Map.of(1, 0)));
+        verify(mockItemDao, never()).decrementStock(any(), anyMap());
+    }
+
+    // --- Tests for the catalog cache ---
+    @Test
+    public void testGetPriceById_shouldServeRepeatedLookupsFromCache() {
+        when(mockItemDao.findById(1)).thenReturn(new Item(1, "Laptop", Money.of("1200.00"), 50));
+
+        itemService.getPriceById(1);
+        itemService.ensureItemExists(1);
+        itemService.getPriceById(1);
+
+        verify(mockItemDao, times(1)).findById(1);
+    }
+
+    @Test
+    public void testUpdate_shouldInvalidateCachedPrice() {
+        when(mockItemDao.findById(1)).thenReturn(new Item(1, "Laptop", Money.of("1200.00"), 50));
+        itemService.getPriceById(1);
+
+        when(mockItemDao.update(eq(1), any(Item.class))).thenReturn(new Item(1, "Laptop", Money.of("999.00"), 50));
+        when(mockItemDao.findById(1)).thenReturn(new Item(1, "Laptop", Money.of("999.00"), 50));
+        itemService.update(1, new Item(1, "Laptop", Money.of("999.00"), 50));
+
+        assertEquals(Money.of("999.00"), itemService.getPriceById(1));
+    }
+
+    @Test
+    public void testFindById_shouldAlwaysReadCurrentStock() {
+        when(mockItemDao.findById(1)).thenReturn(new Item(1, "Laptop", Money.of("1200.00"), 50), new Item(1, "Laptop", Money.of("1200.00"), 48));
+
+        itemService.findById(1);
+        Item result = itemService.findById(1);
+
+        assertEquals(48, result.getStock());
+        verify(mockItemDao, times(2)).findById(1);
+    }
+
+    @Test
+    public void testFindById_shouldNotCachePriceReadBeforeConcurrentUpdate() {
+        BoundedCache<Integer, ItemService.CatalogEntry> catalog = new BoundedCache<>("test", 10, 60_000);
+        itemService = new ItemService(mockItemDao, catalog);
+        // The update's invalidation lands while findById is still reading the old row
+        when(mockItemDao.findById(1)).thenAnswer(invocation -> {
+            catalog.invalidate(1);
+            return new Item(1, "Laptop", Money.of("1200.00"), 50);
+        }).thenReturn(new Item(1, "Laptop", Money.of("999.00"), 50));
+
+        itemService.findById(1);
+
+        assertEquals(Money.of("999.00"), itemService.getPriceById(1));
+    }
 }
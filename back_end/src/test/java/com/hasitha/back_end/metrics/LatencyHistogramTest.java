@@ -0,0 +1,40 @@
+package com.hasitha.back_end.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketIndex_shouldKeepUpperBoundWithinOneEighth() {
+        for (long value = 1; value < (1L << 40); value = value * 3 + 1) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucketIndex(value));
+            assertTrue(upper >= value, "upper bound below value " + value);
+            assertTrue(upper - value <= value / 8, "bucket too wide for value " + value);
+        }
+    }
+
+    @Test
+    public void testBucketIndex_shouldClampHugeValuesToLastBucket() {
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testGetValueAtQuantile_shouldEstimatePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_000, histogram.getValueAtQuantile(0.5), 500_000 / 8.0);
+        assertEquals(990_000, histogram.getValueAtQuantile(0.99), 990_000 / 8.0);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertTrue(histogram.getValueAtQuantile(1.0) <= histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testGetValueAtQuantile_shouldReturnZeroWhenEmpty() {
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.99));
+    }
+}
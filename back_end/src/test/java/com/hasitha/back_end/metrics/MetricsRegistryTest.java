@@ -0,0 +1,70 @@
+package com.hasitha.back_end.metrics;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Test
+    public void testScrape_shouldRenderCountersGaugesAndSummaries() {
+        registry.counter("requests_total", "Requests.", "endpoint=\"a\"").add(3);
+        registry.gauge("pool_size", "Pool size.", "", () -> 7);
+        registry.histogram("latency_seconds", "Latency.", "endpoint=\"a\"").record(2_000_000_000L);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# TYPE requests_total counter\nrequests_total{endpoint=\"a\"} 3\n"));
+        assertTrue(text.contains("pool_size 7\n"));
+        assertTrue(text.contains("# TYPE latency_seconds summary\n"));
+        assertTrue(text.contains("latency_seconds_count{endpoint=\"a\"} 1\n"));
+        assertTrue(text.contains("latency_seconds_sum{endpoint=\"a\"} 2.0\n"));
+        assertTrue(text.contains("latency_seconds{endpoint=\"a\",quantile=\"0.99\"} "));
+    }
+
+    @Test
+    public void testCounter_shouldReturnSameSeriesForSameLabels() {
+        assertSame(registry.counter("c_total", "C.", "x=\"1\""), registry.counter("c_total", "C.", "x=\"1\""));
+        assertNotSame(registry.counter("c_total", "C.", "x=\"1\""), registry.counter("c_total", "C.", "x=\"2\""));
+    }
+
+    @Test
+    public void testFamily_shouldRejectTypeClash() {
+        registry.counter("m", "M.", "");
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("m", "M.", ""));
+    }
+
+    @Test
+    public void testTimedProxy_shouldRecordCallsAndErrors() {
+        List<String> target = List.of("a");
+        @SuppressWarnings("unchecked")
+        List<String> timed = TimedProxy.wrap(List.class, target, registry);
+
+        assertEquals("a", timed.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> timed.get(5));
+
+        assertEquals(2, registry.histogram("dao_call_seconds", "", "dao=\"List\",method=\"get\"").getCount());
+        assertEquals(1, registry.counter("dao_call_errors_total", "", "dao=\"List\",method=\"get\"").sum());
+    }
+
+    @Test
+    public void testMetricsFilter_shouldCountStatusClasses() {
+        MetricsFilter.EndpointMetrics endpoint = new MetricsFilter.EndpointMetrics(registry, "BillResource.getBill");
+        endpoint.record(1_000, 200);
+        endpoint.record(1_000, 404);
+        endpoint.record(1_000, 404);
+
+        assertEquals(2, registry.counter("http_server_responses_total", "",
+                "endpoint=\"BillResource.getBill\",status=\"4xx\"").sum());
+        assertEquals(3, registry.histogram("http_server_requests_seconds", "",
+                "endpoint=\"BillResource.getBill\"").getCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.utils.Money;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReportDAOImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 20);
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private ReportDAOImpl reportDao;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        reportDao = new ReportDAOImpl(() -> connection);
+    }
+
+    @Test
+    public void testFindTotals_shouldReadPastDaysFromRollupAndTodayFromBills() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(0L);
+        when(resultSet.getBigDecimal(2)).thenReturn(null);
+
+        SalesSummary summary = reportDao.findTotals(LocalDate.of(2024, 3, 1), null, TODAY);
+
+        assertEquals(0, summary.getBillCount());
+        assertEquals(Money.ZERO, summary.getRevenue());
+        assertEquals(Money.ZERO, summary.getAverageBasket());
+        verify(connection, times(1)).prepareStatement(argThat((String sql) -> sql.contains("COUNT(DISTINCT s.customer_id)")
+                && sql.contains("FROM daily_customer_sales r") && sql.contains("UNION ALL") && sql.contains("FROM bills b")));
+        verify(statement).setObject(1, java.sql.Date.valueOf(TODAY));
+        verify(statement).setObject(2, java.sql.Date.valueOf(LocalDate.of(2024, 3, 1)));
+        verify(statement).setObject(3, Timestamp.valueOf(TODAY.atStartOfDay()));
+        verify(connection).close();
+    }
+
+    @Test
+    public void testFindTotals_shouldSkipBillsForRangeEndingBeforeToday() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        reportDao.findTotals(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 8), TODAY);
+
+        verify(connection).prepareStatement(argThat((String sql) -> sql.contains("daily_customer_sales")
+                && !sql.contains("UNION") && !sql.contains("bills")));
+        verify(statement).setObject(1, java.sql.Date.valueOf(LocalDate.of(2024, 3, 8)));
+    }
+
+    @Test
+    public void testFindTotals_shouldReadWholeRangeFromBillsWithoutLiveFrom() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+
+        reportDao.findTotals(LocalDate.of(2024, 3, 1), null, null);
+
+        verify(connection).prepareStatement(argThat((String sql) -> sql.contains("FROM bills b")
+                && !sql.contains("daily_customer_sales") && !sql.contains("UNION")));
+        verify(statement).setObject(1, Timestamp.valueOf(LocalDate.of(2024, 3, 1).atStartOfDay()));
+    }
+
+    @Test
+    public void testFindTopItems_shouldReadTodayOnlyFromBillsAndLimitInSql() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt("item_id")).thenReturn(4);
+        when(resultSet.getString("name")).thenReturn("Pen");
+        when(resultSet.getLong("quantity")).thenReturn(12L);
+        when(resultSet.getBigDecimal("revenue")).thenReturn(new BigDecimal("150.00"));
+
+        List<TopItem> items = reportDao.findTopItems(TODAY, TODAY.plusDays(1), TODAY, 3);
+
+        assertEquals(1, items.size());
+        assertEquals("Pen", items.get(0).getName());
+        assertEquals(Money.of("150.00"), items.get(0).getRevenue());
+        verify(connection).prepareStatement(argThat((String sql) -> sql.contains("JOIN bill_items bi")
+                && !sql.contains("daily_sales") && sql.endsWith("LIMIT ?")));
+        verify(statement).setObject(3, 3);
+    }
+}
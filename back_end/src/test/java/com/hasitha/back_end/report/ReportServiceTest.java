@@ -0,0 +1,99 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.Money;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReportServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 20);
+
+    private ReportDAO mockReportDao;
+    private ReportService reportService;
+
+    @BeforeEach
+    public void setUp() {
+        mockReportDao = mock(ReportDAO.class);
+        Clock clock = Clock.fixed(TODAY.atTime(15, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        reportService = new ReportService(mockReportDao, clock, () -> true);
+        when(mockReportDao.findTotals(any(), any(), any())).thenReturn(new SalesSummary(3, Money.of("100.00"), 2));
+    }
+
+    @Test
+    public void testGetSummary_shouldQueryHalfOpenRangeWithTodayLiveAndDeriveAverage() {
+        List<TopItem> top = List.of(new TopItem(1, "Pen", 4, Money.of("50.00")));
+        when(mockReportDao.findTopItems(any(), any(), any(), eq(5))).thenReturn(top);
+
+        SalesSummary summary = reportService.getSummary(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), null, 5);
+
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 4, 1);
+        verify(mockReportDao).findTotals(start, end, TODAY);
+        verify(mockReportDao).findTopItems(start, end, TODAY, 5);
+        verify(mockReportDao, never()).findDailySales(any(), any(), any());
+        assertEquals(3, summary.getBillCount());
+        assertEquals(Money.of("33.33"), summary.getAverageBasket());
+        assertEquals(2, summary.getDistinctCustomers());
+        assertEquals(LocalDate.of(2024, 3, 1), summary.getFrom());
+        assertNull(summary.getSeries());
+        assertSame(top, summary.getTopItems());
+    }
+
+    @Test
+    public void testGetSummary_shouldLeaveOpenBoundsUnsetAndSkipTopItemsWhenZero() {
+        SalesSummary summary = reportService.getSummary(null, null, null, 0);
+
+        verify(mockReportDao).findTotals(null, null, TODAY);
+        verify(mockReportDao, never()).findTopItems(any(), any(), any(), anyInt());
+        assertTrue(summary.getTopItems().isEmpty());
+    }
+
+    @Test
+    public void testGetSummary_shouldRollDailySalesUpIntoWeeks() {
+        when(mockReportDao.findDailySales(any(), any(), any())).thenReturn(List.of(
+                new SalesPeriod(LocalDate.of(2024, 3, 3), 1, Money.of("10.00")), // Sunday
+                new SalesPeriod(LocalDate.of(2024, 3, 4), 2, Money.of("20.00")), // Monday
+                new SalesPeriod(LocalDate.of(2024, 3, 10), 1, Money.of("15.00")))); // Sunday
+
+        SalesSummary summary = reportService.getSummary(null, null, Granularity.WEEK, 0);
+
+        List<SalesPeriod> series = summary.getSeries();
+        assertEquals(2, series.size());
+        assertEquals(LocalDate.of(2024, 2, 26), series.get(0).getStart());
+        assertEquals(1, series.get(0).getBillCount());
+        assertEquals(LocalDate.of(2024, 3, 4), series.get(1).getStart());
+        assertEquals(3, series.get(1).getBillCount());
+        assertEquals(Money.of("35.00"), series.get(1).getRevenue());
+        assertEquals(Money.of("11.67"), series.get(1).getAverageBasket());
+    }
+
+    @Test
+    public void testGetSummary_shouldRejectInvalidArguments() {
+        assertThrows(ValidationException.class,
+                () -> reportService.getSummary(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1), null, 5));
+        assertThrows(ValidationException.class, () -> reportService.getSummary(null, null, null, -1));
+        assertThrows(ValidationException.class,
+                () -> reportService.getSummary(null, null, null, ReportService.MAX_TOP_ITEMS + 1));
+        assertThrows(ValidationException.class, () -> Granularity.parse("year"));
+        verifyNoInteractions(mockReportDao);
+    }
+
+    @Test
+    public void testGetSummary_shouldReadEverythingLiveUntilRollupsAreBackfilled() {
+        Clock clock = Clock.fixed(TODAY.atTime(15, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        reportService = new ReportService(mockReportDao, clock, () -> false);
+
+        reportService.getSummary(null, null, Granularity.DAY, 0);
+
+        verify(mockReportDao).findTotals(null, null, null);
+        verify(mockReportDao).findDailySales(null, null, null);
+    }
+}
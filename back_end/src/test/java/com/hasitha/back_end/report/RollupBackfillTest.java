@@ -0,0 +1,46 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RollupBackfillTest {
+
+    @Test
+    public void testStart_shouldRunOnceInBackgroundAndThenComplete() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        RollupBackfill backfill = new RollupBackfill(runs::incrementAndGet, true);
+        assertFalse(backfill.isComplete());
+
+        Thread thread = backfill.start();
+        assertNull(backfill.start());
+        thread.join(5_000);
+
+        assertEquals(1, runs.get());
+        assertTrue(backfill.isComplete());
+    }
+
+    @Test
+    public void testStart_shouldStayIncompleteWhenBackfillFails() throws InterruptedException {
+        RollupBackfill backfill = new RollupBackfill(() -> {
+            throw new DatabaseException("Lock wait timeout exceeded");
+        }, true);
+
+        backfill.start().join(5_000);
+        assertFalse(backfill.isComplete());
+
+        backfill.markComplete();
+        assertTrue(backfill.isComplete());
+    }
+
+    @Test
+    public void testStart_shouldTrustRollupsWhenDisabled() {
+        RollupBackfill backfill = new RollupBackfill(() -> {
+            throw new AssertionError("must not run");
+        }, false);
+
+        assertNull(backfill.start());
+        assertTrue(backfill.isComplete());
+    }
+}
@@ -0,0 +1,125 @@
+package com.hasitha.back_end.report;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.utils.TransactionManager;
+import com.hasitha.back_end.utils.TransactionManager.TransactionWork;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SalesRollupServiceTest {
+
+    private SalesRollupDAO mockRollupDao;
+    private TransactionManager mockTransactionManager;
+    private Connection mockConnection;
+    private SalesRollupService salesRollupService;
+
+    @BeforeEach
+    public void setUp() {
+        mockRollupDao = mock(SalesRollupDAO.class);
+        mockTransactionManager = mock(TransactionManager.class);
+        mockConnection = mock(Connection.class);
+        when(mockTransactionManager.inTransaction(any())).thenAnswer(
+                invocation -> ((TransactionWork<?>) invocation.getArgument(0)).execute(mockConnection));
+        salesRollupService = new SalesRollupService(mockRollupDao, mockTransactionManager, 3, 7);
+    }
+
+    @Test
+    public void testRebuild_shouldCoverRangeInChunksEachInItsOwnTransaction() {
+        int days = salesRollupService.rebuild(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 20));
+
+        assertEquals(20, days);
+        verify(mockTransactionManager, times(3)).inTransaction(any());
+        verify(mockRollupDao).rebuild(mockConnection, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8));
+        verify(mockRollupDao).rebuild(mockConnection, LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15));
+        verify(mockRollupDao).rebuild(mockConnection, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 21));
+    }
+
+    @Test
+    public void testRebuild_shouldRetryFailedChunkOnce() {
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new DatabaseException("Deadlock found");
+            }
+            return null;
+        }).when(mockRollupDao).rebuild(mockConnection, LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15));
+
+        salesRollupService.rebuild(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 20));
+
+        verify(mockRollupDao, times(2)).rebuild(mockConnection, LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    public void testRebuild_shouldFailWhenChunkFailsTwice() {
+        doThrow(new DatabaseException("Table is full")).when(mockRollupDao).rebuild(any(), any(), any());
+
+        assertThrows(DatabaseException.class,
+                () -> salesRollupService.rebuild(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)));
+        assertThrows(ValidationException.class,
+                () -> salesRollupService.rebuild(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    public void testBackfillIfIncomplete_shouldSkipOnlyMarkedRollups() {
+        when(mockRollupDao.isComplete()).thenReturn(true);
+        assertEquals(0, salesRollupService.backfillIfIncomplete());
+        verify(mockRollupDao, never()).findFirstBillDate();
+
+        when(mockRollupDao.isComplete()).thenReturn(false);
+        when(mockRollupDao.findFirstBillDate()).thenReturn(LocalDate.now().minusDays(2));
+        assertEquals(3, salesRollupService.backfillIfIncomplete());
+        verify(mockRollupDao).rebuild(mockConnection, LocalDate.now().minusDays(2), LocalDate.now().plusDays(1));
+        verify(mockRollupDao).markComplete();
+    }
+
+    @Test
+    public void testBackfillIfIncomplete_shouldNotMarkPartialRebuildComplete() {
+        // Rows from new bills or another node's unfinished rebuild leave no marker
+        when(mockRollupDao.isComplete()).thenReturn(false);
+        when(mockRollupDao.findFirstBillDate()).thenReturn(LocalDate.now().minusDays(20));
+        doThrow(new DatabaseException("Lock wait timeout exceeded"))
+                .when(mockRollupDao).rebuild(mockConnection, LocalDate.now().minusDays(13), LocalDate.now().minusDays(6));
+
+        assertThrows(DatabaseException.class, () -> salesRollupService.backfillIfIncomplete());
+
+        verify(mockRollupDao, atLeastOnce()).rebuild(mockConnection, LocalDate.now().minusDays(20), LocalDate.now().minusDays(13));
+        verify(mockRollupDao, never()).markComplete();
+    }
+
+    @Test
+    public void testRebuild_shouldMarkCompleteOnlyForWholeHistory() {
+        when(mockRollupDao.findFirstBillDate()).thenReturn(LocalDate.now().minusDays(2));
+
+        salesRollupService.rebuild(null, LocalDate.now());
+        salesRollupService.rebuild(LocalDate.now().minusDays(2), null);
+        verify(mockRollupDao, never()).markComplete();
+
+        salesRollupService.rebuild(null, null);
+        verify(mockRollupDao).markComplete();
+    }
+
+    @Test
+    public void testRebuild_shouldMarkEmptyHistoryComplete() {
+        when(mockRollupDao.findFirstBillDate()).thenReturn(null);
+
+        assertEquals(0, salesRollupService.rebuild(null, null));
+
+        verify(mockRollupDao).markComplete();
+        verify(mockTransactionManager, never()).inTransaction(any());
+    }
+
+    @Test
+    public void testRecord_shouldSkipEmptyBatch() {
+        salesRollupService.record(mockConnection, List.of());
+
+        verifyNoInteractions(mockRollupDao);
+    }
+}
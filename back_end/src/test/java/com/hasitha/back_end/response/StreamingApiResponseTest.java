@@ -0,0 +1,90 @@
+package com.hasitha.back_end.response;
+
+import com.hasitha.back_end.exceptions.NotFoundException;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.bind.Jsonb;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class StreamingApiResponseTest {
+
+    private Jsonb mockJsonb;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    public void setUp() {
+        mockJsonb = mock(Jsonb.class);
+        // Numbers as JSON numbers, anything else as a JSON string
+        when(mockJsonb.toJson(any())).thenAnswer(invocation -> {
+            Object value = invocation.getArgument(0);
+            return value instanceof Integer number ? number.toString() : Json.createValue(String.valueOf(value)).toString();
+        });
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    public void testWrite_shouldProduceApiResponseJson() throws IOException {
+        StreamingApiResponse<Object> response = new StreamingApiResponse<>("200", "Records \"retrieved\"", action -> {
+            action.accept(1);
+            action.accept(2);
+            action.accept("three");
+        }, null, mockJsonb);
+
+        response.write(output);
+
+        JsonObject json = parse();
+        assertEquals(3, json.getJsonArray("data").size());
+        assertEquals(2, json.getJsonArray("data").getInt(1));
+        assertEquals("three", json.getJsonArray("data").getString(2));
+        assertEquals("Records \"retrieved\"", json.getString("message"));
+        assertTrue(json.getBoolean("success"));
+        assertEquals("200", json.getString("successCode"));
+        assertNotNull(json.getString("timestamp"));
+    }
+
+    @Test
+    public void testWrite_shouldWriteEmptyArrayWithoutEmptyMessage() throws IOException {
+        new StreamingApiResponse<>("200", "ok", action -> {
+        }, null, mockJsonb).write(output);
+
+        assertTrue(parse().getJsonArray("data").isEmpty());
+    }
+
+    @Test
+    public void testWrite_shouldThrowNotFoundBeforeWritingWhenEmpty() {
+        StreamingApiResponse<Object> response = new StreamingApiResponse<>("200", "ok", action -> {
+        }, "Nothing here", mockJsonb);
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> response.write(output));
+        assertEquals("Nothing here", e.getMessage());
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    public void testWrite_shouldSendRowsBeforeSourceFinishes() throws IOException {
+        int[] bytesSeenMidway = {-1};
+        new StreamingApiResponse<Integer>("200", "ok", action -> {
+            for (int i = 0; i < 20_000; i++) {
+                if (i == 10_000) {
+                    bytesSeenMidway[0] = output.size();
+                }
+                action.accept(i);
+            }
+        }, null, mockJsonb).write(output);
+
+        assertTrue(bytesSeenMidway[0] > 0, "rows should reach the output while the source is still producing");
+        assertEquals(20_000, parse().getJsonArray("data").size());
+    }
+
+    private JsonObject parse() {
+        return Json.createReader(new StringReader(output.toString(StandardCharsets.UTF_8))).readObject();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hasitha.back_end.user;
 
+import com.hasitha.back_end.authentication.PasswordHasher;
 import com.hasitha.back_end.exceptions.NotFoundException;
 import com.hasitha.back_end.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,18 +8,22 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class UserServiceTest {
 
     private UserDAO mockUserDao;
+    private PasswordHasher mockPasswordHasher;
     private UserService userService;
 
     @BeforeEach
     public void setUp() {
         mockUserDao = mock(UserDAO.class);
-        userService = new UserService(mockUserDao);
+        mockPasswordHasher = mock(PasswordHasher.class);
+        userService = new UserService(mockUserDao, mockPasswordHasher);
     }
 
     @Test
@@ -70,9 +75,11 @@ public class UserServiceTest {
 
         when(mockUserDao.findByUsername("newuser")).thenReturn(null);
         when(mockUserDao.create(user)).thenReturn(user);
+        when(mockPasswordHasher.hash("pass123456")).thenReturn("pbkdf2_sha256$1$salt$hash");
 
         User created = userService.create(user);
         assertEquals("New", created.getFirstName());
+        verify(mockUserDao).create(argThat(u -> "pbkdf2_sha256$1$salt$hash".equals(u.getPassword())));
     }
 
     @Test
@@ -102,12 +109,29 @@ public class UserServiceTest {
         updatedUser.setRole("USER");
 
         when(mockUserDao.findById(1)).thenReturn(existingUser);
-        when(mockUserDao.findPasswordById(1)).thenReturn("existingpass");
+        when(mockUserDao.findPasswordById(1)).thenReturn("pbkdf2_sha256$310000$c2FsdA$aGFzaA");
         when(mockUserDao.findByUsername("testuser")).thenReturn(existingUser);
         when(mockUserDao.update(eq(1), any(User.class))).thenReturn(updatedUser);
 
         User result = userService.update(1, updatedUser);
         assertEquals("Updated", result.getFirstName());
+        verify(mockUserDao).update(eq(1), argThat(u -> "pbkdf2_sha256$310000$c2FsdA$aGFzaA".equals(u.getPassword())));
+        verifyNoInteractions(mockPasswordHasher);
+    }
+
+    @Test
+    public void testUpdate_shouldHashNewPassword() {
+        User existingUser = new User(1, "Test", "User", "testuser", "USER");
+        User updatedUser = new User(0, "Test", "User", "testuser", "newpass123", "USER");
+
+        when(mockUserDao.findById(1)).thenReturn(existingUser);
+        when(mockUserDao.findByUsername("testuser")).thenReturn(existingUser);
+        when(mockPasswordHasher.hash("newpass123")).thenReturn("pbkdf2_sha256$1$salt$new");
+
+        userService.update(1, updatedUser);
+
+        verify(mockUserDao).update(eq(1), argThat(u -> "pbkdf2_sha256$1$salt$new".equals(u.getPassword())));
+        verify(mockUserDao, never()).findPasswordById(anyInt());
     }
 
     @Test
@@ -127,4 +151,38 @@ public class UserServiceTest {
         when(mockUserDao.findById(42)).thenReturn(null);
         assertThrows(NotFoundException.class, () -> userService.ensureUserExists(42));
     }
+
+    // --- Tests for the user cache ---
+    @Test
+    public void testFindById_shouldServeRepeatedLookupsFromCache() {
+        when(mockUserDao.findById(1)).thenReturn(new User(1, "Test", "User", "testuser", "USER"));
+
+        userService.findById(1);
+        userService.ensureUserExists(1);
+
+        verify(mockUserDao, times(1)).findById(1);
+    }
+
+    @Test
+    public void testDelete_shouldInvalidateCachedUser() {
+        when(mockUserDao.findById(1)).thenReturn(new User(1, "Test", "User", "testuser", "USER"));
+        userService.delete(1);
+        when(mockUserDao.findById(1)).thenReturn(null);
+
+        assertThrows(NotFoundException.class, () -> userService.findById(1));
+    }
+
+    @Test
+    public void testFindByIds_shouldLoadAllMissesInOneQuery() {
+        when(mockUserDao.findByIds(Set.of(1, 2))).thenReturn(Map.of(
+                1, new User(1, "Test", "User", "testuser", "USER"),
+                2, new User(2, "Admin", "User", "admin", "ADMIN")));
+
+        Map<Integer, User> result = userService.findByIds(List.of(1, 2));
+        userService.findById(2);
+
+        assertEquals("admin", result.get(2).getUserName());
+        verify(mockUserDao, times(1)).findByIds(Set.of(1, 2));
+        verify(mockUserDao, never()).findById(anyInt());
+    }
 }
@@ -0,0 +1,118 @@
+package com.hasitha.back_end.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    private AtomicLong now;
+    private AtomicInteger loads;
+    private BoundedCache<Integer, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong(1_000);
+        loads = new AtomicInteger();
+        cache = new BoundedCache<>("test", 2, 100, now::get);
+    }
+
+    private String load(int key) {
+        loads.incrementAndGet();
+        return "v" + key;
+    }
+
+    @Test
+    public void testGet_shouldLoadOnceAndThenHit() {
+        assertEquals("v1", cache.get(1, this::load));
+        assertEquals("v1", cache.get(1, this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_shouldReloadAfterTtl() {
+        cache.get(1, this::load);
+        now.addAndGet(100);
+        cache.get(1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_shouldEvictLeastRecentlyUsed() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(3, this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get(1, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testGetIfPresent_shouldNotLoadAndShouldExpire() {
+        assertNull(cache.getIfPresent(1));
+        cache.put(1, "v1");
+        assertEquals("v1", cache.getIfPresent(1));
+
+        now.addAndGet(100);
+        assertNull(cache.getIfPresent(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGet_shouldNotCacheNullResults() {
+        assertNull(cache.get(1, k -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidate_shouldDropValueLoadedConcurrently() {
+        cache.get(1, k -> {
+            cache.invalidate(k);
+            return "stale";
+        });
+
+        assertEquals(0, cache.size());
+        assertEquals("v1", cache.get(1, this::load));
+    }
+
+    @Test
+    public void testPut_shouldSkipValueReadBeforeInvalidation() {
+        long generation = cache.generation();
+        cache.invalidate(1);
+        cache.put(1, "stale", generation);
+        assertNull(cache.getIfPresent(1));
+
+        cache.put(1, "v1", cache.generation());
+        assertEquals("v1", cache.getIfPresent(1));
+    }
+
+    @Test
+    public void testGetAll_shouldLoadOnlyMissingKeysInOneCall() {
+        cache.get(1, this::load);
+        AtomicInteger bulkCalls = new AtomicInteger();
+
+        Map<Integer, String> result = cache.getAll(List.of(1, 2, 3), missing -> {
+            bulkCalls.incrementAndGet();
+            assertEquals(2, missing.size());
+            Map<Integer, String> loaded = new HashMap<>();
+            loaded.put(2, "v2");
+            return loaded;
+        });
+
+        assertEquals(1, bulkCalls.get());
+        assertEquals(Map.of(1, "v1", 2, "v2"), result);
+        assertEquals(1, cache.getHitCount());
+    }
+}
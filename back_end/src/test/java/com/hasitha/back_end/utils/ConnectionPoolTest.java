@@ -0,0 +1,116 @@
+package com.hasitha.back_end.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionPoolTest {
+
+    private List<Connection> opened;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        opened = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private Connection newPhysical() throws SQLException {
+        Connection c = mock(Connection.class);
+        when(c.isValid(anyInt())).thenReturn(true);
+        when(c.getAutoCommit()).thenReturn(true);
+        opened.add(c);
+        return c;
+    }
+
+    private ConnectionPool newPool(int maxSize, long maxLifetimeMillis, long acquireTimeoutMillis) {
+        return new ConnectionPool(this::newPhysical, 0, maxSize, 60_000, maxLifetimeMillis, acquireTimeoutMillis, 1);
+    }
+
+    @Test
+    public void testClose_shouldReturnConnectionForReuse() throws SQLException {
+        pool = newPool(2, 60_000, 100);
+
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+        second.close();
+
+        assertEquals(1, opened.size());
+        verify(opened.get(0), never()).close();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    public void testGetConnection_shouldTimeOutWhenExhausted() throws SQLException {
+        pool = newPool(1, 60_000, 50);
+
+        Connection held = pool.getConnection();
+
+        assertThrows(SQLException.class, () -> pool.getConnection());
+        held.close();
+        assertDoesNotThrow(() -> pool.getConnection().close());
+    }
+
+    @Test
+    public void testGetConnection_shouldDiscardInvalidIdleConnection() throws SQLException {
+        pool = newPool(2, 60_000, 100);
+
+        pool.getConnection().close();
+        when(opened.get(0).isValid(anyInt())).thenReturn(false);
+        pool.getConnection().close();
+
+        assertEquals(2, opened.size());
+        verify(opened.get(0), times(1)).close();
+    }
+
+    @Test
+    public void testGetConnection_shouldRetireConnectionPastMaxLifetime() throws Exception {
+        pool = newPool(2, 1, 100);
+
+        pool.getConnection().close();
+        Thread.sleep(5);
+        pool.getConnection().close();
+
+        assertEquals(2, opened.size());
+        verify(opened.get(0), times(1)).close();
+    }
+
+    @Test
+    public void testClose_shouldRollBackUnfinishedTransaction() throws SQLException {
+        pool = newPool(1, 60_000, 100);
+
+        Connection c = pool.getConnection();
+        when(opened.get(0).getAutoCommit()).thenReturn(false);
+        c.close();
+
+        verify(opened.get(0), times(1)).rollback();
+        verify(opened.get(0), times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    public void testClose_shouldBeIdempotentAndBlockFurtherUse() throws SQLException {
+        pool = newPool(1, 60_000, 100);
+
+        Connection c = pool.getConnection();
+        c.close();
+        c.close();
+
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, () -> c.createStatement());
+        assertEquals(1, pool.getIdleCount());
+    }
+}
@@ -0,0 +1,173 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import com.hasitha.back_end.metrics.MetricsRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GroupCommitTransactionManagerTest {
+
+    // Long enough that a batch is only closed by reaching the batch size
+    private static final long WAIT_FOR_FULL_BATCH_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private Connection mockConnection;
+    private Savepoint mockSavepoint;
+    private MetricsRegistry registry;
+    private GroupCommitTransactionManager transactionManager;
+    private ExecutorService callers;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        mockConnection = mock(Connection.class);
+        mockSavepoint = mock(Savepoint.class);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.setSavepoint()).thenReturn(mockSavepoint);
+        registry = new MetricsRegistry();
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        if (transactionManager != null) {
+            transactionManager.close();
+        }
+    }
+
+    @Test
+    public void testInTransaction_shouldCommitConcurrentCallersTogether() throws Exception {
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 3, WAIT_FOR_FULL_BATCH_MICROS, 1, 5_000, registry);
+
+        List<Future<Integer>> results = submitAll(c -> 1, c -> 2, c -> 3);
+
+        assertEquals(1, results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(2, results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals(3, results.get(2).get(5, TimeUnit.SECONDS));
+        verify(mockConnection).commit();
+        verify(mockConnection, times(3)).setSavepoint();
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection).close();
+        assertEquals(1, counter("group_commit_batches_total"));
+        assertEquals(3, counter("group_commit_units_total"));
+        assertEquals(1, counter("group_commit_full_batches_total"));
+        assertEquals(0, counter("group_commit_fallbacks_total"));
+    }
+
+    @Test
+    public void testInTransaction_shouldRollBackOnlyTheFailingUnit() throws Exception {
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 3, WAIT_FOR_FULL_BATCH_MICROS, 1, 5_000, registry);
+
+        List<Future<Integer>> results = submitAll(c -> 1, c -> {
+            throw new ValidationException("bad input");
+        }, c -> 3);
+
+        assertEquals(1, results.get(0).get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ValidationException.class, failure.getCause());
+        assertEquals(3, results.get(2).get(5, TimeUnit.SECONDS));
+        verify(mockConnection).rollback(mockSavepoint);
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    public void testInTransaction_shouldRunUnitsAloneWhenBatchCommitFails() throws Exception {
+        doThrow(new SQLException("commit failed")).doNothing().when(mockConnection).commit();
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 3, WAIT_FOR_FULL_BATCH_MICROS, 1, 5_000, registry);
+
+        List<Future<Integer>> results = submitAll(c -> 1, c -> 2, c -> 3);
+
+        assertEquals(1, results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(2, results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals(3, results.get(2).get(5, TimeUnit.SECONDS));
+        // One failed batch commit, then one commit per unit
+        verify(mockConnection, times(4)).commit();
+        verify(mockConnection).rollback();
+        assertEquals(3, counter("group_commit_fallbacks_total"));
+    }
+
+    @Test
+    public void testInTransaction_shouldCommitSingleUnitWithoutSavepoint() throws SQLException {
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 16, 100, 1, 5_000, registry);
+
+        String result = transactionManager.inTransaction(c -> "done");
+
+        assertEquals("done", result);
+        verify(mockConnection).commit();
+        verify(mockConnection, never()).setSavepoint();
+        assertEquals(1, counter("group_commit_batches_total"));
+        assertEquals(0, counter("group_commit_full_batches_total"));
+    }
+
+    @Test
+    public void testInTransaction_shouldRunInOwnTransactionAfterClose() throws SQLException {
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 16, 100, 1, 5_000, registry);
+        transactionManager.close();
+
+        assertEquals("done", transactionManager.inTransaction(c -> "done"));
+        verify(mockConnection).commit();
+        assertEquals(0, counter("group_commit_batches_total"));
+    }
+
+    @Test
+    public void testInTransaction_shouldGiveUpOnBatchThatDoesNotStartInTime() throws Exception {
+        transactionManager = new GroupCommitTransactionManager(() -> mockConnection, 1, 100, 1, 200, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean secondRan = new AtomicBoolean();
+
+        Future<Integer> first = callers.submit(() -> transactionManager.inTransaction(c -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // The only writer is busy, so this unit is still queued when its wait runs out
+        assertThrows(ServiceUnavailableException.class, () -> transactionManager.inTransaction(c -> {
+            secondRan.set(true);
+            return 2;
+        }));
+
+        // The first unit timed out too, but it was already in a batch, so it still commits
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, firstError.getCause());
+        release.countDown();
+        verify(mockConnection, timeout(5_000)).commit();
+        transactionManager.close();
+        assertFalse(secondRan.get());
+    }
+
+    @SafeVarargs
+    private List<Future<Integer>> submitAll(TransactionManager.TransactionWork<Integer>... work) {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (TransactionManager.TransactionWork<Integer> unit : work) {
+            results.add(callers.submit(() -> transactionManager.inTransaction(unit)));
+        }
+        return results;
+    }
+
+    private long counter(String name) {
+        return registry.counter(name, "", "").sum();
+    }
+}
@@ -0,0 +1,144 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.utils.MigrationRunner.Migration;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MigrationRunnerTest {
+
+    private Connection mockConnection;
+    private Statement mockStatement;
+    private ResultSet mockHistory;
+    private PreparedStatement mockInsert;
+    private DatabaseMetaData mockMetaData;
+
+    private final Migration v1 = new Migration(1, "create tables", "CREATE TABLE a (id INT);");
+    private final Migration v2 = new Migration(2, "add indexes", "CREATE INDEX i1 ON a (id);\nCREATE INDEX i2 ON a (id);");
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        mockConnection = mock(Connection.class);
+        mockStatement = mock(Statement.class);
+        mockHistory = mock(ResultSet.class);
+        mockInsert = mock(PreparedStatement.class);
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockInsert);
+        when(mockStatement.executeQuery(anyString())).thenReturn(mockHistory);
+        mockMetaData = mock(DatabaseMetaData.class);
+        when(mockConnection.getMetaData()).thenReturn(mockMetaData);
+        when(mockMetaData.getDatabaseProductName()).thenReturn("H2");
+    }
+
+    @Test
+    public void testMigrate_shouldApplyOnlyPendingVersionsInOrder() throws SQLException {
+        when(mockHistory.next()).thenReturn(true, false);
+        when(mockHistory.getInt("version")).thenReturn(1);
+        when(mockHistory.getString("checksum")).thenReturn(v1.getChecksum());
+
+        int applied = new MigrationRunner(() -> mockConnection, List.of(v2, v1)).migrate();
+
+        assertEquals(1, applied);
+        verify(mockStatement, never()).execute("CREATE TABLE a (id INT)");
+        verify(mockStatement).execute("CREATE INDEX i1 ON a (id)");
+        verify(mockStatement).execute("CREATE INDEX i2 ON a (id)");
+        verify(mockInsert).setInt(1, 2);
+        verify(mockInsert, times(1)).executeUpdate();
+    }
+
+    @Test
+    public void testMigrate_shouldFailWhenAppliedScriptChanged() throws SQLException {
+        when(mockHistory.next()).thenReturn(true, false);
+        when(mockHistory.getInt("version")).thenReturn(1);
+        when(mockHistory.getString("checksum")).thenReturn("not-the-same");
+
+        MigrationRunner runner = new MigrationRunner(() -> mockConnection, List.of(v1));
+
+        assertThrows(DatabaseException.class, runner::migrate);
+        verify(mockInsert, never()).executeUpdate();
+    }
+
+    @Test
+    public void testMigrate_shouldNotRecordFailedScript() throws SQLException {
+        when(mockHistory.next()).thenReturn(false);
+        when(mockStatement.execute(anyString())).thenThrow(new SQLException("syntax error"));
+
+        MigrationRunner runner = new MigrationRunner(() -> mockConnection, List.of(v1));
+
+        assertThrows(DatabaseException.class, runner::migrate);
+        verify(mockInsert, never()).executeUpdate();
+    }
+
+    @Test
+    public void testMigrate_shouldHoldNamedLockOnMySql() throws SQLException {
+        when(mockMetaData.getDatabaseProductName()).thenReturn("MySQL");
+        PreparedStatement lock = mockLockQuery("SELECT GET_LOCK(?, ?)", 1);
+        PreparedStatement unlock = mockLockQuery("SELECT RELEASE_LOCK(?)", 1);
+        when(mockHistory.next()).thenReturn(false);
+
+        new MigrationRunner(() -> mockConnection, List.of(v1)).migrate();
+
+        InOrder order = inOrder(lock, mockStatement, unlock);
+        order.verify(lock).executeQuery();
+        order.verify(mockStatement).execute("CREATE TABLE a (id INT)");
+        order.verify(unlock).executeQuery();
+        verify(lock).setString(1, MigrationRunner.LOCK_NAME);
+    }
+
+    @Test
+    public void testMigrate_shouldFailWhenLockIsNotAcquired() throws SQLException {
+        when(mockMetaData.getDatabaseProductName()).thenReturn("MySQL");
+        mockLockQuery("SELECT GET_LOCK(?, ?)", 0);
+        mockLockQuery("SELECT RELEASE_LOCK(?)", 0);
+
+        MigrationRunner runner = new MigrationRunner(() -> mockConnection, List.of(v1));
+
+        assertThrows(DatabaseException.class, runner::migrate);
+        verify(mockStatement, never()).execute(anyString());
+    }
+
+    private PreparedStatement mockLockQuery(String sql, int result) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getInt(1)).thenReturn(result);
+        return ps;
+    }
+
+    @Test
+    public void testSplitStatements_shouldDropCommentsAndSplitOnSemicolons() {
+        String script = "-- comment\nCREATE TABLE a (\n  id INT\n);\n\nCREATE INDEX i ON a (id);\n";
+
+        List<String> statements = MigrationRunner.splitStatements(script);
+
+        assertEquals(List.of("CREATE TABLE a (\nid INT\n)", "CREATE INDEX i ON a (id)"), statements);
+    }
+
+    @Test
+    public void testMigration_shouldParseVersionFromFileName() {
+        Migration migration = Migration.of("V12__add_more_indexes.sql", "SELECT 1;");
+
+        assertEquals(12, migration.getVersion());
+        assertEquals("add more indexes", migration.getDescription());
+        assertThrows(IllegalArgumentException.class, () -> Migration.of("indexes.sql", ""));
+    }
+
+    @Test
+    public void testBundledScripts_shouldAllBeOnClasspath() {
+        for (String name : MigrationRunner.SCRIPTS) {
+            assertNotNull(getClass().getClassLoader().getResource("db/migration/" + name), name);
+        }
+    }
+}
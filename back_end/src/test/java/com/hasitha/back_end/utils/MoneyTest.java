@@ -0,0 +1,58 @@
+package com.hasitha.back_end.utils;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void testPlus_shouldBeExactWhereDoubleIsNot() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.of("0.10"));
+        }
+
+        assertEquals(Money.of("1.00"), total);
+        assertNotEquals(1.0, 0.1 + 0.1 + 0.1 + 0.1 + 0.1 + 0.1 + 0.1 + 0.1 + 0.1 + 0.1);
+    }
+
+    @Test
+    public void testTimes_shouldMultiplyByQuantity() {
+        assertEquals(Money.ofCents(3_747), Money.of("12.49").times(3));
+    }
+
+    @Test
+    public void testTimes_shouldFailOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE / 2).times(3));
+    }
+
+    @Test
+    public void testDividedBy_shouldRoundHalfUpToNearestCent() {
+        assertEquals(Money.of("3.33"), Money.of("10.00").dividedBy(3));
+        assertEquals(Money.of("6.67"), Money.of("20.00").dividedBy(3));
+        assertThrows(ArithmeticException.class, () -> Money.of("1.00").dividedBy(0));
+    }
+
+    @Test
+    public void testOf_shouldRoundToNearestCent() {
+        assertEquals(1_235, Money.of(new BigDecimal("12.345")).getCents());
+        assertEquals(1_234, Money.of(new BigDecimal("12.344")).getCents());
+        assertNull(Money.of((BigDecimal) null));
+    }
+
+    @Test
+    public void testToBigDecimal_shouldKeepTwoDecimalPlaces() {
+        assertEquals(new BigDecimal("12.50"), Money.of("12.5").toBigDecimal());
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertEquals("-3.20", Money.ofCents(-320).toString());
+    }
+
+    @Test
+    public void testCompareTo_shouldOrderByAmount() {
+        assertTrue(Money.of("9.99").compareTo(Money.of("10.00")) < 0);
+        assertTrue(Money.of("10.00").isPositive());
+        assertTrue(Money.of("-0.01").isNegative());
+        assertFalse(Money.ZERO.isPositive());
+    }
+}
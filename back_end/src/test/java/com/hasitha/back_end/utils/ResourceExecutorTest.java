@@ -0,0 +1,130 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.NotFoundException;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import com.hasitha.back_end.response.StreamingApiResponse;
+import jakarta.json.bind.Jsonb;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.CompletionCallback;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ResourceExecutorTest {
+
+    @Test
+    public void testSubmit_shouldResumeWithResponseFromVirtualThread() {
+        ResourceExecutor executor = new ResourceExecutor(true, 2, 1_000);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Response response = mock(Response.class);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+
+        executor.submit(asyncResponse, () -> {
+            worker.set(Thread.currentThread());
+            return response;
+        });
+
+        verify(asyncResponse, timeout(1_000)).resume(response);
+        assertTrue(worker.get().isVirtual());
+    }
+
+    @Test
+    public void testSubmit_shouldResumeWithExceptionSoMappersApply() {
+        ResourceExecutor executor = new ResourceExecutor(true, 2, 1_000);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        NotFoundException error = new NotFoundException("missing");
+
+        executor.submit(asyncResponse, () -> {
+            throw error;
+        });
+
+        verify(asyncResponse, timeout(1_000)).resume(error);
+    }
+
+    @Test
+    public void testSubmit_shouldRunInlineWhenDisabled() {
+        ResourceExecutor executor = new ResourceExecutor(false, 1, 1_000);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Thread caller = Thread.currentThread();
+        Response response = mock(Response.class);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+
+        executor.submit(asyncResponse, () -> {
+            worker.set(Thread.currentThread());
+            return response;
+        });
+
+        assertSame(caller, worker.get());
+        verify(asyncResponse).resume(response);
+    }
+
+    @Test
+    public void testSubmit_shouldFailWithServiceUnavailableWhenNoSlotFreesUp() throws InterruptedException {
+        ResourceExecutor executor = new ResourceExecutor(true, 1, 50);
+        AsyncResponse first = mock(AsyncResponse.class);
+        AsyncResponse second = mock(AsyncResponse.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Response response = mock(Response.class);
+
+        executor.submit(first, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.getActiveCount());
+
+        executor.submit(second, () -> response);
+
+        verify(second, timeout(1_000)).resume(argThat((Throwable e) -> e instanceof ServiceUnavailableException
+                && MessageConstants.SERVER_BUSY.equals(e.getMessage())));
+
+        release.countDown();
+        verify(first, timeout(1_000)).resume(response);
+    }
+
+    @Test
+    public void testConstructor_shouldRejectNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new ResourceExecutor(true, 0, 1_000));
+    }
+
+    @Test
+    public void testSubmit_shouldHoldSlotUntilStreamingResponseIsWritten() throws Exception {
+        ResourceExecutor executor = new ResourceExecutor(true, 1, 1_000);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        when(asyncResponse.resume(any(Object.class))).thenReturn(true);
+        Jsonb jsonb = mock(Jsonb.class);
+        when(jsonb.toJson(any())).thenReturn("\"a\"");
+        StreamingApiResponse<String> streaming = new StreamingApiResponse<>("200", "ok",
+                action -> List.of("a").forEach(action), null, jsonb);
+        Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn(streaming);
+
+        executor.submit(asyncResponse, () -> response);
+
+        verify(asyncResponse, timeout(1_000)).resume(response);
+        assertEquals(1, executor.getActiveCount());
+
+        ArgumentCaptor<CompletionCallback> callback = ArgumentCaptor.forClass(CompletionCallback.class);
+        verify(asyncResponse).register(callback.capture());
+
+        streaming.write(new ByteArrayOutputStream());
+        assertEquals(0, executor.getActiveCount());
+        // The completion callback after the write must not release a second time
+        callback.getValue().onComplete(null);
+        assertEquals(0, executor.getActiveCount());
+    }
+}
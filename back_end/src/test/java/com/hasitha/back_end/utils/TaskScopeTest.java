@@ -0,0 +1,89 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.AppException;
+import com.hasitha.back_end.exceptions.MessageConstants;
+import com.hasitha.back_end.exceptions.NotFoundException;
+import com.hasitha.back_end.exceptions.ServiceUnavailableException;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskScopeTest {
+
+    @Test
+    public void testJoin_shouldRunSubtasksConcurrently() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        try (TaskScope scope = new TaskScope(2_000)) {
+            // Each subtask only finishes once the other one has started
+            TaskScope.Subtask<String> first = scope.fork(() -> {
+                barrier.await(1, TimeUnit.SECONDS);
+                return "first";
+            });
+            TaskScope.Subtask<String> second = scope.fork(() -> {
+                barrier.await(1, TimeUnit.SECONDS);
+                return "second";
+            });
+            scope.join();
+
+            assertEquals("first", first.get());
+            assertEquals("second", second.get());
+        }
+    }
+
+    @Test
+    public void testJoin_shouldRethrowFirstFailureAndCancelOthers() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (TaskScope scope = new TaskScope(5_000)) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new NotFoundException("Customer with ID 7 not found.");
+            });
+
+            NotFoundException e = assertThrows(NotFoundException.class, scope::join);
+            assertEquals("Customer with ID 7 not found.", e.getMessage());
+        }
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testJoin_shouldWrapCheckedExceptions() {
+        try (TaskScope scope = new TaskScope(1_000)) {
+            scope.fork(() -> {
+                throw new IOException("boom");
+            });
+
+            AppException e = assertThrows(AppException.class, scope::join);
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void testJoin_shouldFailWithServiceUnavailableAfterDeadline() {
+        try (TaskScope scope = new TaskScope(50)) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, scope::join);
+            assertEquals(MessageConstants.TIMEOUT_ERROR, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testJoin_shouldReturnImmediatelyWithoutSubtasks() {
+        try (TaskScope scope = new TaskScope(1_000)) {
+            assertDoesNotThrow(scope::join);
+        }
+    }
+}
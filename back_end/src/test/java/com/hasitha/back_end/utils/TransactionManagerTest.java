@@ -0,0 +1,56 @@
+package com.hasitha.back_end.utils;
+
+import com.hasitha.back_end.exceptions.DatabaseException;
+import com.hasitha.back_end.exceptions.ValidationException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionManagerTest {
+
+    private Connection mockConnection;
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        mockConnection = mock(Connection.class);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        transactionManager = new TransactionManager(() -> mockConnection);
+    }
+
+    @Test
+    public void testInTransaction_shouldCommitOnSuccess() throws SQLException {
+        String result = transactionManager.inTransaction(c -> "done");
+
+        assertEquals("done", result);
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection).setAutoCommit(true);
+        verify(mockConnection).close();
+    }
+
+    @Test
+    public void testInTransaction_shouldRollBackAndRethrowAppException() throws SQLException {
+        assertThrows(ValidationException.class, () -> transactionManager.inTransaction(c -> {
+            throw new ValidationException("bad input");
+        }));
+
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).rollback();
+        verify(mockConnection).close();
+    }
+
+    @Test
+    public void testInTransaction_shouldWrapSqlExceptionInDatabaseException() throws SQLException {
+        assertThrows(DatabaseException.class, () -> transactionManager.inTransaction(c -> {
+            throw new SQLException("boom");
+        }));
+
+        verify(mockConnection).rollback();
+        verify(mockConnection).close();
+    }
+}
@@ -1,5 +1,5 @@
 // src/pages/BillCreate.jsx
-import { useEffect, useState, useMemo } from "react";
+import { useEffect, useState, useMemo, useRef } from "react";
 import { fetchCustomers } from "../../services/customer";
 import { fetchItems } from "../../services/item";
 import { createBill } from "../../services/bill"; // Ensure this import is correct
@@ -34,11 +34,18 @@ function BillCreate() {
   const [error, setError] = useState("");
   const [isSubmitting, setIsSubmitting] = useState(false);
   const [phoneNumberInput, setPhoneNumberInput] = useState(""); // New state for phone number input
+  // One key per bill, reused when the same bill is submitted again
+  const idempotencyKeyRef = useRef(null);
 
   useEffect(() => {
     loadInitialData();
   }, []);
 
+  // A changed bill is a new submission and needs a new key
+  useEffect(() => {
+    idempotencyKeyRef.current = null;
+  }, [selectedCustomerId, billItems]);
+
   const loadInitialData = async () => {
     try {
       setLoading(true);
@@ -167,7 +174,10 @@ function BillCreate() {
         })),
       };
 
-      const res = await createBill(billData);
+      if (!idempotencyKeyRef.current) {
+        idempotencyKeyRef.current = crypto.randomUUID();
+      }
+      const res = await createBill(billData, idempotencyKeyRef.current);
       if (res.success) {
         // Navigate to BillDetails page, only passing the ID
         navigate(`/bills/${res.data.id}`); // <--- Changed here: Removed `{ state: { bill: res.data } }`
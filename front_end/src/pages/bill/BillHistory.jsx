@@ -1,18 +1,41 @@
 import React, { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import { getAllBills } from "../../services/bill";
+import { getSalesSummary } from "../../services/report";
 import Header from "../../components/Header";
 
 const BillHistory = () => {
   const [bills, setBills] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
+  const [summary, setSummary] = useState(null);
+  const [weekSummary, setWeekSummary] = useState(null);
   const navigate = useNavigate();
 
   useEffect(() => {
     fetchBills();
+    fetchSummaries();
   }, []);
 
+  // The stats cover the whole history, not just the loaded pages, so they
+  // are aggregated by the server instead of from `bills`.
+  async function fetchSummaries() {
+    const today = new Date();
+    const sixDaysAgo = new Date(today.getTime() - 6 * 24 * 60 * 60 * 1000);
+    try {
+      const [allTime, lastWeek] = await Promise.all([
+        getSalesSummary({ top: 0 }),
+        getSalesSummary({ from: toIsoDate(sixDaysAgo), to: toIsoDate(today), top: 0 }),
+      ]);
+      if (allTime.success) setSummary(allTime.data);
+      if (lastWeek.success) setWeekSummary(lastWeek.data);
+    } catch (err) {
+      // The stats cards stay empty; the bill list still loads
+    }
+  }
+
   async function fetchBills() {
     try {
       setLoading(true);
@@ -20,7 +43,8 @@ const BillHistory = () => {
       const result = await getAllBills();
 
       if (result.success) {
-        setBills(result.data);
+        setBills(result.data.bills);
+        setNextCursor(result.data.nextCursor);
       } else {
         setError(result.message || "Failed to load bills.");
       }
@@ -31,41 +55,38 @@ const BillHistory = () => {
     }
   }
 
+  async function loadMoreBills() {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const result = await getAllBills({ cursor: nextCursor });
+
+      if (result.success) {
+        setBills((current) => [...current, ...result.data.bills]);
+        setNextCursor(result.data.nextCursor);
+      } else {
+        setError(result.message || "Failed to load more bills.");
+      }
+    } catch (err) {
+      setError("Error loading bills");
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
   function handleRowClick(billId) {
     navigate(`/bills/${billId}`);
   }
 
-  // Helper functions for stats
-  const getTotalRevenue = () => {
-    return bills.reduce((total, bill) => total + parseFloat(bill.total), 0);
+  // Local calendar date as yyyy-MM-dd, the format the report API expects
+  const toIsoDate = (date) => {
+    const month = String(date.getMonth() + 1).padStart(2, "0");
+    const day = String(date.getDate()).padStart(2, "0");
+    return `${date.getFullYear()}-${month}-${day}`;
   };
 
-  const getRecentBills = () => {
-    const today = new Date();
-    const oneWeekAgo = new Date(today.getTime() - 7 * 24 * 60 * 60 * 1000);
-    return bills.filter((bill) => {
-      // Handle different date formats that might come from the API
-      let billDate;
-      if (bill.date) {
-        const cleanDateString = bill.date.replace(/\[.*\]/, "");
-
-        billDate = new Date(cleanDateString);
-        // Check if date is valid
-        if (isNaN(billDate.getTime())) {
-          return false;
-        }
-        return billDate >= oneWeekAgo;
-      }
-      return false;
-    }).length;
-  };
-
-  const getUniqueCustomers = () => {
-    const customers = new Set(
-      bills.map((bill) => bill.customer?.id).filter((id) => id)
-    );
-    return customers.size;
-  };
+  const formatRevenue = (data) =>
+    data ? `Rs.${Number(data.revenue).toFixed(2)}` : "—";
 
   // Helper function to format date safely
   const formatDate = (dateString) => {
@@ -147,7 +168,7 @@ const BillHistory = () => {
               <div className="ml-4">
                 <p className="text-sm text-gray-600">Total Bills</p>
                 <p className="text-2xl font-semibold text-gray-900">
-                  {bills.length}
+                  {summary ? summary.billCount : "—"}
                 </p>
               </div>
             </div>
@@ -173,7 +194,7 @@ const BillHistory = () => {
               <div className="ml-4">
                 <p className="text-sm text-gray-600">Total Revenue</p>
                 <p className="text-2xl font-semibold text-gray-900">
-                  Rs.{getTotalRevenue().toFixed(2)}
+                  {formatRevenue(summary)}
                 </p>
               </div>
             </div>
@@ -199,7 +220,7 @@ const BillHistory = () => {
               <div className="ml-4">
                 <p className="text-sm text-gray-600">This Week</p>
                 <p className="text-2xl font-semibold text-gray-900">
-                  {getRecentBills()}
+                  {weekSummary ? weekSummary.billCount : "—"}
                 </p>
               </div>
             </div>
@@ -425,21 +446,33 @@ const BillHistory = () => {
           {bills.length > 0 && (
             <div className="px-6 py-4 bg-gray-50 border-t border-gray-200">
               <div className="flex items-center justify-between text-sm text-gray-600">
-                <div>
-                  Showing {bills.length} {bills.length === 1 ? "bill" : "bills"}
+                <div className="flex items-center space-x-4">
+                  <span>
+                    Showing {bills.length}{" "}
+                    {bills.length === 1 ? "bill" : "bills"}
+                  </span>
+                  {nextCursor && (
+                    <button
+                      onClick={loadMoreBills}
+                      disabled={loadingMore}
+                      className="px-3 py-1 text-sm text-blue-600 hover:text-blue-700 hover:bg-blue-50 rounded transition-colors disabled:opacity-50"
+                    >
+                      {loadingMore ? "Loading..." : "Load more"}
+                    </button>
+                  )}
                 </div>
                 <div className="flex items-center space-x-4">
                   <span>
                     Total Revenue:{" "}
                     <span className="font-semibold text-gray-900">
-                      Rs.{getTotalRevenue().toFixed(2)}
+                      {formatRevenue(summary)}
                     </span>
                   </span>
                   <span>•</span>
                   <span>
                     Unique Customers:{" "}
                     <span className="font-semibold text-gray-900">
-                      {getUniqueCustomers()}
+                      {summary ? summary.distinctCustomers : "—"}
                     </span>
                   </span>
                 </div>
@@ -1,24 +1,54 @@
 const BASE_URL = "http://localhost:8080/back_end/api/v1/bills";
 
-export async function createBill(billData) {
-  try {
-    const response = await fetch(BASE_URL, {
-      method: "POST",
-      credentials: "include",
-      headers: { "Content-Type": "application/json" },
-      body: JSON.stringify(billData),
-    });
+const CREATE_TIMEOUT_MS = 15000;
+const CREATE_ATTEMPTS = 3;
 
-    const data = await response.json();
-    return data;
-  } catch (error) {
-    throw new Error("Failed to create bill. Please try again later.");
+// Creates a bill. Pass the same idempotencyKey for every attempt at the same
+// bill: the server then creates it at most once, so a request that timed out
+// is retried here without risking a duplicate bill or double stock deduction.
+export async function createBill(billData, idempotencyKey) {
+  const headers = { "Content-Type": "application/json" };
+  if (idempotencyKey) headers["Idempotency-Key"] = idempotencyKey;
+
+  const attempts = idempotencyKey ? CREATE_ATTEMPTS : 1;
+  for (let attempt = 1; attempt <= attempts; attempt++) {
+    const controller = new AbortController();
+    const timer = setTimeout(() => controller.abort(), CREATE_TIMEOUT_MS);
+    try {
+      const response = await fetch(BASE_URL, {
+        method: "POST",
+        credentials: "include",
+        headers,
+        body: JSON.stringify(billData),
+        signal: controller.signal,
+      });
+
+      const data = await response.json();
+      return data;
+    } catch (error) {
+      if (attempt === attempts) {
+        throw new Error("Failed to create bill. Please try again later.");
+      }
+    } finally {
+      clearTimeout(timer);
+    }
   }
 }
 
-export async function getAllBills() {
+// Fetches one page of the bill history. Pass the previous page's
+// nextCursor as `cursor` to get the following page.
+export async function getAllBills({ cursor, limit, from, to, customerId, cashierId } = {}) {
+  const params = new URLSearchParams();
+  if (cursor) params.set("cursor", cursor);
+  if (limit) params.set("limit", limit);
+  if (from) params.set("from", from);
+  if (to) params.set("to", to);
+  if (customerId) params.set("customerId", customerId);
+  if (cashierId) params.set("cashierId", cashierId);
+  const query = params.toString();
+
   try {
-    const response = await fetch(BASE_URL, {
+    const response = await fetch(query ? `${BASE_URL}?${query}` : BASE_URL, {
       method: "GET",
       credentials: "include",
       headers: { "Content-Type": "application/json" },
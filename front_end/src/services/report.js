@@ -0,0 +1,31 @@
+const BASE_URL = "http://localhost:8080/back_end/api/v1/reports";
+
+// Fetches aggregate sales figures computed by the server: bill count,
+// revenue, average basket, distinct customers and top items. `from` and `to`
+// are inclusive yyyy-MM-dd dates; leave one out for an open range. Pass a
+// granularity ("day", "week" or "month") to also get a series, and `top` to
+// change the number of top items (0 for none).
+export async function getSalesSummary({ from, to, granularity, top } = {}) {
+  const params = new URLSearchParams();
+  if (from) params.set("from", from);
+  if (to) params.set("to", to);
+  if (granularity) params.set("granularity", granularity);
+  if (top !== undefined) params.set("top", top);
+  const query = params.toString();
+
+  try {
+    const response = await fetch(
+      query ? `${BASE_URL}/summary?${query}` : `${BASE_URL}/summary`,
+      {
+        method: "GET",
+        credentials: "include",
+        headers: { "Content-Type": "application/json" },
+      }
+    );
+    const data = await response.json();
+    return data;
+  } catch (error) {
+    console.error("Error fetching sales summary:", error);
+    throw new Error("Failed to fetch sales summary. Please try again later.");
+  }
+}